@@ -0,0 +1,63 @@
+package io.github.youseonghyeon.broadcast.serde;
+
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import org.apache.kafka.common.serialization.Serde;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일반적인 200 바이트 채팅 메시지에 대해 바이너리 serde 와 Jackson serde 를 비교합니다.
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=BroadcastSerdeBenchmark}</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BroadcastSerdeBenchmark {
+
+    private final Serde<BroadcastEnvelope> binarySerde = new BinaryMessageSerde();
+    private final Serde<BroadcastEnvelope> jsonSerde = new JsonSerde<>(BroadcastEnvelope.class);
+
+    private BroadcastEnvelope envelope;
+    private byte[] binaryBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        byte[] content = new byte[200];
+        Arrays.fill(content, (byte) 'a');
+        Message message = new Message(EventType.USER_SEND, "room-1024",
+                "header".getBytes(StandardCharsets.UTF_8), content, null);
+        envelope = new BroadcastEnvelope("3f2504e0-4f89-11d3-9a0c-0305e82c3301", 1L, System.currentTimeMillis(), message);
+        binaryBytes = binarySerde.serializer().serialize("chat-topic", envelope);
+        jsonBytes = jsonSerde.serializer().serialize("chat-topic", envelope);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binarySerde.serializer().serialize("chat-topic", envelope);
+    }
+
+    @Benchmark
+    public BroadcastEnvelope binaryDeserialize() {
+        return binarySerde.deserializer().deserialize("chat-topic", binaryBytes);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return jsonSerde.serializer().serialize("chat-topic", envelope);
+    }
+
+    @Benchmark
+    public BroadcastEnvelope jsonDeserialize() {
+        return jsonSerde.deserializer().deserialize("chat-topic", jsonBytes);
+    }
+}
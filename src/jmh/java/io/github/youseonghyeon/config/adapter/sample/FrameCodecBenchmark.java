@@ -0,0 +1,77 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import io.github.youseonghyeon.core.InMemorySocketChannel;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클라이언트 프레임을 {@link DefaultMessageSender}로 인코딩하고 {@link DefaultMessageReceiver}로 디코딩하는 비용을
+ * 본문 크기별로 측정합니다. 디코딩은 같은 프레임을 반복해서 돌려주는 {@link InMemorySocketChannel}에서 읽습니다.
+ * v2 는 방 핸들을 이미 바인딩한 연결 기준입니다.
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=FrameCodecBenchmark}</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FrameCodecBenchmark {
+
+    @Param({"16", "256", "4096", "65536"})
+    public int contentSize;
+
+    private final DefaultMessageSender sender = new DefaultMessageSender();
+    private final DefaultMessageReceiver receiver = new DefaultMessageReceiver();
+
+    private final ProtocolSessions sessions = new ProtocolSessions();
+    private final NegotiatingMessageSender v2Sender = new NegotiatingMessageSender(sessions);
+    private final NegotiatingMessageReceiver v2Receiver = new NegotiatingMessageReceiver(sessions);
+
+    private Message message;
+    private InMemorySocketChannel channel;
+    private InMemorySocketChannel v2Channel;
+
+    @Setup
+    public void setUp() {
+        byte[] content = new byte[contentSize];
+        Arrays.fill(content, (byte) 'a');
+        message = new Message(EventType.USER_SEND, "room-1024", "header".getBytes(StandardCharsets.UTF_8), content, null);
+        channel = new InMemorySocketChannel(sender.encode(message));
+
+        ByteBuffer v2Frame = ByteBuffer.allocate(WireProtocol.frameSize(0, message.header(), content));
+        WireProtocol.putFrame(v2Frame, EventType.USER_SEND, 0, message.header(), content);
+        v2Channel = new InMemorySocketChannel(v2Frame.flip());
+        ProtocolSession session = sessions.open(v2Channel);
+        session.bindInbound(0, message.roomId());
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return sender.encode(message);
+    }
+
+    @Benchmark
+    public Message decode() {
+        return receiver.read(channel);
+    }
+
+    @Benchmark
+    public long sendV2() throws IOException {
+        v2Sender.send(v2Channel, message);
+        return v2Channel.getBytesWritten();
+    }
+
+    @Benchmark
+    public Message decodeV2() {
+        return v2Receiver.read(v2Channel);
+    }
+}
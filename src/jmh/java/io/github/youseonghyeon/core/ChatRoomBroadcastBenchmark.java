@@ -0,0 +1,56 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.config.adapter.sample.DefaultMessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 참여자 수별로 {@link ChatRoom#broadcast(Message, java.nio.channels.SocketChannel)}의 fan-out 비용을 측정합니다.
+ *
+ * <p>참여자 소켓은 {@link InMemorySocketChannel}이므로 커널 전송 비용은 빠지고, 참여자 순회와 수신자별 인코딩/쓰기 경로의
+ * 비용만 남습니다. 결과는 브로드캐스트 한 번(방 전체 전달)의 시간입니다.</p>
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=ChatRoomBroadcastBenchmark}</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ChatRoomBroadcastBenchmark {
+
+    @Param({"10", "1000", "20000"})
+    public int participants;
+
+    @Param({"200"})
+    public int contentSize;
+
+    private ChatRoom chatRoom;
+    private Message message;
+    private InMemorySocketChannel sender;
+
+    @Setup
+    public void setUp() {
+        chatRoom = new ChatRoom("room-1024", new DefaultMessageSender());
+        for (int i = 0; i < participants; i++) {
+            chatRoom.join(new User(new InMemorySocketChannel()));
+        }
+        sender = new InMemorySocketChannel();
+        chatRoom.join(new User(sender));
+        byte[] content = new byte[contentSize];
+        Arrays.fill(content, (byte) 'a');
+        message = new Message(EventType.USER_SEND, "room-1024", "header".getBytes(StandardCharsets.UTF_8), content, sender);
+    }
+
+    @Benchmark
+    public void broadcast() {
+        chatRoom.broadcast(message, sender);
+    }
+}
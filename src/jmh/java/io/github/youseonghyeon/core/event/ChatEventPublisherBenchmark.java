@@ -0,0 +1,46 @@
+package io.github.youseonghyeon.core.event;
+
+import io.github.youseonghyeon.core.dto.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ChatEventPublisher#publish(Message)}의 이벤트 타입별 디스패치 비용을 측정합니다.
+ *
+ * <p>구독자는 호출 횟수만 세므로 측정값은 검증, 구독자 조회, 로깅 등 디스패치 자체의 비용입니다.
+ * 실제 구독자까지 포함한 비용은 {@code ChatRoomBroadcastBenchmark}, {@code RoomChurnBenchmark}를 참고합니다.</p>
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=ChatEventPublisherBenchmark}</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ChatEventPublisherBenchmark {
+
+    @Param({"ENTER", "LEAVE", "USER_SEND", "SYSTEM"})
+    public EventType eventType;
+
+    private final ChatEventPublisher publisher = new ChatEventPublisher();
+    private Message message;
+    private long delivered;
+
+    @Setup
+    public void setUp() {
+        for (EventType type : EventType.values()) {
+            publisher.registerSubscriber(type, received -> delivered++);
+        }
+        message = new Message(eventType, "room-1024", "header".getBytes(StandardCharsets.UTF_8),
+                "hello".getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    @Benchmark
+    public long publish() {
+        publisher.publish(message);
+        return delivered;
+    }
+}
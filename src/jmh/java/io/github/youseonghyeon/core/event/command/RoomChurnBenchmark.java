@@ -0,0 +1,64 @@
+package io.github.youseonghyeon.core.event.command;
+
+import io.github.youseonghyeon.config.adapter.sample.DefaultMessageSender;
+import io.github.youseonghyeon.core.ChatRoom;
+import io.github.youseonghyeon.core.InMemorySocketChannel;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 입장 후 바로 퇴장하는 churn 비용을 {@link ChatEventPublisher}부터 {@link EnterRoom}, {@link LeaveRoom}까지 측정합니다.
+ *
+ * <p>{@code residents}명이 머무는 방에 한 명이 들어갔다 나갑니다. {@code residents == 0}이면 매번 방이 생성되고 제거됩니다.
+ * 결과는 입장과 퇴장 한 쌍의 시간입니다.</p>
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=RoomChurnBenchmark}</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class RoomChurnBenchmark {
+
+    private static final String ROOM_ID = "room-1024";
+
+    @Param({"0", "10", "1000"})
+    public int residents;
+
+    private final Map<String, ChatRoom> chatRoomMap = new ConcurrentHashMap<>();
+    private final ChatEventPublisher publisher = new ChatEventPublisher();
+    private Message enter;
+    private Message leave;
+
+    @Setup
+    public void setUp() {
+        DefaultMessageSender messageSender = new DefaultMessageSender();
+        publisher.registerSubscriber(EventType.ENTER, new EnterRoom(chatRoomMap, messageSender));
+        publisher.registerSubscriber(EventType.LEAVE, new LeaveRoom(chatRoomMap));
+        if (residents > 0) {
+            ChatRoom chatRoom = new ChatRoom(ROOM_ID, messageSender);
+            for (int i = 0; i < residents; i++) {
+                chatRoom.join(new User(new InMemorySocketChannel()));
+            }
+            chatRoomMap.put(ROOM_ID, chatRoom);
+        }
+        InMemorySocketChannel visitor = new InMemorySocketChannel();
+        enter = new Message(EventType.ENTER, ROOM_ID, new byte[0], new byte[0], visitor);
+        leave = new Message(EventType.LEAVE, ROOM_ID, new byte[0], new byte[0], visitor);
+    }
+
+    @Benchmark
+    public void enterAndLeave() {
+        publisher.publish(enter);
+        publisher.publish(leave);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 방에 100만 건이 쌓인 상태에서 {@link InMemoryChatHistoryStore}의 저장/조회 비용을 측정합니다.
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=InMemoryChatHistoryStoreBenchmark}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InMemoryChatHistoryStoreBenchmark {
+
+    private static final long ROOM_ID = 1L;
+    private static final long STEP_MILLIS = 10;
+
+    @Param({"1000000"})
+    public int messagesPerRoom;
+
+    private InMemoryChatHistoryStore store;
+    private long nextTimestamp;
+    private long middle;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = new InMemoryChatHistoryStore();
+        for (int i = 0; i < messagesPerRoom; i++) {
+            store.save(new ChatLog(ROOM_ID, i * STEP_MILLIS, "user-" + (i % 100), "message " + i));
+        }
+        nextTimestamp = messagesPerRoom * STEP_MILLIS;
+        middle = (messagesPerRoom / 2) * STEP_MILLIS;
+    }
+
+    @Benchmark
+    public void append() {
+        store.save(new ChatLog(ROOM_ID, nextTimestamp += STEP_MILLIS, "user", "message"));
+    }
+
+    @Benchmark
+    public List<ChatLog> recent50() {
+        return store.findRecentLogs(ROOM_ID, 50);
+    }
+
+    @Benchmark
+    public List<ChatLog> between100() {
+        return store.findLogsBetween(ROOM_ID, middle, middle + 99 * STEP_MILLIS);
+    }
+
+    @Benchmark
+    public List<ChatLog> before50() {
+        return store.findLogsBefore(ROOM_ID, middle, 50);
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link MappedSegmentChatHistoryStore}의 지속 추가 처리량을 측정합니다. (목표: 로컬 디스크에서 초당 20만 건 이상)
+ *
+ * <p>write-behind 저장기와 같은 조건이 되도록 256건씩 {@code saveAll}로 저장하며,
+ * {@link OperationsPerInvocation}으로 결과는 초당 레코드 수로 표시됩니다.</p>
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=MappedSegmentChatHistoryStoreBenchmark}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MappedSegmentChatHistoryStoreBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+    private static final int ROOMS = 16;
+
+    @Param({"OS", "INTERVAL", "EVERY_WRITE"})
+    public FsyncPolicy fsyncPolicy;
+
+    private Path directory;
+    private MappedSegmentChatHistoryStore store;
+    private final List<ChatLog> batch = new ArrayList<>(BATCH_SIZE);
+    private long timestamp;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("segment-bench");
+        store = new MappedSegmentChatHistoryStore(directory, 64 * 1024 * 1024, fsyncPolicy, Duration.ofMillis(100));
+        store.initialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void appendBatch() {
+        batch.clear();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new ChatLog(i % ROOMS, ++timestamp, "user-" + (i & 127), "a typical chat message of about sixty bytes in length...."));
+        }
+        store.saveAll(batch);
+    }
+}
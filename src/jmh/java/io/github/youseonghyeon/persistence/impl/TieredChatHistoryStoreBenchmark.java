@@ -0,0 +1,102 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link TieredChatHistoryStore}의 메모리 계층 크기에 따른 메모리 사용량과 조회 지연을 비교합니다.
+ *
+ * <p>방 10개에 방당 10만 건을 저장한 뒤, 방마다 최근 {@code hotMessagesPerRoom}건만 메모리에 남기고 나머지를 디스크 계층으로
+ * 옮깁니다. 계층별 사용량(메모리 추정치, 디스크 압축 크기)은 설정 단계에서 출력합니다.</p>
+ *
+ * <ul>
+ *     <li>{@code recentPage}: 최근 50건 (대부분의 조회, 메모리 계층)</li>
+ *     <li>{@code deepPage}: 임의 시점 이전 50건 (오래된 이력 스크롤, 주로 디스크 계층)</li>
+ *     <li>{@code scanWindow}: 임의 시점부터 10초 구간</li>
+ * </ul>
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=TieredChatHistoryStoreBenchmark}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TieredChatHistoryStoreBenchmark {
+
+    private static final int ROOMS = 10;
+    private static final int MESSAGES_PER_ROOM = 100_000;
+    private static final long STEP_MILLIS = 100;
+
+    @Param({"0", "10000", "100000"})
+    public int hotMessagesPerRoom;
+
+    @Param({"256"})
+    public int blockRecords;
+
+    private Path directory;
+    private TieredChatHistoryStore store;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tiered-bench");
+        TieringPolicy policy = TieringPolicy.defaults()
+                .hotMaxAge(Duration.ofDays(100_000))
+                .hotMaxMessagesPerRoom(hotMessagesPerRoom)
+                .block(blockRecords, 1)
+                .tiering(Duration.ofHours(1), MESSAGES_PER_ROOM);
+        store = new TieredChatHistoryStore(directory, policy);
+        store.initialize();
+        List<ChatLog> batch = new ArrayList<>(ROOMS);
+        for (int i = 0; i < MESSAGES_PER_ROOM; i++) {
+            for (int room = 0; room < ROOMS; room++) {
+                batch.add(new ChatLog(room, i * STEP_MILLIS, "user-" + (i % 500), "a typical chat message number " + i + " of about sixty bytes"));
+            }
+            store.saveAll(batch);
+            batch.clear();
+        }
+        store.tier();
+        System.out.printf("%nhot: %d logs, ~%d KiB (estimated heap) / cold: %d logs, %d KiB on disk in %d blocks%n",
+                store.getHotMessageCount(), store.getHotBytes() / 1024,
+                store.getColdMessageCount(), store.getColdBytes() / 1024, store.getColdBlockCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ChatLog> recentPage() {
+        return store.findRecentLogs(random.nextInt(ROOMS), 50);
+    }
+
+    @Benchmark
+    public List<ChatLog> deepPage() {
+        return store.findLogsBefore(random.nextInt(ROOMS), random.nextLong(MESSAGES_PER_ROOM) * STEP_MILLIS, 50);
+    }
+
+    @Benchmark
+    public List<ChatLog> scanWindow() {
+        long from = random.nextLong(MESSAGES_PER_ROOM) * STEP_MILLIS;
+        return store.findLogsBetween(random.nextInt(ROOMS), from, from + 10_000);
+    }
+}
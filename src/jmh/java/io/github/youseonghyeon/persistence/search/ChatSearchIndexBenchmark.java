@@ -0,0 +1,94 @@
+package io.github.youseonghyeon.persistence.search;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1,000만 건(방 100개, 방당 10만 건)을 색인한 상태에서 {@link ChatSearchIndex}의 검색 지연을 측정합니다.
+ *
+ * <p>단어는 5만 개 어휘에서 Zipf 분포에 가깝게 뽑으므로, 자주 나오는 term 과 드문 term 의 posting 길이 차이가 큽니다.</p>
+ *
+ * <pre>{@code ./gradlew jmh -Pjmh.includes=ChatSearchIndexBenchmark}</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ChatSearchIndexBenchmark {
+
+    private static final int ROOMS = 100;
+    private static final int VOCABULARY = 50_000;
+    private static final int WORDS_PER_MESSAGE = 8;
+    private static final long STEP_MILLIS = 10;
+
+    @Param({"10000000"})
+    public int documents;
+
+    private ChatSearchIndex index;
+    private String[] words;
+    private long middle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "w" + Integer.toString(i, 36);
+        }
+        index = new ChatSearchIndex(documents, 1);
+        SplittableRandom random = new SplittableRandom(42);
+        List<ChatLog> batch = new ArrayList<>(10_000);
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < documents; i++) {
+            message.setLength(0);
+            for (int w = 0; w < WORDS_PER_MESSAGE; w++) {
+                message.append(words[zipf(random)]).append(' ');
+            }
+            batch.add(new ChatLog(i % ROOMS, i * STEP_MILLIS, "user", message.toString()));
+            if (batch.size() == 10_000) {
+                index.index(batch);
+                batch.clear();
+            }
+        }
+        index.index(batch);
+        middle = (documents / 2) * STEP_MILLIS;
+    }
+
+    /**
+     * 대략 Zipf(s=1) 분포: 낮은 번호의 단어가 훨씬 자주 나옵니다.
+     */
+    private static int zipf(SplittableRandom random) {
+        return (int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1);
+    }
+
+    @Benchmark
+    public List<ChatLog> commonTerm() {
+        return index.search(7L, words[0], 20);
+    }
+
+    @Benchmark
+    public List<ChatLog> rareTerm() {
+        return index.search(7L, words[20_000], 20);
+    }
+
+    @Benchmark
+    public List<ChatLog> twoTermAnd() {
+        return index.search(7L, words[3] + " " + words[40], 20);
+    }
+
+    @Benchmark
+    public List<ChatLog> prefix() {
+        return index.search(7L, words[1] + " " + words[1_000].substring(0, 2), 20);
+    }
+
+    @Benchmark
+    public List<ChatLog> commonTermInTimeRange() {
+        return index.search(7L, words[0], middle, middle + 100_000 * STEP_MILLIS, 20);
+    }
+}
@@ -30,18 +30,23 @@ public class Android {
         @Override
         public void run() {
             try {
+                write(new Message(EventType.ENTER, "room1", new byte[0], new byte[0], null));
                 while (true) {
                     String message = sc.nextLine();
-                    Message room1 = new Message(EventType.ENTER, "room1", "header".getBytes(StandardCharsets.UTF_8), message.getBytes(StandardCharsets.UTF_8), null);
-                    ByteBuffer buffer = serialize(room1);
-                    buffer.flip();
-                    socketChannel.write(buffer);
-
+                    write(new Message(EventType.USER_SEND, "room1", "header".getBytes(StandardCharsets.UTF_8), message.getBytes(StandardCharsets.UTF_8), null));
                 }
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
+
+        private void write(Message message) throws IOException {
+            ByteBuffer buffer = serialize(message);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                socketChannel.write(buffer);
+            }
+        }
     }
 
     private static class ResponseHandler implements Runnable {
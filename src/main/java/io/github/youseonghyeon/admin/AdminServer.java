@@ -0,0 +1,288 @@
+package io.github.youseonghyeon.admin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.youseonghyeon.broadcast.BroadcastHandoff;
+import io.github.youseonghyeon.core.ChatEngine;
+import io.github.youseonghyeon.core.ChatRoom;
+import io.github.youseonghyeon.core.exception.InitChatServiceException;
+import io.github.youseonghyeon.metrics.MetricsSnapshot;
+import io.github.youseonghyeon.model.User;
+import io.github.youseonghyeon.persistence.ChatHistoryWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 엔진 상태를 JSON 으로 보여주는 관리용 HTTP 서버입니다. JDK 내장 {@link HttpServer}를 사용하며 채팅 포트와 별도로 엽니다.
+ *
+ * <pre>
+ * GET /stats                          엔진 지표 스냅샷
+ * GET /rooms?top=20&amp;by=members|rate   참여자 수 또는 초당 메시지 수 상위 방
+ * GET /connections?top=20             쓰기 적체 상위 연결
+ * GET /executors                      읽기 풀, 브로드캐스트 큐, 이력 저장 큐 상태
+ * </pre>
+ *
+ * <p>방 목록과 참여자는 동시 맵을 순회해 읽으므로 {@code chatRoomMap}이나 방 락을 잡지 않습니다.
+ * 대신 응답 하나 안에서도 값이 서로 약간 다른 시점을 반영할 수 있습니다.
+ * 상위 N개는 크기 N 의 힙으로 고르므로 방이 많아도 전체를 정렬하지 않습니다.</p>
+ */
+public class AdminServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminServer.class);
+
+    public static final int DEFAULT_TOP = 20;
+    private static final int MAX_TOP = 1_000;
+    private static final long RATE_SAMPLE_SECONDS = 1;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final InetSocketAddress address;
+    private final Supplier<MetricsSnapshot> metrics;
+    private final Supplier<Collection<ChatRoom>> rooms;
+    private final Supplier<List<ExecutorStats>> executors;
+    private final RoomRateTracker roomRateTracker = new RoomRateTracker();
+
+    private HttpServer server;
+    private ScheduledExecutorService scheduler;
+
+    public AdminServer(ChatEngine engine, InetSocketAddress address) {
+        this(address, engine::getMetricsSnapshot, engine::getChatRooms, () -> executorStats(engine));
+    }
+
+    AdminServer(InetSocketAddress address, Supplier<MetricsSnapshot> metrics, Supplier<Collection<ChatRoom>> rooms,
+                Supplier<List<ExecutorStats>> executors) {
+        if (address == null) {
+            throw new IllegalArgumentException("Admin address must not be null.");
+        }
+        this.address = address;
+        this.metrics = metrics;
+        this.rooms = rooms;
+        this.executors = executors;
+    }
+
+    public synchronized void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-admin");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            scheduler.shutdownNow();
+            throw new InitChatServiceException(e);
+        }
+        server.setExecutor(scheduler);
+        server.createContext("/", this::handle);
+        server.start();
+        scheduler.scheduleAtFixedRate(this::sampleRoomRates, 0, RATE_SAMPLE_SECONDS, TimeUnit.SECONDS);
+        log.info("Admin server listening on {}", server.getAddress());
+    }
+
+    /**
+     * 실제로 열린 포트입니다. 0 번 포트로 시작한 경우 확인용으로 사용합니다.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void sampleRoomRates() {
+        try {
+            roomRateTracker.sample(rooms.get(), System.nanoTime());
+        } catch (RuntimeException e) {
+            log.warn("Failed to sample room message rates", e);
+        }
+    }
+
+    // -- routing
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, Map.of("error", "Only GET is supported"));
+                return;
+            }
+            URI uri = exchange.getRequestURI();
+            Map<String, String> query = parseQuery(uri.getRawQuery());
+            Object body = switch (uri.getPath()) {
+                case "/", "" -> Map.of("endpoints", List.of("/stats", "/rooms?top=20&by=members|rate", "/connections?top=20", "/executors"));
+                case "/stats" -> metrics.get();
+                case "/rooms" -> rooms(top(query), "rate".equals(query.get("by")));
+                case "/connections" -> connections(top(query));
+                case "/executors" -> executors.get();
+                default -> null;
+            };
+            if (body == null) {
+                send(exchange, 404, Map.of("error", "Not found: " + uri.getPath()));
+            } else {
+                send(exchange, 200, body);
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Admin request failed: {}", exchange.getRequestURI(), e);
+            send(exchange, 500, Map.of("error", String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json;
+        try {
+            json = OBJECT_MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            status = 500;
+            json = ("{\"error\":\"Failed to serialize response\"}").getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    // -- snapshots
+
+    Map<String, Object> rooms(int top, boolean byRate) {
+        Comparator<RoomStats> order = byRate
+                ? Comparator.comparingDouble(RoomStats::messagesPerSecond)
+                : Comparator.comparingInt(RoomStats::members);
+        PriorityQueue<RoomStats> heap = new PriorityQueue<>(top + 1, order);
+        int roomCount = 0;
+        for (ChatRoom room : rooms.get()) {
+            roomCount++;
+            heap.add(new RoomStats(room.getRoomId(), room.getParticipantCount(), room.getMessageCount(),
+                    roomRateTracker.rate(room.getRoomId())));
+            if (heap.size() > top) {
+                heap.poll();
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("roomCount", roomCount);
+        result.put("rooms", descending(heap, order));
+        return result;
+    }
+
+    Map<String, Object> connections(int top) {
+        Map<SocketChannel, int[]> roomsAndPending = new HashMap<>();
+        Map<SocketChannel, Long> failures = new HashMap<>();
+        for (ChatRoom room : rooms.get()) {
+            for (User user : room.getParticipants()) {
+                int[] counts = roomsAndPending.computeIfAbsent(user.getSocketChannel(), channel -> new int[2]);
+                counts[0]++;
+                counts[1] += user.getPendingWrites();
+                failures.merge(user.getSocketChannel(), user.getFailedWrites(), Long::sum);
+            }
+        }
+        Comparator<ConnectionStats> order = Comparator.comparingInt(ConnectionStats::pendingWrites)
+                .thenComparingLong(ConnectionStats::failedWrites);
+        PriorityQueue<ConnectionStats> heap = new PriorityQueue<>(top + 1, order);
+        roomsAndPending.forEach((channel, counts) -> {
+            heap.add(new ConnectionStats(remoteAddress(channel), counts[0], counts[1], failures.get(channel), channel.isOpen()));
+            if (heap.size() > top) {
+                heap.poll();
+            }
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connectionCount", roomsAndPending.size());
+        result.put("connections", descending(heap, order));
+        return result;
+    }
+
+    private static <T> List<T> descending(PriorityQueue<T> heap, Comparator<T> order) {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order.reversed());
+        return sorted;
+    }
+
+    private static String remoteAddress(SocketChannel channel) {
+        try {
+            return String.valueOf(channel.getRemoteAddress());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static List<ExecutorStats> executorStats(ChatEngine engine) {
+        List<ExecutorStats> stats = new ArrayList<>();
+        ThreadPoolExecutor readExecutor = engine.getChannelReadExecutor();
+        if (readExecutor != null) {
+            stats.add(ExecutorStats.of("channel-read", readExecutor));
+        }
+        if (engine.getMessageBroadCaster() instanceof BroadcastHandoff handoff) {
+            stats.add(ExecutorStats.singleThread("broadcast-handoff", handoff.getQueueDepth(), handoff.getDeliveredCount()));
+        }
+        ChatHistoryWriter historyWriter = engine.getChatHistoryWriter();
+        if (historyWriter != null) {
+            stats.add(ExecutorStats.singleThread("chat-history-writer", historyWriter.getQueueDepth(), historyWriter.getFlushedCount()));
+        }
+        return stats;
+    }
+
+    // -- query
+
+    private static int top(Map<String, String> query) {
+        String value = query.get("top");
+        if (value == null) {
+            return DEFAULT_TOP;
+        }
+        try {
+            int top = Integer.parseInt(value);
+            if (top <= 0 || top > MAX_TOP) {
+                throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP);
+            }
+            return top;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("top must be a number: " + value);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(pair.substring(0, separator), pair.substring(separator + 1));
+            }
+        }
+        return query;
+    }
+}
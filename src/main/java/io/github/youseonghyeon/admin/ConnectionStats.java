@@ -0,0 +1,13 @@
+package io.github.youseonghyeon.admin;
+
+/**
+ * 연결 하나의 상태입니다. 한 연결이 여러 방에 참여하면 방별 값을 합칩니다.
+ *
+ * @param remoteAddress 클라이언트 주소 (닫힌 연결은 null)
+ * @param rooms         참여 중인 방 수
+ * @param pendingWrites 진행 중인 쓰기 수 (쓰기 적체)
+ * @param failedWrites  실패한 쓰기 수
+ * @param open          소켓이 열려 있는지
+ */
+public record ConnectionStats(String remoteAddress, int rooms, int pendingWrites, long failedWrites, boolean open) {
+}
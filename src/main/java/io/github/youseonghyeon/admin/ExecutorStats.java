@@ -0,0 +1,24 @@
+package io.github.youseonghyeon.admin;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 엔진이 소유한 작업 스레드 하나(또는 풀)의 상태입니다.
+ *
+ * @param name           이름
+ * @param threads        스레드 수
+ * @param activeThreads  작업 중인 스레드 수 (단일 드레인 스레드는 대기 작업이 있으면 1)
+ * @param queueDepth     대기 중인 작업 수
+ * @param completedTasks 처리한 작업 수
+ */
+public record ExecutorStats(String name, int threads, int activeThreads, int queueDepth, long completedTasks) {
+
+    static ExecutorStats of(String name, ThreadPoolExecutor executor) {
+        return new ExecutorStats(name, executor.getPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                executor.getCompletedTaskCount());
+    }
+
+    static ExecutorStats singleThread(String name, int queueDepth, long completedTasks) {
+        return new ExecutorStats(name, 1, queueDepth > 0 ? 1 : 0, queueDepth, completedTasks);
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.youseonghyeon.admin;
+
+import io.github.youseonghyeon.core.ChatRoom;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방별 메시지 수를 주기적으로 표본 추출해 초당 메시지 수를 계산합니다. 표본 추출은 관리 서버 스레드 하나에서만 호출합니다.
+ */
+class RoomRateTracker {
+
+    private record Sample(long messages, long nanos) {
+    }
+
+    private Map<String, Sample> samples = new HashMap<>();
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+
+    void sample(Collection<ChatRoom> rooms, long now) {
+        Map<String, Sample> next = new HashMap<>(Math.max(16, rooms.size() * 2));
+        for (ChatRoom room : rooms) {
+            long messages = room.getMessageCount();
+            Sample previous = samples.get(room.getRoomId());
+            if (previous != null && now > previous.nanos()) {
+                rates.put(room.getRoomId(), (messages - previous.messages()) * 1e9 / (now - previous.nanos()));
+            }
+            next.put(room.getRoomId(), new Sample(messages, now));
+        }
+        rates.keySet().retainAll(next.keySet());
+        samples = next;
+    }
+
+    double rate(String roomId) {
+        return rates.getOrDefault(roomId, 0.0);
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.youseonghyeon.admin;
+
+/**
+ * 방 하나의 상태입니다.
+ *
+ * @param roomId            방 ID
+ * @param members           로컬 참여자 수
+ * @param messages          방이 생긴 뒤 전달한 메시지 수
+ * @param messagesPerSecond 최근 측정 구간의 초당 메시지 수
+ */
+public record RoomStats(String roomId, int members, long messages, double messagesPerSecond) {
+}
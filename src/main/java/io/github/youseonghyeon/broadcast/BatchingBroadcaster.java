@@ -0,0 +1,18 @@
+package io.github.youseonghyeon.broadcast;
+
+import java.time.Duration;
+
+/**
+ * 전송 배치 크기와 대기 시간(linger)을 설정할 수 있는 브로드캐스터입니다.
+ *
+ * <p>{@link io.github.youseonghyeon.config.ChatEngineConfig#broadcastBatching(int, Duration)}로 지정한 값이
+ * 엔진 시작 시 초기화 전에 전달됩니다.</p>
+ */
+public interface BatchingBroadcaster {
+
+    /**
+     * @param batchSizeBytes 한 번에 묶어 보낼 최대 바이트 수
+     * @param linger         배치를 채우기 위해 기다릴 최대 시간
+     */
+    void configureBatching(int batchSizeBytes, Duration linger);
+}
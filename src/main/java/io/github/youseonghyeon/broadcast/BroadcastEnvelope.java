@@ -0,0 +1,18 @@
+package io.github.youseonghyeon.broadcast;
+
+import io.github.youseonghyeon.core.dto.Message;
+
+/**
+ * 노드 간 전달되는 메시지를 감싸는 봉투(envelope)입니다.
+ *
+ * <p>원본 {@link Message}와 함께 발신 노드 ID, 노드별 시퀀스, 발신 시각을 담아
+ * 수신 노드가 자기 메시지(echo)를 걸러내거나 중복 수신을 판별할 수 있도록 합니다.
+ * 소켓 정보는 노드 밖으로 나가지 않으므로 {@link Message#socketChannel()}은 전송되지 않습니다.</p>
+ *
+ * @param originNodeId 메시지를 처음 발행한 노드 ID
+ * @param sequence     발행 노드 내에서 단조 증가하는 시퀀스
+ * @param timestamp    발행 시각 (Epoch millis)
+ * @param message      전달할 메시지
+ */
+public record BroadcastEnvelope(String originNodeId, long sequence, long timestamp, Message message) {
+}
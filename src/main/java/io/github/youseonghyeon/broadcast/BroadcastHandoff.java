@@ -0,0 +1,444 @@
+package io.github.youseonghyeon.broadcast;
+
+import io.github.youseonghyeon.broadcast.serde.BinaryFrameCodec;
+import io.github.youseonghyeon.core.LazyInitializer;
+import io.github.youseonghyeon.core.StartupPhase;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 디스패치 스레드와 실제 브로드캐스터 사이에 크기가 제한된 큐를 두는 데코레이터입니다.
+ *
+ * <p>{@link #broadcast(Object, Message)}는 큐에 메시지를 넣고 바로 반환하며, 전용 스레드 하나가 큐에서 꺼내
+ * 대상 브로드캐스터로 전달합니다. 따라서 Kafka producer 의 버퍼가 가득 차는 등 클러스터 전송이 느려져도
+ * 로컬 사용자에 대한 메시지 전달은 기다리지 않습니다.</p>
+ *
+ * <p>큐가 가득 찼을 때의 동작은 {@link OverflowPolicy}로 지정하며, 디스패치 스레드를 기다리게 하는 것은
+ * {@link OverflowPolicy#BLOCK}뿐입니다. {@link OverflowPolicy#SPILL}은
+ * 넘친 메시지를 {@link BinaryFrameCodec} 포맷으로 임시 파일에 기록하고, 큐가 비면 기록한 순서대로 전송합니다.
+ * 스필 중에 들어온 메시지도 순서를 지키기 위해 파일에 이어서 기록됩니다. 식별자는 문자열(엔진이 넘기는 방 ID)인 경우에만
+ * 함께 기록되며, 그 밖의 식별자는 스필된 메시지를 다시 전송할 때 {@code null}로 전달됩니다.</p>
+ *
+ * <p>대상 브로드캐스터가 {@link LazyInitializer}, {@link RoomLifecycleListener}를 구현하면 호출을 그대로 전달합니다.</p>
+ */
+public class BroadcastHandoff implements MessageBroadCaster, LazyInitializer, RoomLifecycleListener, DrainableBroadcaster, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BroadcastHandoff.class);
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofMillis(100);
+
+    private static final long POLL_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+    // 제한 시간 안에 끝나지 않은 드레인 스레드를 인터럽트한 뒤 종료를 기다리는 시간
+    private static final long INTERRUPT_GRACE_MILLIS = 100;
+    private static final int SPILL_READ_BATCH = 256;
+    private static final String SPILL_ORIGIN = "";
+
+    private final MessageBroadCaster delegate;
+    private final BlockingQueue<Pending> queue;
+    // 실행 중 변경 가능 (reconfigure)
+    private volatile OverflowPolicy overflowPolicy;
+    private volatile long blockTimeoutNanos;
+    private final Path spillDirectory;
+
+    // 스필 파일 상태는 spillLock 으로 보호
+    private final Object spillLock = new Object();
+    private FileChannel spillChannel;
+    private Path spillFile;
+    private long spillWritePosition = 0;
+    private long spillReadPosition = 0;
+    private volatile boolean spilling = false;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private Thread drainThread;
+    private volatile boolean running = false;
+
+    public BroadcastHandoff(MessageBroadCaster delegate, int capacity, OverflowPolicy overflowPolicy) {
+        this(delegate, capacity, overflowPolicy, DEFAULT_BLOCK_TIMEOUT, null);
+    }
+
+    /**
+     * @param delegate       실제 전송을 담당하는 브로드캐스터
+     * @param capacity       대기 큐 크기
+     * @param overflowPolicy 큐가 가득 찼을 때의 처리 방식
+     * @param blockTimeout   {@link OverflowPolicy#BLOCK}에서 빈 자리를 기다릴 최대 시간
+     * @param spillDirectory {@link OverflowPolicy#SPILL}에서 임시 파일을 만들 디렉터리 (null 이면 시스템 임시 디렉터리)
+     */
+    public BroadcastHandoff(MessageBroadCaster delegate, int capacity, OverflowPolicy overflowPolicy,
+                            Duration blockTimeout, @Nullable Path spillDirectory) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate broadcaster must not be null.");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy must not be null.");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = (blockTimeout == null ? DEFAULT_BLOCK_TIMEOUT : blockTimeout).toNanos();
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void initialize() {
+        if (delegate instanceof LazyInitializer lazyInitializer) {
+            lazyInitializer.initialize();
+        }
+        running = true;
+        drainThread = new Thread(this::runDrainLoop, "broadcast-handoff");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        log.info("Broadcast handoff started: delegate = {}, capacity = {}, policy = {}",
+                delegate.getClass().getName(), queue.remainingCapacity() + queue.size(), overflowPolicy);
+    }
+
+    @Override
+    public Set<StartupPhase> dependsOn() {
+        return delegate instanceof LazyInitializer lazyInitializer ? lazyInitializer.dependsOn() : Set.of();
+    }
+
+    @Override
+    public void broadcast(@Nullable Object identifier, Message message) {
+        accepted.increment();
+        Pending pending = new Pending(identifier, message, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK -> offerWithTimeout(pending);
+            case DROP_NEWEST -> {
+                if (!queue.offer(pending)) {
+                    dropped.increment();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(pending)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+            case SPILL -> {
+                if (spilling || !queue.offer(pending)) {
+                    spill(pending);
+                }
+            }
+        }
+    }
+
+    /**
+     * 실행 중에 큐가 가득 찼을 때의 처리 방식을 바꿉니다. 이후 들어오는 메시지부터 적용되며, 큐 크기는 바꿀 수 없습니다.
+     * 스필 중에 다른 방식으로 바꾸면 이미 스필된 메시지는 계속 전송하고 새 메시지는 스필하지 않습니다.
+     *
+     * @param overflowPolicy 큐가 가득 찼을 때의 처리 방식
+     * @param blockTimeout   {@link OverflowPolicy#BLOCK}에서 빈 자리를 기다릴 최대 시간
+     */
+    public void reconfigure(OverflowPolicy overflowPolicy, Duration blockTimeout) {
+        if (overflowPolicy == null || blockTimeout == null || blockTimeout.isNegative()) {
+            throw new IllegalArgumentException("Overflow policy must not be null and block timeout must not be negative.");
+        }
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        log.info("Broadcast handoff reconfigured: policy = {}, block timeout = {}", overflowPolicy, blockTimeout);
+    }
+
+    public Duration getBlockTimeout() {
+        return Duration.ofNanos(blockTimeoutNanos);
+    }
+
+    private void offerWithTimeout(Pending pending) {
+        try {
+            if (!queue.offer(pending, blockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                dropped.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void onRoomCreated(String roomId) {
+        if (delegate instanceof RoomLifecycleListener listener) {
+            listener.onRoomCreated(roomId);
+        }
+    }
+
+    @Override
+    public void onRoomRemoved(String roomId) {
+        if (delegate instanceof RoomLifecycleListener listener) {
+            listener.onRoomRemoved(roomId);
+        }
+    }
+
+    /**
+     * 드레인 스레드를 멈춥니다. 큐와 스필 파일에 남은 메시지는 제한 시간 안에서 최대한 전송합니다.
+     */
+    @Override
+    public void close() {
+        close(Duration.ofMillis(CLOSE_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * 드레인 스레드를 멈추고 위임 브로드캐스터를 닫습니다. 위임 브로드캐스터가 {@link DrainableBroadcaster}이면
+     * 남은 시간을 넘겨 닫습니다.
+     *
+     * @param timeout 큐와 스필 파일에 남은 메시지를 전송하며 기다릴 최대 시간
+     * @return 남은 메시지를 모두 전송했으면 true
+     */
+    @Override
+    public boolean close(Duration timeout) {
+        if (!running) {
+            return queue.isEmpty();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        running = false;
+        try {
+            drainThread.join(Math.max(1, timeout.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean drained = !drainThread.isAlive() && queue.isEmpty();
+        if (drainThread.isAlive()) {
+            // 스필 파일과 위임 브로드캐스터를 닫기 전에 드레인 스레드를 먼저 멈춤
+            drainThread.interrupt();
+            try {
+                drainThread.join(INTERRUPT_GRACE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (drainThread.isAlive()) {
+                log.warn("Broadcast handoff drain thread is still running after interrupt");
+            }
+        }
+        if (!drained) {
+            log.warn("Broadcast handoff closed with {} undelivered messages", queue.size());
+        }
+        synchronized (spillLock) {
+            closeSpillFile();
+        }
+        if (delegate instanceof DrainableBroadcaster drainable) {
+            drained &= drainable.close(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+        } else if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close delegate broadcaster", e);
+            }
+        }
+        return drained;
+    }
+
+    private void runDrainLoop() {
+        while (!Thread.currentThread().isInterrupted() && (running || !queue.isEmpty() || spilling)) {
+            try {
+                Pending next = spilling ? queue.poll() : queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    deliver(next);
+                } else if (spilling) {
+                    readSpillBatch().forEach(this::deliver);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Broadcast handoff drain failed", e);
+            }
+        }
+    }
+
+    private void deliver(Pending pending) {
+        try {
+            delegate.broadcast(pending.identifier(), pending.message());
+            delivered.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Failed to broadcast message: room = {}", pending.message().roomId(), e);
+        }
+    }
+
+    // -- spill
+
+    private void spill(Pending pending) {
+        synchronized (spillLock) {
+            // 드레인 스레드가 방금 스필을 모두 비웠다면 큐로 되돌아감
+            if (!spilling && queue.offer(pending)) {
+                return;
+            }
+            // 레코드: [식별자 길이(없으면 -1)][식별자 UTF-8][프레임 길이][프레임]
+            byte[] identifier = pending.identifier() instanceof String id ? id.getBytes(StandardCharsets.UTF_8) : null;
+            int identifierLength = identifier == null ? 0 : identifier.length;
+            BroadcastEnvelope envelope = new BroadcastEnvelope(SPILL_ORIGIN, 0, System.currentTimeMillis(), pending.message());
+            int length = BinaryFrameCodec.encodedLength(envelope);
+            ByteBuffer buffer = ByteBuffer.allocate(4 + identifierLength + 4 + length);
+            buffer.putInt(identifier == null ? -1 : identifierLength);
+            if (identifier != null) {
+                buffer.put(identifier);
+            }
+            buffer.putInt(length);
+            BinaryFrameCodec.encode(envelope, buffer);
+            buffer.flip();
+            try {
+                FileChannel channel = spillChannel();
+                while (buffer.hasRemaining()) {
+                    spillWritePosition += channel.write(buffer, spillWritePosition);
+                }
+                spilling = true;
+                spilled.increment();
+            } catch (IOException e) {
+                dropped.increment();
+                log.error("Failed to spill broadcast message: room = {}", pending.message().roomId(), e);
+            }
+        }
+    }
+
+    /**
+     * 스필 파일에서 최대 {@link #SPILL_READ_BATCH}개를 읽습니다. 끝까지 읽으면 파일을 비우고 스필 상태를 해제합니다.
+     * 종료 중에 스필 파일이 이미 닫혔다면 스필 상태만 해제합니다.
+     */
+    private List<Pending> readSpillBatch() {
+        List<Pending> batch = new ArrayList<>();
+        synchronized (spillLock) {
+            if (spillChannel == null) {
+                spilling = false;
+                return batch;
+            }
+            try {
+                ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+                while (batch.size() < SPILL_READ_BATCH && spillReadPosition < spillWritePosition) {
+                    long position = spillReadPosition;
+                    lengthBuffer.clear();
+                    readFully(lengthBuffer, position);
+                    int identifierLength = lengthBuffer.flip().getInt();
+                    position += 4;
+                    String identifier = null;
+                    if (identifierLength >= 0) {
+                        ByteBuffer identifierBuffer = ByteBuffer.allocate(identifierLength);
+                        readFully(identifierBuffer, position);
+                        identifier = new String(identifierBuffer.array(), StandardCharsets.UTF_8);
+                        position += identifierLength;
+                    }
+                    lengthBuffer.clear();
+                    readFully(lengthBuffer, position);
+                    int length = lengthBuffer.flip().getInt();
+                    ByteBuffer frame = ByteBuffer.allocate(length);
+                    readFully(frame, position + 4);
+                    spillReadPosition = position + 4 + length;
+                    batch.add(new Pending(identifier, BinaryFrameCodec.decode(frame.flip()).message(), System.nanoTime()));
+                }
+                if (spillReadPosition >= spillWritePosition) {
+                    spillChannel.truncate(0);
+                    spillReadPosition = 0;
+                    spillWritePosition = 0;
+                    spilling = false;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read broadcast spill file", e);
+            }
+        }
+        return batch;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = spillChannel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of spill file");
+            }
+        }
+    }
+
+    private FileChannel spillChannel() throws IOException {
+        if (spillChannel == null) {
+            spillFile = spillDirectory == null
+                    ? Files.createTempFile("broadcast-spill-", ".bin")
+                    : Files.createTempFile(spillDirectory, "broadcast-spill-", ".bin");
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return spillChannel;
+    }
+
+    private void closeSpillFile() {
+        if (spillChannel == null) {
+            return;
+        }
+        try {
+            spillChannel.close();
+            Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            log.warn("Failed to remove spill file {}", spillFile, e);
+        }
+        spillChannel = null;
+    }
+
+    // -- monitoring
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * 큐 맨 앞 메시지가 기다린 시간입니다. 큐가 비어 있으면 0 이며, 스필 파일에 있는 메시지는 포함하지 않습니다.
+     */
+    public long getLagNanos() {
+        Pending head = queue.peek();
+        return head == null ? 0 : Math.max(0, System.nanoTime() - head.enqueuedNanos());
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilled.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public MessageBroadCaster getDelegate() {
+        return delegate;
+    }
+
+    private record Pending(@Nullable Object identifier, Message message, long enqueuedNanos) {
+    }
+}
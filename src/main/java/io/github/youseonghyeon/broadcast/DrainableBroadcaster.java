@@ -0,0 +1,20 @@
+package io.github.youseonghyeon.broadcast;
+
+import java.time.Duration;
+
+/**
+ * 종료 시 남은 전송을 제한 시간 안에서 마무리할 수 있는 브로드캐스터입니다.
+ *
+ * <p>엔진은 종료 과정의 {@link io.github.youseonghyeon.core.DrainPhase#BROADCAST} 단계에서 남은 시간을 넘겨
+ * {@link #close(Duration)}를 호출합니다. 구현체는 그 시간을 넘겨 블로킹하지 않아야 합니다.</p>
+ */
+public interface DrainableBroadcaster {
+
+    /**
+     * 남은 메시지를 전송하고 자원을 닫습니다. 여러 번 호출해도 한 번만 닫습니다.
+     *
+     * @param timeout 전송을 마무리하며 기다릴 최대 시간
+     * @return 제한 시간 안에 모두 마무리했으면 true
+     */
+    boolean close(Duration timeout);
+}
@@ -0,0 +1,140 @@
+package io.github.youseonghyeon.broadcast;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 발신 노드별 슬라이딩 윈도우로 중복 수신된 메시지를 걸러내는 필터입니다.
+ *
+ * <p>노드별로 지금까지 본 가장 큰 시퀀스와, 그 아래 {@code windowSize}개 시퀀스의 수신 여부를 비트맵으로 유지합니다.
+ * 리밸런스 등으로 같은 메시지가 다시 전달되면 비트맵에서 걸러지며, 윈도우보다 오래된 시퀀스는 중복으로 간주합니다.</p>
+ *
+ * <p>시퀀스가 파티션마다 따로 순서를 갖는 전송(Kafka 등)에서는 {@link #accept(String, int, long)}로 (발신 노드, 파티션)
+ * 단위 윈도우를 사용합니다. 한 노드의 메시지가 여러 파티션에 나뉘어 서로 다른 속도로 소비되면, 노드 단위 윈도우 하나로는
+ * 늦게 읽힌 파티션의 정상 메시지가 윈도우 밖으로 밀려 중복으로 버려지기 때문입니다.</p>
+ *
+ * <p>추적하는 윈도우 수는 {@code maxOrigins}로 제한되며, 초과 시 가장 오래 사용되지 않은 윈도우를 제거합니다.</p>
+ */
+public class DuplicateFilter {
+
+    public static final int DEFAULT_WINDOW_SIZE = 4096;
+    public static final int DEFAULT_MAX_ORIGINS = 1024;
+
+    private static final int NO_PARTITION = -1;
+
+    private final int windowSize;
+    private final Map<Source, Window> windows;
+
+    public DuplicateFilter() {
+        this(DEFAULT_WINDOW_SIZE, DEFAULT_MAX_ORIGINS);
+    }
+
+    /**
+     * @param windowSize 노드별로 추적할 시퀀스 개수 (64의 배수로 올림)
+     * @param maxOrigins 동시에 추적할 최대 윈도우 수 (발신 노드, 또는 발신 노드와 파티션의 조합)
+     */
+    public DuplicateFilter(int windowSize, int maxOrigins) {
+        if (windowSize <= 0 || maxOrigins <= 0) {
+            throw new IllegalArgumentException("Window size and max origins must be positive.");
+        }
+        this.windowSize = (windowSize + 63) & ~63;
+        this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Source, Window> eldest) {
+                return size() > maxOrigins;
+            }
+        };
+    }
+
+    /**
+     * 주어진 발신 노드의 시퀀스를 처음 보는 경우에만 {@code true}를 반환하고 수신 처리합니다.
+     *
+     * @param originNodeId 발신 노드 ID
+     * @param sequence     발신 노드의 시퀀스
+     * @return 처음 수신한 메시지이면 true, 중복이거나 윈도우보다 오래된 메시지이면 false
+     */
+    public boolean accept(String originNodeId, long sequence) {
+        return accept(originNodeId, NO_PARTITION, sequence);
+    }
+
+    /**
+     * 주어진 발신 노드가 주어진 파티션으로 보낸 시퀀스를 처음 보는 경우에만 {@code true}를 반환하고 수신 처리합니다.
+     * 윈도우는 (발신 노드, 파티션)마다 따로 유지됩니다.
+     *
+     * @param originNodeId 발신 노드 ID
+     * @param partition    메시지를 수신한 파티션
+     * @param sequence     발신 노드의 시퀀스
+     * @return 처음 수신한 메시지이면 true, 중복이거나 윈도우보다 오래된 메시지이면 false
+     */
+    public synchronized boolean accept(String originNodeId, int partition, long sequence) {
+        Window window = windows.computeIfAbsent(new Source(originNodeId, partition), id -> new Window(windowSize));
+        return window.accept(sequence);
+    }
+
+    public synchronized int trackedOrigins() {
+        return windows.size();
+    }
+
+    private record Source(String originNodeId, int partition) {
+    }
+
+    private static final class Window {
+        private final long[] bits;
+        private final int size;
+        private long highest = Long.MIN_VALUE;
+
+        private Window(int size) {
+            this.size = size;
+            this.bits = new long[size >>> 6];
+        }
+
+        private boolean accept(long sequence) {
+            if (highest == Long.MIN_VALUE) {
+                highest = sequence;
+                set(sequence);
+                return true;
+            }
+            if (sequence > highest) {
+                long advance = sequence - highest;
+                if (advance >= size) {
+                    Arrays.fill(bits, 0L);
+                } else {
+                    for (long s = highest + 1; s < sequence; s++) {
+                        clear(s);
+                    }
+                }
+                highest = sequence;
+                set(sequence);
+                return true;
+            }
+            if (highest - sequence >= size) {
+                return false;
+            }
+            if (isSet(sequence)) {
+                return false;
+            }
+            set(sequence);
+            return true;
+        }
+
+        private int index(long sequence) {
+            return (int) Math.floorMod(sequence, (long) size);
+        }
+
+        private boolean isSet(long sequence) {
+            int i = index(sequence);
+            return (bits[i >>> 6] & (1L << (i & 63))) != 0;
+        }
+
+        private void set(long sequence) {
+            int i = index(sequence);
+            bits[i >>> 6] |= 1L << (i & 63);
+        }
+
+        private void clear(long sequence) {
+            int i = index(sequence);
+            bits[i >>> 6] &= ~(1L << (i & 63));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.youseonghyeon.broadcast;
+
+/**
+ * {@link BroadcastHandoff}의 대기 큐가 가득 찼을 때의 처리 방식입니다.
+ *
+ * <p>{@link #BLOCK}을 제외한 정책은 디스패치 스레드를 기다리게 하지 않습니다. 엔진 기본값은 {@link #DROP_OLDEST}입니다.</p>
+ */
+public enum OverflowPolicy {
+    /**
+     * 지정한 시간 동안 빈 자리를 기다리고, 그래도 없으면 새 메시지를 버립니다.
+     * 큐가 가득 차면 디스패치 스레드가 클러스터 전송을 기다리게 되므로, 로컬 전달 지연보다 유실을 줄이는 것이 중요할 때만 선택합니다.
+     */
+    BLOCK,
+    /** 가장 오래된 메시지를 버리고 새 메시지를 넣습니다. */
+    DROP_OLDEST,
+    /** 새 메시지를 버립니다. */
+    DROP_NEWEST,
+    /** 넘친 메시지를 디스크에 기록해 두었다가 큐가 비면 순서대로 전송합니다. */
+    SPILL
+}
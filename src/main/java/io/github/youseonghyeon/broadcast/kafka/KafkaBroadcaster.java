@@ -1,45 +1,110 @@
 package io.github.youseonghyeon.broadcast.kafka;
 
+import io.github.youseonghyeon.broadcast.BatchingBroadcaster;
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import io.github.youseonghyeon.broadcast.DuplicateFilter;
 import io.github.youseonghyeon.broadcast.MessageBroadCaster;
+import io.github.youseonghyeon.broadcast.serde.BinaryMessageSerde;
+import io.github.youseonghyeon.core.LazyInitializer;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * 초기화 가능 영역과 지연 처리 필요 영역을 분리해야 함
- * 분리 후 lazy initialization interface 구현하는 것으로 함
- * 해당 구현 후 Engine쪽에서 instaceof를 통해 lazy initialization interface를 구현한 클래스를 처리 해야함
+ * Kafka 토픽을 통해 노드 간 메시지를 전달하는 브로드캐스터입니다.
+ *
+ * <p>생성자에서는 설정 검증만 수행하며, producer/consumer 연결과 polling 은 엔진 시작 시
+ * {@link #initialize()}에서 시작됩니다.</p>
+ *
+ * <p>발행하는 모든 메시지는 {@link BroadcastEnvelope}로 감싸 노드 ID와 노드별 시퀀스를 붙입니다.
+ * 수신 측에서는 자신이 발행한 메시지(echo)를 버리고, 리밸런스 등으로 재전달된 메시지는
+ * (발신 노드, 파티션)별 {@link DuplicateFilter} 윈도우로 걸러낸 뒤 로컬 {@link ChatEventPublisher}로 전달합니다.</p>
+ *
+ * <p>메시지는 {@link RoomPartitioner}로 계산한 방 단위 파티션으로 발행됩니다.
+ * {@link SubscriptionMode#HOSTED_ROOMS} 모드에서는 consumer group 구독 대신, 로컬에 참여자가 있는 방의 파티션만
+ * 직접 할당(assign)하여 읽습니다. 방이 생성/제거될 때마다({@link RoomLifecycleListener}) 할당이 갱신되며,
+ * 새로 할당된 파티션은 최신 위치부터 읽습니다.</p>
+ *
+ * <p>{@link #broadcast(Object, Message)}는 producer 버퍼가 가득 차면 블로킹될 수 있으므로, 엔진은 기본적으로
+ * {@link io.github.youseonghyeon.broadcast.BroadcastHandoff}로 감싸 디스패치 스레드와 분리합니다.</p>
  */
-public class KafkaBroadcaster extends KafkaLifecycleManager implements MessageBroadCaster, LazyInitializer {
+public class KafkaBroadcaster extends KafkaLifecycleManager implements MessageBroadCaster, LazyInitializer, RoomLifecycleListener, BatchingBroadcaster {
 
     private final Logger log = LoggerFactory.getLogger(KafkaBroadcaster.class);
 
-    private final String DEFAULT_CONSUMER_GROUP_ID_PREFIX = "chat-group";
-    private final String DEFAULT_TOPIC = "chat-topic";
+    private static final String DEFAULT_CONSUMER_GROUP_ID_PREFIX = "chat-group";
+    static final String DEFAULT_TOPIC = "chat-topic";
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    // 중복 필터 윈도우는 (발신 노드, 파티션)마다 하나이므로 노드 단위 상한보다 넉넉하게 둡니다.
+    private static final int MAX_DUPLICATE_WINDOWS = 8192;
 
-    private KafkaConsumer<String, Message> consumer;
-    private KafkaProducer<String, Message> producer;
+    /**
+     * 노드가 어떤 파티션을 읽을지 결정하는 구독 모드입니다.
+     */
+    public enum SubscriptionMode {
+        /** consumer group 으로 토픽의 모든 파티션을 구독합니다. */
+        ALL_PARTITIONS,
+        /** 로컬에 참여자가 있는 방의 파티션만 구독합니다. */
+        HOSTED_ROOMS
+    }
+
+    private Consumer<String, BroadcastEnvelope> consumer;
+    private Producer<String, BroadcastEnvelope> producer;
     private final AtomicBoolean consumerRunning = new AtomicBoolean(true);
-    private ChatEventPublisher chatEventPublisher;
-    private ThreadPoolExecutor consumerThreadExecutor;
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+    private final ChatEventPublisher chatEventPublisher;
+    private final Properties properties;
+    private final String consumerGroupId;
+    private final SubscriptionMode subscriptionMode;
+    private volatile int partitionCount;
+    private Integer batchSizeBytes;
+    private Duration linger;
+
+    // HOSTED_ROOMS 모드에서 구독할 파티션을 계산하기 위한 로컬 방 목록 (할당 변경은 poll 스레드에서만 수행)
+    private final Set<String> hostedRooms = ConcurrentHashMap.newKeySet();
+    private volatile boolean assignmentDirty = false;
 
     // 브로드케스팅 중복을 제어하기 위한 노드 ID
-    private static final String nodeId = UUID.randomUUID().toString();
+    private final String nodeId;
+    private final AtomicLong sequence = new AtomicLong();
+    private final DuplicateFilter duplicateFilter = new DuplicateFilter(DuplicateFilter.DEFAULT_WINDOW_SIZE, MAX_DUPLICATE_WINDOWS);
+    private final LongAdder suppressedEchoes = new LongAdder();
+    private final LongAdder droppedDuplicates = new LongAdder();
+    private final LongAdder consumedRecords = new LongAdder();
+    private final LongAdder consumedBytes = new LongAdder();
 
     public KafkaBroadcaster(@Nullable String consumerGroupIdPrefix, Properties properties, ChatEventPublisher chatEventPublisher) {
+        this(consumerGroupIdPrefix, properties, chatEventPublisher, SubscriptionMode.ALL_PARTITIONS);
+    }
+
+    public KafkaBroadcaster(@Nullable String consumerGroupIdPrefix, Properties properties, ChatEventPublisher chatEventPublisher,
+                            SubscriptionMode subscriptionMode) {
         super();
         if (properties == null) {
             throw new IllegalArgumentException("Properties must not be null.");
@@ -51,20 +116,101 @@ public class KafkaBroadcaster extends KafkaLifecycleManager implements MessageBr
             consumerGroupIdPrefix = DEFAULT_CONSUMER_GROUP_ID_PREFIX;
         }
         validateDefaultProperties(properties);
-        initProducer(properties);
-        initConsumer(properties, consumerGroupIdPrefix + "-" + nodeId, DEFAULT_TOPIC);
+        this.properties = properties;
+        this.chatEventPublisher = chatEventPublisher;
+        this.nodeId = UUID.randomUUID().toString();
+        this.consumerGroupId = consumerGroupIdPrefix + "-" + nodeId;
+        this.subscriptionMode = subscriptionMode == null ? SubscriptionMode.ALL_PARTITIONS : subscriptionMode;
+    }
+
+    /**
+     * 이미 생성된 producer/consumer 를 사용하는 생성자입니다. (MockProducer/MockConsumer 테스트용)
+     */
+    KafkaBroadcaster(Producer<String, BroadcastEnvelope> producer, Consumer<String, BroadcastEnvelope> consumer,
+                     ChatEventPublisher chatEventPublisher, String nodeId) {
+        this(producer, consumer, chatEventPublisher, nodeId, SubscriptionMode.ALL_PARTITIONS, 1);
+    }
+
+    KafkaBroadcaster(Producer<String, BroadcastEnvelope> producer, Consumer<String, BroadcastEnvelope> consumer,
+                     ChatEventPublisher chatEventPublisher, String nodeId, SubscriptionMode subscriptionMode, int partitionCount) {
+        super();
+        this.producer = producer;
+        this.consumer = consumer;
+        this.chatEventPublisher = chatEventPublisher;
+        this.nodeId = nodeId;
+        this.properties = null;
+        this.consumerGroupId = DEFAULT_CONSUMER_GROUP_ID_PREFIX + "-" + nodeId;
+        this.subscriptionMode = subscriptionMode;
+        this.partitionCount = partitionCount;
+        manage(producer, consumer);
+    }
+
+    /**
+     * producer 의 {@code batch.size}, {@code linger.ms}를 지정합니다. {@link #initialize()} 전에 호출해야 하며,
+     * 사용자가 properties 에 직접 지정한 값보다 우선합니다.
+     */
+    @Override
+    public void configureBatching(int batchSizeBytes, Duration linger) {
+        if (batchSizeBytes < 0 || linger == null || linger.isNegative()) {
+            throw new IllegalArgumentException("Batch size and linger must not be negative.");
+        }
+        this.batchSizeBytes = batchSizeBytes;
+        this.linger = linger;
     }
 
     @Override
     public void initialize() {
-        // 지연 처리 필요한것들을 여기서 실행, consumer와 producer 초기화 등이 있음
+        if (isClosed()) {
+            throw new IllegalStateException("Kafka broadcaster is closed; configure a new instance before restarting the engine.");
+        }
+        if (producer == null) {
+            initProducer(properties);
+        }
+        if (consumer == null) {
+            initConsumer(properties, consumerGroupId);
+        }
+        if (partitionCount <= 0) {
+            partitionCount = discoverPartitionCount();
+        }
+        if (subscriptionMode == SubscriptionMode.ALL_PARTITIONS) {
+            consumer.subscribe(Collections.singleton(DEFAULT_TOPIC));
+        } else {
+            if (partitionCount <= 0) {
+                throw new IllegalStateException("Partition count of topic " + DEFAULT_TOPIC + " is unknown; HOSTED_ROOMS mode requires it.");
+            }
+            assignmentDirty = true;
+        }
+        polling.set(true);
+        submit(this::runPollLoop);
+        log.info("Kafka broadcaster started: nodeId = {}, groupId = {}, mode = {}, partitions = {}", nodeId, consumerGroupId, subscriptionMode, partitionCount);
+    }
+
+    private int discoverPartitionCount() {
+        List<PartitionInfo> partitions = consumer.partitionsFor(DEFAULT_TOPIC);
+        return partitions == null ? 0 : partitions.size();
+    }
+
+    @Override
+    public void onRoomCreated(String roomId) {
+        if (hostedRooms.add(roomId)) {
+            assignmentDirty = true;
+        }
+    }
+
+    @Override
+    public void onRoomRemoved(String roomId) {
+        if (hostedRooms.remove(roomId)) {
+            assignmentDirty = true;
+        }
     }
 
 
     @Override
     public void broadcast(@Nullable Object identifier, Message message) {
-        // publish start
-        ProducerRecord<String, Message> record = new ProducerRecord<>(DEFAULT_TOPIC, message.roomId(), message);
+        BroadcastEnvelope envelope = new BroadcastEnvelope(nodeId, sequence.incrementAndGet(), System.currentTimeMillis(), message);
+        int partitions = partitionCount;
+        Integer partition = partitions > 0 ? RoomPartitioner.partition(message.roomId(), partitions) : null;
+        ProducerRecord<String, BroadcastEnvelope> record = new ProducerRecord<>(DEFAULT_TOPIC, partition, message.roomId(), envelope);
         producer.send(record, (metadata, exception) -> {
             if (exception != null) {
                 log.error("Error sending message: {}", exception.getMessage());
@@ -75,20 +221,121 @@ public class KafkaBroadcaster extends KafkaLifecycleManager implements MessageBr
 
     }
 
-    private void initConsumer(Properties properties, String groupId, String topicName) {
-        Properties props = new Properties(properties);
-        props.setProperty(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        consumer = createConsumer(props);
-        consumer.subscribe(Collections.singleton(topicName));
+    @Override
+    protected void stopPolling() {
+        consumerRunning.set(false);
+    }
 
-        while (consumerRunning.get()) {
-            consumer.poll(Duration.ofMillis(100))
-                    .forEach(record -> chatEventPublisher.publish(record.value()));
+    @Override
+    protected boolean isPolling() {
+        return polling.get();
+    }
+
+    private void runPollLoop() {
+        try {
+            // 종료 시 인터럽트되면 HOSTED_ROOMS 모드의 대기 중에도 루프를 빠져나옴
+            while (consumerRunning.get() && !Thread.currentThread().isInterrupted()) {
+                pollOnce();
+            }
+        } catch (WakeupException e) {
+            log.info("Kafka consumer woken up for shutdown: nodeId = {}", nodeId);
+        } finally {
+            closeConsumer();
+            polling.set(false);
         }
     }
 
+    void pollOnce() {
+        if (subscriptionMode == SubscriptionMode.HOSTED_ROOMS) {
+            refreshAssignment();
+            if (consumer.assignment().isEmpty()) {
+                // 호스팅 중인 방이 없으면 poll 할 수 없으므로 대기
+                sleepQuietly(POLL_TIMEOUT);
+                return;
+            }
+        }
+        for (ConsumerRecord<String, BroadcastEnvelope> record : consumer.poll(POLL_TIMEOUT)) {
+            consumedRecords.increment();
+            consumedBytes.add(Math.max(0, record.serializedKeySize()) + Math.max(0, record.serializedValueSize()));
+            deliver(record.partition(), record.value());
+        }
+    }
+
+    /**
+     * 로컬 방 목록이 바뀐 경우 구독 파티션을 다시 계산합니다. KafkaConsumer 는 thread-safe 하지 않으므로 poll 스레드에서만 호출합니다.
+     */
+    private void refreshAssignment() {
+        if (!assignmentDirty) {
+            return;
+        }
+        assignmentDirty = false;
+        Set<TopicPartition> target = new HashSet<>();
+        for (String roomId : hostedRooms) {
+            target.add(new TopicPartition(DEFAULT_TOPIC, RoomPartitioner.partition(roomId, partitionCount)));
+        }
+        Set<TopicPartition> current = consumer.assignment();
+        if (target.equals(current)) {
+            return;
+        }
+        Set<TopicPartition> added = new HashSet<>(target);
+        added.removeAll(current);
+        consumer.assign(target);
+        if (!added.isEmpty()) {
+            consumer.seekToEnd(added);
+        }
+        log.info("Kafka partition assignment changed: nodeId = {}, partitions = {}", nodeId, target);
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 다른 노드에서 수신한 메시지를 로컬로 전달합니다. 자신이 발행한 메시지와 중복 메시지는 버립니다.
+     */
+    private void deliver(int partition, BroadcastEnvelope envelope) {
+        if (envelope == null) {
+            return;
+        }
+        if (nodeId.equals(envelope.originNodeId())) {
+            suppressedEchoes.increment();
+            return;
+        }
+        if (!duplicateFilter.accept(envelope.originNodeId(), partition, envelope.sequence())) {
+            droppedDuplicates.increment();
+            log.debug("Duplicate message dropped: origin = {}, partition = {}, sequence = {}", envelope.originNodeId(), partition, envelope.sequence());
+            return;
+        }
+        try {
+            chatEventPublisher.publish(envelope.message());
+        } catch (RuntimeException e) {
+            log.error("Failed to publish remote message: origin = {}, sequence = {}", envelope.originNodeId(), envelope.sequence(), e);
+        }
+    }
+
+    private void initConsumer(Properties properties, String groupId) {
+        Properties props = new Properties();
+        props.putAll(properties);
+        props.setProperty(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.putIfAbsent(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.putIfAbsent(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, BinaryMessageSerde.BinaryDeserializer.class.getName());
+        consumer = createConsumer(props);
+    }
+
     private void initProducer(Properties properties) {
-        producer = createProducer(properties);
+        Properties props = new Properties();
+        props.putAll(properties);
+        props.putIfAbsent(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.putIfAbsent(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, BinaryMessageSerde.BinarySerializer.class.getName());
+        if (batchSizeBytes != null) {
+            props.setProperty(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(batchSizeBytes));
+            props.setProperty(ProducerConfig.LINGER_MS_CONFIG, String.valueOf(linger.toMillis()));
+        }
+        producer = createProducer(props);
     }
 
     private void validateDefaultProperties(Properties properties) {
@@ -100,4 +347,31 @@ public class KafkaBroadcaster extends KafkaLifecycleManager implements MessageBr
         }
     }
 
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getSuppressedEchoCount() {
+        return suppressedEchoes.sum();
+    }
+
+    public long getDroppedDuplicateCount() {
+        return droppedDuplicates.sum();
+    }
+
+    public long getConsumedRecordCount() {
+        return consumedRecords.sum();
+    }
+
+    /**
+     * 이 노드가 토픽에서 읽은 레코드의 직렬화 크기(key + value) 합계입니다.
+     */
+    public long getConsumedBytes() {
+        return consumedBytes.sum();
+    }
+
+    public SubscriptionMode getSubscriptionMode() {
+        return subscriptionMode;
+    }
+
 }
@@ -1,47 +1,129 @@
 package io.github.youseonghyeon.broadcast.kafka;
 
+import io.github.youseonghyeon.broadcast.DrainableBroadcaster;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-abstract class KafkaLifecycleManager {
+abstract class KafkaLifecycleManager implements DrainableBroadcaster, AutoCloseable {
 
-    // TODO OOM 발생 문제를 제거하기 위해 queue size 제한 필요
+    private static final Logger log = LoggerFactory.getLogger(KafkaLifecycleManager.class);
+
+    static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    // poll 루프 전용 풀. 발행 측 대기열은 엔진의 BroadcastHandoff 가 크기를 제한함
     private ExecutorService executorService;
-    private KafkaConsumer<?, ?> consumerRef;
-    private KafkaProducer<?, ?> producerRef;
-    private final Runnable closeResource = () -> {
+    private Consumer<?, ?> consumerRef;
+    private Producer<?, ?> producerRef;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    // close 가 시작되면 설정되며, poll 스레드가 consumer 를 닫을 때도 같은 기한을 사용
+    private volatile long closeDeadlineNanos;
+
+
+    protected KafkaLifecycleManager() {
+        this.executorService = initThreadPool();
+    }
+
+    /**
+     * {@link #DEFAULT_CLOSE_TIMEOUT} 안에서 {@link #close(Duration)}를 수행합니다.
+     */
+    @Override
+    public void close() {
+        close(DEFAULT_CLOSE_TIMEOUT);
+    }
+
+    /**
+     * producer 를 닫아 전송 대기 중인 레코드를 보내고, poll 루프를 멈춥니다. 여러 번 호출해도 한 번만 닫습니다.
+     *
+     * <p>producer 종료와 poll 스레드 종료 대기는 모두 {@code timeout} 안에서 이루어지며, 시간이 지나도 끝나지 않은
+     * poll 스레드는 인터럽트합니다. consumer 는 thread-safe 하지 않으므로 poll 스레드가 루프를 빠져나오며 닫고,
+     * poll 루프가 시작되지 않았다면 여기서 닫습니다.</p>
+     *
+     * @return 제한 시간 안에 producer 와 poll 스레드가 모두 종료되었으면 true
+     */
+    @Override
+    public boolean close(Duration timeout) {
+        if (!closed.compareAndSet(false, true)) {
+            return true;
+        }
+        closeDeadlineNanos = System.nanoTime() + Math.max(0, timeout.toNanos());
+        stopPolling();
+        boolean completed = true;
         if (producerRef != null) {
-            producerRef.close();
+            try {
+                producerRef.close(remainingCloseTime());
+            } catch (RuntimeException e) {
+                completed = false;
+                log.warn("Failed to close Kafka producer", e);
+            }
         }
         if (consumerRef != null) {
-            consumerRef.wakeup();
-            consumerRef.close();
+            if (isPolling()) {
+                consumerRef.wakeup();
+            } else {
+                closeConsumer();
+            }
         }
         if (executorService != null && !executorService.isShutdown()) {
             executorService.shutdown();
-            if (!executorService.isTerminated()) {
-                try {
-                    boolean result = executorService.awaitTermination(5, TimeUnit.SECONDS);
-                    if (!result) {
-                        System.err.println("Executor service did not terminate in the specified time.");
-                        executorService.shutdownNow();
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+            try {
+                if (!executorService.awaitTermination(remainingCloseTime().toNanos(), TimeUnit.NANOSECONDS)) {
+                    completed = false;
+                    log.warn("Kafka poll thread did not stop within {} ms; interrupting it", timeout.toMillis());
+                    executorService.shutdownNow();
                 }
+            } catch (InterruptedException e) {
+                completed = false;
+                executorService.shutdownNow();
+                Thread.currentThread().interrupt();
             }
         }
-    };
+        return completed;
+    }
 
+    /**
+     * poll 루프가 다음 반복에서 멈추도록 표시합니다. {@link #close(Duration)} 시작 시 호출됩니다.
+     */
+    protected abstract void stopPolling();
 
-    protected KafkaLifecycleManager() {
-        this.executorService = initThreadPool();
-        Runtime.getRuntime().addShutdownHook(new Thread(closeResource, "KafkaLifecycleManager-ShutdownHook"));
+    /**
+     * poll 루프가 실행 중이면 true 입니다. 실행 중이 아니면 consumer 는 {@link #close(Duration)}에서 직접 닫습니다.
+     */
+    protected abstract boolean isPolling();
+
+    /**
+     * {@link #close(Duration)}가 호출되었으면 true 입니다. 닫힌 뒤에는 poll 스레드 풀이 종료되어 다시 시작할 수 없습니다.
+     */
+    protected boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * 등록된 consumer 를 종료 기한 안에서 닫습니다. poll 스레드 또는 poll 루프가 없을 때의 close 스레드에서만 호출합니다.
+     */
+    protected void closeConsumer() {
+        if (consumerRef == null) {
+            return;
+        }
+        try {
+            consumerRef.close(closed.get() ? remainingCloseTime() : DEFAULT_CLOSE_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("Failed to close Kafka consumer", e);
+        }
+    }
+
+    private Duration remainingCloseTime() {
+        return Duration.ofNanos(Math.max(0, closeDeadlineNanos - System.nanoTime()));
     }
 
     private ExecutorService initThreadPool() {
@@ -84,4 +166,12 @@ abstract class KafkaLifecycleManager {
         return kvKafkaProducer;
     }
 
+    /**
+     * 외부에서 생성된 producer/consumer 를 종료 대상으로 등록합니다. (예: 테스트용 Mock 객체)
+     */
+    protected void manage(Producer<?, ?> producer, Consumer<?, ?> consumer) {
+        this.producerRef = producer;
+        this.consumerRef = consumer;
+    }
+
 }
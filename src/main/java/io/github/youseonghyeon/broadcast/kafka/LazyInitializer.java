@@ -1,6 +0,0 @@
-package io.github.youseonghyeon.broadcast.kafka;
-
-public interface LazyInitializer {
-
-    void initialize();
-}
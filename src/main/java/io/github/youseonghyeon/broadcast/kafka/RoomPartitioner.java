@@ -0,0 +1,29 @@
+package io.github.youseonghyeon.broadcast.kafka;
+
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 채팅방 ID로 Kafka 파티션을 결정합니다.
+ *
+ * <p>Kafka 기본 파티셔너의 key 기반 분배(murmur2)와 같은 계산을 사용하므로, producer 가 지정하는 파티션과
+ * 방을 호스팅하는 노드가 구독할 파티션이 항상 일치합니다.</p>
+ */
+public final class RoomPartitioner {
+
+    private RoomPartitioner() {
+    }
+
+    /**
+     * @param roomId         채팅방 ID
+     * @param partitionCount 토픽의 파티션 수
+     * @return 채팅방이 속하는 파티션 번호
+     */
+    public static int partition(String roomId, int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive.");
+        }
+        return Utils.toPositive(Utils.murmur2(roomId.getBytes(StandardCharsets.UTF_8))) % partitionCount;
+    }
+}
@@ -0,0 +1,689 @@
+package io.github.youseonghyeon.broadcast.mesh;
+
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import io.github.youseonghyeon.broadcast.DuplicateFilter;
+import io.github.youseonghyeon.broadcast.MessageBroadCaster;
+import io.github.youseonghyeon.broadcast.serde.BinaryFrameCodec;
+import io.github.youseonghyeon.core.LazyInitializer;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
+import io.github.youseonghyeon.core.exception.InitChatServiceException;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import io.github.youseonghyeon.utils.ExecutorCoordinator;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 브로커 없이 노드 간 TCP 연결로 메시지를 전달하는 브로드캐스터입니다.
+ *
+ * <p>정적으로 설정된 모든 피어에 NIO 연결을 맺어 유지하며, 하나의 I/O 스레드가 연결/수신/송신을 모두 처리합니다.
+ * 각 연결은 방향이 정해져 있습니다.</p>
+ * <ul>
+ *     <li>내가 연결한(outbound) 피어로는 내 메시지({@code DATA})를 보내고, 피어가 호스팅하는 방 목록({@code INTEREST})을 받습니다.</li>
+ *     <li>피어가 연결해 온(inbound) 연결로는 피어의 메시지를 받고, 내가 호스팅하는 방 목록을 보냅니다.</li>
+ * </ul>
+ *
+ * <p>메시지는 피어별 큐에 쌓였다가 I/O 스레드가 한 번의 write 로 모아 보냅니다(batching). 프레임 본문은
+ * {@link BinaryFrameCodec} 포맷을 그대로 사용합니다. 연결이 끊기면 지수 백오프로 재연결하며,
+ * interest filtering 이 켜져 있으면 해당 방에 참여자가 있다고 알려온 피어에게만 메시지를 보냅니다.</p>
+ *
+ * <p>수신한 메시지는 크기가 {@value #DELIVERY_QUEUE_CAPACITY}인 큐를 거쳐 전달 스레드가 로컬로 전달하며, 큐가 가득 차면
+ * 버립니다. 연결되지 않은 피어로 보내지 않은 메시지와 버린 메시지는 {@link EngineMetrics}에 기록합니다.</p>
+ *
+ * <pre>
+ * frame := length(i32, type + payload) | type(1 byte) | payload
+ * DATA            payload = BinaryFrameCodec envelope
+ * INTEREST_ADD    payload = u16 len + UTF-8 roomId
+ * INTEREST_REMOVE payload = u16 len + UTF-8 roomId
+ * </pre>
+ */
+public class MeshBroadcaster implements MessageBroadCaster, LazyInitializer, RoomLifecycleListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MeshBroadcaster.class);
+
+    static final byte FRAME_DATA = 1;
+    static final byte FRAME_INTEREST_ADD = 2;
+    static final byte FRAME_INTEREST_REMOVE = 3;
+
+    private static final int FRAME_HEADER_SIZE = 4 + 1;
+    private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final long MAX_SELECT_MILLIS = 1_000;
+    public static final int DEFAULT_MAX_PENDING_FRAMES = 10_000;
+    static final int DELIVERY_QUEUE_CAPACITY = 10_000;
+
+    private final int port;
+    private final List<Peer> peers;
+    private final ChatEventPublisher chatEventPublisher;
+    private final boolean interestFiltering;
+    private final int maxPendingFrames;
+    private final EngineMetrics metrics;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final DuplicateFilter duplicateFilter = new DuplicateFilter();
+
+    // 아래 필드는 I/O 스레드에서만 접근
+    private final Set<String> hostedRooms = new HashSet<>();
+    private final List<Inbound> inbounds = new ArrayList<>();
+
+    private final Queue<Runnable> ioTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupRequested = new AtomicBoolean(false);
+    private final LongAdder sentFrames = new LongAdder();
+    private final LongAdder receivedFrames = new LongAdder();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder skippedFrames = new LongAdder();
+
+    private Selector selector;
+    private ServerSocketChannel serverSocketChannel;
+    private Thread ioThread;
+    private ExecutorService deliveryExecutor;
+    private volatile boolean running = false;
+
+    public MeshBroadcaster(int port, List<InetSocketAddress> peerAddresses, ChatEventPublisher chatEventPublisher) {
+        this(port, peerAddresses, chatEventPublisher, true, DEFAULT_MAX_PENDING_FRAMES);
+    }
+
+    /**
+     * @param port               다른 노드의 연결을 받을 포트
+     * @param peerAddresses      연결할 피어 목록 (자기 자신은 제외)
+     * @param chatEventPublisher 수신한 메시지를 전달할 로컬 이벤트 퍼블리셔
+     * @param interestFiltering  true 이면 해당 방에 참여자가 있는 피어에게만 전송
+     * @param maxPendingFrames   피어별로 쌓아둘 수 있는 최대 미전송 프레임 수 (초과 시 버림)
+     */
+    public MeshBroadcaster(int port, List<InetSocketAddress> peerAddresses, ChatEventPublisher chatEventPublisher,
+                           boolean interestFiltering, int maxPendingFrames) {
+        this(port, peerAddresses, chatEventPublisher, interestFiltering, maxPendingFrames, null);
+    }
+
+    /**
+     * @param port               다른 노드의 연결을 받을 포트
+     * @param peerAddresses      연결할 피어 목록 (자기 자신은 제외)
+     * @param chatEventPublisher 수신한 메시지를 전달할 로컬 이벤트 퍼블리셔
+     * @param interestFiltering  true 이면 해당 방에 참여자가 있는 피어에게만 전송
+     * @param maxPendingFrames   피어별로 쌓아둘 수 있는 최대 미전송 프레임 수 (초과 시 버림)
+     * @param metrics            보내지 않거나 버린 프레임을 기록할 지표 (null 이면 기록하지 않음)
+     */
+    public MeshBroadcaster(int port, List<InetSocketAddress> peerAddresses, ChatEventPublisher chatEventPublisher,
+                           boolean interestFiltering, int maxPendingFrames, @Nullable EngineMetrics metrics) {
+        if (peerAddresses == null) {
+            throw new IllegalArgumentException("Peer addresses must not be null.");
+        }
+        if (chatEventPublisher == null) {
+            throw new IllegalArgumentException("ChatEventPublisher must not be null.");
+        }
+        if (maxPendingFrames <= 0) {
+            throw new IllegalArgumentException("Max pending frames must be positive.");
+        }
+        this.port = port;
+        this.peers = peerAddresses.stream().map(Peer::new).toList();
+        this.chatEventPublisher = chatEventPublisher;
+        this.interestFiltering = interestFiltering;
+        this.maxPendingFrames = maxPendingFrames;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void initialize() {
+        try {
+            selector = Selector.open();
+            serverSocketChannel = ServerSocketChannel.open();
+            serverSocketChannel.bind(new InetSocketAddress(port));
+            serverSocketChannel.configureBlocking(false);
+            serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new InitChatServiceException(e);
+        }
+        deliveryExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(DELIVERY_QUEUE_CAPACITY),
+                runner -> new Thread(runner, "mesh-delivery"));
+        running = true;
+        ioThread = new Thread(this::runLoop, "mesh-io-" + port);
+        ioThread.setDaemon(true);
+        ioThread.start();
+        log.info("Mesh broadcaster started: nodeId = {}, port = {}, peers = {}", nodeId, port, peers.size());
+    }
+
+    @Override
+    public void broadcast(@Nullable Object identifier, Message message) {
+        BroadcastEnvelope envelope = new BroadcastEnvelope(nodeId, sequence.incrementAndGet(), System.currentTimeMillis(), message);
+        boolean queued = false;
+        for (Peer peer : peers) {
+            if (!peer.connected) {
+                skippedFrames.increment();
+                if (metrics != null) {
+                    metrics.peerDeliverySkipped();
+                }
+                log.debug("Mesh peer {} is not connected; frame {} not sent", peer.address, envelope.sequence());
+                continue;
+            }
+            if (interestFiltering && !peer.remoteInterest.contains(message.roomId())) {
+                continue;
+            }
+            if (peer.pendingCount.incrementAndGet() > maxPendingFrames) {
+                peer.pendingCount.decrementAndGet();
+                recordDropped(1);
+                continue;
+            }
+            peer.pending.offer(envelope);
+            queued = true;
+        }
+        if (queued) {
+            wakeup();
+        }
+    }
+
+    @Override
+    public void onRoomCreated(String roomId) {
+        submitIoTask(() -> {
+            if (hostedRooms.add(roomId)) {
+                inbounds.forEach(inbound -> inbound.enqueue(interestFrame(FRAME_INTEREST_ADD, roomId)));
+            }
+        });
+    }
+
+    @Override
+    public void onRoomRemoved(String roomId) {
+        submitIoTask(() -> {
+            if (hostedRooms.remove(roomId)) {
+                inbounds.forEach(inbound -> inbound.enqueue(interestFrame(FRAME_INTEREST_REMOVE, roomId)));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(MAX_SELECT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ExecutorCoordinator.shutdownSequential(deliveryExecutor);
+    }
+
+    // -- I/O thread
+
+    private void runLoop() {
+        try {
+            while (running) {
+                selector.select(selectTimeout());
+                wakeupRequested.set(false);
+                runIoTasks();
+                connectDuePeers();
+                processSelectedKeys();
+                flushAll();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Mesh I/O loop terminated unexpectedly", e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    private long selectTimeout() {
+        long now = System.currentTimeMillis();
+        long timeout = MAX_SELECT_MILLIS;
+        for (Peer peer : peers) {
+            if (peer.channel == null) {
+                timeout = Math.min(timeout, Math.max(1, peer.nextAttemptAt - now));
+            }
+        }
+        return timeout;
+    }
+
+    private void runIoTasks() {
+        Runnable task;
+        while ((task = ioTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void connectDuePeers() {
+        long now = System.currentTimeMillis();
+        for (Peer peer : peers) {
+            if (peer.channel == null && peer.nextAttemptAt <= now) {
+                connect(peer);
+            }
+        }
+    }
+
+    private void connect(Peer peer) {
+        try {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            peer.channel = channel;
+            if (channel.connect(peer.address)) {
+                onConnected(peer);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, peer);
+            }
+        } catch (IOException e) {
+            disconnect(peer, e);
+        }
+    }
+
+    private void onConnected(Peer peer) throws IOException {
+        peer.connected = true;
+        peer.backoffMillis = INITIAL_BACKOFF_MILLIS;
+        peer.channel.register(selector, SelectionKey.OP_READ, peer);
+        log.info("Connected to mesh peer {}", peer.address);
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (key.isConnectable()) {
+                    Peer peer = (Peer) connection;
+                    if (peer.channel.finishConnect()) {
+                        onConnected(peer);
+                    }
+                    continue;
+                }
+                if (key.isReadable()) {
+                    read(connection);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(connection);
+                }
+            } catch (IOException | RuntimeException e) {
+                close(connection, e);
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverSocketChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Inbound inbound = new Inbound(channel);
+            channel.register(selector, SelectionKey.OP_READ, inbound);
+            inbounds.add(inbound);
+            // 새 피어에게 현재 호스팅 중인 방 전체를 알림
+            hostedRooms.forEach(roomId -> inbound.enqueue(interestFrame(FRAME_INTEREST_ADD, roomId)));
+        } catch (IOException e) {
+            log.error("Failed to accept mesh peer connection", e);
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        int read = connection.channel.read(connection.readBuffer);
+        if (read == -1) {
+            throw new ClosedChannelException();
+        }
+        ByteBuffer buffer = connection.readBuffer;
+        buffer.flip();
+        while (buffer.remaining() >= FRAME_HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length <= 0 || length > MAX_FRAME_SIZE) {
+                throw new IOException("Invalid mesh frame length: " + length);
+            }
+            if (buffer.remaining() < 4 + length) {
+                if (buffer.capacity() < 4 + length) {
+                    ByteBuffer larger = ByteBuffer.allocate(4 + length);
+                    larger.put(buffer);
+                    connection.readBuffer = larger;
+                    return;
+                }
+                break;
+            }
+            byte type = buffer.get(start + 4);
+            ByteBuffer payload = buffer.duplicate();
+            payload.position(start + FRAME_HEADER_SIZE).limit(start + 4 + length);
+            handleFrame(connection, type, payload);
+            buffer.position(start + 4 + length);
+        }
+        buffer.compact();
+    }
+
+    private void handleFrame(Connection connection, byte type, ByteBuffer payload) {
+        receivedFrames.increment();
+        switch (type) {
+            case FRAME_DATA -> deliver(BinaryFrameCodec.decode(payload));
+            case FRAME_INTEREST_ADD -> {
+                if (connection instanceof Peer peer) {
+                    peer.remoteInterest.add(readRoomId(payload));
+                }
+            }
+            case FRAME_INTEREST_REMOVE -> {
+                if (connection instanceof Peer peer) {
+                    peer.remoteInterest.remove(readRoomId(payload));
+                }
+            }
+            default -> log.warn("Unknown mesh frame type: {}", type);
+        }
+    }
+
+    private void deliver(BroadcastEnvelope envelope) {
+        if (nodeId.equals(envelope.originNodeId()) || !duplicateFilter.accept(envelope.originNodeId(), envelope.sequence())) {
+            return;
+        }
+        try {
+            deliveryExecutor.execute(() -> {
+                try {
+                    chatEventPublisher.publish(envelope.message());
+                } catch (RuntimeException e) {
+                    log.error("Failed to publish mesh message: origin = {}, sequence = {}", envelope.originNodeId(), envelope.sequence(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 전달 큐가 가득 찼거나 종료 중. I/O 스레드는 기다리지 않음
+            recordDropped(1);
+            log.debug("Mesh delivery queue full; dropped origin = {}, sequence = {}", envelope.originNodeId(), envelope.sequence());
+        }
+    }
+
+    private void recordDropped(int count) {
+        droppedFrames.add(count);
+        if (metrics != null) {
+            metrics.peerDeliveriesDropped(count);
+        }
+    }
+
+    private void flushAll() {
+        for (Peer peer : peers) {
+            if (peer.connected && peer.hasPendingWrites()) {
+                flushQuietly(peer);
+            }
+        }
+        for (Inbound inbound : new ArrayList<>(inbounds)) {
+            if (inbound.hasPendingWrites()) {
+                flushQuietly(inbound);
+            }
+        }
+    }
+
+    private void flushQuietly(Connection connection) {
+        try {
+            flush(connection);
+        } catch (IOException | RuntimeException e) {
+            close(connection, e);
+        }
+    }
+
+    /**
+     * 대기 중인 프레임을 쓰기 버퍼에 모아 한 번에 전송하고, 다 보내지 못하면 OP_WRITE 로 이어서 전송합니다.
+     */
+    private void flush(Connection connection) throws IOException {
+        sentFrames.add(connection.fill());
+        ByteBuffer buffer = connection.writeBuffer;
+        buffer.flip();
+        connection.channel.write(buffer);
+        buffer.compact();
+        SelectionKey key = connection.channel.keyFor(selector);
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        if (connection.hasPendingWrites()) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        } else {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void close(Connection connection, Exception cause) {
+        if (connection instanceof Peer peer) {
+            disconnect(peer, cause);
+        } else {
+            closeChannel(connection.channel);
+            inbounds.remove(connection);
+            log.info("Mesh peer disconnected: {}", cause.toString());
+        }
+    }
+
+    private void disconnect(Peer peer, Exception cause) {
+        closeChannel(peer.channel);
+        peer.channel = null;
+        peer.connected = false;
+        peer.remoteInterest.clear();
+        recordDropped(peer.clearPending());
+        peer.nextAttemptAt = System.currentTimeMillis() + peer.backoffMillis;
+        log.warn("Mesh peer {} unavailable ({}), retrying in {} ms", peer.address, cause.toString(), peer.backoffMillis);
+        peer.backoffMillis = Math.min(peer.backoffMillis * 2, MAX_BACKOFF_MILLIS);
+    }
+
+    private void closeAll() {
+        peers.forEach(peer -> {
+            closeChannel(peer.channel);
+            peer.connected = false;
+        });
+        inbounds.forEach(inbound -> closeChannel(inbound.channel));
+        inbounds.clear();
+        closeChannel(serverSocketChannel);
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Failed to close mesh selector", e);
+        }
+    }
+
+    private static void closeChannel(Channel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close mesh channel", e);
+        }
+    }
+
+    private void submitIoTask(Runnable task) {
+        ioTasks.offer(task);
+        wakeup();
+    }
+
+    private void wakeup() {
+        Selector current = selector;
+        if (current != null && wakeupRequested.compareAndSet(false, true)) {
+            current.wakeup();
+        }
+    }
+
+    private static ByteBuffer interestFrame(byte type, String roomId) {
+        byte[] roomIdBytes = roomId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + 2 + roomIdBytes.length);
+        frame.putInt(1 + 2 + roomIdBytes.length).put(type).putShort((short) roomIdBytes.length).put(roomIdBytes);
+        return frame.flip();
+    }
+
+    private static String readRoomId(ByteBuffer payload) {
+        int length = Short.toUnsignedInt(payload.getShort());
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // -- monitoring
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getConnectedPeerCount() {
+        return (int) peers.stream().filter(peer -> peer.connected).count();
+    }
+
+    public long getSentFrameCount() {
+        return sentFrames.sum();
+    }
+
+    public long getReceivedFrameCount() {
+        return receivedFrames.sum();
+    }
+
+    public long getDroppedFrameCount() {
+        return droppedFrames.sum();
+    }
+
+    /**
+     * 피어가 연결되어 있지 않아 보내지 않은 프레임 수입니다.
+     */
+    public long getSkippedFrameCount() {
+        return skippedFrames.sum();
+    }
+
+    /**
+     * 연결된 피어 중 하나라도 해당 방에 참여자가 있다고 알려왔는지 여부입니다.
+     */
+    boolean hasRemoteInterest(String roomId) {
+        return peers.stream().anyMatch(peer -> peer.remoteInterest.contains(roomId));
+    }
+
+    // -- connections
+
+    private abstract static class Connection {
+        SocketChannel channel;
+        ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        /** 대기 중인 프레임을 쓰기 버퍼가 허용하는 만큼 옮기고, 옮긴 프레임 수를 반환합니다. */
+        abstract int fill();
+
+        abstract boolean hasQueuedFrames();
+
+        boolean hasPendingWrites() {
+            return writeBuffer.position() > 0 || hasQueuedFrames();
+        }
+
+        /** 프레임 하나가 들어갈 공간을 확보합니다. 버퍼가 비어 있는데도 부족하면 버퍼를 키웁니다. */
+        boolean ensureCapacity(int size) {
+            if (size <= writeBuffer.remaining()) {
+                return true;
+            }
+            if (writeBuffer.position() == 0) {
+                writeBuffer = ByteBuffer.allocate(size);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** 내가 연결한 피어. 내 메시지를 보내고, 피어가 호스팅하는 방 목록을 받습니다. */
+    private static final class Peer extends Connection {
+        final InetSocketAddress address;
+        final Queue<BroadcastEnvelope> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingCount = new AtomicInteger();
+        final Set<String> remoteInterest = ConcurrentHashMap.newKeySet();
+        volatile boolean connected = false;
+        long nextAttemptAt = 0;
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+
+        Peer(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        @Override
+        int fill() {
+            int filled = 0;
+            BroadcastEnvelope next;
+            while ((next = pending.peek()) != null) {
+                int size = FRAME_HEADER_SIZE + BinaryFrameCodec.encodedLength(next);
+                if (!ensureCapacity(size)) {
+                    break;
+                }
+                pending.poll();
+                pendingCount.decrementAndGet();
+                writeBuffer.putInt(size - 4).put(FRAME_DATA);
+                BinaryFrameCodec.encode(next, writeBuffer);
+                filled++;
+            }
+            return filled;
+        }
+
+        @Override
+        boolean hasQueuedFrames() {
+            return !pending.isEmpty();
+        }
+
+        /**
+         * 대기 중인 프레임을 꺼낸 만큼만 개수를 줄입니다. 카운터를 한 번에 0 으로 만들면 그사이 {@code broadcast()}가
+         * 늘려 둔 몫이 사라져 카운터가 실제 대기열과 어긋납니다.
+         */
+        int clearPending() {
+            int dropped = 0;
+            while (pending.poll() != null) {
+                pendingCount.decrementAndGet();
+                dropped++;
+            }
+            readBuffer.clear();
+            writeBuffer.clear();
+            return dropped;
+        }
+    }
+
+    /** 피어가 연결해 온 연결. 피어의 메시지를 받고, 내가 호스팅하는 방 목록을 보냅니다. */
+    private static final class Inbound extends Connection {
+        final Queue<ByteBuffer> control = new ArrayDeque<>();
+
+        Inbound(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void enqueue(ByteBuffer frame) {
+            control.add(frame.duplicate());
+        }
+
+        @Override
+        int fill() {
+            int filled = 0;
+            ByteBuffer next;
+            while ((next = control.peek()) != null) {
+                if (!ensureCapacity(next.remaining())) {
+                    break;
+                }
+                writeBuffer.put(control.poll());
+                filled++;
+            }
+            return filled;
+        }
+
+        @Override
+        boolean hasQueuedFrames() {
+            return !control.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.youseonghyeon.broadcast.serde;
+
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 노드 간 메시지를 위한 바이너리 프레임 코덱입니다.
+ *
+ * <p>Kafka, TCP 메시, 공유 메모리 등 전송 수단과 관계없이 동일한 프레임 포맷을 사용하도록
+ * {@link ByteBuffer} 기반으로 인코딩/디코딩을 제공합니다. 모든 정수는 big-endian 입니다.</p>
+ *
+ * <pre>
+ * +---------+-----------+----------+-----------+-----------------+-------------+------------------+-------------------+
+ * | version | eventType | sequence | timestamp | originNodeId    | roomId      | header           | content           |
+ * | 1 byte  | 1 byte    | 8 bytes  | 8 bytes   | u16 len + UTF-8 | u16 + UTF-8 | i32 len + bytes  | i32 len + bytes   |
+ * +---------+-----------+----------+-----------+-----------------+-------------+------------------+-------------------+
+ * </pre>
+ *
+ * <p>header/content 길이가 {@code -1}이면 {@code null}을 의미합니다.
+ * 문자열은 중간 byte[] 생성 없이 버퍼에 직접 UTF-8로 기록합니다.</p>
+ */
+public final class BinaryFrameCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int FIXED_SIZE = 1 + 1 + 8 + 8 + 2 + 2 + 4 + 4;
+    private static final int MAX_SHORT_STRING = 0xFFFF;
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    private BinaryFrameCodec() {
+    }
+
+    /**
+     * 인코딩 결과의 정확한 바이트 크기를 계산합니다.
+     *
+     * @param envelope 인코딩할 봉투
+     * @return 인코딩된 프레임 크기
+     */
+    public static int encodedLength(BroadcastEnvelope envelope) {
+        Message message = envelope.message();
+        return FIXED_SIZE
+               + utf8Length(envelope.originNodeId())
+               + utf8Length(message.roomId())
+               + lengthOf(message.header())
+               + lengthOf(message.content());
+    }
+
+    /**
+     * 봉투를 버퍼의 현재 위치부터 기록합니다. 버퍼에는 {@link #encodedLength(BroadcastEnvelope)} 이상의
+     * 여유 공간이 있어야 합니다.
+     *
+     * @param envelope 인코딩할 봉투
+     * @param buffer   기록 대상 버퍼
+     * @throws IllegalArgumentException 문자열 필드가 65535 바이트를 넘는 경우
+     */
+    public static void encode(BroadcastEnvelope envelope, ByteBuffer buffer) {
+        Message message = envelope.message();
+        buffer.put(VERSION);
+        buffer.put((byte) message.eventType().ordinal());
+        buffer.putLong(envelope.sequence());
+        buffer.putLong(envelope.timestamp());
+        putShortString(buffer, envelope.originNodeId());
+        putShortString(buffer, message.roomId());
+        putBytes(buffer, message.header());
+        putBytes(buffer, message.content());
+    }
+
+    /**
+     * 버퍼의 현재 위치에서 봉투 하나를 읽습니다. 디코딩된 {@link Message}의 소켓은 항상 {@code null} 입니다.
+     *
+     * @param buffer 읽을 버퍼
+     * @return 디코딩된 봉투
+     * @throws IllegalArgumentException 지원하지 않는 버전이거나 프레임이 손상된 경우
+     */
+    public static BroadcastEnvelope decode(ByteBuffer buffer) {
+        if (buffer.remaining() < FIXED_SIZE) {
+            throw new IllegalArgumentException("Frame too short: " + buffer.remaining() + " bytes");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported frame version: " + version);
+        }
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= EVENT_TYPES.length) {
+            throw new IllegalArgumentException("Unknown event type ordinal: " + ordinal);
+        }
+        long sequence = buffer.getLong();
+        long timestamp = buffer.getLong();
+        String originNodeId = getShortString(buffer);
+        String roomId = getShortString(buffer);
+        byte[] header = getBytes(buffer);
+        byte[] content = getBytes(buffer);
+        Message message = new Message(EVENT_TYPES[ordinal], roomId, header, content, null);
+        return new BroadcastEnvelope(originNodeId, sequence, timestamp, message);
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid field length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void putShortString(ByteBuffer buffer, String value) {
+        int length = utf8Length(value);
+        if (length > MAX_SHORT_STRING) {
+            throw new IllegalArgumentException("String field exceeds " + MAX_SHORT_STRING + " bytes");
+        }
+        buffer.putShort((short) length);
+        if (value != null) {
+            putUtf8(buffer, value);
+        }
+    }
+
+    private static String getShortString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void putUtf8(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 맞지 않는 surrogate 는 U+FFFD 로 치환 (utf8Length 와 동일하게 3바이트)
+                buffer.put((byte) 0xEF).put((byte) 0xBF).put((byte) 0xBD);
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
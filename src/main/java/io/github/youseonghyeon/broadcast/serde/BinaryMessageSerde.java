@@ -0,0 +1,65 @@
+package io.github.youseonghyeon.broadcast.serde;
+
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link BroadcastEnvelope}를 위한 Kafka 바이너리 Serde 입니다.
+ *
+ * <p>{@link JsonSerde}와 달리 header/content 를 base64 로 부풀리지 않고 길이 접두 raw bytes 로 기록하며,
+ * 소켓은 직렬화하지 않습니다. 포맷은 {@link BinaryFrameCodec}을 따릅니다.</p>
+ *
+ * <p>직렬화 시 정확한 크기의 byte[] 하나만 할당하며, 역직렬화 시에는 문자열과 header/content 외에
+ * 추가 버퍼를 할당하지 않습니다. Kafka 설정에서 클래스명으로 지정할 수 있도록
+ * {@link BinarySerializer}, {@link BinaryDeserializer}는 public 정적 클래스로 제공합니다.</p>
+ */
+public class BinaryMessageSerde implements Serde<BroadcastEnvelope> {
+
+    private final Serializer<BroadcastEnvelope> serializer = new BinarySerializer();
+    private final Deserializer<BroadcastEnvelope> deserializer = new BinaryDeserializer();
+
+    @Override
+    public Serializer<BroadcastEnvelope> serializer() {
+        return serializer;
+    }
+
+    @Override
+    public Deserializer<BroadcastEnvelope> deserializer() {
+        return deserializer;
+    }
+
+    public static class BinarySerializer implements Serializer<BroadcastEnvelope> {
+        @Override
+        public byte[] serialize(String topic, BroadcastEnvelope data) {
+            if (data == null) {
+                return null;
+            }
+            try {
+                byte[] bytes = new byte[BinaryFrameCodec.encodedLength(data)];
+                BinaryFrameCodec.encode(data, ByteBuffer.wrap(bytes));
+                return bytes;
+            } catch (RuntimeException e) {
+                throw new SerializationException("Failed to serialize broadcast envelope", e);
+            }
+        }
+    }
+
+    public static class BinaryDeserializer implements Deserializer<BroadcastEnvelope> {
+        @Override
+        public BroadcastEnvelope deserialize(String topic, byte[] data) {
+            if (data == null) {
+                return null;
+            }
+            try {
+                return BinaryFrameCodec.decode(ByteBuffer.wrap(data));
+            } catch (RuntimeException e) {
+                throw new SerializationException("Failed to deserialize broadcast envelope", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package io.github.youseonghyeon.broadcast.shm;
+
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import io.github.youseonghyeon.broadcast.MessageBroadCaster;
+import io.github.youseonghyeon.broadcast.serde.BinaryFrameCodec;
+import io.github.youseonghyeon.core.LazyInitializer;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.exception.InitChatServiceException;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 같은 호스트의 여러 엔진 프로세스가 메모리 매핑 파일을 링 버퍼로 공유하여 메시지를 주고받는 브로드캐스터입니다.
+ *
+ * <p>모든 프로세스가 하나의 파일을 {@link FileChannel#map}으로 매핑하며, 커널 소켓을 거치지 않고 메모리 복사만으로
+ * 메시지를 전달합니다. 슬롯에 기록되는 프레임은 {@link BinaryFrameCodec} 포맷을 그대로 사용합니다.</p>
+ *
+ * <pre>
+ * header (128 bytes)
+ *   0  magic(i32) | version(i32) | slotCount(i32) | slotSize(i32)
+ *   64 writeSequence(i64)              다음에 발급할 시퀀스 (CAS 로 증가)
+ * slot[i] (slotSize bytes)
+ *   stamp(i64) | length(i32) | padding(i32) | frame
+ * </pre>
+ *
+ * <ul>
+ *     <li>쓰기: {@code writeSequence}를 원자적으로 증가시켜 시퀀스 {@code s}를 발급받고, 슬롯 {@code s % slotCount}의
+ *     stamp 를 {@code -(s + 1)}(기록 중)로 바꾼 뒤 프레임을 기록하고, 마지막에 {@code s + 1}(발행됨)로 바꿉니다.
+ *     여러 프로세스/스레드가 동시에 쓸 수 있습니다.</li>
+ *     <li>읽기: 프로세스마다 자신의 read cursor 를 가지며, stamp 가 {@code cursor + 1}인 슬롯만 읽습니다.
+ *     복사 후 stamp 를 다시 확인하여 읽는 도중 덮어쓰였는지 검사합니다.</li>
+ *     <li>쓰기는 읽기를 기다리지 않습니다. 느린 reader 가 한 바퀴 이상 뒤처지면(lapped) 잃어버린 만큼 cursor 를 앞으로 옮기고
+ *     {@link #getLostMessageCount()}에 기록합니다.</li>
+ *     <li>시퀀스를 발급받은 writer 가 발행 전에 죽으면 그 슬롯은 영영 발행되지 않습니다. reader 는 발급된 시퀀스의 슬롯이
+ *     claim timeout 이 지나도록 발행되지 않으면 버려진 슬롯으로 보고 건너뛰며 {@link #getAbandonedSlotCount()}에 기록합니다.</li>
+ * </ul>
+ */
+public class SharedMemoryBroadcaster implements MessageBroadCaster, LazyInitializer, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedMemoryBroadcaster.class);
+
+    public static final int DEFAULT_SLOT_COUNT = 16 * 1024;
+    public static final int DEFAULT_SLOT_SIZE = 1024;
+    public static final Duration DEFAULT_CLAIM_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final int MAGIC = 0x43485348; // "CHSH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 128;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_COUNT_OFFSET = 8;
+    private static final int SLOT_SIZE_OFFSET = 12;
+    private static final int WRITE_SEQUENCE_OFFSET = 64;
+    private static final int SLOT_HEADER_SIZE = 16;
+    private static final int SPIN_TRIES = 100;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final int slotCount;
+    private final int slotSize;
+    private final ChatEventPublisher chatEventPublisher;
+    private final long claimTimeoutNanos;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private volatile long readCursor;
+    private Thread readerThread;
+    // 읽기 스레드 전용: 발행을 기다리기 시작한 시퀀스와 시각
+    private long stalledCursor = -1;
+    private long stalledSinceNanos;
+    private volatile boolean running = false;
+
+    public SharedMemoryBroadcaster(Path file, ChatEventPublisher chatEventPublisher) {
+        this(file, DEFAULT_SLOT_COUNT, DEFAULT_SLOT_SIZE, chatEventPublisher);
+    }
+
+    /**
+     * @param file               프로세스들이 공유할 파일 경로
+     * @param slotCount          링 버퍼 슬롯 수 (2의 거듭제곱)
+     * @param slotSize           슬롯 하나의 크기 (8의 배수, 슬롯 헤더 16바이트 포함)
+     * @param chatEventPublisher 수신한 메시지를 전달할 로컬 이벤트 퍼블리셔
+     */
+    public SharedMemoryBroadcaster(Path file, int slotCount, int slotSize, ChatEventPublisher chatEventPublisher) {
+        this(file, slotCount, slotSize, DEFAULT_CLAIM_TIMEOUT, chatEventPublisher);
+    }
+
+    /**
+     * @param file               프로세스들이 공유할 파일 경로
+     * @param slotCount          링 버퍼 슬롯 수 (2의 거듭제곱)
+     * @param slotSize           슬롯 하나의 크기 (8의 배수, 슬롯 헤더 16바이트 포함)
+     * @param claimTimeout       발급된 슬롯이 이 시간 동안 발행되지 않으면 writer 가 죽은 것으로 보고 건너뜀
+     * @param chatEventPublisher 수신한 메시지를 전달할 로컬 이벤트 퍼블리셔
+     */
+    public SharedMemoryBroadcaster(Path file, int slotCount, int slotSize, Duration claimTimeout, ChatEventPublisher chatEventPublisher) {
+        if (file == null) {
+            throw new IllegalArgumentException("File must not be null.");
+        }
+        if (chatEventPublisher == null) {
+            throw new IllegalArgumentException("ChatEventPublisher must not be null.");
+        }
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two.");
+        }
+        if (slotSize < SLOT_HEADER_SIZE + 64 || slotSize % 8 != 0) {
+            throw new IllegalArgumentException("Slot size must be a multiple of 8 and at least " + (SLOT_HEADER_SIZE + 64) + ".");
+        }
+        if ((long) slotCount * slotSize + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ring buffer must be smaller than 2GB.");
+        }
+        if (claimTimeout == null || claimTimeout.isNegative() || claimTimeout.isZero()) {
+            throw new IllegalArgumentException("Claim timeout must be positive.");
+        }
+        this.file = file;
+        this.slotCount = slotCount;
+        this.slotSize = slotSize;
+        this.chatEventPublisher = chatEventPublisher;
+        this.claimTimeoutNanos = claimTimeout.toNanos();
+    }
+
+    @Override
+    public void initialize() {
+        attach();
+        running = true;
+        readerThread = new Thread(this::runReadLoop, "shm-reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+        log.info("Shared memory broadcaster started: nodeId = {}, file = {}, slots = {} x {}", nodeId, file, slotCount, slotSize);
+    }
+
+    /**
+     * 파일을 매핑하고 현재 쓰기 위치부터 읽도록 cursor 를 맞춥니다. 파일을 처음 만드는 프로세스가 헤더를 기록합니다.
+     */
+    void attach() {
+        int size = HEADER_SIZE + slotCount * slotSize;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock headerLock = channel.lock();
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                if (buffer.getInt(MAGIC_OFFSET) == 0) {
+                    buffer.putInt(VERSION_OFFSET, VERSION);
+                    buffer.putInt(SLOT_COUNT_OFFSET, slotCount);
+                    buffer.putInt(SLOT_SIZE_OFFSET, slotSize);
+                    buffer.putInt(MAGIC_OFFSET, MAGIC);
+                } else {
+                    validateHeader();
+                }
+            } finally {
+                headerLock.release();
+            }
+        } catch (IOException e) {
+            throw new InitChatServiceException(e);
+        } catch (IllegalStateException e) {
+            close();
+            throw e;
+        }
+        readCursor = (long) LONG_VIEW.getAcquire(buffer, WRITE_SEQUENCE_OFFSET);
+    }
+
+    private void validateHeader() {
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IllegalStateException("Not a shared memory ring buffer file: " + file);
+        }
+        if (buffer.getInt(SLOT_COUNT_OFFSET) != slotCount || buffer.getInt(SLOT_SIZE_OFFSET) != slotSize) {
+            throw new IllegalStateException("Ring buffer layout mismatch: file = " + buffer.getInt(SLOT_COUNT_OFFSET) + " x "
+                                            + buffer.getInt(SLOT_SIZE_OFFSET) + ", configured = " + slotCount + " x " + slotSize);
+        }
+    }
+
+    @Override
+    public void broadcast(@Nullable Object identifier, Message message) {
+        if (buffer == null) {
+            throw new IllegalStateException("Shared memory broadcaster is not initialized.");
+        }
+        BroadcastEnvelope envelope = new BroadcastEnvelope(nodeId, sequence.incrementAndGet(), System.currentTimeMillis(), message);
+        int length = BinaryFrameCodec.encodedLength(envelope);
+        if (length > slotSize - SLOT_HEADER_SIZE) {
+            oversized.increment();
+            log.warn("Message too large for shared memory slot: room = {}, size = {}, max = {}", message.roomId(), length, slotSize - SLOT_HEADER_SIZE);
+            return;
+        }
+        long claimed = (long) LONG_VIEW.getAndAdd(buffer, WRITE_SEQUENCE_OFFSET, 1L);
+        int offset = slotOffset(claimed);
+        LONG_VIEW.setVolatile(buffer, offset, -(claimed + 1));
+        buffer.putInt(offset + 8, length);
+        BinaryFrameCodec.encode(envelope, buffer.slice(offset + SLOT_HEADER_SIZE, length));
+        LONG_VIEW.setRelease(buffer, offset, claimed + 1);
+        published.increment();
+    }
+
+    private void runReadLoop() {
+        int idle = 0;
+        while (running) {
+            try {
+                if (pollOnce() > 0) {
+                    idle = 0;
+                } else if (++idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1_000L * (idle - SPIN_TRIES + 1)));
+                }
+            } catch (RuntimeException e) {
+                log.error("Shared memory read failed", e);
+            }
+        }
+    }
+
+    /**
+     * 현재 발행된 메시지를 모두 읽어 로컬로 전달합니다. 읽기 스레드에서만 호출합니다.
+     *
+     * @return 이번 호출에서 읽은(자신이 보낸 것 포함) 슬롯 수
+     */
+    int pollOnce() {
+        int read = 0;
+        while (true) {
+            long expected = readCursor + 1;
+            int offset = slotOffset(readCursor);
+            long stamp = (long) LONG_VIEW.getAcquire(buffer, offset);
+            if (stamp == expected) {
+                int length = buffer.getInt(offset + 8);
+                byte[] frame = new byte[Math.max(0, Math.min(length, slotSize - SLOT_HEADER_SIZE))];
+                buffer.get(offset + SLOT_HEADER_SIZE, frame);
+                VarHandle.loadLoadFence();
+                if ((long) LONG_VIEW.getAcquire(buffer, offset) != expected) {
+                    // 복사하는 동안 writer 가 한 바퀴 돌아 덮어씀
+                    skipLapped();
+                    continue;
+                }
+                readCursor++;
+                read++;
+                deliver(BinaryFrameCodec.decode(ByteBuffer.wrap(frame)));
+            } else if (Math.abs(stamp) > expected) {
+                skipLapped();
+            } else if (isClaimAbandoned()) {
+                skipAbandoned();
+            } else {
+                // 아직 발행되지 않았거나 기록 중
+                return read;
+            }
+        }
+    }
+
+    /**
+     * reader 가 writer 에게 따라잡힌 경우, 아직 덮어쓰이지 않은 가장 오래된 시퀀스로 cursor 를 옮깁니다.
+     */
+    private void skipLapped() {
+        long head = (long) LONG_VIEW.getAcquire(buffer, WRITE_SEQUENCE_OFFSET);
+        long next = Math.max(readCursor + 1, head - slotCount + 1);
+        lost.add(next - readCursor);
+        log.warn("Shared memory reader lapped: nodeId = {}, skipped {} messages", nodeId, next - readCursor);
+        readCursor = next;
+    }
+
+    /**
+     * 현재 cursor 의 시퀀스가 이미 발급됐는데 claim timeout 이 지나도록 발행되지 않았는지 확인합니다.
+     * 발급 전이면 단순히 새 메시지가 없는 것이므로 대기 시각을 기록하지 않습니다.
+     */
+    private boolean isClaimAbandoned() {
+        long head = (long) LONG_VIEW.getAcquire(buffer, WRITE_SEQUENCE_OFFSET);
+        if (head <= readCursor) {
+            stalledCursor = -1;
+            return false;
+        }
+        long now = System.nanoTime();
+        if (stalledCursor != readCursor) {
+            stalledCursor = readCursor;
+            stalledSinceNanos = now;
+            return false;
+        }
+        return now - stalledSinceNanos >= claimTimeoutNanos;
+    }
+
+    /**
+     * 발행되지 않은 채 버려진 슬롯 하나를 건너뜁니다.
+     */
+    private void skipAbandoned() {
+        abandoned.increment();
+        log.warn("Shared memory slot claimed but never published: nodeId = {}, sequence = {}", nodeId, readCursor);
+        readCursor++;
+        stalledCursor = -1;
+    }
+
+    private void deliver(BroadcastEnvelope envelope) {
+        if (nodeId.equals(envelope.originNodeId())) {
+            return;
+        }
+        received.increment();
+        try {
+            chatEventPublisher.publish(envelope.message());
+        } catch (RuntimeException e) {
+            log.error("Failed to publish shared memory message: origin = {}, sequence = {}", envelope.originNodeId(), envelope.sequence(), e);
+        }
+    }
+
+    private int slotOffset(long sequence) {
+        return HEADER_SIZE + (int) (sequence & (slotCount - 1)) * slotSize;
+    }
+
+    @Override
+    public void close() {
+        boolean wasRunning = running;
+        running = false;
+        if (wasRunning && readerThread != null) {
+            try {
+                readerThread.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null && channel.isOpen()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close shared memory file {}", file, e);
+            }
+        }
+    }
+
+    // -- monitoring
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    /**
+     * 느린 reader 가 writer 에게 따라잡혀 읽지 못하고 건너뛴 메시지 수입니다.
+     */
+    public long getLostMessageCount() {
+        return lost.sum();
+    }
+
+    public long getOversizedDropCount() {
+        return oversized.sum();
+    }
+
+    /**
+     * 시퀀스를 발급받은 writer 가 발행하지 못해 claim timeout 후 건너뛴 슬롯 수입니다.
+     */
+    public long getAbandonedSlotCount() {
+        return abandoned.sum();
+    }
+
+    /**
+     * 이 프로세스의 reader 가 아직 읽지 않은 슬롯 수입니다.
+     */
+    public long getReadLag() {
+        return (long) LONG_VIEW.getAcquire(buffer, WRITE_SEQUENCE_OFFSET) - readCursor;
+    }
+}
@@ -1,14 +1,26 @@
 package io.github.youseonghyeon.config;
 
+import io.github.youseonghyeon.broadcast.BroadcastHandoff;
 import io.github.youseonghyeon.broadcast.MessageBroadCaster;
+import io.github.youseonghyeon.broadcast.OverflowPolicy;
 import io.github.youseonghyeon.config.adapter.MessageReceiver;
 import io.github.youseonghyeon.config.adapter.MessageSender;
+import io.github.youseonghyeon.core.ChatEngine;
 import io.github.youseonghyeon.core.event.EventType;
 import io.github.youseonghyeon.core.event.MessageSubscriber;
+import io.github.youseonghyeon.persistence.ChatHistoryStore;
+import io.github.youseonghyeon.persistence.ChatHistoryWriter;
+import io.github.youseonghyeon.persistence.ChatLogMapper;
+import io.github.youseonghyeon.persistence.search.ChatSearchIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -34,11 +46,30 @@ public class ChatEngineConfig {
     private static final Logger log = LoggerFactory.getLogger(ChatEngineConfig.class);
 
     private int port;
-    private SendFilterPolicy sendFilterPolicy;
+    // 방이 브로드캐스트마다 읽으며 실행 중 재설정으로 바뀔 수 있음
+    private volatile SendFilterPolicy sendFilterPolicy;
+    private String sendFilterDescription;
     private final Map<EventType, MessageSubscriber> messageSubscriberMap = new HashMap<>();
     private MessageSender messageSender;
     private MessageReceiver messageReceiver;
     private MessageBroadCaster messageBroadCaster;
+    private int broadcastQueueCapacity = BroadcastHandoff.DEFAULT_CAPACITY;
+    private OverflowPolicy broadcastOverflowPolicy = OverflowPolicy.DROP_OLDEST;
+    private Duration broadcastBlockTimeout = BroadcastHandoff.DEFAULT_BLOCK_TIMEOUT;
+    private Path broadcastSpillDirectory;
+    private int broadcastBatchSize = -1;
+    private Duration broadcastLinger;
+    private ChatHistoryStore chatHistoryStore;
+    private ChatLogMapper chatLogMapper = ChatLogMapper.DEFAULT;
+    private int historyQueueCapacity = ChatHistoryWriter.DEFAULT_QUEUE_CAPACITY;
+    private int historyBatchSize = ChatHistoryWriter.DEFAULT_BATCH_SIZE;
+    private Duration historyFlushInterval = ChatHistoryWriter.DEFAULT_FLUSH_INTERVAL;
+    private int recentHistoryReplaySize = 0;
+    private ChatSearchIndex chatSearchIndex;
+    private boolean jmxMetricsEnabled = true;
+    private ReadPoolPolicy readPoolPolicy = ReadPoolPolicy.defaults();
+    private InetSocketAddress adminAddress;
+    private Duration drainTimeout = ChatEngine.DEFAULT_DRAIN_TIMEOUT;
 
     /**
      * 여러 개의 송신 필터를 조합하여 하나의 정책으로 병합합니다.
@@ -62,6 +93,11 @@ public class ChatEngineConfig {
      * @return 체이닝 가능한 현재 설정 인스턴스
      */
     public ChatEngineConfig sendFilterPolicy(SendFilterPolicy... sendFilterPolicies) {
+        StringBuilder description = new StringBuilder(SendFilterPolicy.NotConnected.class.getSimpleName());
+        for (SendFilterPolicy filter : sendFilterPolicies) {
+            description.append(" & ").append(filter.getClass().getSimpleName());
+        }
+        sendFilterDescription = description.toString();
         sendFilterPolicy = bindFilterPolicy(sendFilterPolicies);
         return this;
     }
@@ -91,6 +127,178 @@ public class ChatEngineConfig {
         return this;
     }
 
+    /**
+     * 디스패치 스레드와 브로드캐스터 사이의 대기 큐를 설정합니다.
+     * 큐가 가득 차면 {@code overflowPolicy}에 따라 처리하며, {@code capacity}가 0 이면 큐 없이 디스패치 스레드에서 직접 전송합니다.
+     * {@link OverflowPolicy#BLOCK}은 큐가 가득 찼을 때 디스패치 스레드가 클러스터 전송을 기다리게 하므로 로컬 전달이
+     * 클러스터 전송에 묶이지 않는다는 보장이 깨집니다. 필요한 경우에만 명시적으로 지정합니다.
+     *
+     * @param capacity       대기 큐 크기 (기본값 {@value BroadcastHandoff#DEFAULT_CAPACITY})
+     * @param overflowPolicy 큐가 가득 찼을 때의 처리 방식 (기본값 {@link OverflowPolicy#DROP_OLDEST})
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     */
+    public ChatEngineConfig broadcastQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 0 || overflowPolicy == null) {
+            throw new IllegalArgumentException("Capacity must not be negative and overflow policy must not be null.");
+        }
+        this.broadcastQueueCapacity = capacity;
+        this.broadcastOverflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * {@link OverflowPolicy#BLOCK}에서 빈 자리를 기다릴 최대 시간을 설정합니다.
+     */
+    public ChatEngineConfig broadcastBlockTimeout(Duration blockTimeout) {
+        this.broadcastBlockTimeout = blockTimeout;
+        return this;
+    }
+
+    /**
+     * {@link OverflowPolicy#SPILL}에서 넘친 메시지를 기록할 디렉터리를 설정합니다. 지정하지 않으면 시스템 임시 디렉터리를 사용합니다.
+     */
+    public ChatEngineConfig broadcastSpillDirectory(Path spillDirectory) {
+        this.broadcastSpillDirectory = spillDirectory;
+        return this;
+    }
+
+    /**
+     * 배치 전송을 지원하는 브로드캐스터({@link io.github.youseonghyeon.broadcast.BatchingBroadcaster})의
+     * 배치 크기와 대기 시간을 설정합니다. (Kafka producer 의 {@code batch.size}, {@code linger.ms})
+     */
+    public ChatEngineConfig broadcastBatching(int batchSizeBytes, Duration linger) {
+        if (batchSizeBytes < 0 || linger == null || linger.isNegative()) {
+            throw new IllegalArgumentException("Batch size and linger must not be negative.");
+        }
+        this.broadcastBatchSize = batchSizeBytes;
+        this.broadcastLinger = linger;
+        return this;
+    }
+
+    /**
+     * 채팅 이력 저장소를 설정합니다. 설정하면 로컬 클라이언트가 보낸 메시지가 write-behind 방식으로 저장됩니다.
+     *
+     * @param chatHistoryStore 이력 저장소
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     */
+    public ChatEngineConfig chatHistoryStore(ChatHistoryStore chatHistoryStore) {
+        this.chatHistoryStore = chatHistoryStore;
+        return this;
+    }
+
+    /**
+     * 메시지를 {@link io.github.youseonghyeon.persistence.dto.ChatLog}로 변환하는 규칙을 설정합니다.
+     */
+    public ChatEngineConfig chatLogMapper(ChatLogMapper chatLogMapper) {
+        this.chatLogMapper = chatLogMapper;
+        return this;
+    }
+
+    /**
+     * 이력 저장 대기 큐와 배치 저장 조건을 설정합니다.
+     *
+     * @param queueCapacity 저장 대기 큐 크기
+     * @param batchSize     한 번에 저장할 최대 개수
+     * @param flushInterval 배치가 다 차지 않아도 저장할 최대 대기 시간
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     */
+    public ChatEngineConfig chatHistoryWriteBehind(int queueCapacity, int batchSize, Duration flushInterval) {
+        this.historyQueueCapacity = queueCapacity;
+        this.historyBatchSize = batchSize;
+        this.historyFlushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * 입장 시 재전송할 최근 메시지 수를 설정합니다. 방마다 최근 메시지를 인코딩된 프레임으로 보관하고,
+     * 캐시에 없는 방은 {@link #chatHistoryStore(ChatHistoryStore)}에서 읽어 채웁니다.
+     *
+     * @param messagesPerRoom 방별 재전송 개수 (기본값 0, 재전송하지 않음)
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     */
+    public ChatEngineConfig recentHistoryReplay(int messagesPerRoom) {
+        if (messagesPerRoom < 0) {
+            throw new IllegalArgumentException("Replay size must not be negative.");
+        }
+        this.recentHistoryReplaySize = messagesPerRoom;
+        return this;
+    }
+
+    /**
+     * 이력 검색 색인을 설정합니다. {@link #chatHistoryStore(ChatHistoryStore)}와 함께 설정하면 저장된 메시지가
+     * 비동기로 색인되며, 엔진이 시작/종료를 관리합니다.
+     *
+     * @param chatSearchIndex 검색 색인
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     */
+    public ChatEngineConfig chatSearchIndex(ChatSearchIndex chatSearchIndex) {
+        this.chatSearchIndex = chatSearchIndex;
+        return this;
+    }
+
+    /**
+     * 엔진 지표를 플랫폼 MBean 서버에 등록할지 설정합니다. 끄더라도 {@code ChatEngine#getMetrics()}로는 조회할 수 있습니다.
+     *
+     * @param enabled 등록 여부 (기본값 true)
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     */
+    public ChatEngineConfig jmxMetrics(boolean enabled) {
+        this.jmxMetricsEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * 소켓 읽기 스레드 풀의 크기 범위와 적응형 조정 여부를 설정합니다.
+     *
+     * @param readPoolPolicy 읽기 풀 정책 (기본값 {@link ReadPoolPolicy#defaults()}, 10~50 스레드 적응형)
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     */
+    public ChatEngineConfig readPool(ReadPoolPolicy readPoolPolicy) {
+        if (readPoolPolicy == null) {
+            throw new IllegalArgumentException("Read pool policy must not be null.");
+        }
+        this.readPoolPolicy = readPoolPolicy;
+        return this;
+    }
+
+    /**
+     * 엔진 상태를 JSON 으로 보여주는 관리용 HTTP 서버를 루프백 주소에 엽니다.
+     *
+     * @param port 관리 서버 포트 (0 이면 임의 포트)
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     * @see io.github.youseonghyeon.admin.AdminServer
+     */
+    public ChatEngineConfig adminServer(int port) {
+        return adminServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * 관리용 HTTP 서버를 지정한 주소에 엽니다. 인증이 없으므로 외부에 노출하지 않는 주소를 사용해야 합니다.
+     */
+    public ChatEngineConfig adminServer(InetSocketAddress address) {
+        if (address == null || address.getPort() < 0) {
+            throw new IllegalArgumentException("Admin address must not be null.");
+        }
+        this.adminAddress = address;
+        return this;
+    }
+
+    /**
+     * {@code stop()} 시 새 연결 차단부터 소켓 종료까지 단계별 드레인 전체에 허용하는 시간을 설정합니다.
+     * 앞 단계가 시간을 다 쓰면 뒤 단계는 기다리지 않고 자원만 정리합니다.
+     *
+     * @param drainTimeout 드레인 전체 제한 시간
+     * @return 체이닝 가능한 현재 설정 인스턴스
+     * @see io.github.youseonghyeon.core.DrainPhase
+     */
+    public ChatEngineConfig drainTimeout(Duration drainTimeout) {
+        if (drainTimeout == null || drainTimeout.isNegative()) {
+            throw new IllegalArgumentException("Drain timeout must not be negative.");
+        }
+        this.drainTimeout = drainTimeout;
+        return this;
+    }
+
     // -- Getters
 
     public SendFilterPolicy getSendFilterPolicy() {
@@ -117,6 +325,95 @@ public class ChatEngineConfig {
         return messageBroadCaster;
     }
 
+    public int getBroadcastQueueCapacity() {
+        return broadcastQueueCapacity;
+    }
+
+    public OverflowPolicy getBroadcastOverflowPolicy() {
+        return broadcastOverflowPolicy;
+    }
+
+    public Duration getBroadcastBlockTimeout() {
+        return broadcastBlockTimeout;
+    }
+
+    public Path getBroadcastSpillDirectory() {
+        return broadcastSpillDirectory;
+    }
+
+    public int getBroadcastBatchSize() {
+        return broadcastBatchSize;
+    }
+
+    public Duration getBroadcastLinger() {
+        return broadcastLinger;
+    }
+
+    public ChatHistoryStore getChatHistoryStore() {
+        return chatHistoryStore;
+    }
+
+    public ChatLogMapper getChatLogMapper() {
+        return chatLogMapper;
+    }
+
+    public int getHistoryQueueCapacity() {
+        return historyQueueCapacity;
+    }
+
+    public int getHistoryBatchSize() {
+        return historyBatchSize;
+    }
+
+    public Duration getHistoryFlushInterval() {
+        return historyFlushInterval;
+    }
+
+    public int getRecentHistoryReplaySize() {
+        return recentHistoryReplaySize;
+    }
+
+    public ChatSearchIndex getChatSearchIndex() {
+        return chatSearchIndex;
+    }
+
+    public ReadPoolPolicy getReadPoolPolicy() {
+        return readPoolPolicy;
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    public InetSocketAddress getAdminAddress() {
+        return adminAddress;
+    }
+
+    public boolean isJmxMetricsEnabled() {
+        return jmxMetricsEnabled;
+    }
+
+    /**
+     * 실행 중 확인용으로 주요 설정 항목을 이름과 문자열 값으로 돌려줍니다. 엔진 지표의 현재 설정으로 게시됩니다.
+     */
+    public Map<String, String> describe() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("port", String.valueOf(port));
+        values.put("readPool", String.valueOf(readPoolPolicy));
+        values.put("sendFilterPolicy", String.valueOf(sendFilterDescription));
+        values.put("messageBroadCaster", messageBroadCaster == null ? "null" : messageBroadCaster.getClass().getName());
+        values.put("broadcastQueueCapacity", String.valueOf(broadcastQueueCapacity));
+        values.put("broadcastOverflowPolicy", String.valueOf(broadcastOverflowPolicy));
+        values.put("broadcastBlockTimeout", String.valueOf(broadcastBlockTimeout));
+        values.put("historyQueueCapacity", String.valueOf(historyQueueCapacity));
+        values.put("historyBatchSize", String.valueOf(historyBatchSize));
+        values.put("historyFlushInterval", String.valueOf(historyFlushInterval));
+        values.put("recentHistoryReplay", String.valueOf(recentHistoryReplaySize));
+        values.put("drainTimeout", String.valueOf(drainTimeout));
+        values.put("adminServer", String.valueOf(adminAddress));
+        return values;
+    }
+
     @Override
     public String toString() {
         return "\n\tsendFilterPolicy= " + sendFilterPolicy +
@@ -124,6 +421,13 @@ public class ChatEngineConfig {
                "\n\tEventSubscriberList= " + messageSubscriberMap.keySet() +
                "\n\tmessageSender= " + (messageSender != null ? messageSender.getClass().getName() : "null") +
                "\n\tmessageReceiver= " + (messageReceiver != null ? messageReceiver.getClass().getName() : "null") +
-               "\n\tmessageBroadCaster= " + (messageBroadCaster != null ? messageBroadCaster.getClass().getName() : "null");
+               "\n\tmessageBroadCaster= " + (messageBroadCaster != null ? messageBroadCaster.getClass().getName() : "null") +
+               "\n\tbroadcastQueue= " + broadcastQueueCapacity + " (" + broadcastOverflowPolicy + ")" +
+               "\n\tchatHistoryStore= " + (chatHistoryStore != null ? chatHistoryStore.getClass().getName() : "null") +
+               "\n\trecentHistoryReplay= " + recentHistoryReplaySize +
+               "\n\treadPool= " + readPoolPolicy +
+               "\n\tjmxMetrics= " + jmxMetricsEnabled +
+               "\n\tadminServer= " + adminAddress +
+               "\n\tdrainTimeout= " + drainTimeout;
     }
 }
@@ -0,0 +1,114 @@
+package io.github.youseonghyeon.config;
+
+import io.github.youseonghyeon.broadcast.OverflowPolicy;
+import io.github.youseonghyeon.persistence.ChatHistoryWriter;
+
+import java.time.Duration;
+
+/**
+ * 실행 중인 엔진에 적용할 설정 변경분입니다. 지정한 항목만 바뀌고 나머지는 현재 값을 유지합니다.
+ *
+ * <p>실행 중에 바꿀 수 있는 항목만 제공합니다. 큐 크기, 포트, 송수신기처럼 구성 요소를 새로 만들어야 하는 항목은
+ * 재시작이 필요합니다.</p>
+ *
+ * <pre>{@code
+ * engine.reconfigure(delta -> delta
+ *     .readPool(ReadPoolPolicy.defaults().threads(20, 80))
+ *     .broadcastOverflow(OverflowPolicy.DROP_OLDEST, Duration.ZERO)
+ *     .sendFilterPolicy(new SendFilterPolicy.BroadcastExceptSelf()));
+ * }</pre>
+ *
+ * @see io.github.youseonghyeon.core.ChatEngine#reconfigure(java.util.function.Function)
+ */
+public class ConfigDelta {
+
+    private ReadPoolPolicy readPoolPolicy;
+    private SendFilterPolicy[] sendFilterPolicies;
+    private OverflowPolicy broadcastOverflowPolicy;
+    private Duration broadcastBlockTimeout;
+    private int historyBatchSize;
+    private Duration historyFlushInterval;
+
+    /**
+     * 읽기 풀의 스레드 수 범위와 적응형 조정 여부를 바꿉니다. 대기 큐 크기는 현재 값과 같아야 합니다.
+     */
+    public ConfigDelta readPool(ReadPoolPolicy readPoolPolicy) {
+        if (readPoolPolicy == null) {
+            throw new IllegalArgumentException("Read pool policy must not be null.");
+        }
+        this.readPoolPolicy = readPoolPolicy;
+        return this;
+    }
+
+    /**
+     * 송신 필터 정책을 바꿉니다. 이미 만들어진 방에도 다음 브로드캐스트부터 적용됩니다.
+     *
+     * @param sendFilterPolicies 적용할 필터들 (AND 방식으로 병합됨)
+     */
+    public ConfigDelta sendFilterPolicy(SendFilterPolicy... sendFilterPolicies) {
+        if (sendFilterPolicies == null) {
+            throw new IllegalArgumentException("Send filter policies must not be null.");
+        }
+        for (SendFilterPolicy policy : sendFilterPolicies) {
+            if (policy == null) {
+                throw new IllegalArgumentException("Send filter policy must not be null.");
+            }
+        }
+        this.sendFilterPolicies = sendFilterPolicies.clone();
+        return this;
+    }
+
+    /**
+     * 브로드캐스트 대기 큐가 가득 찼을 때의 처리 방식을 바꿉니다.
+     *
+     * @param overflowPolicy 큐가 가득 찼을 때의 처리 방식
+     * @param blockTimeout   {@link OverflowPolicy#BLOCK}에서 빈 자리를 기다릴 최대 시간
+     */
+    public ConfigDelta broadcastOverflow(OverflowPolicy overflowPolicy, Duration blockTimeout) {
+        if (overflowPolicy == null || blockTimeout == null || blockTimeout.isNegative()) {
+            throw new IllegalArgumentException("Overflow policy must not be null and block timeout must not be negative.");
+        }
+        this.broadcastOverflowPolicy = overflowPolicy;
+        this.broadcastBlockTimeout = blockTimeout;
+        return this;
+    }
+
+    /**
+     * 이력 저장의 배치 크기와 저장 주기를 바꿉니다.
+     */
+    public ConfigDelta historyBatching(int batchSize, Duration flushInterval) {
+        ChatHistoryWriter.validateBatching(batchSize, flushInterval);
+        this.historyBatchSize = batchSize;
+        this.historyFlushInterval = flushInterval;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return readPoolPolicy == null && sendFilterPolicies == null && broadcastOverflowPolicy == null
+               && historyFlushInterval == null;
+    }
+
+    public ReadPoolPolicy getReadPoolPolicy() {
+        return readPoolPolicy;
+    }
+
+    public SendFilterPolicy[] getSendFilterPolicies() {
+        return sendFilterPolicies == null ? null : sendFilterPolicies.clone();
+    }
+
+    public OverflowPolicy getBroadcastOverflowPolicy() {
+        return broadcastOverflowPolicy;
+    }
+
+    public Duration getBroadcastBlockTimeout() {
+        return broadcastBlockTimeout;
+    }
+
+    public int getHistoryBatchSize() {
+        return historyBatchSize;
+    }
+
+    public Duration getHistoryFlushInterval() {
+        return historyFlushInterval;
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.youseonghyeon.config;
+
+import java.time.Duration;
+
+/**
+ * 소켓 읽기 스레드 풀의 크기와 조정 방식입니다.
+ *
+ * <p>{@link java.util.concurrent.ThreadPoolExecutor}는 큐가 가득 찬 뒤에야 core 크기를 넘어 스레드를 늘리므로,
+ * 적응형 조정을 켜면 core 와 max 를 같은 값으로 두고 컨트롤러가 측정값을 보며 함께 움직입니다.
+ * 끄면 {@code minThreads}를 core, {@code maxThreads}를 max 로 하는 고정 풀입니다.</p>
+ *
+ * <pre>{@code
+ * ReadPoolPolicy policy = ReadPoolPolicy.defaults()
+ *     .threads(4, 64)
+ *     .queueCapacity(1_000)
+ *     .adaptive(Duration.ofMillis(500), Duration.ofMillis(2));
+ * }</pre>
+ */
+public class ReadPoolPolicy {
+
+    public static final int DEFAULT_MIN_THREADS = 10;
+    public static final int DEFAULT_MAX_THREADS = 50;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1_000;
+    public static final Duration DEFAULT_SAMPLE_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_TARGET_QUEUE_WAIT = Duration.ofMillis(1);
+
+    private int minThreads = DEFAULT_MIN_THREADS;
+    private int maxThreads = DEFAULT_MAX_THREADS;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private boolean adaptive = true;
+    private Duration sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+    private Duration targetQueueWait = DEFAULT_TARGET_QUEUE_WAIT;
+
+    public static ReadPoolPolicy defaults() {
+        return new ReadPoolPolicy();
+    }
+
+    /**
+     * 스레드 수 범위를 설정합니다. 적응형 조정은 이 범위 안에서만 움직입니다.
+     */
+    public ReadPoolPolicy threads(int minThreads, int maxThreads) {
+        if (minThreads <= 0 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("Min threads must be positive and not greater than max threads.");
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        return this;
+    }
+
+    /**
+     * 읽기 작업 대기 큐 크기를 설정합니다. 큐가 가득 차면 셀렉터 스레드가 직접 읽습니다.
+     */
+    public ReadPoolPolicy queueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive.");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * 적응형 조정을 켭니다.
+     *
+     * @param sampleInterval  측정하고 크기를 결정하는 주기
+     * @param targetQueueWait 이보다 오래 큐에서 기다리면 스레드가 부족한 것으로 봅니다
+     */
+    public ReadPoolPolicy adaptive(Duration sampleInterval, Duration targetQueueWait) {
+        if (sampleInterval == null || sampleInterval.isNegative() || sampleInterval.isZero()
+            || targetQueueWait == null || targetQueueWait.isNegative()) {
+            throw new IllegalArgumentException("Sample interval must be positive and target queue wait must not be negative.");
+        }
+        this.adaptive = true;
+        this.sampleInterval = sampleInterval;
+        this.targetQueueWait = targetQueueWait;
+        return this;
+    }
+
+    /**
+     * 적응형 조정을 끄고 고정 크기 풀을 사용합니다.
+     */
+    public ReadPoolPolicy fixed() {
+        this.adaptive = false;
+        return this;
+    }
+
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public Duration getSampleInterval() {
+        return sampleInterval;
+    }
+
+    public Duration getTargetQueueWait() {
+        return targetQueueWait;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadPoolPolicy{threads=" + minThreads + ".." + maxThreads + ", queueCapacity=" + queueCapacity +
+               (adaptive ? ", adaptive every " + sampleInterval + " (target wait " + targetQueueWait + ")" : ", fixed") + "}";
+    }
+}
@@ -28,7 +28,7 @@ public interface SendFilterPolicy {
      * 주어진 송신자-수신자 소켓 쌍에 대해 메시지를 전송할지를 결정합니다.
      *
      * @param receiver 수신자 소켓
-     * @param sender   송신자 소켓
+     * @param sender   송신자 소켓 (다른 노드에서 온 메시지면 null)
      * @return true일 경우 메시지를 전송함
      */
     boolean shouldSend(SocketChannel receiver, SocketChannel sender);
@@ -94,12 +94,12 @@ public interface SendFilterPolicy {
 
     /**
      * 양쪽 소켓이 연결 상태일 때만 메시지를 송신하는 필터입니다.
-     * 기본적으로 모든 필터 체인 앞단에 적용됩니다.
+     * 기본적으로 모든 필터 체인 앞단에 적용됩니다. 다른 노드에서 온 메시지처럼 송신자가 없으면 수신자만 확인합니다.
      */
     class NotConnected implements SendFilterPolicy {
         @Override
         public boolean shouldSend(SocketChannel receiver, SocketChannel sender) {
-            return receiver.isConnected() && sender.isConnected();
+            return receiver.isConnected() && (sender == null || sender.isConnected());
         }
     }
 }
@@ -2,10 +2,23 @@ package io.github.youseonghyeon.config.adapter;
 
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.exception.ChannelReadException;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.channels.SocketChannel;
 
 @FunctionalInterface
 public interface MessageReceiver {
-    Message read(SocketChannel channel) throws ChannelReadException;
+
+    /**
+     * 프레임 하나를 읽습니다.
+     *
+     * @return 읽은 메시지, 디스패치할 내용이 없는 제어 프레임(예: 버전 협상, 방 바인딩)만 읽었으면 null
+     */
+    @Nullable Message read(SocketChannel channel) throws ChannelReadException;
+
+    /**
+     * 연결이 닫힐 때 호출됩니다. 연결별 상태를 가진 구현은 여기서 정리합니다.
+     */
+    default void connectionClosed(SocketChannel channel) {
+    }
 }
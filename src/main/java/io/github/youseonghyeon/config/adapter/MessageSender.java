@@ -1,11 +1,36 @@
 package io.github.youseonghyeon.config.adapter;
 
 import io.github.youseonghyeon.core.dto.Message;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 
 @FunctionalInterface
 public interface MessageSender {
     void send(SocketChannel channel, Message message) throws IOException;
+
+    /**
+     * 메시지를 소켓에 그대로 쓸 수 있는 프레임으로 인코딩합니다.
+     * 구현하면 입장 시 최근 메시지 재전송 등에서 인코딩한 프레임을 재사용할 수 있습니다.
+     *
+     * @param message 인코딩할 메시지
+     * @return 읽기 모드의 프레임, 지원하지 않으면 null
+     */
+    default @Nullable ByteBuffer encode(Message message) {
+        return null;
+    }
+
+    /**
+     * {@link #encode(Message)}로 만든 프레임을 소켓에 씁니다.
+     * 연결마다 프레임 형식이 다른 구현은 재정의해 그 연결의 형식으로 다시 인코딩합니다.
+     *
+     * @param frame 읽기 모드의 프레임, 쓴 만큼 위치가 움직입니다
+     */
+    default void sendEncoded(SocketChannel channel, ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
 }
@@ -3,6 +3,7 @@ package io.github.youseonghyeon.config.adapter.sample;
 import io.github.youseonghyeon.config.adapter.MessageReceiver;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.exception.ChannelReadException;
 import io.github.youseonghyeon.core.exception.ChannelWriteException;
 
 import java.io.EOFException;
@@ -13,6 +14,8 @@ import java.nio.charset.StandardCharsets;
 
 public class DefaultMessageReceiver implements MessageReceiver {
 
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
     @Override
     public Message read(SocketChannel channel) throws ChannelWriteException {
         ByteBuffer intBuffer = ByteBuffer.allocate(4);
@@ -20,8 +23,19 @@ public class DefaultMessageReceiver implements MessageReceiver {
         // 1. Read eventType ordinal
         readFully(channel, intBuffer);
         intBuffer.flip();
-        int eventTypeOrdinal = intBuffer.get();
-        EventType eventType = EventType.values()[eventTypeOrdinal];
+        return readAfterEventType(channel, intBuffer.getInt(), intBuffer);
+    }
+
+    /**
+     * 이벤트 타입 번호를 이미 읽은 v1 프레임의 나머지를 읽습니다. 버전 협상에서 첫 4 바이트를 먼저 읽은 경우에 사용합니다.
+     *
+     * @param intBuffer 길이를 읽을 4 바이트 버퍼
+     */
+    Message readAfterEventType(SocketChannel channel, int eventTypeOrdinal, ByteBuffer intBuffer) {
+        if (eventTypeOrdinal < 0 || eventTypeOrdinal >= EVENT_TYPES.length) {
+            throw new ChannelReadException("Unknown event type ordinal: " + eventTypeOrdinal);
+        }
+        EventType eventType = EVENT_TYPES[eventTypeOrdinal];
         intBuffer.clear();
 
         // 2. Read roomId
@@ -58,7 +72,7 @@ public class DefaultMessageReceiver implements MessageReceiver {
         return new Message(eventType, roomId, header, content, channel);
     }
 
-    private static void readFully(SocketChannel channel, ByteBuffer buffer) {
+    static void readFully(SocketChannel channel, ByteBuffer buffer) {
         try {
             while (buffer.hasRemaining()) {
                 int read = channel.read(buffer);
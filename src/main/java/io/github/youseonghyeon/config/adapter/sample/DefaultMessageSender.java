@@ -12,13 +12,19 @@ public class DefaultMessageSender implements MessageSender {
 
     @Override
     public void send(SocketChannel channel, Message message) throws IOException {
-        ByteBuffer buffer = serialize(message);
-        buffer.flip(); // 쓰기 완료 → 읽기 모드 전환
+        ByteBuffer buffer = encode(message);
         while (buffer.hasRemaining()) {
             channel.write(buffer);
         }
     }
 
+    @Override
+    public ByteBuffer encode(Message message) {
+        ByteBuffer buffer = serialize(message);
+        buffer.flip(); // 쓰기 완료 → 읽기 모드 전환
+        return buffer;
+    }
+
     private ByteBuffer serialize(Message message) {
         byte[] roomIdBytes = message.roomId().getBytes(StandardCharsets.UTF_8);
         byte[] header = message.header();
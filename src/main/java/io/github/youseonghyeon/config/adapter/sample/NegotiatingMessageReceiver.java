@@ -0,0 +1,98 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import io.github.youseonghyeon.config.adapter.MessageReceiver;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.exception.ChannelReadException;
+import io.github.youseonghyeon.core.exception.ChannelWriteException;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * v1 과 v2 클라이언트를 함께 받는 {@link MessageReceiver}입니다. 프로토콜 형식은 {@link WireProtocol}을 참고합니다.
+ *
+ * <p>v2 세션이 없는 연결은 프레임마다 첫 4 바이트를 읽어 프리앰블이면 v2 세션을 열고 응답하며, 아니면 v1 프레임으로 읽습니다.
+ * 따라서 v1 연결은 상태를 남기지 않습니다. 프리앰블과 방 바인딩 프레임은 디스패치할 내용이 없으므로 null 을 반환합니다.</p>
+ */
+public class NegotiatingMessageReceiver extends DefaultMessageReceiver {
+
+    private final ProtocolSessions sessions;
+
+    public NegotiatingMessageReceiver(ProtocolSessions sessions) {
+        if (sessions == null) {
+            throw new IllegalArgumentException("Protocol sessions must not be null.");
+        }
+        this.sessions = sessions;
+    }
+
+    @Override
+    public @Nullable Message read(SocketChannel channel) throws ChannelReadException {
+        ProtocolSession session = sessions.get(channel);
+        if (session != null) {
+            return readV2(channel, session);
+        }
+        ByteBuffer intBuffer = ByteBuffer.allocate(4);
+        readFully(channel, intBuffer);
+        intBuffer.flip();
+        int first = intBuffer.getInt();
+        if (first != WireProtocol.V2_PREAMBLE) {
+            return readAfterEventType(channel, first, intBuffer);
+        }
+        session = sessions.open(channel);
+        try {
+            session.acknowledge(channel);
+        } catch (IOException e) {
+            throw new ChannelWriteException(e);
+        }
+        return null;
+    }
+
+    private Message readV2(SocketChannel channel, ProtocolSession session) {
+        int code = readByte(channel, session);
+        if (code == WireProtocol.ROOM_BIND) {
+            int handle = readVarint(channel, session);
+            int length = WireProtocol.checkLength(readVarint(channel, session), WireProtocol.MAX_ROOM_ID_LENGTH, "Room id");
+            session.bindInbound(handle, new String(readBytes(channel, length), StandardCharsets.UTF_8));
+            return null;
+        }
+        EventType eventType = WireProtocol.eventType(code);
+        String roomId = session.inboundRoom(readVarint(channel, session));
+        byte[] header = readBytes(channel, WireProtocol.checkLength(readVarint(channel, session), WireProtocol.MAX_FIELD_LENGTH, "Header"));
+        byte[] content = readBytes(channel, WireProtocol.checkLength(readVarint(channel, session), WireProtocol.MAX_FIELD_LENGTH, "Content"));
+        return new Message(eventType, roomId, header, content, channel);
+    }
+
+    private static int readByte(SocketChannel channel, ProtocolSession session) {
+        ByteBuffer buffer = session.readBuffer;
+        buffer.clear();
+        readFully(channel, buffer);
+        return buffer.get(0) & 0xFF;
+    }
+
+    private static int readVarint(SocketChannel channel, ProtocolSession session) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte(channel, session);
+            value |= WireProtocol.varintBits(b, shift);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new ChannelReadException("Varint is longer than 5 bytes");
+    }
+
+    private static byte[] readBytes(SocketChannel channel, int length) {
+        byte[] bytes = new byte[length];
+        readFully(channel, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    @Override
+    public void connectionClosed(SocketChannel channel) {
+        sessions.close(channel);
+    }
+}
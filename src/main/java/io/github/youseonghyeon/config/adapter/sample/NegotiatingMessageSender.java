@@ -0,0 +1,47 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import io.github.youseonghyeon.config.adapter.MessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 연결마다 협상한 버전으로 보내는 {@link MessageSender}입니다. {@link NegotiatingMessageReceiver}와 같은 {@link ProtocolSessions}를 써야 합니다.
+ *
+ * <p>{@link #encode(Message)}는 연결과 무관하므로 v1 프레임을 만듭니다. 그렇게 만든 프레임(예: 입장 시 재전송할 최근 메시지)을
+ * v2 연결에 쓸 때는 {@link #sendEncoded(SocketChannel, ByteBuffer)}가 메시지로 되돌린 뒤 v2 로 다시 인코딩합니다.</p>
+ */
+public class NegotiatingMessageSender extends DefaultMessageSender {
+
+    private final ProtocolSessions sessions;
+
+    public NegotiatingMessageSender(ProtocolSessions sessions) {
+        if (sessions == null) {
+            throw new IllegalArgumentException("Protocol sessions must not be null.");
+        }
+        this.sessions = sessions;
+    }
+
+    @Override
+    public void send(SocketChannel channel, Message message) throws IOException {
+        ProtocolSession session = sessions.get(channel);
+        if (session == null) {
+            super.send(channel, message);
+        } else {
+            session.send(channel, message);
+        }
+    }
+
+    @Override
+    public void sendEncoded(SocketChannel channel, ByteBuffer frame) throws IOException {
+        ProtocolSession session = sessions.get(channel);
+        if (session == null) {
+            super.sendEncoded(channel, frame);
+        } else {
+            session.send(channel, WireProtocol.decodeV1(frame));
+            frame.position(frame.limit());
+        }
+    }
+}
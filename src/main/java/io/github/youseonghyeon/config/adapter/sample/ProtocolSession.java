@@ -0,0 +1,93 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.exception.ChannelReadException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.youseonghyeon.config.adapter.sample.WireProtocol.MAX_ROOM_HANDLES;
+
+/**
+ * v2 로 협상한 연결 하나의 상태입니다.
+ *
+ * <p>받는 쪽 핸들 표는 그 연결을 읽는 스레드만 다룹니다. 채널 리스너는 한 연결을 동시에 두 스레드에서 읽지 않습니다.
+ * 보내는 쪽은 여러 방의 브로드캐스트가 같은 연결에 동시에 쓸 수 있으므로, 핸들 배정과 쓰기를 이 객체의 락 안에서 함께 합니다.
+ * 그래야 클라이언트가 바인딩보다 그 핸들을 쓰는 메시지를 먼저 받는 일이 없습니다.</p>
+ */
+final class ProtocolSession {
+
+    private final String[] inboundRooms = new String[MAX_ROOM_HANDLES];
+    final ByteBuffer readBuffer = ByteBuffer.allocate(1);
+
+    private final Map<String, Integer> outboundHandles = new HashMap<>();
+    private final String[] outboundRooms = new String[MAX_ROOM_HANDLES];
+    private int nextOutboundHandle = 0;
+
+    void bindInbound(int handle, String roomId) {
+        checkHandle(handle);
+        inboundRooms[handle] = roomId;
+    }
+
+    String inboundRoom(int handle) {
+        checkHandle(handle);
+        String roomId = inboundRooms[handle];
+        if (roomId == null) {
+            throw new ChannelReadException("Room handle " + handle + " is not bound");
+        }
+        return roomId;
+    }
+
+    private static void checkHandle(int handle) {
+        if (handle >= MAX_ROOM_HANDLES) {
+            throw new ChannelReadException("Room handle " + handle + " exceeds " + (MAX_ROOM_HANDLES - 1));
+        }
+    }
+
+    /**
+     * 협상 응답으로 프리앰블을 돌려보냅니다.
+     */
+    synchronized void acknowledge(SocketChannel channel) throws IOException {
+        write(channel, ByteBuffer.allocate(4).putInt(WireProtocol.V2_PREAMBLE).flip());
+    }
+
+    /**
+     * 메시지를 v2 프레임으로 씁니다. 처음 보내는 방이면 같은 쓰기에 바인딩 프레임을 앞에 붙입니다.
+     * 핸들이 모두 쓰이면 가장 먼저 배정한 핸들부터 다시 바인딩합니다.
+     */
+    synchronized void send(SocketChannel channel, Message message) throws IOException {
+        byte[] bindRoomId = null;
+        Integer handle = outboundHandles.get(message.roomId());
+        if (handle == null) {
+            handle = nextOutboundHandle;
+            nextOutboundHandle = (nextOutboundHandle + 1) % MAX_ROOM_HANDLES;
+            String evicted = outboundRooms[handle];
+            if (evicted != null) {
+                outboundHandles.remove(evicted);
+            }
+            outboundRooms[handle] = message.roomId();
+            outboundHandles.put(message.roomId(), handle);
+            bindRoomId = message.roomId().getBytes(StandardCharsets.UTF_8);
+        }
+        int size = WireProtocol.frameSize(handle, message.header(), message.content());
+        if (bindRoomId != null) {
+            size += WireProtocol.bindSize(handle, bindRoomId);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        if (bindRoomId != null) {
+            WireProtocol.putBind(buffer, handle, bindRoomId);
+        }
+        WireProtocol.putFrame(buffer, message.eventType(), handle, message.header(), message.content());
+        write(channel, buffer.flip());
+    }
+
+    private static void write(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * v2 로 협상한 연결의 상태 저장소입니다. {@link NegotiatingMessageReceiver}와 {@link NegotiatingMessageSender}가 같은 인스턴스를 공유해야
+ * 받는 쪽에서 협상한 버전으로 보냅니다. v1 연결은 상태가 없으므로 여기에 올라가지 않습니다.
+ *
+ * <pre>{@code
+ * ProtocolSessions sessions = new ProtocolSessions();
+ * engine.applyConfiguration(cfg -> cfg
+ *         .messageReceiver(new NegotiatingMessageReceiver(sessions))
+ *         .messageSender(new NegotiatingMessageSender(sessions)));
+ * }</pre>
+ */
+public class ProtocolSessions {
+
+    private final Map<SocketChannel, ProtocolSession> sessions = new ConcurrentHashMap<>();
+
+    ProtocolSession get(SocketChannel channel) {
+        return sessions.get(channel);
+    }
+
+    ProtocolSession open(SocketChannel channel) {
+        ProtocolSession session = new ProtocolSession();
+        sessions.put(channel, session);
+        return session;
+    }
+
+    void close(SocketChannel channel) {
+        sessions.remove(channel);
+    }
+
+    /**
+     * v2 로 협상한 연결 수입니다.
+     */
+    public int size() {
+        return sessions.size();
+    }
+}
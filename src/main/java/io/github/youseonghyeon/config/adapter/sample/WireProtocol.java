@@ -0,0 +1,154 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.exception.ChannelReadException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 기본 어댑터의 와이어 프로토콜 정의입니다.
+ *
+ * <p><b>v1</b>: 모든 길이를 4 바이트 정수로 쓰고 프레임마다 방 ID 전체를 보냅니다.</p>
+ * <pre>
+ * int eventType | int roomIdLength | roomId | int headerLength | header | int contentLength | content
+ * </pre>
+ *
+ * <p><b>v2</b>: 클라이언트가 연결 직후 4 바이트 프리앰블({@link #V2_PREAMBLE})을 보내면 서버가 같은 프리앰블로 응답하고,
+ * 이후 양방향 모두 아래 프레임을 씁니다. 길이와 핸들은 부호 없는 varint(LEB128)입니다.</p>
+ * <pre>
+ * 방 바인딩: byte 0x7F | varint handle | varint roomIdLength | roomId
+ * 메시지:    byte eventCode | varint handle | varint headerLength | header | varint contentLength | content
+ * </pre>
+ * <p>핸들은 보내는 쪽이 연결마다 0 부터 {@link #MAX_ROOM_HANDLES} 미만에서 정하고, 메시지보다 먼저 바인딩을 보냅니다.
+ * 같은 핸들을 다시 바인딩하면 덮어씁니다. 이벤트 코드는 v1 과 같이 {@link EventType}의 선언 순서입니다.</p>
+ *
+ * <p>v1 프레임의 첫 4 바이트는 이벤트 타입 번호(0 이상 {@link EventType} 개수 미만)이므로 프리앰블과 겹치지 않습니다.
+ * 따라서 서버는 첫 4 바이트만 보고 버전을 가릅니다. v2 를 모르는 서버는 프리앰블을 잘못된 이벤트 타입으로 보고 연결을 닫으므로,
+ * 응답 프리앰블을 받지 못한 클라이언트는 v1 으로 다시 연결하면 됩니다.</p>
+ */
+public final class WireProtocol {
+
+    /// 0xC4 'C' 'H' 0x02
+    public static final int V2_PREAMBLE = 0xC4434802;
+    public static final int ROOM_BIND = 0x7F;
+    /// 연결 하나가 한 방향으로 동시에 바인딩해 둘 수 있는 방 수
+    public static final int MAX_ROOM_HANDLES = 256;
+    public static final int MAX_ROOM_ID_LENGTH = 1_024;
+    /// v2 헤더와 본문 하나의 최대 길이
+    public static final int MAX_FIELD_LENGTH = 16 * 1024 * 1024;
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    private WireProtocol() {
+    }
+
+    // -- v2 encoding
+
+    /**
+     * 방 바인딩 프레임의 크기입니다.
+     */
+    public static int bindSize(int handle, byte[] roomId) {
+        return 1 + varintSize(handle) + varintSize(roomId.length) + roomId.length;
+    }
+
+    /**
+     * 메시지 프레임의 크기입니다.
+     */
+    public static int frameSize(int handle, byte[] header, byte[] content) {
+        return 1 + varintSize(handle) + varintSize(header.length) + header.length + varintSize(content.length) + content.length;
+    }
+
+    public static void putBind(ByteBuffer buffer, int handle, byte[] roomId) {
+        buffer.put((byte) ROOM_BIND);
+        putVarint(buffer, handle);
+        putVarint(buffer, roomId.length);
+        buffer.put(roomId);
+    }
+
+    public static void putFrame(ByteBuffer buffer, EventType eventType, int handle, byte[] header, byte[] content) {
+        buffer.put((byte) eventType.ordinal());
+        putVarint(buffer, handle);
+        putVarint(buffer, header.length);
+        buffer.put(header);
+        putVarint(buffer, content.length);
+        buffer.put(content);
+    }
+
+    // -- varint
+
+    public static int varintSize(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varint value must not be negative: " + value);
+        }
+        return value < 1 << 7 ? 1 : value < 1 << 14 ? 2 : value < 1 << 21 ? 3 : value < 1 << 28 ? 4 : 5;
+    }
+
+    public static void putVarint(ByteBuffer buffer, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varint value must not be negative: " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= varintBits(b, shift);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new ChannelReadException("Varint is longer than 5 bytes");
+    }
+
+    /**
+     * varint 한 바이트가 담은 값을 제자리로 옮깁니다. 다섯 번째 바이트가 음수가 아닌 int 범위를 넘으면 거부합니다.
+     */
+    static int varintBits(int b, int shift) {
+        if (shift == 28 && (b & 0x7F) > 0x07) {
+            throw new ChannelReadException("Varint does not fit a non-negative int");
+        }
+        return (b & 0x7F) << shift;
+    }
+
+    // -- common
+
+    static EventType eventType(int code) {
+        if (code < 0 || code >= EVENT_TYPES.length) {
+            throw new ChannelReadException("Unknown event type code: " + code);
+        }
+        return EVENT_TYPES[code];
+    }
+
+    static int checkLength(int length, int max, String field) {
+        if (length > max) {
+            throw new ChannelReadException(field + " length " + length + " exceeds " + max);
+        }
+        return length;
+    }
+
+    /**
+     * {@link DefaultMessageSender#encode(Message)}로 만든 v1 프레임을 메시지로 되돌립니다. 버퍼의 위치는 바꾸지 않습니다.
+     */
+    static Message decodeV1(ByteBuffer frame) {
+        ByteBuffer buffer = frame.duplicate();
+        EventType eventType = eventType(buffer.getInt());
+        String roomId = new String(bytes(buffer, buffer.getInt()), StandardCharsets.UTF_8);
+        byte[] header = bytes(buffer, buffer.getInt());
+        byte[] content = bytes(buffer, buffer.getInt());
+        return new Message(eventType, roomId, header, content, null);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -60,10 +60,25 @@ abstract class AbstractEngineLifecycle {
             if (!started) {
                 throw new IllegalStateException("Engine is not started yet.");
             }
+            terminateEngineComponents();
             started = false;
         }, lock, Duration.ofSeconds(LOCK_SECONDS));
     }
 
+    /**
+     * 엔진이 실행 중일 때만 작업을 실행합니다. start/stop 과 같은 락을 잡으므로 종료와 겹쳐 실행되지 않습니다.
+     *
+     * @param task 실행 중인 구성 요소에 적용할 작업
+     * @throws IllegalStateException 아직 시작되지 않았거나 락 획득에 실패한 경우
+     */
+    protected void whileRunning(Runnable task) {
+        LockCoordinator.withLock(() -> {
+            if (!started) {
+                throw new IllegalStateException("Engine is not started yet.");
+            }
+            task.run();
+        }, lock, Duration.ofSeconds(LOCK_SECONDS));
+    }
 
     /**
      * 자원 초기화를 위한 메서드입니다.
@@ -78,4 +93,10 @@ abstract class AbstractEngineLifecycle {
 
     protected abstract void launch();
 
+    /**
+     * 종료 시 자원을 정리하기 위한 메서드입니다.
+     * 예: 저장 대기 중인 채팅 이력 flush
+     */
+    protected abstract void terminateEngineComponents();
+
 }
@@ -1,10 +1,14 @@
 package io.github.youseonghyeon.core;
 
+import io.github.youseonghyeon.config.ReadPoolPolicy;
 import io.github.youseonghyeon.config.adapter.MessageReceiver;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.ChatEventPublisher;
 import io.github.youseonghyeon.core.exception.ChannelReadException;
+import io.github.youseonghyeon.core.exception.ChannelWriteException;
 import io.github.youseonghyeon.core.exception.InitChatServiceException;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import io.github.youseonghyeon.metrics.jfr.FrameReadEvent;
 import io.github.youseonghyeon.utils.ExecutorCoordinator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +19,7 @@ import java.nio.channels.*;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * {@code ChannelListener} is the core event loop responsible for handling client socket
@@ -25,14 +30,18 @@ import java.util.concurrent.*;
  * {@link ChatEventPublisher}.</p>
  *
  * <p>This class runs a selector event loop in a dedicated thread and delegates channel reads
- * to a thread pool. It also registers a JVM shutdown hook for graceful resource cleanup.</p>
+ * to a thread pool. Construction does no I/O: {@link #prepare()} opens the selector and starts the read pool,
+ * and {@link #run()} binds the port, so the engine can prepare the listener alongside its other components
+ * and open the port only once they are ready. The engine drains it phase by phase on {@code stop()} (stop accepting, stop reading,
+ * finish in-flight dispatch, close connections). The listener registers no shutdown hook of its own; the engine's
+ * hook runs that drain on JVM exit.</p>
  *
  * <p><strong>Main responsibilities:</strong>
  * <ul>
- *     <li>Initialize and bind a non-blocking server socket channel</li>
+ *     <li>Bind a non-blocking server socket channel</li>
  *     <li>Process I/O events using a selector</li>
  *     <li>Handle reads concurrently via a thread pool</li>
- *     <li>Gracefully shut down all executors on JVM exit</li>
+ *     <li>Drain and shut down all executors on engine stop or JVM exit</li>
  * </ul>
  * </p>
  *
@@ -45,33 +54,60 @@ public class ChannelListener implements Runnable {
 
     private final Logger log = LoggerFactory.getLogger(ChannelListener.class);
 
-    private final Selector selector;
-    private final ServerSocketChannel serverSocketChannel;
+    private final int port;
+    private Selector selector;
+    private ServerSocketChannel serverSocketChannel;
     private final MessageReceiver messageReceiver;
     private final ChatEventPublisher chatEventPublisher;
+    private final EngineMetrics metrics;
+    private volatile ReadPoolPolicy readPoolPolicy;
     private ThreadPoolExecutor channelReadExecutor;
+    private volatile ReadPoolController readPoolController;
     private ExecutorService eventLoopExecutor;
 
     private volatile boolean shutdown = false;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
 
     /**
-     * Constructs a new {@code ChannelListener} that binds to the specified port and prepares
-     * a selector to handle I/O events.
+     * Constructs a new {@code ChannelListener} for the specified port. The port is bound by {@link #run()}.
      *
      * @param port               the TCP port to bind the server socket
      * @param messageReceiver    the component used to parse incoming data from clients
      * @param chatEventPublisher the event dispatcher for delivering parsed messages
-     * @throws InitChatServiceException if the selector or server socket channel fails to initialize
      */
     public ChannelListener(int port, MessageReceiver messageReceiver, ChatEventPublisher chatEventPublisher) {
-        try {
-            this.selector = Selector.open();
-            this.serverSocketChannel = openPort(selector, port);
-        } catch (IOException e) {
-            throw new InitChatServiceException(e);
-        }
+        this(port, messageReceiver, chatEventPublisher, new EngineMetrics());
+    }
+
+    /**
+     * Constructs a {@code ChannelListener} that records connection counts, decode time and
+     * dispatch queue depth into the given metrics.
+     *
+     * @param port               the TCP port to bind the server socket
+     * @param messageReceiver    the component used to parse incoming data from clients
+     * @param chatEventPublisher the event dispatcher for delivering parsed messages
+     * @param metrics            the engine metrics to record into
+     */
+    public ChannelListener(int port, MessageReceiver messageReceiver, ChatEventPublisher chatEventPublisher, EngineMetrics metrics) {
+        this(port, messageReceiver, chatEventPublisher, metrics, ReadPoolPolicy.defaults());
+    }
+
+    /**
+     * Constructs a {@code ChannelListener} whose read pool is sized (and, if adaptive, resized) by the given policy.
+     *
+     * @param port               the TCP port to bind the server socket
+     * @param messageReceiver    the component used to parse incoming data from clients
+     * @param chatEventPublisher the event dispatcher for delivering parsed messages
+     * @param metrics            the engine metrics to record into
+     * @param readPoolPolicy     the size bounds and sizing mode of the channel read pool
+     */
+    public ChannelListener(int port, MessageReceiver messageReceiver, ChatEventPublisher chatEventPublisher, EngineMetrics metrics,
+                           ReadPoolPolicy readPoolPolicy) {
+        this.port = port;
         this.messageReceiver = messageReceiver;
         this.chatEventPublisher = chatEventPublisher;
+        this.metrics = metrics;
+        this.readPoolPolicy = readPoolPolicy;
     }
 
     /**
@@ -93,23 +129,47 @@ public class ChannelListener implements Runnable {
     }
 
     /**
-     * Starts the selector loop and a thread pool for channel read operations.
-     * Also registers a JVM shutdown hook to cleanly terminate both executors.
+     * Opens the selector and starts the channel read pool without binding the port.
+     * Called by {@link #run()} if it has not been called before.
+     *
+     * @throws InitChatServiceException if the selector fails to open
+     */
+    void prepare() {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new InitChatServiceException(e);
+        }
+        // 적응형이면 core 와 max 를 같게 두고 컨트롤러가 함께 조정, 큐가 가득 차면 셀렉터 스레드가 직접 읽음(백프레셔)
+        int maxThreads = readPoolPolicy.isAdaptive() ? readPoolPolicy.getMinThreads() : readPoolPolicy.getMaxThreads();
+        this.channelReadExecutor = new ThreadPoolExecutor(readPoolPolicy.getMinThreads(), maxThreads, 5, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(readPoolPolicy.getQueueCapacity()), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.channelReadExecutor.prestartAllCoreThreads();
+        metrics.bindDispatchQueue(() -> channelReadExecutor.getQueue().size());
+        metrics.bindReadPoolSize(() -> channelReadExecutor.getPoolSize());
+        if (readPoolPolicy.isAdaptive()) {
+            this.readPoolController = new ReadPoolController(channelReadExecutor, readPoolPolicy, metrics);
+            readPoolController.start();
+        }
+    }
+
+    /**
+     * Binds the port and starts the selector loop; from here on connections are accepted.
+     *
+     * @throws InitChatServiceException if the server socket channel fails to bind
      */
     @Override
     public void run() {
+        if (selector == null) {
+            prepare();
+        }
+        try {
+            this.serverSocketChannel = openPort(selector, port);
+        } catch (IOException e) {
+            throw new InitChatServiceException(e);
+        }
         this.eventLoopExecutor = Executors.newSingleThreadExecutor();
-        // TODO 우선 백프레셔를 기본값으로 설정하며, 추후 engine config 에서 불러올 수 있도록 변경 필요
-        this.channelReadExecutor = new ThreadPoolExecutor(10, 50, 5, TimeUnit.MINUTES, new LinkedBlockingQueue<>(1000), new ThreadPoolExecutor.CallerRunsPolicy());
-        this.channelReadExecutor.prestartAllCoreThreads();
-
         eventLoopExecutor.submit(this::runLoop);
-
-        Runtime.getRuntime()
-                .addShutdownHook(new Thread(() -> {
-                    shutdown = true;
-                    ExecutorCoordinator.shutdownSequential(eventLoopExecutor, channelReadExecutor);
-                }, "EventLoopShutdownHook"));
     }
 
     /**
@@ -146,7 +206,8 @@ public class ChannelListener implements Runnable {
             if (key.isReadable()) {
                 key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
                 SocketChannel client = (SocketChannel) key.channel();
-                channelReadExecutor.submit(() -> handleRead(key, client));
+                long handedOffNanos = System.nanoTime();
+                channelReadExecutor.submit(() -> handleRead(key, client, handedOffNanos));
             }
         }
     }
@@ -163,6 +224,7 @@ public class ChannelListener implements Runnable {
             client.configureBlocking(false);
             selector.wakeup();
             client.register(selector, SelectionKey.OP_READ);
+            metrics.connectionAccepted();
         } catch (ClosedChannelException e) {
             log.error("Failed to accept client connection: Channel is closed", e);
         } catch (IOException e) {
@@ -174,19 +236,223 @@ public class ChannelListener implements Runnable {
      * Reads a message from the client socket and publishes it to the internal event bus.
      * Restores the {@link SelectionKey}'s interest in read events after processing.
      *
-     * @param key     the selection key associated with the socket
-     * @param channel the client socket channel
+     * <p>If the peer closed the connection or the frame could not be decoded, the stream can no
+     * longer be resynchronized, so the channel is closed instead of being re-armed for reads.</p>
+     *
+     * <p>A {@link FrameReadEvent} covering the decode is committed when JFR is recording it and the
+     * decode exceeded the configured threshold.</p>
+     *
+     * @param key            the selection key associated with the socket
+     * @param channel        the client socket channel
+     * @param handedOffNanos when the selector handed the channel to the read pool
      */
-    private void handleRead(SelectionKey key, SocketChannel channel) {
+    private void handleRead(SelectionKey key, SocketChannel channel, long handedOffNanos) {
+        long start = System.nanoTime();
+        long waitNanos = start - handedOffNanos;
+        metrics.readPoolWaited(waitNanos);
         try {
-            Message message = messageReceiver.read(channel);
-            chatEventPublisher.publish(message);
+            readAndDispatch(key, channel, start, waitNanos);
+        } finally {
+            ReadPoolController controller = readPoolController;
+            if (controller != null) {
+                controller.record(waitNanos, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void readAndDispatch(SelectionKey key, SocketChannel channel, long start, long waitNanos) {
+        Message message;
+        FrameReadEvent event = new FrameReadEvent();
+        event.begin();
+        try {
+            message = messageReceiver.read(channel);
         } catch (ChannelReadException e) {
             log.error("Failed to read from channel: {}", channel, e);
+            metrics.decodeFailed();
+            closeConnection(key, channel);
+            return;
+        } catch (ChannelWriteException e) {
+            log.debug("Channel closed by peer: {}", channel);
+            closeConnection(key, channel);
+            return;
+        }
+        if (message == null) {
+            // 디스패치할 내용이 없는 제어 프레임(버전 협상, 방 바인딩)
+            rearmRead(key);
+            return;
+        }
+        metrics.frameDecoded(System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.roomId = message.roomId();
+            event.eventType = message.eventType() == null ? null : message.eventType().name();
+            event.bytes = (message.header() == null ? 0 : message.header().length)
+                    + (message.content() == null ? 0 : message.content().length);
+            event.poolWait = waitNanos;
+            event.commit();
+        }
+
+        try {
+            chatEventPublisher.publish(message);
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch message from channel: {}", channel, e);
         } finally {
-            key.interestOps(key.interestOps() | SelectionKey.OP_READ);
-            key.selector().wakeup();
+            rearmRead(key);
         }
     }
 
+    private static void rearmRead(SelectionKey key) {
+        key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+        key.selector().wakeup();
+    }
+
+    private void closeConnection(SelectionKey key, SocketChannel channel) {
+        key.cancel();
+        messageReceiver.connectionClosed(channel);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close channel: {}", channel, e);
+        }
+        metrics.connectionClosed();
+    }
+
+    /**
+     * Applies a new read pool policy to the running pool. The current pool size is kept when it lies within
+     * the new bounds and clamped otherwise; an adaptive policy restarts the controller from that size.
+     * The queue capacity cannot change while running.
+     *
+     * @param policy the new read pool policy
+     * @throws IllegalArgumentException if the policy changes the queue capacity
+     */
+    void reconfigureReadPool(ReadPoolPolicy policy) {
+        if (policy.getQueueCapacity() != readPoolPolicy.getQueueCapacity()) {
+            throw new IllegalArgumentException("Read pool queue capacity cannot be changed at runtime.");
+        }
+        ReadPoolController previous = readPoolController;
+        if (previous != null) {
+            previous.close();
+        }
+        if (policy.isAdaptive()) {
+            int size = Math.clamp(channelReadExecutor.getMaximumPoolSize(), policy.getMinThreads(), policy.getMaxThreads());
+            ReadPoolController.setBounds(channelReadExecutor, size, size);
+            ReadPoolController controller = new ReadPoolController(channelReadExecutor, policy, metrics);
+            controller.start();
+            readPoolController = controller;
+        } else {
+            readPoolController = null;
+            ReadPoolController.setBounds(channelReadExecutor, policy.getMinThreads(), policy.getMaxThreads());
+        }
+        channelReadExecutor.prestartAllCoreThreads();
+        readPoolPolicy = policy;
+        log.info("Read pool reconfigured: {}", policy);
+    }
+
+    // -- drain
+
+    /**
+     * Closes the server socket so that no new connections are accepted. Connected clients are unaffected.
+     */
+    void stopAccepting() {
+        if (serverSocketChannel == null) {
+            return;
+        }
+        try {
+            serverSocketChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close server socket channel", e);
+        }
+        selector.wakeup();
+    }
+
+    /**
+     * Stops the selector loop so that no further reads are handed to the read pool.
+     * Reads already handed off keep running.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} by which the loop must have exited
+     * @return true if the loop exited before the deadline
+     */
+    boolean stopReading(long deadlineNanos) throws InterruptedException {
+        shutdown = true;
+        selector.wakeup();
+        eventLoopExecutor.shutdown();
+        return eventLoopExecutor.awaitTermination(GracefulDrain.remaining(deadlineNanos).toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Waits for reads already handed to the read pool, including their dispatch, to finish.
+     * Tasks still running at the deadline are interrupted.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} by which in-flight dispatch must have finished
+     * @return true if every in-flight read finished before the deadline
+     */
+    boolean awaitDispatch(long deadlineNanos) throws InterruptedException {
+        if (readPoolController != null) {
+            readPoolController.close();
+        }
+        channelReadExecutor.shutdown();
+        if (channelReadExecutor.awaitTermination(GracefulDrain.remaining(deadlineNanos).toNanos(), TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        channelReadExecutor.shutdownNow();
+        return false;
+    }
+
+    /**
+     * Closes every client connection and the selector.
+     *
+     * @return the number of client connections closed
+     */
+    int closeConnections() {
+        if (selector == null) {
+            return 0;
+        }
+        int count = 0;
+        try {
+            for (SelectionKey key : selector.keys()) {
+                if (key.channel() instanceof SocketChannel client && client.isOpen()) {
+                    closeConnection(key, client);
+                    count++;
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            return count;
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Failed to close selector", e);
+        }
+        return count;
+    }
+
+    /**
+     * Closes the listener without waiting for in-flight work beyond the executors' own grace period.
+     * Used when engine startup fails part way; does nothing if called more than once.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        shutdown = true;
+        stopAccepting();
+        if (readPoolController != null) {
+            readPoolController.close();
+        }
+        if (eventLoopExecutor != null) {
+            ExecutorCoordinator.shutdownSequential(eventLoopExecutor);
+        }
+        if (channelReadExecutor != null) {
+            ExecutorCoordinator.shutdownSequential(channelReadExecutor);
+        }
+        closeConnections();
+    }
+
+    /**
+     * Returns the channel read pool, or {@code null} before {@link #prepare()}.
+     */
+    public ThreadPoolExecutor getChannelReadExecutor() {
+        return channelReadExecutor;
+    }
+
 }
@@ -1,24 +1,50 @@
 package io.github.youseonghyeon.core;
 
+import io.github.youseonghyeon.admin.AdminServer;
+import io.github.youseonghyeon.broadcast.BatchingBroadcaster;
+import io.github.youseonghyeon.broadcast.BroadcastHandoff;
+import io.github.youseonghyeon.broadcast.DrainableBroadcaster;
+import io.github.youseonghyeon.broadcast.MessageBroadCaster;
 import io.github.youseonghyeon.broadcast.no.NoOpsBroadcaster;
 import io.github.youseonghyeon.config.ChatEngineConfig;
+import io.github.youseonghyeon.config.ConfigDelta;
+import io.github.youseonghyeon.config.ReadPoolPolicy;
 import io.github.youseonghyeon.config.SendFilterPolicy;
-import io.github.youseonghyeon.config.adapter.sample.DefaultMessageReceiver;
-import io.github.youseonghyeon.config.adapter.sample.DefaultMessageSender;
+import io.github.youseonghyeon.config.adapter.sample.NegotiatingMessageReceiver;
+import io.github.youseonghyeon.config.adapter.sample.NegotiatingMessageSender;
+import io.github.youseonghyeon.config.adapter.sample.ProtocolSessions;
+import io.github.youseonghyeon.config.adapter.sample.WireProtocol;
 import io.github.youseonghyeon.core.event.ChatEventPublisher;
 import io.github.youseonghyeon.core.event.EventType;
 import io.github.youseonghyeon.core.event.MessageSubscriber;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
 import io.github.youseonghyeon.core.event.command.EnterRoom;
 import io.github.youseonghyeon.core.event.command.LeaveRoom;
 import io.github.youseonghyeon.core.event.command.SendMessage;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import io.github.youseonghyeon.metrics.JmxMetricsExporter;
+import io.github.youseonghyeon.metrics.MeteredMessageSender;
+import io.github.youseonghyeon.metrics.MetricsSnapshot;
+import io.github.youseonghyeon.persistence.ChatHistoryStore;
+import io.github.youseonghyeon.persistence.ChatHistoryWriter;
+import io.github.youseonghyeon.persistence.search.IndexedChatHistoryStore;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * ChatEngine manages the lifecycle and configuration of a chat application engine.
@@ -32,18 +58,44 @@ import java.util.function.Function;
  * engine.run(); // inherited from AbstractEngineLifecycle
  * }</pre>
  *
+ * <p>A started engine registers a single JVM shutdown hook that calls {@link #stop()}, so a SIGTERM (e.g. during a
+ * rolling restart) drains the engine the same way an explicit stop does. Components do not register hooks of their
+ * own; the hook is removed again when the engine is stopped.</p>
+ *
+ * <p>The engine can be started again after {@link #stop()}. The configured broadcaster and history store are kept
+ * as configured and re-wrapped (broadcast handoff, search indexing) on every start. A configured component that
+ * cannot be reopened once the engine closed it, such as the Kafka broadcaster or a file-backed history store,
+ * fails the restart with an {@link IllegalStateException}.</p>
+ *
  * @see ChatEngineConfig
  * @see ChatRoom
  * @see ChatEventPublisher
  */
 public class ChatEngine extends AbstractEngineLifecycle {
 
+    public static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(10);
+    private static final long OUTBOUND_POLL_MILLIS = 5;
+
     private final Logger log = LoggerFactory.getLogger(ChatEngine.class);
 
     private ChatEngineConfig config;
-    private ChatEventPublisher chatEventPublisher;
+    private final EngineMetrics metrics = new EngineMetrics();
+    private final ChatEventPublisher chatEventPublisher = new ChatEventPublisher(metrics);
+    private JmxMetricsExporter jmxMetricsExporter;
+    private AdminServer adminServer;
     private ChannelListener channelListener;
+    // 이번 start 에서 감싼 인스턴스. 설정에는 사용자가 지정한 원본을 그대로 둠
+    private MessageBroadCaster messageBroadCaster;
+    private ChatHistoryStore chatHistoryStore;
+    private ChatHistoryWriter chatHistoryWriter;
+    private RecentHistoryCache recentHistoryCache;
+    private StartupPlan startupPlan;
+    private Thread shutdownHook;
+    private long startRequestedNanos;
+    private volatile StartupReport lastStartupReport;
+    private volatile DrainReport lastDrainReport;
     private final Map<String, ChatRoom> chatRoomMap = new ConcurrentHashMap<>();
+    private final Map<EventType, MessageSubscriber> builtInSubscribers = new EnumMap<>(EventType.class);
 
     /**
      * Applies user-defined configuration using the given functional chain.
@@ -60,58 +112,455 @@ public class ChatEngine extends AbstractEngineLifecycle {
     /**
      * Initializes default configuration values if user-defined values are not provided.
      * This method ensures all required components such as message sender/receiver and policies
-     * are set before engine execution begins.
+     * are set before engine execution begins. The default codec serves v1 clients unchanged and switches a
+     * connection to the compact v2 frame when the client opens with the v2 preamble (see {@link WireProtocol}).
      */
     @Override
     protected void initializeDefaultConfiguration() {
+        startRequestedNanos = System.nanoTime();
         if (config.getSendFilterPolicy() == null)
             config.sendFilterPolicy(new SendFilterPolicy.BroadcastExceptSelf());
 
         if (config.getMessageReceiver() == null && config.getMessageSender() == null) {
-            config.messageReceiver(new DefaultMessageReceiver());
-            config.messageSender(new DefaultMessageSender());
+            // v1 클라이언트는 그대로, 프리앰블을 보낸 클라이언트는 v2 로
+            ProtocolSessions protocolSessions = new ProtocolSessions();
+            config.messageReceiver(new NegotiatingMessageReceiver(protocolSessions));
+            config.messageSender(new NegotiatingMessageSender(protocolSessions));
+        }
+        if (config.getMessageSender() != null && !(config.getMessageSender() instanceof MeteredMessageSender)) {
+            config.messageSender(new MeteredMessageSender(config.getMessageSender(), metrics));
         }
-
-        Map<EventType, MessageSubscriber> messageSubscriberMap = config.getMessageSubscriberMap();
-        messageSubscriberMap.computeIfAbsent(EventType.ENTER, type -> new EnterRoom(chatRoomMap, config.getMessageSender()));
-        messageSubscriberMap.computeIfAbsent(EventType.LEAVE, type -> new LeaveRoom(chatRoomMap));
-        messageSubscriberMap.computeIfAbsent(EventType.USER_SEND, type -> new SendMessage(chatRoomMap));
 
         if (config.getMessageBroadCaster() == null) {
             config.messageBroadCaster(new NoOpsBroadcaster());
         }
+        messageBroadCaster = decorateBroadcaster(config.getMessageBroadCaster());
+
+        chatHistoryStore = config.getChatHistoryStore();
+        if (chatHistoryStore != null && config.getChatSearchIndex() != null && !(chatHistoryStore instanceof IndexedChatHistoryStore)) {
+            chatHistoryStore = new IndexedChatHistoryStore(chatHistoryStore, config.getChatSearchIndex());
+        }
+        chatHistoryWriter = chatHistoryStore == null ? null
+                : new ChatHistoryWriter(chatHistoryStore, config.getChatLogMapper(),
+                        config.getHistoryQueueCapacity(), config.getHistoryBatchSize(), config.getHistoryFlushInterval());
+        recentHistoryCache = config.getRecentHistoryReplaySize() == 0 ? null
+                : new RecentHistoryCache(config.getRecentHistoryReplaySize(), config.getMessageSender(), chatHistoryStore);
+
+        RoomLifecycleListener roomLifecycleListener = resolveRoomLifecycleListener();
+        installBuiltInSubscriber(EventType.ENTER, () -> new EnterRoom(chatRoomMap, config.getMessageSender(), roomLifecycleListener,
+                recentHistoryCache, config::getSendFilterPolicy));
+        installBuiltInSubscriber(EventType.LEAVE, () -> new LeaveRoom(chatRoomMap, roomLifecycleListener));
+        installBuiltInSubscriber(EventType.USER_SEND, () -> new SendMessage(chatRoomMap, messageBroadCaster, chatHistoryWriter,
+                recentHistoryCache, metrics));
+    }
+
+    /**
+     * Puts a fresh built-in subscriber for the given event type unless the user configured their own.
+     * Built-in subscribers capture this start's history writer, recent history cache and broadcaster, so the
+     * ones installed by a previous start are replaced rather than reused after a restart.
+     */
+    private void installBuiltInSubscriber(EventType eventType, Supplier<MessageSubscriber> factory) {
+        Map<EventType, MessageSubscriber> messageSubscriberMap = config.getMessageSubscriberMap();
+        MessageSubscriber current = messageSubscriberMap.get(eventType);
+        if (current == null || current == builtInSubscribers.get(eventType)) {
+            MessageSubscriber subscriber = factory.get();
+            messageSubscriberMap.put(eventType, subscriber);
+            builtInSubscribers.put(eventType, subscriber);
+        }
+    }
+
+    /**
+     * Applies batching settings to the configured broadcaster and, unless disabled, wraps it in a
+     * {@link BroadcastHandoff} so that dispatch threads never block on cluster delivery. A new handoff is created
+     * on every start because {@link #stop()} closes the previous one.
+     */
+    private MessageBroadCaster decorateBroadcaster(MessageBroadCaster broadCaster) {
+        if (broadCaster instanceof BatchingBroadcaster batching && config.getBroadcastBatchSize() >= 0) {
+            batching.configureBatching(config.getBroadcastBatchSize(), config.getBroadcastLinger());
+        }
+        if (broadCaster == null || broadCaster instanceof NoOpsBroadcaster || broadCaster instanceof BroadcastHandoff
+            || config.getBroadcastQueueCapacity() == 0) {
+            return broadCaster;
+        }
+        BroadcastHandoff handoff = new BroadcastHandoff(broadCaster, config.getBroadcastQueueCapacity(),
+                config.getBroadcastOverflowPolicy(), config.getBroadcastBlockTimeout(), config.getBroadcastSpillDirectory());
+        metrics.bindBroadcastQueue(handoff::getQueueDepth, handoff::getLagNanos);
+        return handoff;
+    }
+
+    /**
+     * Uses the configured broadcaster as the room lifecycle listener when it wants to track
+     * which rooms are hosted locally (e.g. room-affine cluster subscriptions). The recent history
+     * cache is notified as well so that rings of removed rooms are released.
+     */
+    private RoomLifecycleListener resolveRoomLifecycleListener() {
+        RoomLifecycleListener listener = RoomLifecycleListener.NO_OP;
+        if (messageBroadCaster instanceof RoomLifecycleListener broadcasterListener) {
+            listener = broadcasterListener;
+        }
+        if (recentHistoryCache != null) {
+            listener = listener == RoomLifecycleListener.NO_OP ? recentHistoryCache : listener.andThen(recentHistoryCache);
+        }
+        return listener;
     }
 
     /**
-     * Initializes core engine components such as event publisher and channel listener.
-     * Registers all message subscribers declared in the configuration.
+     * Creates the engine components and plans how they start. Components are started by {@link #launch()}.
+     *
+     * <p>Components that do not depend on each other start in parallel: preparing the channel listener,
+     * JMX and the admin server, history store initialization and message subscriber registration. Broadcasters
+     * that implement {@link LazyInitializer} start once local subscribers are registered (plus whatever they
+     * declare in {@link LazyInitializer#dependsOn()}), so remote messages are only consumed once they can be
+     * delivered. The port is bound last, once the listener, history, subscribers and broadcaster are ready.</p>
      *
      * <p>Must be called after {@link #initializeDefaultConfiguration()}.
      */
     @Override
     protected void initializeEngineComponents() {
-        this.chatEventPublisher = new ChatEventPublisher();
-        this.channelListener = new ChannelListener(config.getPort(), config.getMessageReceiver(), chatEventPublisher);
-
-        // TODO 이쯤에서 kafka initialize 를 처리해야 함
-        config.getMessageSubscriberMap()
-                .forEach((eventType, messageSubscriber) -> chatEventPublisher.registerSubscriber(eventType, messageSubscriber));
+        this.channelListener = new ChannelListener(config.getPort(), config.getMessageReceiver(), chatEventPublisher, metrics,
+                config.getReadPoolPolicy());
+        StartupPlan plan = new StartupPlan()
+                .component(StartupPhase.LISTENER, channelListener::prepare);
+        if (config.isJmxMetricsEnabled()) {
+            jmxMetricsExporter = new JmxMetricsExporter(metrics, String.valueOf(config.getPort()));
+            plan.component(StartupPhase.JMX, jmxMetricsExporter::register);
+        }
+        if (config.getAdminAddress() != null) {
+            adminServer = new AdminServer(this, config.getAdminAddress());
+            plan.component(StartupPhase.ADMIN, adminServer::start);
+        }
+        if (chatHistoryStore != null) {
+            plan.component(StartupPhase.HISTORY, this::startHistory);
+        }
+        plan.component(StartupPhase.SUBSCRIBERS, () -> config.getMessageSubscriberMap()
+                .forEach((eventType, messageSubscriber) -> chatEventPublisher.registerSubscriber(eventType, messageSubscriber)));
+        if (messageBroadCaster instanceof LazyInitializer lazyInitializer) {
+            Set<StartupPhase> dependsOn = EnumSet.of(StartupPhase.SUBSCRIBERS);
+            dependsOn.addAll(lazyInitializer.dependsOn());
+            plan.component(StartupPhase.BROADCASTER, dependsOn, lazyInitializer::initialize);
+        }
+        plan.component(StartupPhase.ACCEPT, EnumSet.of(StartupPhase.LISTENER, StartupPhase.HISTORY, StartupPhase.SUBSCRIBERS,
+                StartupPhase.BROADCASTER), channelListener::run);
+        this.startupPlan = plan;
+        metrics.configurationApplied(config.describe());
         log.info("ChatEngineConfig: {}", config);
+    }
 
+    /**
+     * Initializes a history store that defers its own initialization (e.g. segment recovery), then starts the
+     * search index and the write-behind writer on top of it.
+     */
+    private void startHistory() {
+        if (chatHistoryStore instanceof LazyInitializer lazyStore) {
+            lazyStore.initialize();
+        }
+        if (chatHistoryStore instanceof IndexedChatHistoryStore indexedStore) {
+            indexedStore.getSearchIndex().start();
+        }
+        if (chatHistoryWriter != null) {
+            chatHistoryWriter.start();
+        }
     }
 
     /**
-     * Starts the chat engine by running the main channel listener.
-     * This begins accepting socket connections and dispatching messages.
+     * Starts the planned components and waits until the engine accepts connections. The time from
+     * {@link #start()} until then is published as {@link EngineMetrics#getStartupNanos()} and the per-component
+     * timings are kept in {@link #getLastStartupReport()}.
+     *
+     * <p>If a component fails to start, whatever already started is closed and the failure is rethrown.
      */
     @Override
     protected void launch() {
-        channelListener.run();
+        StartupReport report;
+        try {
+            report = startupPlan.run(startRequestedNanos);
+        } catch (RuntimeException e) {
+            abortStartup();
+            throw e;
+        } finally {
+            startupPlan = null;
+        }
+        lastStartupReport = report;
+        metrics.startupCompleted(report.readyNanos());
+        shutdownHook = new Thread(this::stopOnShutdown, "ChatEngine-ShutdownHook");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        log.info("Engine ready in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(report.readyNanos()), report.components());
+    }
+
+    /**
+     * Runs {@link #stop()} from the JVM shutdown hook. The engine may already be stopping or stopped by then.
+     */
+    private void stopOnShutdown() {
+        try {
+            stop();
+        } catch (IllegalStateException e) {
+            log.debug("Engine not stopped by shutdown hook: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the shutdown hook once the engine is stopped, unless the stop is running inside that hook.
+     */
+    private void removeShutdownHook() {
+        Thread hook = shutdownHook;
+        shutdownHook = null;
+        if (hook == null || hook == Thread.currentThread()) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(hook);
+        } catch (IllegalStateException e) {
+            // JVM 종료가 이미 시작됨
+        }
+    }
+
+    /**
+     * Releases the components a failed start may have left running. Each is closed independently so that
+     * one failure does not keep the others open.
+     */
+    private void abortStartup() {
+        channelListener.close();
+        if (adminServer != null) {
+            adminServer.close();
+            adminServer = null;
+        }
+        if (jmxMetricsExporter != null) {
+            jmxMetricsExporter.close();
+            jmxMetricsExporter = null;
+        }
+        if (chatHistoryWriter != null) {
+            chatHistoryWriter.close(Duration.ZERO);
+        }
+        try {
+            closeBroadcaster(System.nanoTime());
+        } catch (Exception e) {
+            log.warn("Failed to close broadcaster after failed start", e);
+        }
+    }
+
+    /**
+     * Drains the engine in {@link DrainPhase} order within the configured drain timeout: stops accepting and
+     * reading, lets in-flight dispatch and socket writes finish, flushes write-behind history and the
+     * broadcaster, then closes client connections. Afterwards the admin server, JMX registration and the
+     * history store are released. Per-phase timings are logged and kept in {@link #getLastDrainReport()}.
+     */
+    @Override
+    protected void terminateEngineComponents() {
+        removeShutdownHook();
+        GracefulDrain drain = new GracefulDrain(config.getDrainTimeout())
+                .phase(DrainPhase.STOP_ACCEPT, deadline -> {
+                    channelListener.stopAccepting();
+                    return true;
+                })
+                .phase(DrainPhase.STOP_READ, channelListener::stopReading)
+                .phase(DrainPhase.DISPATCH, channelListener::awaitDispatch)
+                .phase(DrainPhase.OUTBOUND, this::awaitOutboundWrites)
+                .phase(DrainPhase.HISTORY, deadline -> chatHistoryWriter == null
+                                                      || chatHistoryWriter.close(GracefulDrain.remaining(deadline)))
+                .phase(DrainPhase.BROADCAST, this::closeBroadcaster)
+                .phase(DrainPhase.CLOSE, deadline -> {
+                    channelListener.closeConnections();
+                    return true;
+                });
+        lastDrainReport = drain.run();
+
+        if (adminServer != null) {
+            adminServer.close();
+            adminServer = null;
+        }
+        if (jmxMetricsExporter != null) {
+            jmxMetricsExporter.close();
+            jmxMetricsExporter = null;
+        }
+        if (chatHistoryStore instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close chat history store", e);
+            }
+        }
+    }
+
+    /**
+     * Applies a configuration delta to the running engine without a restart.
+     *
+     * <p>Every change in the delta is validated against the running components before any of them is
+     * applied, so a rejected delta leaves the engine untouched. Changes take effect for work that starts
+     * after this call returns (the next read, broadcast or history batch); work already in progress finishes
+     * under the previous settings. On success the engine configuration is updated and the effective values are
+     * published to {@link EngineMetrics#getEffectiveConfiguration()} with a new configuration version.</p>
+     *
+     * <pre>{@code
+     * engine.reconfigure(delta -> delta.readPool(ReadPoolPolicy.defaults().threads(20, 80).fixed()));
+     * }</pre>
+     *
+     * @param deltaChain a function that fills in the settings to change
+     * @throws IllegalArgumentException if a change cannot be applied to the running engine
+     * @throws IllegalStateException    if the engine is not running
+     */
+    public void reconfigure(@NotNull Function<ConfigDelta, ConfigDelta> deltaChain) {
+        Objects.requireNonNull(deltaChain, "Delta chain must not be null");
+        ConfigDelta delta = deltaChain.apply(new ConfigDelta());
+        if (delta == null || delta.isEmpty()) {
+            return;
+        }
+        whileRunning(() -> {
+            validate(delta);
+            apply(delta);
+            metrics.configurationApplied(config.describe());
+            log.info("Engine reconfigured (version {}): {}", metrics.getConfigurationVersion(), config.describe());
+        });
+    }
+
+    private void validate(ConfigDelta delta) {
+        ReadPoolPolicy readPool = delta.getReadPoolPolicy();
+        if (readPool != null && readPool.getQueueCapacity() != config.getReadPoolPolicy().getQueueCapacity()) {
+            throw new IllegalArgumentException("Read pool queue capacity cannot be changed at runtime.");
+        }
+        if (delta.getBroadcastOverflowPolicy() != null && !(messageBroadCaster instanceof BroadcastHandoff)) {
+            throw new IllegalArgumentException("Broadcast overflow policy requires a broadcast queue; it is disabled or no broadcaster is configured.");
+        }
+        if (delta.getHistoryFlushInterval() != null && chatHistoryWriter == null) {
+            throw new IllegalArgumentException("History batching requires a chat history store.");
+        }
+    }
+
+    private void apply(ConfigDelta delta) {
+        if (delta.getReadPoolPolicy() != null) {
+            channelListener.reconfigureReadPool(delta.getReadPoolPolicy());
+            config.readPool(delta.getReadPoolPolicy());
+        }
+        if (delta.getSendFilterPolicies() != null) {
+            config.sendFilterPolicy(delta.getSendFilterPolicies());
+        }
+        if (delta.getBroadcastOverflowPolicy() != null) {
+            BroadcastHandoff handoff = (BroadcastHandoff) messageBroadCaster;
+            handoff.reconfigure(delta.getBroadcastOverflowPolicy(), delta.getBroadcastBlockTimeout());
+            config.broadcastQueue(config.getBroadcastQueueCapacity(), delta.getBroadcastOverflowPolicy())
+                    .broadcastBlockTimeout(delta.getBroadcastBlockTimeout());
+        }
+        if (delta.getHistoryFlushInterval() != null) {
+            chatHistoryWriter.reconfigure(delta.getHistoryBatchSize(), delta.getHistoryFlushInterval());
+            config.chatHistoryWriteBehind(config.getHistoryQueueCapacity(), delta.getHistoryBatchSize(),
+                    delta.getHistoryFlushInterval());
+        }
+    }
+
+    /**
+     * Waits until no socket write to a local participant is in progress. Writes are synchronous, so once
+     * dispatch has stopped this only waits for deliveries still arriving from the broadcaster.
+     */
+    private boolean awaitOutboundWrites(long deadlineNanos) throws InterruptedException {
+        while (metrics.getWritesInFlight() > 0) {
+            if (System.nanoTime() >= deadlineNanos) {
+                log.warn("{} socket writes still in progress at drain deadline", metrics.getWritesInFlight());
+                return false;
+            }
+            Thread.sleep(OUTBOUND_POLL_MILLIS);
+        }
+        return true;
+    }
+
+    /**
+     * Delivers messages still queued in the {@link BroadcastHandoff} and closes the broadcaster if it holds resources.
+     * A {@link DrainableBroadcaster} is given the time left in the {@link DrainPhase#BROADCAST} phase.
+     */
+    private boolean closeBroadcaster(long deadlineNanos) throws Exception {
+        MessageBroadCaster broadCaster = messageBroadCaster;
+        if (broadCaster instanceof DrainableBroadcaster drainable) {
+            return drainable.close(GracefulDrain.remaining(deadlineNanos));
+        }
+        if (broadCaster instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the per-component timings of the last successful {@link #start()}, or {@code null} if the engine
+     * was never started.
+     */
+    public StartupReport getLastStartupReport() {
+        return lastStartupReport;
+    }
+
+    /**
+     * Returns the per-phase timings of the last {@link #stop()}, or {@code null} if the engine was never stopped.
+     */
+    public DrainReport getLastDrainReport() {
+        return lastDrainReport;
     }
 
+    /**
+     * Returns the engine's event publisher. The publisher exists from construction so that
+     * components configured before {@link #start()} (e.g. cluster broadcasters) can deliver into it.
+     */
     public ChatEventPublisher getEventPublisher() {
         return chatEventPublisher;
     }
 
+    /**
+     * Returns the write-behind history writer (queue depth, flush latency), or {@code null}
+     * when no {@link io.github.youseonghyeon.persistence.ChatHistoryStore} is configured.
+     */
+    public ChatHistoryWriter getChatHistoryWriter() {
+        return chatHistoryWriter;
+    }
+
+    /**
+     * Returns the live engine metrics (connections, decode, dispatch, fan-out, writes, broadcast lag).
+     * The same counters are exposed over JMX unless disabled with {@link ChatEngineConfig#jmxMetrics(boolean)}.
+     */
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns a point-in-time copy of all engine metrics.
+     */
+    public MetricsSnapshot getMetricsSnapshot() {
+        return metrics.snapshot();
+    }
+
+    /**
+     * Returns a live, unmodifiable view of the rooms hosted on this node. Iterating it does not lock
+     * the room map and may or may not reflect rooms created or removed during iteration.
+     */
+    public Collection<ChatRoom> getChatRooms() {
+        return Collections.unmodifiableCollection(chatRoomMap.values());
+    }
+
+    /**
+     * Returns the channel read pool, or {@code null} before the engine is started.
+     */
+    public ThreadPoolExecutor getChannelReadExecutor() {
+        return channelListener == null ? null : channelListener.getChannelReadExecutor();
+    }
+
+    /**
+     * Returns the broadcaster of the current (or last) start, wrapped in a {@link BroadcastHandoff} unless the
+     * handoff is disabled, or the configured broadcaster before the engine is started.
+     */
+    public MessageBroadCaster getMessageBroadCaster() {
+        if (messageBroadCaster != null) {
+            return messageBroadCaster;
+        }
+        return config == null ? null : config.getMessageBroadCaster();
+    }
+
+    /**
+     * Returns the admin HTTP server, or {@code null} when it is not configured.
+     */
+    public AdminServer getAdminServer() {
+        return adminServer;
+    }
+
+    /**
+     * Returns the cache of recent frames replayed on ENTER, or {@code null} when replay is disabled.
+     */
+    public RecentHistoryCache getRecentHistoryCache() {
+        return recentHistoryCache;
+    }
+
 
 }
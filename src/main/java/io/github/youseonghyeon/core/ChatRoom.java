@@ -8,6 +8,7 @@ import io.github.youseonghyeon.core.exception.InvalidChatRoomConfigException;
 import io.github.youseonghyeon.core.exception.InvalidMessageException;
 import io.github.youseonghyeon.core.exception.UserNotConnectedException;
 import io.github.youseonghyeon.core.exception.UserSessionInvalidException;
+import io.github.youseonghyeon.metrics.jfr.BroadcastEvent;
 import io.github.youseonghyeon.model.User;
 import io.github.youseonghyeon.utils.LockCoordinator;
 import io.github.youseonghyeon.utils.StringUtils;
@@ -21,8 +22,9 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * ChatRoom represents a logical room where multiple {@link User} instances can join,
@@ -39,13 +41,15 @@ import java.util.function.Predicate;
 public class ChatRoom {
 
     private static final Logger log = LoggerFactory.getLogger(ChatRoom.class);
+    private static final SendFilterPolicy EXCEPT_SENDER = new SendFilterPolicy.BroadcastExceptSelf();
 
     private final String roomId;
     private final LocalDateTime createTime = LocalDateTime.now();
     private final Set<User> participants = ConcurrentHashMap.newKeySet();
     private final MessageSender messageSender;
+    private final LongAdder messageCount = new LongAdder();
     private ReentrantLock roomLock = new ReentrantLock();
-    private SendFilterPolicy sendFilterPolicy;
+    private final Supplier<SendFilterPolicy> sendFilterPolicy;
 
     /**
      * Constructs a new chat room with a given identifier and message sender.
@@ -55,11 +59,25 @@ public class ChatRoom {
      * @throws InvalidChatRoomConfigException if the roomId is null/blank or messageSender is null
      */
     public ChatRoom(String roomId, MessageSender messageSender) {
-        if (!StringUtils.hasText(roomId) || messageSender == null) {
-            throw new InvalidChatRoomConfigException("Chat room ID and message sender cannot be null or empty");
+        this(roomId, messageSender, () -> EXCEPT_SENDER);
+    }
+
+    /**
+     * Constructs a new chat room whose recipients are filtered by the given policy. The supplier is
+     * consulted on every broadcast, so a policy replaced at runtime applies to existing rooms as well.
+     *
+     * @param roomId           the unique identifier of the chat room
+     * @param messageSender    the message delivery mechanism to be used
+     * @param sendFilterPolicy supplies the current filter deciding which participants receive a message
+     * @throws InvalidChatRoomConfigException if the roomId is null/blank or messageSender or the policy supplier is null
+     */
+    public ChatRoom(String roomId, MessageSender messageSender, Supplier<SendFilterPolicy> sendFilterPolicy) {
+        if (!StringUtils.hasText(roomId) || messageSender == null || sendFilterPolicy == null) {
+            throw new InvalidChatRoomConfigException("Chat room ID, message sender and send filter policy cannot be null or empty");
         }
         this.roomId = roomId;
         this.messageSender = messageSender;
+        this.sendFilterPolicy = sendFilterPolicy;
     }
 
     /**
@@ -117,40 +135,63 @@ public class ChatRoom {
     }
 
     /**
-     * Broadcasts a message to all participants except the optional sender.
+     * Broadcasts a message to the participants accepted by the room's {@link SendFilterPolicy}
+     * (by default, everyone except the optional sender).
+     * Slow broadcasts are reported as JFR {@link BroadcastEvent}s.
      *
      * @param message the message to send
      * @param sender  the sender's socket channel, may be null
+     * @return the number of participants the message was sent to
      * @throws InvalidMessageException if the message is null
      */
-    public void broadcast(Message message, @Nullable SocketChannel sender) {
+    public int broadcast(Message message, @Nullable SocketChannel sender) {
         if (message == null) {
             throw new InvalidMessageException("Null message cannot be broadcasted");
         }
-        // TODO filterPolicy는 engine config 에서 가져오는 것으로 변경 필요
-        Predicate<User> filterPolicy = user -> !user.getSocketChannel().equals(sender);
-
-        participants.stream()
-                .filter(filterPolicy)
-                .forEach(user -> sendMessage(user.getSocketChannel(), message));
-
+        SendFilterPolicy filterPolicy = sendFilterPolicy.get();
+
+        BroadcastEvent event = new BroadcastEvent();
+        event.begin();
+        messageCount.increment();
+        int recipients = 0;
+        for (User user : participants) {
+            if (filterPolicy.shouldSend(user.getSocketChannel(), sender)) {
+                sendMessage(user, message);
+                recipients++;
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.roomId = roomId;
+            event.eventType = message.eventType() == null ? null : message.eventType().name();
+            event.bytes = (message.header() == null ? 0 : message.header().length)
+                    + (message.content() == null ? 0 : message.content().length);
+            event.recipients = recipients;
+            event.commit();
+        }
         // TODO Result 반환하도록 변경 필요
+        return recipients;
     }
 
     /**
-     * Sends a message to a specific socket channel.
+     * Sends a message to a specific participant, tracking the write on the participant's session.
      *
-     * @param client  the recipient's socket channel
+     * @param user    the recipient
      * @param message the message to be delivered
      * @return the result of the send operation (currently not implemented)
      */
-    private SendResult sendMessage(SocketChannel client, Message message) {
+    private SendResult sendMessage(User user, Message message) {
+        user.writeStarted();
+        boolean success = false;
         try {
-            messageSender.send(client, message);
+            messageSender.send(user.getSocketChannel(), message);
+            success = true;
             return SendResult.emptyResult(); // Unsupported operation
         } catch (IOException e) {
-            log.error("Failed to send message to client: {}", client, e);
+            log.error("Failed to send message to client: {}", user.getSocketChannel(), e);
             return SendResult.emptyResult(); // Unsupported operation
+        } finally {
+            user.writeFinished(success);
         }
     }
 
@@ -180,4 +221,22 @@ public class ChatRoom {
     public Set<User> getParticipants() {
         return participants;
     }
+
+    /**
+     * Returns the number of participants without locking the room.
+     */
+    public int getParticipantCount() {
+        return participants.size();
+    }
+
+    /**
+     * Returns how many messages have been broadcast in this room since it was created.
+     */
+    public long getMessageCount() {
+        return messageCount.sum();
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
 }
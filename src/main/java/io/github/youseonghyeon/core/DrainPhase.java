@@ -0,0 +1,21 @@
+package io.github.youseonghyeon.core;
+
+/**
+ * The phases of a graceful engine drain, in the order {@link ChatEngine#stop()} runs them.
+ */
+public enum DrainPhase {
+    /// Close the server socket; connected clients stay connected.
+    STOP_ACCEPT,
+    /// Stop the selector loop so that no further frames are read.
+    STOP_READ,
+    /// Wait for frames already handed to the read pool to be decoded and dispatched.
+    DISPATCH,
+    /// Wait for socket writes to local participants that are still in progress.
+    OUTBOUND,
+    /// Flush the write-behind chat history queue.
+    HISTORY,
+    /// Deliver messages still queued for other nodes, then close the broadcaster.
+    BROADCAST,
+    /// Close every client connection and the selector.
+    CLOSE
+}
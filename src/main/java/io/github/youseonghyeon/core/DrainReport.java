@@ -0,0 +1,27 @@
+package io.github.youseonghyeon.core;
+
+import java.util.List;
+
+/**
+ * Per-phase timings of one graceful drain.
+ *
+ * @param phases     the phases that ran, in order
+ * @param totalNanos the time the whole drain took
+ */
+public record DrainReport(List<PhaseResult> phases, long totalNanos) {
+
+    /**
+     * @param phase        the drain phase
+     * @param elapsedNanos the time the phase took
+     * @param completed    false if the phase hit the drain deadline or failed
+     */
+    public record PhaseResult(DrainPhase phase, long elapsedNanos, boolean completed) {
+    }
+
+    /**
+     * Returns true if every phase finished before the deadline.
+     */
+    public boolean isComplete() {
+        return phases.stream().allMatch(PhaseResult::completed);
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.youseonghyeon.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link DrainPhase}s of an engine shutdown in order against a single deadline.
+ *
+ * <p>Each phase receives the absolute deadline and reports whether it finished in time. A phase that
+ * times out or fails does not stop the drain: the remaining phases still run, with whatever time is
+ * left (possibly none), so that resources are always released and the total shutdown time stays bounded
+ * by the timeout plus the time the non-blocking phases take to close.</p>
+ */
+class GracefulDrain {
+
+    private static final Logger log = LoggerFactory.getLogger(GracefulDrain.class);
+
+    /**
+     * One drain phase.
+     */
+    @FunctionalInterface
+    interface Step {
+        /**
+         * @param deadlineNanos {@link System#nanoTime()} by which the whole drain must finish
+         * @return true if the phase finished its work before the deadline
+         */
+        boolean run(long deadlineNanos) throws Exception;
+    }
+
+    private final Duration timeout;
+    private final Map<DrainPhase, Step> steps = new EnumMap<>(DrainPhase.class);
+
+    GracefulDrain(Duration timeout) {
+        if (timeout == null || timeout.isNegative()) {
+            throw new IllegalArgumentException("Drain timeout must not be negative.");
+        }
+        this.timeout = timeout;
+    }
+
+    GracefulDrain phase(DrainPhase phase, Step step) {
+        steps.put(phase, step);
+        return this;
+    }
+
+    DrainReport run() {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        List<DrainReport.PhaseResult> results = new ArrayList<>(steps.size());
+        steps.forEach((phase, step) -> {
+            long phaseStart = System.nanoTime();
+            boolean completed;
+            try {
+                completed = step.run(deadline);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Drain phase {} interrupted", phase);
+                completed = false;
+            } catch (Exception e) {
+                log.warn("Drain phase {} failed", phase, e);
+                completed = false;
+            }
+            long elapsed = System.nanoTime() - phaseStart;
+            results.add(new DrainReport.PhaseResult(phase, elapsed, completed));
+            log.info("Drain phase {} {} in {} ms", phase, completed ? "completed" : "timed out",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        });
+        DrainReport report = new DrainReport(List.copyOf(results), System.nanoTime() - start);
+        log.info("Engine drained in {} ms{}", TimeUnit.NANOSECONDS.toMillis(report.totalNanos()),
+                report.isComplete() ? "" : " (some phases did not complete)");
+        return report;
+    }
+
+    /**
+     * Returns the time left until the deadline, never negative.
+     */
+    static Duration remaining(long deadlineNanos) {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+}
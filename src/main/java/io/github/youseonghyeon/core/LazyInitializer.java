@@ -0,0 +1,24 @@
+package io.github.youseonghyeon.core;
+
+import java.util.Set;
+
+/**
+ * 엔진 시작 시점까지 초기화를 미뤄야 하는 컴포넌트를 위한 인터페이스입니다.
+ *
+ * <p>설정 단계에서 생성된 컴포넌트(예: 브로커 연결이 필요한 브로드캐스터)는 생성자에서 외부 자원에 연결하지 않고,
+ * {@link ChatEngine}이 엔진 컴포넌트를 초기화할 때 {@link #initialize()}를 호출받아 연결을 시작합니다.</p>
+ *
+ * <p>엔진은 서로 의존하지 않는 컴포넌트를 병렬로 초기화합니다. 다른 컴포넌트가 먼저 준비되어야 하면
+ * {@link #dependsOn()}으로 알립니다. 엔진이 정한 순서(예: 브로드캐스터는 구독자 등록 이후)는 여기에 더해 항상 지켜집니다.</p>
+ */
+public interface LazyInitializer {
+
+    void initialize();
+
+    /**
+     * {@link #initialize()} 전에 준비되어 있어야 하는 시작 단계입니다. 기본값은 없음입니다.
+     */
+    default Set<StartupPhase> dependsOn() {
+        return Set.of();
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.config.ReadPoolPolicy;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resizes the channel read pool from measured saturation.
+ *
+ * <p>Every sample interval the controller looks at the average time tasks waited in the queue,
+ * the pool's utilization (busy time over available thread time) and throughput (completed reads
+ * per second), then hill-climbs on the pool size:</p>
+ * <ul>
+ *     <li>tasks wait longer than the target: grow by a quarter, unless the previous growth did not
+ *     raise throughput, in which case the bottleneck is elsewhere (e.g. CPU) and the growth is
+ *     undone and held for a few intervals</li>
+ *     <li>no queueing and utilization below one half: shrink by an eighth</li>
+ *     <li>otherwise: hold</li>
+ * </ul>
+ * <p>Core and maximum size are always moved together, since {@link ThreadPoolExecutor} only
+ * grows past its core size once the queue is full.</p>
+ */
+class ReadPoolController implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadPoolController.class);
+
+    /// A growth step must raise throughput by at least this fraction to count as an improvement.
+    static final double MIN_IMPROVEMENT = 0.05;
+    static final double LOW_UTILIZATION = 0.5;
+    static final int BACK_OFF_INTERVALS = 5;
+
+    enum Action {GROW, SHRINK, BACK_OFF, HOLD}
+
+    private final ThreadPoolExecutor executor;
+    private final ReadPoolPolicy policy;
+    private final EngineMetrics metrics;
+    private final long targetWaitNanos;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+
+    // 아래 상태는 컨트롤러 스레드에서만 접근
+    private long lastSampleNanos = System.nanoTime();
+    private double lastThroughput = 0;
+    private Action lastAction = Action.HOLD;
+    private int sizeBeforeGrowth;
+    private int holdIntervals = 0;
+
+    private ScheduledExecutorService scheduler;
+
+    ReadPoolController(ThreadPoolExecutor executor, ReadPoolPolicy policy, EngineMetrics metrics) {
+        this.executor = executor;
+        this.policy = policy;
+        this.metrics = metrics;
+        this.targetWaitNanos = policy.getTargetQueueWait().toNanos();
+    }
+
+    void start() {
+        long intervalNanos = policy.getSampleInterval().toNanos();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-pool-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sample, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one finished read task.
+     *
+     * @param queuedNanos time the task waited for a thread
+     * @param runNanos    time the task ran
+     */
+    void record(long queuedNanos, long runNanos) {
+        completed.increment();
+        waitNanos.add(queuedNanos);
+        busyNanos.add(runNanos);
+    }
+
+    private void sample() {
+        try {
+            long now = System.nanoTime();
+            long elapsed = now - lastSampleNanos;
+            lastSampleNanos = now;
+            adjust(elapsed, completed.sumThenReset(), waitNanos.sumThenReset(), busyNanos.sumThenReset());
+        } catch (RuntimeException e) {
+            log.error("Read pool controller failed", e);
+        }
+    }
+
+    /**
+     * Decides and applies the next pool size from one interval's measurements.
+     */
+    Action adjust(long elapsedNanos, long tasks, long totalWaitNanos, long totalBusyNanos) {
+        int size = executor.getMaximumPoolSize();
+        double throughput = tasks * 1e9 / elapsedNanos;
+        double utilization = Math.min(1.0, (double) totalBusyNanos / ((double) elapsedNanos * size));
+        long averageWait = tasks == 0 ? 0 : totalWaitNanos / tasks;
+        metrics.readPoolSampled(utilization);
+
+        Action action;
+        int target = size;
+        if (holdIntervals > 0) {
+            holdIntervals--;
+            action = Action.HOLD;
+        } else if (averageWait > targetWaitNanos) {
+            if (lastAction == Action.GROW && throughput < lastThroughput * (1 + MIN_IMPROVEMENT)) {
+                action = Action.BACK_OFF;
+                target = sizeBeforeGrowth;
+                holdIntervals = BACK_OFF_INTERVALS;
+            } else if (size < policy.getMaxThreads()) {
+                action = Action.GROW;
+                sizeBeforeGrowth = size;
+                target = Math.min(policy.getMaxThreads(), size + Math.max(1, size / 4));
+            } else {
+                action = Action.HOLD;
+            }
+        } else if (utilization < LOW_UTILIZATION && size > policy.getMinThreads()) {
+            action = Action.SHRINK;
+            target = Math.max(policy.getMinThreads(), size - Math.max(1, size / 8));
+        } else {
+            action = Action.HOLD;
+        }
+
+        if (target != size) {
+            resize(target);
+            metrics.readPoolResized();
+            log.info("Read pool {} {} -> {} threads (wait {} us, utilization {}%, throughput {}/s)",
+                    action, size, target, averageWait / 1000, Math.round(utilization * 100), Math.round(throughput));
+        } else {
+            log.debug("Read pool {} at {} threads (wait {} us, utilization {}%, throughput {}/s)",
+                    action, size, averageWait / 1000, Math.round(utilization * 100), Math.round(throughput));
+        }
+        lastAction = action;
+        lastThroughput = throughput;
+        return action;
+    }
+
+    private void resize(int size) {
+        boolean growing = size > executor.getMaximumPoolSize();
+        setBounds(executor, size, size);
+        if (growing) {
+            executor.prestartAllCoreThreads();
+        }
+    }
+
+    /**
+     * Sets core and maximum pool size in the order {@link ThreadPoolExecutor} accepts: core may never
+     * exceed max, so max moves first when it is not shrinking below the current core, core first otherwise.
+     */
+    static void setBounds(ThreadPoolExecutor executor, int coreSize, int maxSize) {
+        if (maxSize >= executor.getCorePoolSize()) {
+            executor.setMaximumPoolSize(maxSize);
+            executor.setCorePoolSize(coreSize);
+        } else {
+            executor.setCorePoolSize(coreSize);
+            executor.setMaximumPoolSize(maxSize);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.config.adapter.MessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
+import io.github.youseonghyeon.persistence.ChatHistoryStore;
+import io.github.youseonghyeon.persistence.ChatLogMapper;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the last few messages of each local room as already-encoded frames so that a joining
+ * user can be brought up to date without querying the history store or re-encoding anything.
+ *
+ * <p>{@link #replay(SocketChannel, String)} writes the cached frames, oldest first, straight to the
+ * joining socket. A ring is created only by a replay: when a room has no ring yet (e.g. the first join
+ * after a restart), the recent logs are loaded from the {@link ChatHistoryStore}, encoded once, and used
+ * to seed the ring. An empty load is not cached, so a room whose history has not reached the store yet
+ * is looked up again on the next join. Without a store the ring is created empty on the first join.</p>
+ *
+ * <p>The send path ({@link #record(Message)}) only appends to a ring that already exists, so a message
+ * sent to a room that was just removed cannot bring its ring back. Rings are dropped when the room is
+ * removed from this node, so memory is bounded by {@code capacity × active rooms}. Nothing is cached
+ * when the {@link MessageSender} does not implement {@link MessageSender#encode(Message)}.</p>
+ */
+public class RecentHistoryCache implements RoomLifecycleListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RecentHistoryCache.class);
+
+    private final int capacity;
+    private final MessageSender messageSender;
+    private final ChatHistoryStore chatHistoryStore;
+    private final ConcurrentHashMap<String, Ring> rings = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder replayedFrames = new LongAdder();
+
+    /**
+     * @param capacity         number of recent messages kept and replayed per room
+     * @param messageSender    encoder of the frames written to clients
+     * @param chatHistoryStore store to fall back to on a cache miss, may be null
+     * @throws IllegalArgumentException if capacity is not positive or the sender is null
+     */
+    public RecentHistoryCache(int capacity, MessageSender messageSender, @Nullable ChatHistoryStore chatHistoryStore) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (messageSender == null) {
+            throw new IllegalArgumentException("Message sender must not be null.");
+        }
+        this.capacity = capacity;
+        this.messageSender = messageSender;
+        this.chatHistoryStore = chatHistoryStore;
+    }
+
+    /**
+     * Encodes the message once and appends the frame to its room's ring, overwriting the oldest frame when full.
+     * Does nothing if the room has no ring.
+     *
+     * @param message a message that has been delivered to the room
+     */
+    public void record(Message message) {
+        if (!rings.containsKey(message.roomId())) {
+            return;
+        }
+        ByteBuffer frame = messageSender.encode(message);
+        if (frame == null) {
+            return;
+        }
+        ByteBuffer readOnly = frame.asReadOnlyBuffer();
+        rings.computeIfPresent(message.roomId(), (roomId, ring) -> {
+            ring.add(readOnly);
+            return ring;
+        });
+    }
+
+    /**
+     * Writes the room's recent frames, oldest first, to the given socket.
+     *
+     * @param channel the joining user's socket
+     * @param roomId  the room being joined
+     * @return the number of frames written
+     */
+    public int replay(SocketChannel channel, String roomId) {
+        Ring ring = rings.get(roomId);
+        if (ring != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            ring = loadFromStore(roomId);
+        }
+        int written = 0;
+        try {
+            for (ByteBuffer frame : ring.snapshot()) {
+                messageSender.sendEncoded(channel, frame.duplicate());
+                written++;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to replay recent messages of room {} to {}", roomId, channel, e);
+        }
+        replayedFrames.add(written);
+        return written;
+    }
+
+    /**
+     * Seeds the room's ring from the history store. If another join seeded the ring in the meantime, that
+     * ring wins so that no frame recorded into it is lost. An empty result is returned without caching it,
+     * unless there is no store to look up again.
+     */
+    private Ring loadFromStore(String roomId) {
+        Ring loaded = new Ring(capacity);
+        if (chatHistoryStore != null) {
+            try {
+                List<ChatLog> recent = chatHistoryStore.findRecentLogs(ChatLogMapper.roomKey(roomId), capacity);
+                for (int i = recent.size() - 1; i >= 0; i--) {
+                    ByteBuffer frame = messageSender.encode(toMessage(roomId, recent.get(i)));
+                    if (frame != null) {
+                        loaded.add(frame.asReadOnlyBuffer());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to load recent messages of room {} from history store", roomId, e);
+            }
+        }
+        if (chatHistoryStore != null && loaded.isEmpty()) {
+            return loaded;
+        }
+        Ring existing = rings.putIfAbsent(roomId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Restores a stored log as a sent message, the inverse of {@link ChatLogMapper#DEFAULT}.
+     */
+    private static Message toMessage(String roomId, ChatLog chatLog) {
+        return new Message(EventType.USER_SEND, roomId,
+                chatLog.sender() == null ? new byte[0] : chatLog.sender().getBytes(StandardCharsets.UTF_8),
+                chatLog.message() == null ? new byte[0] : chatLog.message().getBytes(StandardCharsets.UTF_8),
+                null);
+    }
+
+    @Override
+    public void onRoomCreated(String roomId) {
+    }
+
+    @Override
+    public void onRoomRemoved(String roomId) {
+        rings.remove(roomId);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getCachedRoomCount() {
+        return rings.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getReplayedFrameCount() {
+        return replayedFrames.sum();
+    }
+
+    /**
+     * Fixed-size ring of read-only frames. Writers and snapshots are serialized on the ring itself;
+     * both are short array operations, so contention with the send path is negligible.
+     */
+    private static final class Ring {
+        private final ByteBuffer[] frames;
+        private long written = 0;
+
+        Ring(int capacity) {
+            this.frames = new ByteBuffer[capacity];
+        }
+
+        synchronized void add(ByteBuffer frame) {
+            frames[(int) (written % frames.length)] = frame;
+            written++;
+        }
+
+        synchronized boolean isEmpty() {
+            return written == 0;
+        }
+
+        synchronized List<ByteBuffer> snapshot() {
+            int count = (int) Math.min(written, frames.length);
+            List<ByteBuffer> result = new ArrayList<>(count);
+            for (long i = written - count; i < written; i++) {
+                result.add(frames[(int) (i % frames.length)]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.youseonghyeon.core;
+
+/**
+ * The components {@link ChatEngine#start()} initializes. Components without a dependency between them
+ * start in parallel; the declaration order is a valid serial order and is used for reporting.
+ */
+public enum StartupPhase {
+    /// Open the selector and start the channel read pool. The port is not bound yet.
+    LISTENER,
+    /// Register the metrics MBean.
+    JMX,
+    /// Start the admin HTTP server.
+    ADMIN,
+    /// Initialize the chat history store, start the search index and the write-behind history writer.
+    HISTORY,
+    /// Register message subscribers with the event publisher.
+    SUBSCRIBERS,
+    /// Connect the broadcaster to the cluster and start consuming remote messages.
+    BROADCASTER,
+    /// Bind the port and start the selector loop, once everything the data path needs is ready.
+    ACCEPT
+}
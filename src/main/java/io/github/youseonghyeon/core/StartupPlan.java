@@ -0,0 +1,133 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.core.exception.InitChatServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts engine components in dependency order, running components that do not depend on each other in parallel.
+ *
+ * <p>Each component declares the {@link StartupPhase}s it needs; a dependency on a phase that is not part of the
+ * plan (e.g. no admin server configured) is already satisfied. A dependency must be declared before its dependent
+ * in {@link StartupPhase} order, which rules out cycles. Each component starts on its own thread as soon as its
+ * dependencies are ready, since startup work is dominated by waiting on brokers, disks and sockets rather than CPU.</p>
+ *
+ * <p>If a component fails, its dependents are skipped, the components already running are waited for,
+ * and {@link #run(long)} throws with the first failure.</p>
+ */
+class StartupPlan {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupPlan.class);
+
+    /**
+     * One startup component.
+     */
+    @FunctionalInterface
+    interface Step {
+        void run() throws Exception;
+    }
+
+    private record Component(Set<StartupPhase> dependsOn, Step step) {
+    }
+
+    private final Map<StartupPhase, Component> components = new EnumMap<>(StartupPhase.class);
+
+    StartupPlan component(StartupPhase phase, Set<StartupPhase> dependsOn, Step step) {
+        for (StartupPhase dependency : dependsOn) {
+            if (dependency.compareTo(phase) >= 0) {
+                throw new IllegalArgumentException(phase + " cannot depend on " + dependency + ", which starts later.");
+            }
+        }
+        Set<StartupPhase> dependencies = EnumSet.noneOf(StartupPhase.class);
+        dependencies.addAll(dependsOn);
+        components.put(phase, new Component(dependencies, step));
+        return this;
+    }
+
+    StartupPlan component(StartupPhase phase, Step step) {
+        return component(phase, Set.of(), step);
+    }
+
+    /**
+     * Runs every component and waits for all of them.
+     *
+     * @param originNanos {@link System#nanoTime()} from which timings are measured, normally when {@code start()} was called
+     * @return per-component timings
+     * @throws InitChatServiceException if a component failed
+     */
+    StartupReport run(long originNanos) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "engine-startup-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<StartupPhase, CompletableFuture<StartupReport.ComponentResult>> futures = new EnumMap<>(StartupPhase.class);
+        try {
+            components.forEach((phase, component) -> {
+                CompletableFuture<?>[] dependencies = component.dependsOn().stream()
+                        .map(futures::get)
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(phase, CompletableFuture.allOf(dependencies)
+                        .thenApplyAsync(ignored -> start(phase, component.step(), originNanos), executor));
+            });
+            return collect(futures, originNanos);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static StartupReport.ComponentResult start(StartupPhase phase, Step step, long originNanos) {
+        long startNanos = System.nanoTime();
+        try {
+            step.run();
+        } catch (Exception e) {
+            log.error("Startup component {} failed", phase, e);
+            throw new CompletionException(e);
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        log.info("Startup component {} ready in {} ms", phase, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new StartupReport.ComponentResult(phase, startNanos - originNanos, elapsed);
+    }
+
+    private static StartupReport collect(Map<StartupPhase, CompletableFuture<StartupReport.ComponentResult>> futures,
+                                         long originNanos) {
+        List<StartupReport.ComponentResult> results = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (CompletableFuture<StartupReport.ComponentResult> future : futures.values()) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                interrupted = true;
+                failure = failure == null ? e : failure;
+                break;
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new InitChatServiceException("Engine startup failed", failure);
+        }
+        return new StartupReport(List.copyOf(results), System.nanoTime() - originNanos);
+    }
+}
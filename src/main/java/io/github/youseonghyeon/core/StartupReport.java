@@ -0,0 +1,27 @@
+package io.github.youseonghyeon.core;
+
+import java.util.List;
+
+/**
+ * Per-component timings of one engine start. All offsets are measured from the moment {@code start()} was called.
+ *
+ * @param components the components that ran, in {@link StartupPhase} order
+ * @param readyNanos the time from {@code start()} until the engine accepted connections
+ */
+public record StartupReport(List<ComponentResult> components, long readyNanos) {
+
+    /**
+     * @param phase          the component
+     * @param startedAtNanos when the component started, after its dependencies were ready
+     * @param elapsedNanos   the time the component took to initialize
+     */
+    public record ComponentResult(StartupPhase phase, long startedAtNanos, long elapsedNanos) {
+
+        /**
+         * Returns when the component was ready.
+         */
+        public long finishedAtNanos() {
+            return startedAtNanos + elapsedNanos;
+        }
+    }
+}
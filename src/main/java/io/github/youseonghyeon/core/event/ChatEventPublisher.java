@@ -1,6 +1,9 @@
 package io.github.youseonghyeon.core.event;
 
 import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import io.github.youseonghyeon.metrics.jfr.DispatchEvent;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +15,18 @@ public class ChatEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(ChatEventPublisher.class);
 
     private final Map<EventType, MessageSubscriber> eventHandlerMap = new ConcurrentHashMap<>();
+    private final EngineMetrics metrics;
+
+    public ChatEventPublisher() {
+        this(null);
+    }
+
+    /**
+     * @param metrics 이벤트 타입별 처리 시간을 기록할 지표 (null 이면 기록하지 않음)
+     */
+    public ChatEventPublisher(@Nullable EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     public void registerSubscriber(EventType eventType, MessageSubscriber handler) {
         if (eventType == null || handler == null) {
@@ -23,14 +38,34 @@ public class ChatEventPublisher {
         eventHandlerMap.put(eventType, handler);
     }
 
+    /**
+     * 메시지를 이벤트 타입의 구독자에게 전달합니다. 처리 시간은 지표와 JFR {@link DispatchEvent}로 남깁니다.
+     */
     public void publish(Message message) {
-        log.info("Publishing message: {}", message);
+        log.debug("Publishing message: {}", message);
         EventType subType = message.eventType();
         if (subType == null) throw new IllegalArgumentException("Message type cannot be null");
         MessageSubscriber messageSubscriber = eventHandlerMap.get(subType);
         if (messageSubscriber == null)
             throw new IllegalStateException("No handler registered for message type: " + subType);
 
-        messageSubscriber.subscribe(message);
+        DispatchEvent event = new DispatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            messageSubscriber.subscribe(message);
+        } finally {
+            if (metrics != null) {
+                metrics.dispatched(subType, System.nanoTime() - start);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.roomId = message.roomId();
+                event.eventType = subType.name();
+                event.bytes = (message.header() == null ? 0 : message.header().length)
+                        + (message.content() == null ? 0 : message.content().length);
+                event.commit();
+            }
+        }
     }
 }
@@ -0,0 +1,60 @@
+package io.github.youseonghyeon.core.event;
+
+/**
+ * 로컬 노드에 채팅방이 생기거나 사라질 때 통지받기 위한 리스너입니다.
+ *
+ * <p>{@code EnterRoom}은 첫 참여자가 입장하여 방이 생성될 때, {@code LeaveRoom}은 마지막 참여자가 퇴장하여
+ * 방이 제거될 때 호출합니다. 노드가 호스팅하는 방에 대해서만 클러스터 메시지를 구독하려는 브로드캐스터 등이 구현합니다.</p>
+ *
+ * <p>통지는 방 맵의 {@code compute} 안에서 호출되므로 같은 방에 대한 통지는 방이 실제로 생기고 사라진 순서대로 도착합니다.
+ * 대신 구현은 블로킹하거나 방 맵에 다시 접근해서는 안 되며, 오래 걸리는 작업은 자기 스레드로 넘겨야 합니다.</p>
+ */
+public interface RoomLifecycleListener {
+
+    RoomLifecycleListener NO_OP = new RoomLifecycleListener() {
+        @Override
+        public void onRoomCreated(String roomId) {
+        }
+
+        @Override
+        public void onRoomRemoved(String roomId) {
+        }
+    };
+
+    /**
+     * 로컬 노드에 채팅방이 새로 생성되었을 때 호출됩니다.
+     *
+     * @param roomId 생성된 채팅방 ID
+     */
+    void onRoomCreated(String roomId);
+
+    /**
+     * 로컬 노드의 채팅방에 참여자가 남지 않아 제거되었을 때 호출됩니다.
+     *
+     * @param roomId 제거된 채팅방 ID
+     */
+    void onRoomRemoved(String roomId);
+
+    /**
+     * 이 리스너에 이어 {@code next}에도 통지하는 리스너를 반환합니다.
+     *
+     * @param next 이어서 통지받을 리스너
+     * @return 두 리스너를 차례로 호출하는 리스너
+     */
+    default RoomLifecycleListener andThen(RoomLifecycleListener next) {
+        RoomLifecycleListener first = this;
+        return new RoomLifecycleListener() {
+            @Override
+            public void onRoomCreated(String roomId) {
+                first.onRoomCreated(roomId);
+                next.onRoomCreated(roomId);
+            }
+
+            @Override
+            public void onRoomRemoved(String roomId) {
+                first.onRoomRemoved(roomId);
+                next.onRoomRemoved(roomId);
+            }
+        };
+    }
+}
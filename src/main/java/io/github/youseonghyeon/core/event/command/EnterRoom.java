@@ -1,15 +1,21 @@
 package io.github.youseonghyeon.core.event.command;
 
+import io.github.youseonghyeon.config.SendFilterPolicy;
 import io.github.youseonghyeon.config.adapter.MessageSender;
 import io.github.youseonghyeon.core.ChatRoom;
+import io.github.youseonghyeon.core.RecentHistoryCache;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.EventType;
 import io.github.youseonghyeon.core.event.MessageSubscriber;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
 import io.github.youseonghyeon.model.User;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 public class EnterRoom implements MessageSubscriber {
 
@@ -18,16 +24,56 @@ public class EnterRoom implements MessageSubscriber {
     private final MessageSender messageSender;
 
     private final Map<String, ChatRoom> chatRoomMap;
+    private final RoomLifecycleListener roomLifecycleListener;
+    private final RecentHistoryCache recentHistoryCache;
+    private final Supplier<SendFilterPolicy> sendFilterPolicy;
 
     public EnterRoom(Map<String, ChatRoom> chatRoomMap, MessageSender messageSender) {
+        this(chatRoomMap, messageSender, RoomLifecycleListener.NO_OP);
+    }
+
+    public EnterRoom(Map<String, ChatRoom> chatRoomMap, MessageSender messageSender, RoomLifecycleListener roomLifecycleListener) {
+        this(chatRoomMap, messageSender, roomLifecycleListener, null);
+    }
+
+    public EnterRoom(Map<String, ChatRoom> chatRoomMap, MessageSender messageSender, RoomLifecycleListener roomLifecycleListener,
+                     @Nullable RecentHistoryCache recentHistoryCache) {
+        this(chatRoomMap, messageSender, roomLifecycleListener, recentHistoryCache, null);
+    }
+
+    /**
+     * @param sendFilterPolicy 새로 만드는 방에 적용할 송신 필터 (null 이면 송신자 제외 기본 필터)
+     */
+    public EnterRoom(Map<String, ChatRoom> chatRoomMap, MessageSender messageSender, RoomLifecycleListener roomLifecycleListener,
+                     @Nullable RecentHistoryCache recentHistoryCache, @Nullable Supplier<SendFilterPolicy> sendFilterPolicy) {
         this.chatRoomMap = chatRoomMap;
         this.messageSender = messageSender;
+        this.roomLifecycleListener = Objects.requireNonNullElse(roomLifecycleListener, RoomLifecycleListener.NO_OP);
+        this.recentHistoryCache = recentHistoryCache;
+        this.sendFilterPolicy = sendFilterPolicy;
     }
 
+    /**
+     * 방 생성과 입장을 같은 compute 안에서 처리하여, 마지막 참여자 퇴장으로 방이 제거되는 것과 경합하지 않도록 합니다.
+     * 방 생성 통지도 같은 compute 안에서 보내므로, 같은 방의 생성/제거 통지는 방 맵이 바뀐 순서대로 도착합니다.
+     * 최근 메시지 캐시가 설정되어 있으면 입장 후 캐시된 프레임을 입장한 소켓에 바로 전송합니다.
+     * (입장과 동시에 전송된 메시지는 실시간 전달과 재전송으로 두 번 도착할 수 있습니다.)
+     */
     @Override
     public void subscribe(Message message) {
-        ChatRoom chatRoom = chatRoomMap.computeIfAbsent(message.roomId(), roomId -> new ChatRoom(roomId, messageSender));
-        chatRoom.join(new User(message.socketChannel()));
+        chatRoomMap.compute(message.roomId(), (roomId, chatRoom) -> {
+            if (chatRoom == null) {
+                chatRoom = sendFilterPolicy == null
+                        ? new ChatRoom(roomId, messageSender)
+                        : new ChatRoom(roomId, messageSender, sendFilterPolicy);
+                roomLifecycleListener.onRoomCreated(roomId);
+            }
+            chatRoom.join(new User(message.socketChannel()));
+            return chatRoom;
+        });
+        if (recentHistoryCache != null) {
+            recentHistoryCache.replay(message.socketChannel(), message.roomId());
+        }
         log.info("User {} entered room {}", message.socketChannel(), message.roomId());
     }
 }
@@ -4,17 +4,25 @@ import io.github.youseonghyeon.core.ChatRoom;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.EventType;
 import io.github.youseonghyeon.core.event.MessageSubscriber;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class LeaveRoom implements MessageSubscriber {
 
     public static final EventType type = EventType.LEAVE;
 
     private final Map<String, ChatRoom> chatRoomMap;
+    private final RoomLifecycleListener roomLifecycleListener;
 
     public LeaveRoom(Map<String, ChatRoom> chatRoomMap) {
+        this(chatRoomMap, RoomLifecycleListener.NO_OP);
+    }
+
+    public LeaveRoom(Map<String, ChatRoom> chatRoomMap, RoomLifecycleListener roomLifecycleListener) {
         this.chatRoomMap = chatRoomMap;
+        this.roomLifecycleListener = Objects.requireNonNullElse(roomLifecycleListener, RoomLifecycleListener.NO_OP);
     }
 
     @Override
@@ -25,5 +33,19 @@ public class LeaveRoom implements MessageSubscriber {
         }
 
         chatRoom.leave(message.socketChannel());
+        removeIfEmpty(message.roomId());
+    }
+
+    /**
+     * 방이 비었으면 제거합니다. 제거 통지는 computeIfPresent 안에서 보내 같은 방의 재입장(생성 통지)과 순서가 뒤바뀌지 않게 합니다.
+     */
+    private void removeIfEmpty(String roomId) {
+        chatRoomMap.computeIfPresent(roomId, (id, chatRoom) -> {
+            if (!chatRoom.isEmpty()) {
+                return chatRoom;
+            }
+            roomLifecycleListener.onRoomRemoved(id);
+            return null;
+        });
     }
 }
@@ -1,25 +1,89 @@
 package io.github.youseonghyeon.core.event.command;
 
+import io.github.youseonghyeon.broadcast.MessageBroadCaster;
+import io.github.youseonghyeon.broadcast.no.NoOpsBroadcaster;
 import io.github.youseonghyeon.core.ChatRoom;
+import io.github.youseonghyeon.core.RecentHistoryCache;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.EventType;
 import io.github.youseonghyeon.core.event.MessageSubscriber;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import io.github.youseonghyeon.persistence.ChatHistoryWriter;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class SendMessage implements MessageSubscriber {
 
+    private static final Logger log = LoggerFactory.getLogger(SendMessage.class);
     public static final EventType type = EventType.USER_SEND;
 
     private final Map<String, ChatRoom> chatRoomMap;
+    private final MessageBroadCaster messageBroadCaster;
+    private final ChatHistoryWriter chatHistoryWriter;
+    private final RecentHistoryCache recentHistoryCache;
+    private final EngineMetrics metrics;
 
     public SendMessage(Map<String, ChatRoom> chatRoomMap) {
+        this(chatRoomMap, new NoOpsBroadcaster());
+    }
+
+    public SendMessage(Map<String, ChatRoom> chatRoomMap, MessageBroadCaster messageBroadCaster) {
+        this(chatRoomMap, messageBroadCaster, null);
+    }
+
+    public SendMessage(Map<String, ChatRoom> chatRoomMap, MessageBroadCaster messageBroadCaster, @Nullable ChatHistoryWriter chatHistoryWriter) {
+        this(chatRoomMap, messageBroadCaster, chatHistoryWriter, null);
+    }
+
+    public SendMessage(Map<String, ChatRoom> chatRoomMap, MessageBroadCaster messageBroadCaster,
+                       @Nullable ChatHistoryWriter chatHistoryWriter, @Nullable RecentHistoryCache recentHistoryCache) {
+        this(chatRoomMap, messageBroadCaster, chatHistoryWriter, recentHistoryCache, null);
+    }
+
+    /**
+     * @param metrics 팬아웃 크기와 시간을 기록할 지표 (null 이면 기록하지 않음)
+     */
+    public SendMessage(Map<String, ChatRoom> chatRoomMap, MessageBroadCaster messageBroadCaster,
+                       @Nullable ChatHistoryWriter chatHistoryWriter, @Nullable RecentHistoryCache recentHistoryCache,
+                       @Nullable EngineMetrics metrics) {
         this.chatRoomMap = chatRoomMap;
+        this.messageBroadCaster = Objects.requireNonNullElseGet(messageBroadCaster, NoOpsBroadcaster::new);
+        this.chatHistoryWriter = chatHistoryWriter;
+        this.recentHistoryCache = recentHistoryCache;
+        this.metrics = metrics;
     }
 
+    /**
+     * 로컬 참여자에게 메시지를 전달한 뒤, 로컬 클라이언트가 보낸 메시지인 경우에만 이력 저장 큐에 넣고 다른 노드로 브로드캐스트합니다.
+     * 다른 노드에서 수신된 메시지는 소켓이 없으므로({@code socketChannel == null}) 다시 브로드캐스트하지 않으며,
+     * 이력도 메시지를 처음 받은 노드에서 한 번만 저장합니다.
+     * 최근 메시지 캐시에는 로컬 참여자가 있는 방의 메시지를 출처와 관계없이 기록합니다.
+     */
     @Override
     public void subscribe(Message message) {
         ChatRoom chatRoom = chatRoomMap.get(message.roomId());
-        chatRoom.broadcast(message, message.socketChannel());
+        if (chatRoom != null) {
+            long start = System.nanoTime();
+            int recipients = chatRoom.broadcast(message, message.socketChannel());
+            if (metrics != null) {
+                metrics.fannedOut(recipients, System.nanoTime() - start);
+            }
+            if (recentHistoryCache != null) {
+                recentHistoryCache.record(message);
+            }
+        } else {
+            log.debug("No local participants in room {}", message.roomId());
+        }
+
+        if (message.socketChannel() != null) {
+            if (chatHistoryWriter != null) {
+                chatHistoryWriter.record(message);
+            }
+            messageBroadCaster.broadcast(message.roomId(), message);
+        }
     }
 }
@@ -4,5 +4,10 @@ import java.io.IOException;
 
 public class InitChatServiceException extends RuntimeException {
     public InitChatServiceException(IOException e) {
+        super(e);
+    }
+
+    public InitChatServiceException(String message, Throwable cause) {
+        super(message, cause);
     }
 }
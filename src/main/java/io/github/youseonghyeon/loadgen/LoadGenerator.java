@@ -0,0 +1,300 @@
+package io.github.youseonghyeon.loadgen;
+
+import io.github.youseonghyeon.config.adapter.MessageReceiver;
+import io.github.youseonghyeon.config.adapter.sample.DefaultMessageReceiver;
+import io.github.youseonghyeon.config.adapter.sample.DefaultMessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 로컬 엔진에 가상 클라이언트 수천 개를 붙여 전달 지연과 처리량을 측정하는 부하 생성기입니다.
+ *
+ * <p>클라이언트마다 blocking {@link SocketChannel} 하나와 가상 스레드 두 개를 사용합니다. 송신 스레드는
+ * {@link LoadProfile#getMessagesPerSecond()}를 클라이언트 수로 나눈 간격으로 예정 시각에 맞춰 보내고(open-loop),
+ * 수신 스레드는 같은 방 다른 클라이언트가 보낸 메시지를 읽어 본문에 담긴 예정 시각과의 차이를 기록합니다.
+ * 송신과 수신이 같은 JVM 에서 일어나므로 {@link System#nanoTime()}을 그대로 비교할 수 있습니다.</p>
+ *
+ * <pre>{@code
+ * ./gradlew loadgen --args="--port=9999 --clients=5000 --rooms=200 --distribution=zipf --rate=20000 --out=report.json"
+ * }</pre>
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String ROOM_PREFIX = "load-room-";
+    private static final byte[] HEADER = "load".getBytes(StandardCharsets.UTF_8);
+    private static final long START_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LoadProfile profile;
+    private final DefaultMessageSender messageSender = new DefaultMessageSender();
+    private final MessageReceiver messageReceiver = new DefaultMessageReceiver();
+
+    private final LatencyHistogram connectLatency = new LatencyHistogram();
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder sendErrors = new LongAdder();
+    private final LongAdder expectedDeliveries = new LongAdder();
+
+    private volatile long measureStart = Long.MAX_VALUE;
+    private volatile long measureEnd = Long.MAX_VALUE;
+
+    public LoadGenerator(LoadProfile profile) {
+        if (profile == null) {
+            throw new IllegalArgumentException("Load profile must not be null.");
+        }
+        this.profile = profile;
+    }
+
+    /**
+     * 접속, 준비, 측정, 수신 대기 순서로 실행한 뒤 모든 연결을 닫고 결과를 반환합니다.
+     */
+    public LoadReport run() throws InterruptedException {
+        int[] assignment = profile.getRoomDistribution().assign(profile.getClients(), profile.getRooms(), profile.getSeed());
+        log.info("Connecting {} clients to {}:{}", profile.getClients(), profile.getHost(), profile.getPort());
+
+        long connectStart = System.nanoTime();
+        List<VirtualClient> clients = connectAll(assignment);
+        double connectSeconds = (System.nanoTime() - connectStart) / 1e9;
+
+        int[] roomSizes = new int[profile.getRooms()];
+        clients.forEach(client -> roomSizes[client.room]++);
+
+        long start = System.nanoTime() + START_DELAY_NANOS;
+        measureStart = start + profile.getWarmup().toNanos();
+        measureEnd = measureStart + profile.getDuration().toNanos();
+        long intervalNanos = (long) (1e9 * profile.getClients() / profile.getMessagesPerSecond());
+        log.info("Connected {} clients in {} s; sending every {} us per client", clients.size(),
+                String.format("%.2f", connectSeconds), intervalNanos / 1000);
+
+        SplittableRandom random = new SplittableRandom(profile.getSeed());
+        List<Thread> senders = new ArrayList<>(clients.size());
+        for (VirtualClient client : clients) {
+            long phase = random.nextLong(intervalNanos);
+            int peers = roomSizes[client.room] - 1;
+            senders.add(Thread.startVirtualThread(() -> client.sendLoop(start + phase, intervalNanos, peers)));
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+        Thread.sleep(profile.getDrain().toMillis());
+        clients.forEach(VirtualClient::close);
+
+        return report(clients.size(), connectSeconds);
+    }
+
+    private List<VirtualClient> connectAll(int[] assignment) throws InterruptedException {
+        InetSocketAddress address = new InetSocketAddress(profile.getHost(), profile.getPort());
+        Semaphore permits = new Semaphore(profile.getConnectConcurrency());
+        VirtualClient[] connected = new VirtualClient[assignment.length];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < assignment.length; i++) {
+                int id = i;
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        connected[id] = connect(id, assignment[id], address);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        List<VirtualClient> clients = new ArrayList<>(assignment.length);
+        for (VirtualClient client : connected) {
+            if (client != null) {
+                clients.add(client);
+            }
+        }
+        return clients;
+    }
+
+    private VirtualClient connect(int id, int room, InetSocketAddress address) {
+        long begin = System.nanoTime();
+        try {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            connectLatency.record(System.nanoTime() - begin);
+            VirtualClient client = new VirtualClient(id, room, channel);
+            client.enter();
+            Thread.startVirtualThread(client::receiveLoop);
+            return client;
+        } catch (IOException e) {
+            log.warn("Client {} failed to connect: {}", id, e.toString());
+            return null;
+        }
+    }
+
+    private LoadReport report(int connected, double connectSeconds) {
+        double seconds = profile.getDuration().toNanos() / 1e9;
+        return new LoadReport(profile.toString(),
+                profile.getClients(),
+                connected,
+                connectSeconds == 0 ? 0 : connected / connectSeconds,
+                connectLatency.percentile(99) / 1000,
+                sent.sum(),
+                sendErrors.sum(),
+                deliveryLatency.getCount(),
+                expectedDeliveries.sum(),
+                sent.sum() / seconds,
+                deliveryLatency.getCount() / seconds,
+                deliveryLatency.percentile(50) / 1000,
+                deliveryLatency.percentile(99) / 1000,
+                deliveryLatency.percentile(99.9) / 1000,
+                deliveryLatency.getMax() / 1000,
+                deliveryLatency.getMean() / 1000);
+    }
+
+    /**
+     * 가상 클라이언트 하나. 미리 인코딩한 프레임의 본문 앞부분(송신 예정 시각)만 바꿔 가며 보냅니다.
+     */
+    private final class VirtualClient {
+        private final int id;
+        private final int room;
+        private final String roomId;
+        private final SocketChannel channel;
+        private final ByteBuffer frame;
+        private final int timestampOffset;
+
+        private VirtualClient(int id, int room, SocketChannel channel) {
+            this.id = id;
+            this.room = room;
+            this.roomId = ROOM_PREFIX + room;
+            this.channel = channel;
+            byte[] content = new byte[profile.getMessageSize()];
+            ByteBuffer.wrap(content).putLong(8, id);
+            this.frame = messageSender.encode(new Message(EventType.USER_SEND, roomId, HEADER, content, null));
+            // eventType | roomIdLength | roomId | headerLength | header | contentLength | content
+            this.timestampOffset = frame.limit() - content.length;
+        }
+
+        private void enter() throws IOException {
+            write(messageSender.encode(new Message(EventType.ENTER, roomId, new byte[0], new byte[0], null)));
+        }
+
+        private void sendLoop(long firstSendNanos, long intervalNanos, int peers) {
+            long next = firstSendNanos;
+            while (next < measureEnd) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                frame.putLong(timestampOffset, next);
+                try {
+                    write(frame.duplicate().rewind());
+                } catch (IOException e) {
+                    sendErrors.increment();
+                    log.warn("Client {} failed to send: {}", id, e.toString());
+                    return;
+                }
+                if (next >= measureStart) {
+                    sent.increment();
+                    expectedDeliveries.add(peers);
+                }
+                next += intervalNanos;
+            }
+        }
+
+        private void receiveLoop() {
+            try {
+                while (channel.isOpen()) {
+                    Message message = messageReceiver.read(channel);
+                    long now = System.nanoTime();
+                    if (message.eventType() != EventType.USER_SEND || message.content().length < LoadProfile.MIN_MESSAGE_SIZE) {
+                        continue;
+                    }
+                    long intended = ByteBuffer.wrap(message.content()).getLong(0);
+                    if (intended >= measureStart && intended < measureEnd) {
+                        deliveryLatency.record(now - intended);
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (channel.isOpen()) {
+                    log.warn("Client {} stopped receiving: {}", id, e.toString());
+                }
+            }
+        }
+
+        private void write(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close client {}", id, e);
+            }
+        }
+    }
+
+    // -- command line
+
+    /**
+     * {@code --name=value} 형식의 인자로 실행합니다. {@code --out=파일}을 주면 결과를 JSON 으로도 저장합니다.
+     *
+     * <pre>
+     * --host, --port, --clients, --rooms, --distribution=uniform|zipf, --rate(초당 메시지), --size(바이트),
+     * --warmup(초), --duration(초), --drain(초), --connect-concurrency, --seed, --out
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        LoadProfile profile = new LoadProfile()
+                .target(options.getOrDefault("host", "localhost"), Integer.parseInt(options.getOrDefault("port", "9999")))
+                .clients(Integer.parseInt(options.getOrDefault("clients", "1000")))
+                .rooms(Integer.parseInt(options.getOrDefault("rooms", "100")),
+                        RoomDistribution.valueOf(options.getOrDefault("distribution", "uniform").toUpperCase()))
+                .messagesPerSecond(Integer.parseInt(options.getOrDefault("rate", "1000")))
+                .messageSize(Integer.parseInt(options.getOrDefault("size", "128")))
+                .connectConcurrency(Integer.parseInt(options.getOrDefault("connect-concurrency", "64")))
+                .duration(Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5"))),
+                        Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))))
+                .drain(Duration.ofSeconds(Long.parseLong(options.getOrDefault("drain", "2"))))
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        LoadReport report = new LoadGenerator(profile).run();
+        System.out.println(report.format());
+        if (options.containsKey("out")) {
+            Files.writeString(Path.of(options.get("out")), report.toJson());
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must be in --name=value form: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.youseonghyeon.loadgen;
+
+import java.time.Duration;
+
+/**
+ * {@link LoadGenerator}가 만들 부하의 모양입니다.
+ *
+ * <pre>{@code
+ * LoadProfile profile = LoadProfile.localhost(9999)
+ *     .clients(5_000)
+ *     .rooms(200, RoomDistribution.ZIPF)
+ *     .messagesPerSecond(20_000)
+ *     .messageSize(128)
+ *     .duration(Duration.ofSeconds(10), Duration.ofSeconds(60));
+ * }</pre>
+ */
+public class LoadProfile {
+
+    public static final int MIN_MESSAGE_SIZE = 16;
+
+    private String host = "localhost";
+    private int port = 9999;
+    private int clients = 1_000;
+    private int rooms = 100;
+    private RoomDistribution roomDistribution = RoomDistribution.UNIFORM;
+    private int messagesPerSecond = 1_000;
+    private int messageSize = 128;
+    private int connectConcurrency = 64;
+    private Duration warmup = Duration.ofSeconds(5);
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration drain = Duration.ofSeconds(2);
+    private long seed = 42;
+
+    public static LoadProfile localhost(int port) {
+        return new LoadProfile().target("localhost", port);
+    }
+
+    public LoadProfile target(String host, int port) {
+        if (host == null || host.isBlank() || port <= 0 || port > 65535) {
+            throw new IllegalArgumentException("Host must not be blank and port must be between 1 and 65535.");
+        }
+        this.host = host;
+        this.port = port;
+        return this;
+    }
+
+    /**
+     * 동시에 접속할 가상 클라이언트 수를 설정합니다. 클라이언트마다 소켓 하나와 가상 스레드 두 개(송신/수신)를 사용합니다.
+     */
+    public LoadProfile clients(int clients) {
+        if (clients <= 0) {
+            throw new IllegalArgumentException("Clients must be positive.");
+        }
+        this.clients = clients;
+        return this;
+    }
+
+    /**
+     * 방 개수와 클라이언트를 방에 나누는 방식을 설정합니다.
+     */
+    public LoadProfile rooms(int rooms, RoomDistribution roomDistribution) {
+        if (rooms <= 0 || roomDistribution == null) {
+            throw new IllegalArgumentException("Rooms must be positive and distribution must not be null.");
+        }
+        this.rooms = rooms;
+        this.roomDistribution = roomDistribution;
+        return this;
+    }
+
+    /**
+     * 전체 클라이언트가 합쳐서 보낼 초당 메시지 수입니다. 클라이언트마다 고르게 나누어 일정한 간격으로 보냅니다.
+     */
+    public LoadProfile messagesPerSecond(int messagesPerSecond) {
+        if (messagesPerSecond <= 0) {
+            throw new IllegalArgumentException("Messages per second must be positive.");
+        }
+        this.messagesPerSecond = messagesPerSecond;
+        return this;
+    }
+
+    /**
+     * 메시지 본문 크기입니다. 앞 {@value #MIN_MESSAGE_SIZE}바이트에 송신 시각과 클라이언트 번호를 담습니다.
+     */
+    public LoadProfile messageSize(int messageSize) {
+        if (messageSize < MIN_MESSAGE_SIZE) {
+            throw new IllegalArgumentException("Message size must be at least " + MIN_MESSAGE_SIZE + " bytes.");
+        }
+        this.messageSize = messageSize;
+        return this;
+    }
+
+    /**
+     * 동시에 진행할 최대 접속 시도 수입니다. 서버의 accept backlog 를 넘기지 않도록 제한합니다.
+     */
+    public LoadProfile connectConcurrency(int connectConcurrency) {
+        if (connectConcurrency <= 0) {
+            throw new IllegalArgumentException("Connect concurrency must be positive.");
+        }
+        this.connectConcurrency = connectConcurrency;
+        return this;
+    }
+
+    /**
+     * 측정에서 제외할 준비 시간과 측정 시간을 설정합니다.
+     */
+    public LoadProfile duration(Duration warmup, Duration duration) {
+        if (warmup == null || warmup.isNegative() || duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Warmup must not be negative and duration must be positive.");
+        }
+        this.warmup = warmup;
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * 송신을 멈춘 뒤 남은 메시지가 도착하기를 기다릴 시간입니다.
+     */
+    public LoadProfile drain(Duration drain) {
+        if (drain == null || drain.isNegative()) {
+            throw new IllegalArgumentException("Drain must not be negative.");
+        }
+        this.drain = drain;
+        return this;
+    }
+
+    public LoadProfile seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getRooms() {
+        return rooms;
+    }
+
+    public RoomDistribution getRoomDistribution() {
+        return roomDistribution;
+    }
+
+    public int getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public int getMessageSize() {
+        return messageSize;
+    }
+
+    public int getConnectConcurrency() {
+        return connectConcurrency;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getDrain() {
+        return drain;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile{" + host + ":" + port + ", clients=" + clients + ", rooms=" + rooms + " (" + roomDistribution + ")" +
+               ", messagesPerSecond=" + messagesPerSecond + ", messageSize=" + messageSize +
+               ", warmup=" + warmup + ", duration=" + duration + "}";
+    }
+}
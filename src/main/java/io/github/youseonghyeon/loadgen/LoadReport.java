@@ -0,0 +1,72 @@
+package io.github.youseonghyeon.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.UncheckedIOException;
+
+/**
+ * 부하 실행 결과입니다. 엔진 설정끼리 비교할 수 있도록 {@link #toJson()}으로 남길 수 있습니다.
+ *
+ * <p>지연은 송신 예정 시각부터 수신까지의 시간입니다. 송신이 밀려도 예정 시각을 기준으로 하므로
+ * 서버가 느려져 송신이 늦어진 만큼도 지연에 포함됩니다(coordinated omission 보정).</p>
+ *
+ * @param profile               실행한 {@link LoadProfile} 요약
+ * @param clients               접속을 시도한 클라이언트 수
+ * @param connected             접속에 성공한 클라이언트 수
+ * @param connectsPerSecond     초당 접속 수
+ * @param connectP99Micros      접속 시간 p99
+ * @param sent                  측정 구간에 보낸 메시지 수
+ * @param sendErrors            송신 실패 수
+ * @param delivered             측정 구간 메시지의 수신 수 (방 참여자마다 1)
+ * @param expectedDeliveries    보낸 메시지가 모두 전달되었을 때의 수신 수
+ * @param sendRate              초당 송신 수
+ * @param deliveryRate          초당 수신 수
+ * @param latencyP50Micros      전달 지연 p50
+ * @param latencyP99Micros      전달 지연 p99
+ * @param latencyP999Micros     전달 지연 p99.9
+ * @param latencyMaxMicros      전달 지연 최대값
+ * @param latencyMeanMicros     전달 지연 평균
+ */
+public record LoadReport(String profile,
+                         int clients,
+                         int connected,
+                         double connectsPerSecond,
+                         long connectP99Micros,
+                         long sent,
+                         long sendErrors,
+                         long delivered,
+                         long expectedDeliveries,
+                         double sendRate,
+                         double deliveryRate,
+                         long latencyP50Micros,
+                         long latencyP99Micros,
+                         long latencyP999Micros,
+                         long latencyMaxMicros,
+                         double latencyMeanMicros) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public String toJson() {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 사람이 읽기 위한 요약입니다.
+     */
+    public String format() {
+        return String.format("""
+                        %s
+                          connect   : %d/%d clients, %.0f conn/s, p99 %d us
+                          traffic   : sent %d (%.0f msg/s, %d errors), delivered %d/%d (%.0f msg/s)
+                          latency us: p50 %d, p99 %d, p99.9 %d, max %d, mean %.1f""",
+                profile, connected, clients, connectsPerSecond, connectP99Micros,
+                sent, sendRate, sendErrors, delivered, expectedDeliveries, deliveryRate,
+                latencyP50Micros, latencyP99Micros, latencyP999Micros, latencyMaxMicros, latencyMeanMicros);
+    }
+}
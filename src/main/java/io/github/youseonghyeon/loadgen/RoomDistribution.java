@@ -0,0 +1,54 @@
+package io.github.youseonghyeon.loadgen;
+
+import java.util.SplittableRandom;
+
+/**
+ * 가상 클라이언트를 방에 나누는 방식입니다.
+ */
+public enum RoomDistribution {
+    /** 모든 방에 고르게 나눕니다. */
+    UNIFORM {
+        @Override
+        int[] assign(int clients, int rooms, long seed) {
+            int[] assignment = new int[clients];
+            for (int i = 0; i < clients; i++) {
+                assignment[i] = i % rooms;
+            }
+            return assignment;
+        }
+    },
+    /** Zipf(s=1) 분포로 나눕니다. 소수의 큰 방과 다수의 작은 방이 생기는 실제 서비스에 가깝습니다. */
+    ZIPF {
+        @Override
+        int[] assign(int clients, int rooms, long seed) {
+            double[] cumulative = new double[rooms];
+            double total = 0;
+            for (int room = 0; room < rooms; room++) {
+                total += 1.0 / (room + 1);
+                cumulative[room] = total;
+            }
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] assignment = new int[clients];
+            for (int i = 0; i < clients; i++) {
+                double target = random.nextDouble() * total;
+                int low = 0;
+                int high = rooms - 1;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (cumulative[mid] < target) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                assignment[i] = low;
+            }
+            return assignment;
+        }
+    };
+
+    /**
+     * @return 클라이언트 순번별 방 번호 (0 부터 {@code rooms - 1})
+     */
+    abstract int[] assign(int clients, int rooms, long seed);
+}
@@ -0,0 +1,352 @@
+package io.github.youseonghyeon.metrics;
+
+import io.github.youseonghyeon.core.event.EventType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * 엔진 내부 지표 모음입니다.
+ *
+ * <p>카운터는 {@link LongAdder}, 지연과 크기는 {@link LatencyHistogram}에 기록하므로 기록 경로는 락과 할당이 없습니다.
+ * 큐 깊이처럼 다른 구성 요소가 이미 가지고 있는 값은 게이지로 연결해 두고 {@link #snapshot()} 시점에 읽습니다.</p>
+ *
+ * <p>시간 지표의 단위는 나노초입니다.</p>
+ */
+public class EngineMetrics implements EngineMetricsMXBean {
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder acceptedConnections = new LongAdder();
+    private final LongAdder closedConnections = new LongAdder();
+    private final LongAdder decodeFailures = new LongAdder();
+    private final LatencyHistogram decodeTime = new LatencyHistogram();
+    private final LatencyHistogram[] dispatchTime = new LatencyHistogram[EVENT_TYPES.length];
+    private final LatencyHistogram fanOutSize = new LatencyHistogram();
+    private final LatencyHistogram fanOutTime = new LatencyHistogram();
+    private final LatencyHistogram writeTime = new LatencyHistogram();
+    private final LongAdder writesInFlight = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final LatencyHistogram readPoolWait = new LatencyHistogram();
+    private final LongAdder readPoolResizes = new LongAdder();
+    private final LongAdder peerDeliveriesSkipped = new LongAdder();
+    private final LongAdder peerDeliveriesDropped = new LongAdder();
+    private volatile double readPoolUtilization = 0;
+    private final AtomicLong configurationVersion = new AtomicLong();
+    private volatile Map<String, String> effectiveConfiguration = Map.of();
+    private volatile long startupNanos = 0;
+
+    private volatile IntSupplier dispatchQueueDepth = () -> 0;
+    private volatile IntSupplier readPoolSize = () -> 0;
+    private volatile IntSupplier broadcastQueueDepth = () -> 0;
+    private volatile LongSupplier broadcastLagNanos = () -> 0;
+
+    // 초당 디코딩 수는 직전 표본과의 차이로 계산하며, 표본은 최소 RATE_WINDOW_NANOS 간격으로 갱신
+    private final Object rateLock = new Object();
+    private long rateSampleNanos = System.nanoTime();
+    private long rateSampleCount = 0;
+    private double framesDecodedPerSecond = 0;
+
+    public EngineMetrics() {
+        for (int i = 0; i < dispatchTime.length; i++) {
+            dispatchTime[i] = new LatencyHistogram();
+        }
+    }
+
+    // -- recording
+
+    public void connectionAccepted() {
+        acceptedConnections.increment();
+    }
+
+    public void connectionClosed() {
+        closedConnections.increment();
+    }
+
+    public void frameDecoded(long nanos) {
+        decodeTime.record(nanos);
+    }
+
+    public void decodeFailed() {
+        decodeFailures.increment();
+    }
+
+    public void dispatched(EventType eventType, long nanos) {
+        dispatchTime[eventType.ordinal()].record(nanos);
+    }
+
+    /**
+     * @param recipients 메시지를 받은 로컬 참여자 수
+     * @param nanos      방 전체에 전송하는 데 걸린 시간
+     */
+    public void fannedOut(int recipients, long nanos) {
+        fanOutSize.record(recipients);
+        fanOutTime.record(nanos);
+    }
+
+    /**
+     * 소켓 쓰기를 시작할 때 호출합니다. 반환한 시작 시각을 {@link #writeFinished(long, boolean)}에 넘겨야 합니다.
+     */
+    public long writeStarted() {
+        writesInFlight.increment();
+        return System.nanoTime();
+    }
+
+    public void writeFinished(long startNanos, boolean success) {
+        writeTime.record(System.nanoTime() - startNanos);
+        writesInFlight.decrement();
+        if (!success) {
+            writeFailures.increment();
+        }
+    }
+
+    /**
+     * 피어가 연결되어 있지 않아 클러스터 프레임을 보내지 않았음을 기록합니다.
+     */
+    public void peerDeliverySkipped() {
+        peerDeliveriesSkipped.increment();
+    }
+
+    /**
+     * 대기열이 가득 차거나 연결이 끊겨 버린 클러스터 프레임 수를 기록합니다. 보낼 프레임과 받은 프레임을 모두 셉니다.
+     */
+    public void peerDeliveriesDropped(long count) {
+        peerDeliveriesDropped.add(count);
+    }
+
+    /**
+     * @param nanos 읽기 작업이 스레드를 기다린 시간
+     */
+    public void readPoolWaited(long nanos) {
+        readPoolWait.record(nanos);
+    }
+
+    /**
+     * @param utilization 직전 측정 구간의 읽기 풀 사용률 (0~1)
+     */
+    public void readPoolSampled(double utilization) {
+        this.readPoolUtilization = utilization;
+    }
+
+    public void readPoolResized() {
+        readPoolResizes.increment();
+    }
+
+    /**
+     * 엔진 시작이나 실행 중 재설정으로 적용된 설정을 게시하고 설정 버전을 올립니다.
+     *
+     * @param configuration 설정 항목별 현재 값
+     */
+    public void configurationApplied(Map<String, String> configuration) {
+        this.effectiveConfiguration = Collections.unmodifiableMap(new LinkedHashMap<>(configuration));
+        configurationVersion.incrementAndGet();
+    }
+
+    /**
+     * 엔진이 {@code start()} 호출부터 포트를 열고 연결을 받기 시작할 때까지 걸린 시간을 기록합니다.
+     *
+     * @param nanos 시작 요청부터 준비 완료까지의 시간
+     */
+    public void startupCompleted(long nanos) {
+        this.startupNanos = nanos;
+    }
+
+    // -- gauges
+
+    /**
+     * 읽은 프레임이 디스패치를 기다리는 큐의 깊이를 연결합니다.
+     */
+    public void bindDispatchQueue(IntSupplier depth) {
+        this.dispatchQueueDepth = depth == null ? () -> 0 : depth;
+    }
+
+    /**
+     * 읽기 풀의 현재 스레드 수를 연결합니다.
+     */
+    public void bindReadPoolSize(IntSupplier size) {
+        this.readPoolSize = size == null ? () -> 0 : size;
+    }
+
+    /**
+     * 다른 노드로 보낼 메시지가 대기하는 큐의 깊이와, 가장 오래 기다린 메시지의 대기 시간을 연결합니다.
+     */
+    public void bindBroadcastQueue(IntSupplier depth, LongSupplier lagNanos) {
+        this.broadcastQueueDepth = depth == null ? () -> 0 : depth;
+        this.broadcastLagNanos = lagNanos == null ? () -> 0 : lagNanos;
+    }
+
+    // -- reading
+
+    @Override
+    public long getAcceptedConnections() {
+        return acceptedConnections.sum();
+    }
+
+    @Override
+    public long getActiveConnections() {
+        return acceptedConnections.sum() - closedConnections.sum();
+    }
+
+    @Override
+    public long getFramesDecoded() {
+        return decodeTime.getCount();
+    }
+
+    @Override
+    public long getDecodeFailures() {
+        return decodeFailures.sum();
+    }
+
+    /**
+     * 직전 갱신 이후의 초당 디코딩 수입니다. 1초 이상 지난 뒤 호출하면 새 구간으로 갱신합니다.
+     */
+    @Override
+    public double getFramesDecodedPerSecond() {
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long elapsed = now - rateSampleNanos;
+            if (elapsed >= RATE_WINDOW_NANOS) {
+                long count = getFramesDecoded();
+                framesDecodedPerSecond = (count - rateSampleCount) * 1e9 / elapsed;
+                rateSampleNanos = now;
+                rateSampleCount = count;
+            }
+            return framesDecodedPerSecond;
+        }
+    }
+
+    @Override
+    public int getDispatchQueueDepth() {
+        return dispatchQueueDepth.getAsInt();
+    }
+
+    @Override
+    public int getReadPoolSize() {
+        return readPoolSize.getAsInt();
+    }
+
+    @Override
+    public double getReadPoolUtilization() {
+        return readPoolUtilization;
+    }
+
+    @Override
+    public long getReadPoolResizes() {
+        return readPoolResizes.sum();
+    }
+
+    @Override
+    public long getWritesInFlight() {
+        return writesInFlight.sum();
+    }
+
+    @Override
+    public long getWriteFailures() {
+        return writeFailures.sum();
+    }
+
+    @Override
+    public int getBroadcastQueueDepth() {
+        return broadcastQueueDepth.getAsInt();
+    }
+
+    @Override
+    public long getBroadcastLagNanos() {
+        return broadcastLagNanos.getAsLong();
+    }
+
+    @Override
+    public long getPeerDeliveriesSkipped() {
+        return peerDeliveriesSkipped.sum();
+    }
+
+    @Override
+    public long getPeerDeliveriesDropped() {
+        return peerDeliveriesDropped.sum();
+    }
+
+    public LatencyHistogram getDecodeTime() {
+        return decodeTime;
+    }
+
+    public LatencyHistogram getReadPoolWait() {
+        return readPoolWait;
+    }
+
+    public LatencyHistogram getDispatchTime(EventType eventType) {
+        return dispatchTime[eventType.ordinal()];
+    }
+
+    public LatencyHistogram getFanOutSize() {
+        return fanOutSize;
+    }
+
+    @Override
+    public long getConfigurationVersion() {
+        return configurationVersion.get();
+    }
+
+    @Override
+    public Map<String, String> getEffectiveConfiguration() {
+        return effectiveConfiguration;
+    }
+
+    @Override
+    public long getStartupNanos() {
+        return startupNanos;
+    }
+
+    public LatencyHistogram getFanOutTime() {
+        return fanOutTime;
+    }
+
+    public LatencyHistogram getWriteTime() {
+        return writeTime;
+    }
+
+    /**
+     * 모든 지표를 한 번에 읽습니다. 디스패치 지표는 한 번 이상 처리된 이벤트 타입만 포함합니다.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<EventType, HistogramSnapshot> dispatch = new EnumMap<>(EventType.class);
+        for (EventType eventType : EVENT_TYPES) {
+            LatencyHistogram histogram = dispatchTime[eventType.ordinal()];
+            if (histogram.getCount() > 0) {
+                dispatch.put(eventType, histogram.snapshot());
+            }
+        }
+        return new MetricsSnapshot(
+                getAcceptedConnections(),
+                getActiveConnections(),
+                getFramesDecoded(),
+                getFramesDecodedPerSecond(),
+                getDecodeFailures(),
+                decodeTime.snapshot(),
+                getDispatchQueueDepth(),
+                getReadPoolSize(),
+                getReadPoolUtilization(),
+                getReadPoolResizes(),
+                readPoolWait.snapshot(),
+                Collections.unmodifiableMap(dispatch),
+                fanOutSize.snapshot(),
+                fanOutTime.snapshot(),
+                getWritesInFlight(),
+                getWriteFailures(),
+                writeTime.snapshot(),
+                getBroadcastQueueDepth(),
+                getBroadcastLagNanos(),
+                getPeerDeliveriesSkipped(),
+                getPeerDeliveriesDropped(),
+                getConfigurationVersion(),
+                getEffectiveConfiguration(),
+                getStartupNanos());
+    }
+}
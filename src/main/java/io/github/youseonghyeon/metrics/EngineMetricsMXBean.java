@@ -0,0 +1,56 @@
+package io.github.youseonghyeon.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX 로 노출하는 엔진 지표입니다. 지연 분포는 {@link HistogramMXBean}으로 따로 등록합니다.
+ *
+ * @see JmxMetricsExporter
+ */
+public interface EngineMetricsMXBean {
+
+    long getAcceptedConnections();
+
+    long getActiveConnections();
+
+    long getFramesDecoded();
+
+    double getFramesDecodedPerSecond();
+
+    long getDecodeFailures();
+
+    int getDispatchQueueDepth();
+
+    int getReadPoolSize();
+
+    double getReadPoolUtilization();
+
+    long getReadPoolResizes();
+
+    long getWritesInFlight();
+
+    long getWriteFailures();
+
+    int getBroadcastQueueDepth();
+
+    long getBroadcastLagNanos();
+
+    long getPeerDeliveriesSkipped();
+
+    long getPeerDeliveriesDropped();
+
+    /**
+     * 설정이 적용된 횟수입니다. 시작 시 1 이고 실행 중 재설정마다 1 씩 늘어납니다.
+     */
+    long getConfigurationVersion();
+
+    /**
+     * 현재 적용된 설정 항목별 값입니다.
+     */
+    Map<String, String> getEffectiveConfiguration();
+
+    /**
+     * 마지막 시작에서 {@code start()} 호출부터 연결을 받기 시작할 때까지 걸린 시간입니다. 시작 전에는 0 입니다.
+     */
+    long getStartupNanos();
+}
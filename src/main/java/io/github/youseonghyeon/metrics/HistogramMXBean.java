@@ -0,0 +1,19 @@
+package io.github.youseonghyeon.metrics;
+
+/**
+ * JMX 로 노출하는 히스토그램 요약입니다. 백분위 값은 조회할 때마다 계산합니다.
+ */
+public interface HistogramMXBean {
+
+    long getCount();
+
+    double getMean();
+
+    long getP50();
+
+    long getP99();
+
+    long getP999();
+
+    long getMax();
+}
@@ -0,0 +1,9 @@
+package io.github.youseonghyeon.metrics;
+
+/**
+ * {@link LatencyHistogram}의 한 시점 요약입니다. 단위는 기록한 값의 단위(엔진 지표는 나노초, 팬아웃 크기는 수신자 수)를 따릅니다.
+ */
+public record HistogramSnapshot(long count, double mean, long p50, long p99, long p999, long max) {
+
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,96 @@
+package io.github.youseonghyeon.metrics;
+
+import io.github.youseonghyeon.core.event.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link EngineMetrics}를 플랫폼 MBean 서버에 등록합니다.
+ *
+ * <p>같은 JVM 에서 여러 엔진을 띄울 수 있도록 모든 이름에 {@code engine} 키를 붙입니다.</p>
+ * <pre>
+ * io.github.youseonghyeon.chat:engine=9999,type=Engine
+ * io.github.youseonghyeon.chat:engine=9999,type=Histogram,name=decodeTime
+ * io.github.youseonghyeon.chat:engine=9999,type=Histogram,name=readPoolWait
+ * io.github.youseonghyeon.chat:engine=9999,type=Histogram,name=fanOutSize
+ * io.github.youseonghyeon.chat:engine=9999,type=Histogram,name=fanOutTime
+ * io.github.youseonghyeon.chat:engine=9999,type=Histogram,name=writeTime
+ * io.github.youseonghyeon.chat:engine=9999,type=Dispatch,event=USER_SEND
+ * </pre>
+ */
+public class JmxMetricsExporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JmxMetricsExporter.class);
+
+    public static final String DOMAIN = "io.github.youseonghyeon.chat";
+
+    private final EngineMetrics metrics;
+    private final String engineName;
+    private final MBeanServer server;
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    public JmxMetricsExporter(EngineMetrics metrics, String engineName) {
+        this(metrics, engineName, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxMetricsExporter(EngineMetrics metrics, String engineName, MBeanServer server) {
+        if (metrics == null || engineName == null || engineName.isBlank() || server == null) {
+            throw new IllegalArgumentException("Metrics, engine name and MBean server must not be null or blank.");
+        }
+        this.metrics = metrics;
+        this.engineName = engineName;
+        this.server = server;
+    }
+
+    /**
+     * 모든 MBean 을 등록합니다. 같은 이름이 이미 등록되어 있으면 경고만 남기고 건너뜁니다.
+     */
+    public synchronized void register() {
+        register("type=Engine", metrics);
+        register("type=Histogram,name=decodeTime", metrics.getDecodeTime());
+        register("type=Histogram,name=readPoolWait", metrics.getReadPoolWait());
+        register("type=Histogram,name=fanOutSize", metrics.getFanOutSize());
+        register("type=Histogram,name=fanOutTime", metrics.getFanOutTime());
+        register("type=Histogram,name=writeTime", metrics.getWriteTime());
+        for (EventType eventType : EventType.values()) {
+            register("type=Dispatch,event=" + eventType.name(), metrics.getDispatchTime(eventType));
+        }
+        log.info("Registered {} metrics MBeans for engine {}", registered.size(), engineName);
+    }
+
+    private void register(String properties, Object mbean) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":engine=" + engineName + "," + properties);
+            server.registerMBean(mbean, name);
+            registered.add(name);
+        } catch (InstanceAlreadyExistsException e) {
+            log.warn("Metrics MBean already registered: {}", e.getMessage());
+        } catch (JMException e) {
+            log.warn("Failed to register metrics MBean: {}", properties, e);
+        }
+    }
+
+    public synchronized List<ObjectName> getRegisteredNames() {
+        return List.copyOf(registered);
+    }
+
+    @Override
+    public synchronized void close() {
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                log.debug("Failed to unregister metrics MBean {}", name, e);
+            }
+        }
+        registered.clear();
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.youseonghyeon.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 스레드가 동시에 기록할 수 있는 로그-선형 지연 히스토그램입니다.
+ *
+ * <p>값을 2의 거듭제곱 구간으로 나누고 각 구간을 {@value #SUB_BUCKETS}칸으로 다시 나누므로,
+ * 백분위 값의 상대 오차는 약 {@code 1/SUB_BUCKETS} 이하입니다. 기록은 배열 한 칸의 원자적 증가이며 할당하지 않습니다.</p>
+ */
+public class LatencyHistogram implements HistogramMXBean {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value 기록할 값 (음수는 0 으로 기록)
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(indexOf(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    /**
+     * {@code percentile}(0~100) 백분위 값입니다. 값이 속한 칸의 상한을 반환하며, 기록이 없으면 0 입니다.
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public long getP50() {
+        return percentile(50);
+    }
+
+    @Override
+    public long getP99() {
+        return percentile(99);
+    }
+
+    @Override
+    public long getP999() {
+        return percentile(99.9);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * 현재까지의 기록을 요약합니다. 기록과 동시에 호출되면 각 값이 서로 약간 다른 시점을 반영할 수 있습니다.
+     */
+    public HistogramSnapshot snapshot() {
+        return new HistogramSnapshot(getCount(), getMean(), getP50(), getP99(), getP999(), getMax());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.youseonghyeon.metrics;
+
+import io.github.youseonghyeon.config.adapter.MessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 소켓 쓰기 시간, 진행 중인 쓰기 수, 실패 수를 {@link EngineMetrics}에 기록하는 {@link MessageSender} 데코레이터입니다.
+ * 엔진은 참여자에게 동기적으로 쓰므로, 진행 중인 쓰기 수가 곧 쓰기 적체입니다.
+ */
+public class MeteredMessageSender implements MessageSender {
+
+    private final MessageSender delegate;
+    private final EngineMetrics metrics;
+
+    public MeteredMessageSender(MessageSender delegate, EngineMetrics metrics) {
+        if (delegate == null || metrics == null) {
+            throw new IllegalArgumentException("Delegate sender and metrics must not be null.");
+        }
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void send(SocketChannel channel, Message message) throws IOException {
+        long start = metrics.writeStarted();
+        boolean success = false;
+        try {
+            delegate.send(channel, message);
+            success = true;
+        } finally {
+            metrics.writeFinished(start, success);
+        }
+    }
+
+    @Override
+    public @Nullable ByteBuffer encode(Message message) {
+        return delegate.encode(message);
+    }
+
+    @Override
+    public void sendEncoded(SocketChannel channel, ByteBuffer frame) throws IOException {
+        delegate.sendEncoded(channel, frame);
+    }
+
+    public MessageSender getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.youseonghyeon.metrics;
+
+import io.github.youseonghyeon.core.event.EventType;
+
+import java.util.Map;
+
+/**
+ * {@link EngineMetrics}의 한 시점 값입니다. 시간 단위는 나노초입니다.
+ *
+ * @param acceptedConnections    지금까지 수락한 연결 수
+ * @param activeConnections      현재 열려 있는 연결 수
+ * @param framesDecoded          지금까지 디코딩한 프레임 수
+ * @param framesDecodedPerSecond 초당 디코딩 수
+ * @param decodeFailures         디코딩에 실패해 닫은 연결 수
+ * @param decodeTime             프레임 하나를 읽고 디코딩하는 시간
+ * @param dispatchQueueDepth     디스패치를 기다리는 읽기 작업 수
+ * @param readPoolSize           읽기 풀 스레드 수
+ * @param readPoolUtilization    직전 측정 구간의 읽기 풀 사용률 (0~1)
+ * @param readPoolResizes        읽기 풀 크기를 바꾼 횟수
+ * @param readPoolWait           읽기 작업이 스레드를 기다린 시간
+ * @param dispatchTime           이벤트 타입별 구독자 처리 시간
+ * @param fanOutSize             메시지 하나를 받은 로컬 참여자 수
+ * @param fanOutTime             메시지 하나를 방 전체에 쓰는 시간
+ * @param writesInFlight         진행 중인 소켓 쓰기 수 (쓰기 적체)
+ * @param writeFailures          실패한 소켓 쓰기 수
+ * @param writeTime              소켓 쓰기 하나의 시간
+ * @param broadcastQueueDepth    다른 노드로 보내기를 기다리는 메시지 수
+ * @param broadcastLagNanos      그중 가장 오래 기다린 메시지의 대기 시간
+ * @param peerDeliveriesSkipped  피어가 연결되어 있지 않아 보내지 않은 클러스터 프레임 수
+ * @param peerDeliveriesDropped  대기열이 가득 차거나 연결이 끊겨 버린 클러스터 프레임 수
+ * @param configurationVersion   설정이 적용된 횟수 (시작 시 1, 재설정마다 증가)
+ * @param effectiveConfiguration 현재 적용된 설정 항목별 값
+ * @param startupNanos           마지막 시작에서 준비 완료(포트 개방)까지 걸린 시간
+ */
+public record MetricsSnapshot(long acceptedConnections,
+                              long activeConnections,
+                              long framesDecoded,
+                              double framesDecodedPerSecond,
+                              long decodeFailures,
+                              HistogramSnapshot decodeTime,
+                              int dispatchQueueDepth,
+                              int readPoolSize,
+                              double readPoolUtilization,
+                              long readPoolResizes,
+                              HistogramSnapshot readPoolWait,
+                              Map<EventType, HistogramSnapshot> dispatchTime,
+                              HistogramSnapshot fanOutSize,
+                              HistogramSnapshot fanOutTime,
+                              long writesInFlight,
+                              long writeFailures,
+                              HistogramSnapshot writeTime,
+                              int broadcastQueueDepth,
+                              long broadcastLagNanos,
+                              long peerDeliveriesSkipped,
+                              long peerDeliveriesDropped,
+                              long configurationVersion,
+                              Map<String, String> effectiveConfiguration,
+                              long startupNanos) {
+}
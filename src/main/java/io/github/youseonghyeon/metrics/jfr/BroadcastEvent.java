@@ -0,0 +1,39 @@
+package io.github.youseonghyeon.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 메시지 하나를 방의 로컬 참여자에게 쓴 구간입니다.
+ *
+ * @see DispatchEvent
+ */
+@Name(BroadcastEvent.NAME)
+@Label("Room Broadcast")
+@Category({"Chat Engine", "Dispatch"})
+@Description("A message written to every local participant of a room")
+@StackTrace(false)
+@Threshold("5 ms")
+public class BroadcastEvent extends Event {
+
+    public static final String NAME = "io.github.youseonghyeon.chat.Broadcast";
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Recipients")
+    public int recipients;
+}
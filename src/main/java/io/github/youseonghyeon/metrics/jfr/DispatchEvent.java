@@ -0,0 +1,45 @@
+package io.github.youseonghyeon.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 메시지 하나를 구독자가 처리한 구간입니다. 방 전체 전송({@link BroadcastEvent})과 이력 저장 큐 적재를 포함합니다.
+ *
+ * <p>엔진 이벤트({@link FrameReadEvent}, {@link DispatchEvent}, {@link BroadcastEvent})는 기본으로 5 ms 이상 걸린 구간만 남깁니다.
+ * 기록 중이 아니거나 임계값보다 짧으면 필드를 채우지 않으므로 비용은 시각 측정 두 번 정도입니다. 임계값은 JFR 설정으로 바꿉니다.</p>
+ *
+ * <pre>{@code
+ * # JDK 기본 설정에 엔진 설정(클래스패스의 jfr/chat-engine.jfc 를 복사해 수정)을 덧붙여 상시 기록
+ * java -XX:StartFlightRecording:settings=default,chat-engine.jfc,maxage=1h ...
+ *
+ * # 실행 중인 엔진에서 임계값을 낮춰 기록
+ * jcmd <pid> JFR.start io.github.youseonghyeon.chat.Dispatch#threshold=1ms
+ * }</pre>
+ */
+@Name(DispatchEvent.NAME)
+@Label("Dispatch")
+@Category({"Chat Engine", "Dispatch"})
+@Description("A message handled by its event subscriber")
+@StackTrace(false)
+@Threshold("5 ms")
+public class DispatchEvent extends Event {
+
+    public static final String NAME = "io.github.youseonghyeon.chat.Dispatch";
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,43 @@
+package io.github.youseonghyeon.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * 소켓에서 프레임 하나를 읽고 디코딩한 구간입니다. 이벤트 지속 시간은 디코딩 시간이며,
+ * 읽기 풀에서 기다린 시간은 {@link #poolWait}에 따로 기록합니다.
+ *
+ * @see DispatchEvent
+ */
+@Name(FrameReadEvent.NAME)
+@Label("Frame Read")
+@Category({"Chat Engine", "I/O"})
+@Description("A frame read and decoded from a client socket")
+@StackTrace(false)
+@Threshold("5 ms")
+public class FrameReadEvent extends Event {
+
+    public static final String NAME = "io.github.youseonghyeon.chat.FrameRead";
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Pool Wait")
+    @Description("Time between the selector handing off the channel and a read thread picking it up")
+    @Timespan(Timespan.NANOSECONDS)
+    public long poolWait;
+}
@@ -5,11 +5,15 @@ import io.github.youseonghyeon.core.exception.ClientConnectionException;
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class User {
 
     private String nickname;
     private final SocketChannel socketChannel;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final AtomicLong failedWrites = new AtomicLong();
 
     public User(SocketChannel socketChannel) {
         this.socketChannel = socketChannel;
@@ -28,6 +32,28 @@ public class User {
         return socketChannel;
     }
 
+    /**
+     * 이 세션으로 쓰기를 시작할 때 호출합니다. 엔진은 동기적으로 쓰므로 진행 중인 쓰기 수가 곧 이 세션의 쓰기 적체입니다.
+     */
+    public void writeStarted() {
+        pendingWrites.incrementAndGet();
+    }
+
+    public void writeFinished(boolean success) {
+        pendingWrites.decrementAndGet();
+        if (!success) {
+            failedWrites.incrementAndGet();
+        }
+    }
+
+    public int getPendingWrites() {
+        return pendingWrites.get();
+    }
+
+    public long getFailedWrites() {
+        return failedWrites.get();
+    }
+
     public String getNickname() {
         return nickname;
     }
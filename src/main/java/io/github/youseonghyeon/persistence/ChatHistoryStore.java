@@ -4,6 +4,17 @@ import io.github.youseonghyeon.persistence.dto.ChatLog;
 
 import java.util.List;
 
+/**
+ * 채팅 이력 저장소입니다.
+ *
+ * <p>조회는 {@link #openCursor(long, HistoryPosition, ScanDirection)}가 기본이며, 목록을 반환하는 조회 메서드들은
+ * 커서 위에 기본 구현되어 있습니다. 구현체는 더 효율적인 방법이 있으면 목록 조회를 재정의할 수 있습니다.
+ * 큰 방을 페이지 단위로 넘기거나 내보낼 때는 커서를 사용하면 전체 결과를 한 번에 메모리에 만들지 않습니다.</p>
+ *
+ * <p>커서를 직접 구현하지 않은 저장소(목록 조회만 구현한 기존 구현체 등)를 위해 커서도 목록 조회 위에 기본 구현되어 있습니다.
+ * 두 기본 구현은 서로를 호출하므로, 구현체는 {@link #openCursor(long, HistoryPosition, ScanDirection)}를 재정의하거나
+ * {@link #findLogsBetween(long, long, long)}와 {@link #findLogsBefore(long, long, int)}를 모두 재정의해야 합니다.</p>
+ */
 public interface ChatHistoryStore {
     /**
      * 채팅 메시지를 저장합니다.
@@ -12,14 +23,49 @@ public interface ChatHistoryStore {
      */
     void save(ChatLog log);
 
+    /**
+     * 여러 채팅 메시지를 한 번에 저장합니다. 목록 순서대로 저장되어야 하며,
+     * 일괄 저장을 지원하는 저장소는 이 메서드를 재정의하여 왕복 횟수를 줄일 수 있습니다.
+     *
+     * @param logs 저장할 채팅 로그 목록
+     */
+    default void saveAll(List<ChatLog> logs) {
+        for (ChatLog log : logs) {
+            save(log);
+        }
+    }
+
+    /**
+     * 특정 채팅방의 로그를 {@code position}부터 {@code direction} 방향으로 지연 읽기하는 커서를 엽니다.
+     * 로그가 없는 방이면 빈 커서를 반환합니다.
+     *
+     * <p>기본 구현은 {@link #findLogsBetween(long, long, long)}, {@link #findLogsBefore(long, long, int)}로 로그를 읽으며,
+     * 위치를 timestamp 로만 표현하므로 {@link HistoryPosition.Kind#INDEX} 위치는 받지 않습니다.</p>
+     *
+     * @param roomId    채팅방 ID
+     * @param position  시작 지점
+     * @param direction 읽는 방향
+     * @return 로그 커서
+     */
+    default HistoryCursor openCursor(long roomId, HistoryPosition position, ScanDirection direction) {
+        return new FinderHistoryCursor(this, roomId, position, direction);
+    }
+
     /**
      * 특정 채팅방의 최근 메시지들을 조회합니다.
      *
      * @param roomId 채팅방 ID
      * @param limit  최대 조회 개수
-     * @return 조회된 채팅 로그 목록
+     * @return 조회된 채팅 로그 목록 (최근 순)
      */
-    List<ChatLog> findRecentLogs(long roomId, int limit);
+    default List<ChatLog> findRecentLogs(long roomId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return openCursor(roomId, HistoryPosition.latest(), ScanDirection.BACKWARD).stream()
+                .limit(limit)
+                .toList();
+    }
 
     /**
      * 특정 채팅방의 시간 구간 기준 로그를 조회합니다.
@@ -27,9 +73,17 @@ public interface ChatHistoryStore {
      * @param roomId   채팅방 ID
      * @param fromUnix 시작 시간 (Epoch millis)
      * @param toUnix   종료 시간 (Epoch millis)
-     * @return 조회된 채팅 로그 목록
+     * @return 조회된 채팅 로그 목록 (시간 순)
      */
-    List<ChatLog> findLogsBetween(long roomId, long fromUnix, long toUnix);
+    default List<ChatLog> findLogsBetween(long roomId, long fromUnix, long toUnix) {
+        if (fromUnix > toUnix) {
+            return List.of();
+        }
+        return openCursor(roomId, HistoryPosition.atTime(fromUnix), ScanDirection.FORWARD).stream()
+                .takeWhile(log -> log.timestamp() <= toUnix)
+                .filter(log -> log.timestamp() >= fromUnix)
+                .toList();
+    }
 
     /**
      * 특정 채팅방의 시점 기준으로 과거의 메시지들을 조회합니다.
@@ -37,7 +91,15 @@ public interface ChatHistoryStore {
      * @param roomId 채팅방 ID
      * @param toUnix 조회 기준 시점 (Epoch millis)
      * @param limit  최대 조회 개수
-     * @return 조회된 채팅 로그 목록
+     * @return 조회된 채팅 로그 목록 (최근 순)
      */
-    List<ChatLog> findLogsBefore(long roomId, long toUnix, int limit);
+    default List<ChatLog> findLogsBefore(long roomId, long toUnix, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return openCursor(roomId, HistoryPosition.atTime(toUnix), ScanDirection.BACKWARD).stream()
+                .filter(log -> log.timestamp() < toUnix)
+                .limit(limit)
+                .toList();
+    }
 }
@@ -0,0 +1,264 @@
+package io.github.youseonghyeon.persistence;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 메시지를 비동기로 모아 {@link ChatHistoryStore#saveAll(List)}로 저장하는 write-behind 저장기입니다.
+ *
+ * <p>{@link #record(Message)}는 {@link ChatLog}로 변환해 큐에 넣고 바로 반환하므로, 저장소 지연이
+ * 메시지 전달(fan-out) 경로에 영향을 주지 않습니다. 전용 스레드 하나가 큐에서 꺼내 {@code batchSize}개가 모이거나
+ * 첫 메시지 이후 {@code flushInterval}이 지나면 한 번에 저장합니다. 단일 스레드가 FIFO 로 저장하므로
+ * 방별 저장 순서는 기록 순서와 같습니다.</p>
+ *
+ * <p>큐가 가득 차면 메시지를 버리고 {@link #getDroppedCount()}에 기록합니다. {@link #close()}는 큐에 남은 메시지를
+ * 모두 저장한 뒤 반환합니다.</p>
+ */
+public class ChatHistoryWriter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatHistoryWriter.class);
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private final ChatHistoryStore chatHistoryStore;
+    private final ChatLogMapper chatLogMapper;
+    private final BlockingQueue<ChatLog> queue;
+    // 실행 중 변경 가능 (reconfigure)
+    private volatile int batchSize;
+    private volatile long flushIntervalNanos;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private Thread flusherThread;
+    private volatile boolean running = false;
+
+    public ChatHistoryWriter(ChatHistoryStore chatHistoryStore) {
+        this(chatHistoryStore, ChatLogMapper.DEFAULT, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param chatHistoryStore 저장 대상
+     * @param chatLogMapper    메시지를 저장 형식으로 변환하는 규칙
+     * @param queueCapacity    저장 대기 큐 크기
+     * @param batchSize        한 번에 저장할 최대 개수
+     * @param flushInterval    배치가 다 차지 않아도 저장할 최대 대기 시간
+     */
+    public ChatHistoryWriter(ChatHistoryStore chatHistoryStore, ChatLogMapper chatLogMapper,
+                             int queueCapacity, int batchSize, Duration flushInterval) {
+        if (chatHistoryStore == null || chatLogMapper == null) {
+            throw new IllegalArgumentException("Store and mapper must not be null.");
+        }
+        if (queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive.");
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive.");
+        }
+        this.chatHistoryStore = chatHistoryStore;
+        this.chatLogMapper = chatLogMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    public void start() {
+        running = true;
+        flusherThread = new Thread(this::runFlushLoop, "chat-history-writer");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    /**
+     * 메시지를 저장 대기 큐에 넣습니다. 블로킹하지 않습니다.
+     *
+     * @param message 저장할 메시지
+     * @return 큐에 들어갔으면 true, 큐가 가득 차 버려졌으면 false
+     */
+    public boolean record(Message message) {
+        ChatLog chatLog = chatLogMapper.map(message, System.currentTimeMillis());
+        if (!queue.offer(chatLog)) {
+            dropped.increment();
+            return false;
+        }
+        recorded.increment();
+        return true;
+    }
+
+    /**
+     * 실행 중에 배치 저장 조건을 바꿉니다. 다음 배치부터 적용됩니다. 큐 크기는 바꿀 수 없습니다.
+     *
+     * @param batchSize     한 번에 저장할 최대 개수
+     * @param flushInterval 배치가 다 차지 않아도 저장할 최대 대기 시간
+     */
+    public void reconfigure(int batchSize, Duration flushInterval) {
+        validateBatching(batchSize, flushInterval);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    /**
+     * @throws IllegalArgumentException 배치 크기가 양수가 아니거나 저장 주기가 양수가 아닌 경우
+     */
+    public static void validateBatching(int batchSize, Duration flushInterval) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive.");
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return Duration.ofNanos(flushIntervalNanos);
+    }
+
+    /**
+     * 새 기록을 막고, 큐에 남은 메시지를 모두 저장한 뒤 반환합니다.
+     */
+    @Override
+    public void close() {
+        close(Duration.ofMillis(CLOSE_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * 새 기록을 막고, 제한 시간 안에서 큐에 남은 메시지를 저장합니다.
+     *
+     * @param timeout 남은 메시지를 저장하며 기다릴 최대 시간
+     * @return 남은 메시지를 모두 저장했으면 true
+     */
+    public boolean close(Duration timeout) {
+        if (!running) {
+            return queue.isEmpty();
+        }
+        running = false;
+        try {
+            flusherThread.join(Math.max(1, timeout.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Chat history writer closed with {} unsaved logs", queue.size());
+            return false;
+        }
+        return !flusherThread.isAlive();
+    }
+
+    private void runFlushLoop() {
+        List<ChatLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatLog first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch, System.nanoTime() + flushIntervalNanos);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치가 다 차거나 기한이 지날 때까지 큐에서 더 꺼냅니다. 종료 중에는 기다리지 않습니다.
+     */
+    private void fillBatch(List<ChatLog> batch, long deadline) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || !running || remaining <= 0) {
+                return;
+            }
+            ChatLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeBatch(List<ChatLog> batch) {
+        long start = System.nanoTime();
+        try {
+            chatHistoryStore.saveAll(new ArrayList<>(batch));
+            flushed.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.error("Failed to save {} chat logs", batch.size(), e);
+        }
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        totalFlushNanos.add(elapsed);
+        lastFlushNanos.set(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    // -- monitoring
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public long getLastFlushLatencyNanos() {
+        return lastFlushNanos.get();
+    }
+
+    public long getMaxFlushLatencyNanos() {
+        return maxFlushNanos.get();
+    }
+
+    public long getAverageFlushLatencyNanos() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : totalFlushNanos.sum() / count;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.youseonghyeon.persistence;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 전송된 {@link Message}를 저장용 {@link ChatLog}로 변환합니다.
+ */
+@FunctionalInterface
+public interface ChatLogMapper {
+
+    /**
+     * 기본 변환 규칙입니다.
+     * <ul>
+     *     <li>roomId: 숫자이면 그대로, 아니면 {@link #roomKey(String)}로 계산한 64비트 해시</li>
+     *     <li>sender: header 를 UTF-8 문자열로 (없으면 빈 문자열)</li>
+     *     <li>message: content 를 UTF-8 문자열로 (없으면 빈 문자열)</li>
+     * </ul>
+     */
+    ChatLogMapper DEFAULT = (message, timestamp) -> new ChatLog(
+            roomKey(message.roomId()),
+            timestamp,
+            message.header() == null ? "" : new String(message.header(), StandardCharsets.UTF_8),
+            message.content() == null ? "" : new String(message.content(), StandardCharsets.UTF_8));
+
+    ChatLog map(Message message, long timestamp);
+
+    /**
+     * 문자열 방 ID 를 저장소의 long 키로 변환합니다. 숫자로 된 ID 는 그대로 사용하고,
+     * 그 외에는 UTF-8 바이트의 FNV-1a 64비트 해시(부호 비트 제거)를 사용합니다.
+     *
+     * @param roomId 방 ID
+     * @return 저장소에서 사용할 방 키
+     */
+    static long roomKey(String roomId) {
+        try {
+            return Long.parseLong(roomId);
+        } catch (NumberFormatException e) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : roomId.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= (b & 0xff);
+                hash *= 0x100000001b3L;
+            }
+            return hash & Long.MAX_VALUE;
+        }
+    }
+}
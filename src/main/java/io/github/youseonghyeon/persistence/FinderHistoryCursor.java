@@ -0,0 +1,143 @@
+package io.github.youseonghyeon.persistence;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 커서를 직접 구현하지 않은 저장소를 위해 {@link ChatHistoryStore#findLogsBetween(long, long, long)},
+ * {@link ChatHistoryStore#findLogsBefore(long, long, int)} 위에 만든 커서입니다.
+ *
+ * <p>역방향은 {@value #PAGE_SIZE}개씩 페이지로 읽고, 순방향은 목록 조회에 개수 제한이 없으므로 남은 로그를 한 번에 읽습니다.
+ * 순방향 커서는 끝에 도달한 뒤 다시 조회하여 이후 추가된 로그도 읽습니다.</p>
+ *
+ * <p>저장소가 로그 순번을 알려 주지 않으므로 위치는 timestamp({@link HistoryPosition.Kind#TIME})로 표현합니다.
+ * 같은 timestamp 의 로그가 페이지 경계에 걸치면 이미 반환한 개수만큼 건너뛰어 중복 없이 읽지만, {@link #position()}으로
+ * 이어 읽을 때는 경계 timestamp 의 나머지 로그를 건너뜁니다. {@link HistoryPosition.Kind#INDEX} 위치는 지원하지 않습니다.</p>
+ */
+final class FinderHistoryCursor implements HistoryCursor {
+
+    static final int PAGE_SIZE = 256;
+
+    private final ChatHistoryStore store;
+    private final long roomId;
+    private final ScanDirection direction;
+    private final ArrayDeque<ChatLog> page = new ArrayDeque<>();
+
+    // 순방향은 timestamp >= boundary, 역방향은 timestamp <= boundary 인 로그가 남아 있으며,
+    // 그중 timestamp == boundary 인 로그는 앞에서부터 boundaryCount 개를 이미 반환함
+    private long boundary;
+    private int boundaryCount = 0;
+    private boolean exhausted = false;
+
+    /**
+     * @throws IllegalArgumentException {@link HistoryPosition.Kind#INDEX} 위치인 경우
+     */
+    FinderHistoryCursor(ChatHistoryStore store, long roomId, HistoryPosition position, ScanDirection direction) {
+        this.store = store;
+        this.roomId = roomId;
+        this.direction = direction;
+        if (position.kind() == HistoryPosition.Kind.INDEX) {
+            throw new IllegalArgumentException("Index positions are not supported by this store: " + position);
+        }
+        if (direction == ScanDirection.FORWARD) {
+            switch (position.kind()) {
+                case OLDEST -> boundary = Long.MIN_VALUE;
+                case TIME -> boundary = position.value();
+                default -> skipToLatest();
+            }
+        } else {
+            switch (position.kind()) {
+                case OLDEST -> exhausted = true;
+                case TIME -> {
+                    exhausted = position.value() == Long.MIN_VALUE;
+                    boundary = position.value() - 1;
+                }
+                default -> boundary = Long.MAX_VALUE;
+            }
+        }
+    }
+
+    private void skipToLatest() {
+        List<ChatLog> latest = store.findLogsBefore(roomId, Long.MAX_VALUE, 1);
+        if (latest.isEmpty()) {
+            boundary = Long.MIN_VALUE;
+            return;
+        }
+        boundary = latest.get(0).timestamp();
+        boundaryCount = store.findLogsBetween(roomId, boundary, boundary).size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (page.isEmpty() && !exhausted) {
+            if (direction == ScanDirection.FORWARD) {
+                fillForward();
+            } else {
+                fillBackward();
+            }
+        }
+        return !page.isEmpty();
+    }
+
+    private void fillForward() {
+        addAfterBoundary(store.findLogsBetween(roomId, boundary, Long.MAX_VALUE));
+    }
+
+    private void fillBackward() {
+        int limit = PAGE_SIZE + boundaryCount;
+        long to = boundary == Long.MAX_VALUE ? Long.MAX_VALUE : boundary + 1;
+        List<ChatLog> logs = store.findLogsBefore(roomId, to, limit);
+        if (logs.size() < limit) {
+            exhausted = true;
+        }
+        addAfterBoundary(logs);
+    }
+
+    private void addAfterBoundary(List<ChatLog> logs) {
+        int skipped = 0;
+        for (ChatLog log : logs) {
+            if (skipped < boundaryCount && log.timestamp() == boundary) {
+                skipped++;
+                continue;
+            }
+            page.add(log);
+        }
+    }
+
+    @Override
+    public ChatLog next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ChatLog log = page.poll();
+        if (log.timestamp() == boundary) {
+            boundaryCount++;
+        } else {
+            boundary = log.timestamp();
+            boundaryCount = 1;
+        }
+        return log;
+    }
+
+    @Override
+    public HistoryPosition position() {
+        if (direction == ScanDirection.FORWARD) {
+            return HistoryPosition.atTime(boundaryCount == 0 || boundary == Long.MAX_VALUE ? boundary : boundary + 1);
+        }
+        if (exhausted && page.isEmpty()) {
+            return HistoryPosition.oldest();
+        }
+        if (boundaryCount == 0 && boundary == Long.MAX_VALUE) {
+            return HistoryPosition.latest();
+        }
+        return HistoryPosition.atTime(boundaryCount == 0 ? boundary + 1 : boundary);
+    }
+
+    @Override
+    public ScanDirection direction() {
+        return direction;
+    }
+}
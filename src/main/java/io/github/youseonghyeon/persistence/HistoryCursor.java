@@ -0,0 +1,61 @@
+package io.github.youseonghyeon.persistence;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 채팅방 로그를 한 방향으로 하나씩 읽는 커서입니다.
+ *
+ * <p>커서는 결과를 미리 만들어 두지 않고 {@link #next()} 호출 시점에 저장소의 자료구조에서 직접 읽으므로,
+ * 방에 로그가 아무리 많아도 사용하는 메모리는 일정합니다. 순방향 커서는 열린 뒤 추가된 로그도 읽으며,
+ * 보존 정책으로 이미 삭제된 로그는 건너뜁니다. 한 커서는 한 스레드에서만 사용해야 합니다.</p>
+ */
+public interface HistoryCursor extends Iterator<ChatLog> {
+
+    /**
+     * 지금까지 읽은 로그 바로 다음 지점입니다. 같은 방향으로 다시 열면 이어서 읽을 수 있습니다.
+     */
+    HistoryPosition position();
+
+    ScanDirection direction();
+
+    /**
+     * 남은 로그를 지연 평가되는 순차 {@link Stream}으로 반환합니다.
+     */
+    default Stream<ChatLog> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 아무 로그도 없는 커서입니다.
+     */
+    static HistoryCursor empty(HistoryPosition position, ScanDirection direction) {
+        return new HistoryCursor() {
+            @Override
+            public HistoryPosition position() {
+                return position;
+            }
+
+            @Override
+            public ScanDirection direction() {
+                return direction;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return false;
+            }
+
+            @Override
+            public ChatLog next() {
+                throw new NoSuchElementException();
+            }
+        };
+    }
+}
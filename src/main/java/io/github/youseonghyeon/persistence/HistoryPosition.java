@@ -0,0 +1,86 @@
+package io.github.youseonghyeon.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 채팅방 로그 사이의 한 지점을 가리키는 위치입니다. 커서는 이 지점에서 시작하여
+ * {@link ScanDirection#FORWARD}이면 뒤쪽(최근) 로그를, {@link ScanDirection#BACKWARD}이면 앞쪽(과거) 로그를 읽습니다.
+ *
+ * <p>{@link HistoryCursor#position()}이 반환하는 위치는 {@link #toToken()}으로 문자열로 바꿔 클라이언트에 전달하고,
+ * 다음 페이지 요청 시 {@link #fromToken(String)}으로 복원하여 이어서 읽을 수 있습니다.
+ * 토큰의 내용은 저장소 구현에 따라 달라질 수 있으므로 클라이언트는 해석하지 않아야 합니다.</p>
+ *
+ * @param kind  위치 종류
+ * @param value {@link Kind#INDEX}이면 방 안에서의 로그 순번, {@link Kind#TIME}이면 timestamp (Epoch millis)
+ */
+public record HistoryPosition(Kind kind, long value) {
+
+    private static final HistoryPosition OLDEST = new HistoryPosition(Kind.OLDEST, 0);
+    private static final HistoryPosition LATEST = new HistoryPosition(Kind.LATEST, 0);
+
+    public enum Kind {
+        /** 보관 중인 가장 오래된 로그 앞 */
+        OLDEST,
+        /** 가장 최근 로그 뒤 */
+        LATEST,
+        /** 순번이 {@code value}인 로그 앞 (저장소가 커서 위치로 반환하는 값) */
+        INDEX,
+        /** timestamp 가 {@code value} 이상인 첫 로그 앞 */
+        TIME
+    }
+
+    public HistoryPosition {
+        if (kind == null) {
+            throw new IllegalArgumentException("Position kind must not be null.");
+        }
+        if (kind == Kind.INDEX && value < 0) {
+            throw new IllegalArgumentException("Position index must not be negative: " + value);
+        }
+    }
+
+    public static HistoryPosition oldest() {
+        return OLDEST;
+    }
+
+    public static HistoryPosition latest() {
+        return LATEST;
+    }
+
+    /**
+     * timestamp 가 {@code unixMillis} 이상인 첫 로그 앞을 가리킵니다. 순방향으로 읽으면 그 시점 이후,
+     * 역방향으로 읽으면 그 시점 이전의 로그를 얻습니다.
+     */
+    public static HistoryPosition atTime(long unixMillis) {
+        return new HistoryPosition(Kind.TIME, unixMillis);
+    }
+
+    /**
+     * 저장소 구현에서 커서 위치를 만들 때 사용합니다.
+     */
+    public static HistoryPosition ofIndex(long index) {
+        return new HistoryPosition(Kind.INDEX, index);
+    }
+
+    public String toToken() {
+        ByteBuffer buffer = ByteBuffer.allocate(9).put((byte) kind.ordinal()).putLong(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException 토큰 형식이 올바르지 않은 경우
+     */
+    public static HistoryPosition fromToken(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid history position token: " + token, e);
+        }
+        if (bytes.length != 9 || bytes[0] < 0 || bytes[0] >= Kind.values().length) {
+            throw new IllegalArgumentException("Invalid history position token: " + token);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new HistoryPosition(Kind.values()[buffer.get()], buffer.getLong());
+    }
+}
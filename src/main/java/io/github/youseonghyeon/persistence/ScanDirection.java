@@ -0,0 +1,15 @@
+package io.github.youseonghyeon.persistence;
+
+/**
+ * {@link HistoryCursor}가 로그를 읽는 방향입니다.
+ */
+public enum ScanDirection {
+    /**
+     * 오래된 로그에서 최근 로그 방향
+     */
+    FORWARD,
+    /**
+     * 최근 로그에서 오래된 로그 방향
+     */
+    BACKWARD
+}
@@ -0,0 +1,13 @@
+package io.github.youseonghyeon.persistence.impl;
+
+/**
+ * {@link MappedSegmentChatHistoryStore}가 기록한 내용을 디스크에 강제로 반영(fsync)하는 시점입니다.
+ */
+public enum FsyncPolicy {
+    /** 저장 호출마다 반영합니다. {@code saveAll}은 배치 전체를 기록한 뒤 한 번 반영합니다(group commit). */
+    EVERY_WRITE,
+    /** 백그라운드 스레드가 일정 간격으로 변경된 세그먼트를 반영합니다. */
+    INTERVAL,
+    /** 명시적으로 반영하지 않고 운영체제의 page cache 정책에 맡깁니다. (종료 시에는 반영) */
+    OS
+}
@@ -1,49 +1,233 @@
 package io.github.youseonghyeon.persistence.impl;
 
+import io.github.youseonghyeon.core.LazyInitializer;
 import io.github.youseonghyeon.persistence.ChatHistoryStore;
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
 import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
-public class InMemoryChatHistoryStore implements ChatHistoryStore {
+/**
+ * 채팅방별 {@link RoomLog}에 로그를 보관하는 메모리 저장소입니다.
+ *
+ * <p>저장은 방 로그 끝에 추가하는 상수 시간 작업이며, 조회는 정렬 없이 수행합니다.
+ * 최근 N개 조회는 끝에서부터 역방향으로 읽고, 시간 구간 조회는 timestamp 인덱스에 대한 이진 탐색으로
+ * 시작 위치를 찾으므로 비용은 O(log n + k) 입니다.</p>
+ *
+ * <p>{@link RetentionPolicy}를 지정하면 {@link #initialize()} 이후 백그라운드 스레드가 주기적으로 방별 개수/보관 기간을 넘은 오래된 로그를 지우고,
+ * 전체 추정 사용량이 상한을 넘으면 가장 오래 활동이 없던 방부터 지웁니다. 한 주기에 방마다
+ * {@link RetentionPolicy#getEvictionBatch()}개까지만 지우므로 정리가 여러 주기에 나뉘어 진행되며,
+ * 읽기는 항상 삭제되지 않은 연속 구간만 봅니다. 비워진 방은 저장소에서 제거됩니다.</p>
+ */
+public class InMemoryChatHistoryStore implements ChatHistoryStore, LazyInitializer, AutoCloseable {
 
-    private final ConcurrentHashMap<Long, CopyOnWriteArrayList<ChatLog>> store = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(InMemoryChatHistoryStore.class);
+
+    private final ConcurrentHashMap<Long, RoomLog> store = new ConcurrentHashMap<>();
+    private final RetentionPolicy retentionPolicy;
+    private ScheduledExecutorService retentionScheduler;
+    private final LongAdder evictedMessages = new LongAdder();
+    private final LongAdder evictedRooms = new LongAdder();
+
+    public InMemoryChatHistoryStore() {
+        this(RetentionPolicy.unlimited());
+    }
+
+    public InMemoryChatHistoryStore(RetentionPolicy retentionPolicy) {
+        if (retentionPolicy == null) {
+            throw new IllegalArgumentException("Retention policy must not be null.");
+        }
+        this.retentionPolicy = retentionPolicy;
+    }
+
+    /**
+     * 보관 정책이 있으면 주기적인 정리를 시작합니다. 여러 번 호출해도 한 번만 수행하며, 저장과 조회는 호출 전에도 가능합니다.
+     * {@link #close()} 뒤에 다시 호출하면 정리를 다시 시작합니다(엔진 재시작).
+     */
+    @Override
+    public synchronized void initialize() {
+        if (retentionScheduler != null || retentionPolicy.isUnlimited()) {
+            return;
+        }
+        retentionScheduler = Executors.newSingleThreadScheduledExecutor(runner -> {
+            Thread thread = new Thread(runner, "chat-history-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = retentionPolicy.getSweepInterval().toMillis();
+        retentionScheduler.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
 
     @Override
     public void save(ChatLog log) {
-        store.computeIfAbsent(log.roomId(), k -> new CopyOnWriteArrayList<>())
-                .add(log);
+        while (!store.computeIfAbsent(log.roomId(), k -> new RoomLog()).append(log)) {
+            // 정리 스레드가 방금 제거한 방이면 새 로그로 다시 시도
+        }
+    }
+
+    /**
+     * 방별로 묶어 방마다 한 번의 락 획득으로 저장합니다.
+     */
+    @Override
+    public void saveAll(List<ChatLog> logs) {
+        Map<Long, List<ChatLog>> byRoom = new LinkedHashMap<>();
+        for (ChatLog log : logs) {
+            byRoom.computeIfAbsent(log.roomId(), k -> new ArrayList<>()).add(log);
+        }
+        byRoom.forEach((roomId, roomLogs) -> {
+            while (!store.computeIfAbsent(roomId, k -> new RoomLog()).appendAll(roomLogs)) {
+                // save 와 동일
+            }
+        });
+    }
+
+    @Override
+    public HistoryCursor openCursor(long roomId, HistoryPosition position, ScanDirection direction) {
+        RoomLog roomLog = store.get(roomId);
+        return roomLog == null ? HistoryCursor.empty(position, direction) : roomLog.cursor(position, direction);
     }
 
     @Override
     public List<ChatLog> findRecentLogs(long roomId, int limit) {
-        List<ChatLog> logs = store.getOrDefault(roomId, new CopyOnWriteArrayList<>());
-        return logs.stream()
-                .sorted(Comparator.comparingLong(ChatLog::timestamp).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        RoomLog roomLog = store.get(roomId);
+        return roomLog == null ? Collections.emptyList() : roomLog.recent(limit);
     }
 
     @Override
     public List<ChatLog> findLogsBetween(long roomId, long fromUnix, long toUnix) {
-        return store.getOrDefault(roomId, new CopyOnWriteArrayList<>())
-                .stream()
-                .filter(log -> log.timestamp() >= fromUnix && log.timestamp() <= toUnix)
-                .sorted(Comparator.comparingLong(ChatLog::timestamp))
-                .collect(Collectors.toList());
+        RoomLog roomLog = store.get(roomId);
+        return roomLog == null ? Collections.emptyList() : roomLog.between(fromUnix, toUnix);
     }
 
     @Override
     public List<ChatLog> findLogsBefore(long roomId, long toUnix, int limit) {
-        return store.getOrDefault(roomId, new CopyOnWriteArrayList<>())
-                .stream()
-                .filter(log -> log.timestamp() < toUnix)
-                .sorted(Comparator.comparingLong(ChatLog::timestamp).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        RoomLog roomLog = store.get(roomId);
+        return roomLog == null ? Collections.emptyList() : roomLog.before(toUnix, limit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (retentionScheduler != null) {
+            retentionScheduler.shutdownNow();
+            retentionScheduler = null;
+        }
+    }
+
+    // -- retention
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Chat history retention sweep failed", e);
+        }
+    }
+
+    /**
+     * 보존 정책에 따라 한 주기만큼 정리합니다.
+     */
+    void sweep() {
+        int batch = retentionPolicy.getEvictionBatch();
+        long ageCutoff = retentionPolicy.getMaxAge() == null
+                ? Long.MIN_VALUE
+                : System.currentTimeMillis() - retentionPolicy.getMaxAge().toMillis();
+
+        for (Map.Entry<Long, RoomLog> entry : store.entrySet()) {
+            RoomLog roomLog = entry.getValue();
+            long overflow = roomLog.size() - retentionPolicy.getMaxMessagesPerRoom();
+            if (overflow > 0) {
+                evictedMessages.add(roomLog.evictOldest((int) Math.min(overflow, batch)));
+            }
+            if (ageCutoff != Long.MIN_VALUE) {
+                evictedMessages.add(roomLog.evictOlderThan(ageCutoff, batch));
+            }
+            removeIfEmpty(entry.getKey(), roomLog);
+        }
+
+        long maxBytes = retentionPolicy.getMaxBytes();
+        long total = getRetainedBytes();
+        if (total <= maxBytes) {
+            return;
+        }
+        List<Map.Entry<Long, RoomLog>> leastRecentlyActive = new ArrayList<>(store.entrySet());
+        leastRecentlyActive.sort(Comparator.comparingLong(entry -> entry.getValue().lastActiveMillis()));
+        for (Map.Entry<Long, RoomLog> entry : leastRecentlyActive) {
+            if (total <= maxBytes) {
+                break;
+            }
+            RoomLog roomLog = entry.getValue();
+            long before = roomLog.retainedBytes();
+            evictedMessages.add(roomLog.evictOldest(batch));
+            total -= before - roomLog.retainedBytes();
+            removeIfEmpty(entry.getKey(), roomLog);
+        }
+    }
+
+    private void removeIfEmpty(long roomId, RoomLog roomLog) {
+        if (roomLog.size() > 0) {
+            return;
+        }
+        boolean[] removed = {false};
+        store.computeIfPresent(roomId, (id, current) -> {
+            if (current == roomLog && current.retireIfEmpty()) {
+                removed[0] = true;
+                return null;
+            }
+            return current;
+        });
+        if (removed[0]) {
+            evictedRooms.increment();
+        }
+    }
+
+    // -- monitoring
+
+    /**
+     * 보관 중인 로그의 추정 메모리 사용량(바이트)입니다.
+     */
+    public long getRetainedBytes() {
+        long total = 0;
+        for (RoomLog roomLog : store.values()) {
+            total += roomLog.retainedBytes();
+        }
+        return total;
+    }
+
+    public long getRetainedMessageCount() {
+        long total = 0;
+        for (RoomLog roomLog : store.values()) {
+            total += roomLog.size();
+        }
+        return total;
+    }
+
+    public int getRoomCount() {
+        return store.size();
+    }
+
+    public long getEvictedMessageCount() {
+        return evictedMessages.sum();
+    }
+
+    public long getEvictedRoomCount() {
+        return evictedRooms.sum();
+    }
+
+    public RetentionPolicy getRetentionPolicy() {
+        return retentionPolicy;
     }
 }
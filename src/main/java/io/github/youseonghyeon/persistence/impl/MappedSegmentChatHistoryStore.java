@@ -0,0 +1,957 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.core.LazyInitializer;
+import io.github.youseonghyeon.persistence.ChatHistoryStore;
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * 채팅방별 메모리 매핑 세그먼트 파일에 로그를 추가 기록하는 영속 저장소입니다.
+ *
+ * <pre>
+ * {directory}/room-{roomId}/{baseIndex(20자리)}.seg   고정 크기 세그먼트 파일
+ *
+ * record := bodyLength(i32) | crc32c(body)(i32) | body
+ * body   := timestamp(i64) | senderLength(i32, -1=null) | sender(UTF-8) | messageLength(i32, -1=null) | message(UTF-8)
+ * </pre>
+ *
+ * <ul>
+ *     <li>세그먼트는 생성 시 {@code segmentSize}만큼 매핑되며, 다음 레코드가 들어가지 않으면 새 세그먼트로 넘어갑니다(roll).
+ *     {@code bodyLength == 0}은 세그먼트의 끝을 의미합니다.</li>
+ *     <li>세그먼트마다 {@value #INDEX_INTERVAL}개 레코드마다 (timestamp, 위치)를 기록한 sparse index 를 메모리에 두어,
+ *     시간 구간 조회는 이진 탐색으로 시작 위치를 찾은 뒤 순차로 읽습니다.</li>
+ *     <li>세그먼트 파일 이름은 첫 레코드의 방 내 순번이며, 커서 위치({@link HistoryPosition})도 이 순번을 사용합니다.</li>
+ *     <li>디스크 반영 시점은 {@link FsyncPolicy}로 지정합니다.</li>
+ *     <li>매핑과 파일 핸들은 저장소 전체에서 최대 {@code maxOpenSegments}개만 유지합니다. 넘으면 가장 오래 사용되지 않은
+ *     세그먼트를 디스크에 반영한 뒤 닫으며, 다음에 읽거나 쓸 때 다시 엽니다. 세그먼트마다의 인덱스와 레코드 수는 메모리에 남으므로
+ *     방이 많아도 열린 매핑 수와 파일 핸들 수는 늘지 않습니다.</li>
+ *     <li>{@link #initialize()}에서 모든 세그먼트를 검사하여 인덱스를 다시 만들고, 길이나 CRC 가 맞지 않는 첫 레코드부터
+ *     마지막 세그먼트의 끝까지를 0으로 지워 기록 도중 끊긴(torn) 꼬리를 잘라냅니다. 엔진은 시작 시 다른 컴포넌트와 병렬로
+ *     이를 호출하며, 직접 생성해 사용할 때는 저장 전에 호출해야 합니다.</li>
+ * </ul>
+ *
+ * <p>방마다 쓰기는 한 스레드씩({@code synchronized}) 수행하며, 읽기는 기록 위치(volatile)까지의 내용만 락 없이 읽습니다.
+ * timestamp 는 {@link InMemoryChatHistoryStore}와 마찬가지로 방 단위로 증가한다고 가정합니다.</p>
+ */
+public class MappedSegmentChatHistoryStore implements ChatHistoryStore, LazyInitializer, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedSegmentChatHistoryStore.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final Duration DEFAULT_FSYNC_INTERVAL = Duration.ofMillis(100);
+    public static final int DEFAULT_MAX_OPEN_SEGMENTS = 256;
+
+    static final int INDEX_INTERVAL = 64;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int BODY_FIXED_SIZE = 8 + 4 + 4;
+    private static final String ROOM_DIRECTORY_PREFIX = "room-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final Map<Long, RoomSegments> rooms = new ConcurrentHashMap<>();
+    private final OpenSegments openSegments;
+    private ScheduledExecutorService fsyncScheduler;
+    private volatile boolean initialized = false;
+    private volatile boolean closed = false;
+
+    public MappedSegmentChatHistoryStore(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, FsyncPolicy.INTERVAL, DEFAULT_FSYNC_INTERVAL);
+    }
+
+    /**
+     * 설정만 검증하며, 디렉터리의 기존 세그먼트 복구는 {@link #initialize()}에서 수행합니다.
+     *
+     * @param directory     세그먼트를 보관할 디렉터리
+     * @param segmentSize   세그먼트 파일 하나의 크기
+     * @param fsyncPolicy   디스크 반영 정책
+     * @param fsyncInterval {@link FsyncPolicy#INTERVAL}의 반영 간격
+     */
+    public MappedSegmentChatHistoryStore(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this(directory, segmentSize, fsyncPolicy, fsyncInterval, DEFAULT_MAX_OPEN_SEGMENTS);
+    }
+
+    /**
+     * @param directory       세그먼트를 보관할 디렉터리
+     * @param segmentSize     세그먼트 파일 하나의 크기
+     * @param fsyncPolicy     디스크 반영 정책
+     * @param fsyncInterval   {@link FsyncPolicy#INTERVAL}의 반영 간격
+     * @param maxOpenSegments 동시에 매핑해 둘 최대 세그먼트 수
+     */
+    public MappedSegmentChatHistoryStore(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval,
+                                         int maxOpenSegments) {
+        if (directory == null || fsyncPolicy == null) {
+            throw new IllegalArgumentException("Directory and fsync policy must not be null.");
+        }
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes.");
+        }
+        if (maxOpenSegments < 1) {
+            throw new IllegalArgumentException("Max open segments must be positive.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.openSegments = new OpenSegments(maxOpenSegments);
+        this.fsyncIntervalMillis = Math.max(1, (fsyncInterval == null ? DEFAULT_FSYNC_INTERVAL : fsyncInterval).toMillis());
+    }
+
+    /**
+     * 디렉터리의 기존 세그먼트를 복구하고, {@link FsyncPolicy#INTERVAL}이면 주기적인 디스크 반영을 시작합니다.
+     * 여러 번 호출해도 한 번만 수행합니다.
+     */
+    @Override
+    public synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("Segment store is closed.");
+        }
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open segment store: " + directory, e);
+        }
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            fsyncScheduler = Executors.newSingleThreadScheduledExecutor(runner -> {
+                Thread thread = new Thread(runner, "segment-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            fsyncScheduler.scheduleWithFixedDelay(this::forceDirty, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        initialized = true;
+    }
+
+    @Override
+    public void save(ChatLog log) {
+        saveAll(List.of(log));
+    }
+
+    @Override
+    public void saveAll(List<ChatLog> logs) {
+        if (closed) {
+            throw new IllegalStateException("Segment store is closed.");
+        }
+        if (!initialized) {
+            throw new IllegalStateException("Segment store is not initialized.");
+        }
+        Map<Long, List<ChatLog>> byRoom = new LinkedHashMap<>();
+        for (ChatLog chatLog : logs) {
+            byRoom.computeIfAbsent(chatLog.roomId(), k -> new ArrayList<>()).add(chatLog);
+        }
+        byRoom.forEach((roomId, roomLogs) -> room(roomId).appendAll(roomLogs));
+    }
+
+    @Override
+    public HistoryCursor openCursor(long roomId, HistoryPosition position, ScanDirection direction) {
+        RoomSegments room = rooms.get(roomId);
+        return room == null ? HistoryCursor.empty(position, direction) : room.cursor(position, direction);
+    }
+
+    @Override
+    public List<ChatLog> findRecentLogs(long roomId, int limit) {
+        return findLogsBefore(roomId, Long.MAX_VALUE, limit);
+    }
+
+    @Override
+    public List<ChatLog> findLogsBetween(long roomId, long fromUnix, long toUnix) {
+        RoomSegments room = rooms.get(roomId);
+        if (room == null || fromUnix > toUnix) {
+            return Collections.emptyList();
+        }
+        List<ChatLog> result = new ArrayList<>();
+        for (Segment segment : room.segments) {
+            if (segment.recordCount == 0 || segment.maxTimestamp < fromUnix) {
+                continue;
+            }
+            if (segment.firstTimestamp() > toUnix) {
+                break;
+            }
+            segment.collectBetween(roomId, fromUnix, toUnix, result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<ChatLog> findLogsBefore(long roomId, long toUnix, int limit) {
+        RoomSegments room = rooms.get(roomId);
+        if (room == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<ChatLog> result = new ArrayList<>(Math.min(limit, 1024));
+        Segment[] segments = room.segments;
+        for (int i = segments.length - 1; i >= 0 && result.size() < limit; i--) {
+            Segment segment = segments[i];
+            if (segment.recordCount == 0 || segment.firstTimestamp() >= toUnix) {
+                continue;
+            }
+            segment.collectBefore(roomId, toUnix, limit, result);
+        }
+        return result;
+    }
+
+    /**
+     * 모든 세그먼트를 디스크에 반영하고 파일을 닫습니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (fsyncScheduler != null) {
+            fsyncScheduler.shutdown();
+        }
+        for (RoomSegments room : rooms.values()) {
+            synchronized (room) {
+                for (Segment segment : room.segments) {
+                    segment.force();
+                    segment.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 현재 매핑되어 있는 세그먼트 수입니다. (대략적인 값)
+     */
+    public int getOpenSegmentCount() {
+        return openSegments.size();
+    }
+
+    private RoomSegments room(long roomId) {
+        return rooms.computeIfAbsent(roomId, id -> new RoomSegments(id, directory.resolve(ROOM_DIRECTORY_PREFIX + id)));
+    }
+
+    private void forceDirty() {
+        try {
+            for (RoomSegments room : rooms.values()) {
+                for (Segment segment : room.segments) {
+                    if (segment.dirty) {
+                        segment.force();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to fsync segments", e);
+        }
+    }
+
+    // -- recovery
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> roomDirectories = Files.newDirectoryStream(directory, ROOM_DIRECTORY_PREFIX + "*")) {
+            for (Path roomDirectory : roomDirectories) {
+                long roomId;
+                try {
+                    roomId = Long.parseLong(roomDirectory.getFileName().toString().substring(ROOM_DIRECTORY_PREFIX.length()));
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping unknown directory {}", roomDirectory);
+                    continue;
+                }
+                RoomSegments room = new RoomSegments(roomId, roomDirectory);
+                room.recover();
+                rooms.put(roomId, room);
+            }
+        }
+    }
+
+    // -- encoding
+
+    private static byte[] utf8OrNull(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ChatLog decode(long roomId, ByteBuffer view, int bodyPosition) {
+        long timestamp = view.getLong(bodyPosition);
+        int position = bodyPosition + 8;
+        int senderLength = view.getInt(position);
+        position += 4;
+        String sender = readString(view, position, senderLength);
+        position += Math.max(0, senderLength);
+        int messageLength = view.getInt(position);
+        position += 4;
+        String message = readString(view, position, messageLength);
+        return new ChatLog(roomId, timestamp, sender, message);
+    }
+
+    private static String readString(ByteBuffer view, int position, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        view.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // -- per room
+
+    /**
+     * 한 방의 세그먼트 목록입니다. 목록은 쓰기 스레드가 새 배열로 교체하며, 읽기 스레드는 스냅샷을 사용합니다.
+     */
+    private final class RoomSegments {
+        private final long roomId;
+        private final Path roomDirectory;
+        private volatile Segment[] segments = new Segment[0];
+        private long maxTimestamp = Long.MIN_VALUE;
+        private long nextIndex = 0;
+
+        private RoomSegments(long roomId, Path roomDirectory) {
+            this.roomId = roomId;
+            this.roomDirectory = roomDirectory;
+        }
+
+        private synchronized void appendAll(List<ChatLog> logs) {
+            // 기록 중인 세그먼트는 닫히지 않도록 고정
+            Segment active = activeSegment();
+            active.pin();
+            try {
+                for (ChatLog chatLog : logs) {
+                    byte[] sender = utf8OrNull(chatLog.sender());
+                    byte[] message = utf8OrNull(chatLog.message());
+                    int bodyLength = BODY_FIXED_SIZE + (sender == null ? 0 : sender.length) + (message == null ? 0 : message.length);
+                    int recordLength = RECORD_HEADER_SIZE + bodyLength;
+                    if (recordLength > segmentSize) {
+                        throw new IllegalArgumentException("Chat log is larger than a segment: " + recordLength + " bytes");
+                    }
+                    if (!active.fits(recordLength)) {
+                        Segment rolled = roll();
+                        active.unpin();
+                        active = rolled;
+                        active.pin();
+                    }
+                    maxTimestamp = Math.max(maxTimestamp, chatLog.timestamp());
+                    active.append(chatLog.timestamp(), maxTimestamp, sender, message, bodyLength);
+                    nextIndex++;
+                }
+                if (fsyncPolicy == FsyncPolicy.EVERY_WRITE) {
+                    active.force();
+                }
+            } finally {
+                active.unpin();
+            }
+        }
+
+        private Segment activeSegment() {
+            Segment[] current = segments;
+            return current.length == 0 ? roll() : current[current.length - 1];
+        }
+
+        private Segment roll() {
+            Segment[] current = segments;
+            if (current.length > 0 && fsyncPolicy != FsyncPolicy.OS) {
+                current[current.length - 1].force();
+            }
+            try {
+                Files.createDirectories(roomDirectory);
+                Segment created = Segment.create(roomDirectory.resolve(String.format("%020d%s", nextIndex, SEGMENT_SUFFIX)),
+                        segmentSize, nextIndex, openSegments);
+                Segment[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = created;
+                segments = grown;
+                return created;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create segment for room " + roomId, e);
+            }
+        }
+
+        private synchronized void recover() throws IOException {
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(roomDirectory, "*" + SEGMENT_SUFFIX)) {
+                stream.forEach(files::add);
+            }
+            files.sort(null);
+            List<Segment> recovered = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                Segment segment = Segment.open(files.get(i), segmentSize, nextIndex, openSegments);
+                maxTimestamp = segment.recover(maxTimestamp, i == files.size() - 1);
+                openSegments.touch(segment);
+                nextIndex = segment.baseIndex + segment.recordCount;
+                recovered.add(segment);
+            }
+            segments = recovered.toArray(new Segment[0]);
+        }
+
+        private HistoryCursor cursor(HistoryPosition position, ScanDirection direction) {
+            Segment[] snapshot = segments;
+            long first = snapshot.length == 0 ? 0 : snapshot[0].baseIndex;
+            long end = endIndex(snapshot);
+            long gap = switch (position.kind()) {
+                case OLDEST -> first;
+                case LATEST -> end;
+                case INDEX -> Math.max(first, Math.min(end, position.value()));
+                case TIME -> indexAtTime(snapshot, position.value());
+            };
+            return new SegmentCursor(this, gap, direction);
+        }
+
+        private long indexAtTime(Segment[] snapshot, long timestamp) {
+            for (Segment segment : snapshot) {
+                if (segment.recordCount > 0 && segment.maxTimestamp >= timestamp) {
+                    return segment.baseIndex + segment.ordinalAtTime(timestamp);
+                }
+            }
+            return endIndex(snapshot);
+        }
+    }
+
+    private static long endIndex(Segment[] snapshot) {
+        if (snapshot.length == 0) {
+            return 0;
+        }
+        Segment last = snapshot[snapshot.length - 1];
+        return last.baseIndex + last.recordCount;
+    }
+
+    /**
+     * {@code index} 번째 레코드를 담은 세그먼트를 찾습니다. 아직 기록되지 않은 순번이면 null 입니다.
+     */
+    private static Segment segmentContaining(Segment[] snapshot, long index) {
+        for (int i = snapshot.length - 1; i >= 0; i--) {
+            Segment segment = snapshot[i];
+            if (segment.baseIndex <= index) {
+                return index < segment.baseIndex + segment.recordCount ? segment : null;
+            }
+        }
+        return null;
+    }
+
+    // -- cursor
+
+    /**
+     * 세그먼트를 직접 읽는 커서입니다. 순방향은 레코드 위치를 따라 한 건씩 읽고, 역방향은 sparse index 블록
+     * (최대 {@value #INDEX_INTERVAL}건) 하나를 순방향으로 읽어 두고 뒤에서부터 반환하므로 메모리 사용량이 일정합니다.
+     */
+    private static final class SegmentCursor implements HistoryCursor {
+        private final RoomSegments room;
+        private final ScanDirection direction;
+        private long gap;
+
+        // 순방향: 다음 레코드(순번 gap)의 세그먼트와 위치
+        private Segment segment;
+        private ByteBuffer view;
+        private int position;
+        private long positionIndex = -1;
+
+        // 역방향: 읽어 둔 블록과 첫 레코드의 순번
+        private final List<ChatLog> block = new ArrayList<>(INDEX_INTERVAL);
+        private long blockFirstIndex = -1;
+
+        private SegmentCursor(RoomSegments room, long gap, ScanDirection direction) {
+            this.room = room;
+            this.gap = gap;
+            this.direction = direction;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return direction == ScanDirection.FORWARD ? hasNextForward() : hasNextBackward();
+        }
+
+        private boolean hasNextForward() {
+            if (segment != null && positionIndex == gap && gap < segment.baseIndex + segment.recordCount) {
+                return true;
+            }
+            Segment found = segmentContaining(room.segments, gap);
+            if (found == null) {
+                return false;
+            }
+            segment = found;
+            view = found.view();
+            position = found.positionOf(view, (int) (gap - found.baseIndex));
+            positionIndex = gap;
+            return true;
+        }
+
+        private boolean hasNextBackward() {
+            long target = gap - 1;
+            if (target < 0) {
+                return false;
+            }
+            if (blockFirstIndex >= 0 && target >= blockFirstIndex && target < blockFirstIndex + block.size()) {
+                return true;
+            }
+            Segment found = segmentContaining(room.segments, target);
+            if (found == null) {
+                return false;
+            }
+            int ordinal = (int) (target - found.baseIndex);
+            int firstOrdinal = ordinal - ordinal % INDEX_INTERVAL;
+            found.readBlock(room.roomId, firstOrdinal, ordinal, block);
+            blockFirstIndex = found.baseIndex + firstOrdinal;
+            return true;
+        }
+
+        @Override
+        public ChatLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (direction == ScanDirection.BACKWARD) {
+                gap--;
+                return block.get((int) (gap - blockFirstIndex));
+            }
+            ChatLog chatLog = decode(room.roomId, view, position + RECORD_HEADER_SIZE);
+            position += RECORD_HEADER_SIZE + view.getInt(position);
+            positionIndex++;
+            gap++;
+            return chatLog;
+        }
+
+        @Override
+        public HistoryPosition position() {
+            return HistoryPosition.ofIndex(gap);
+        }
+
+        @Override
+        public ScanDirection direction() {
+            return direction;
+        }
+    }
+
+    // -- segment
+
+    /**
+     * 세그먼트의 매핑과 파일 핸들을 열어 둔 채로 둡니다. 읽기/쓰기 중에도 닫힐 수 있으며, 이미 가져간 버퍼는 닫힌 뒤에도
+     * 유효하므로 읽기 스레드는 {@link #view()}로 얻은 버퍼를 계속 사용합니다. 쓰기 중인 세그먼트는 {@link #pin()}으로 고정합니다.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final OpenSegments openSegments;
+        private final int capacity;
+        private final CRC32C crc = new CRC32C();
+        private final long baseIndex;
+
+        // 매핑 상태는 세그먼트 락으로 보호 (buffer 는 락 없이 읽음)
+        private FileChannel channel;
+        private volatile MappedByteBuffer buffer;
+        private int pins = 0;
+        private boolean closed = false;
+
+        private volatile int writePosition = 0;
+        private volatile int recordCount = 0;
+        private volatile long maxTimestamp = Long.MIN_VALUE;
+        private volatile boolean dirty = false;
+
+        // sparse index: INDEX_INTERVAL 개 레코드마다 (직전까지의 최대 timestamp, 레코드 위치)
+        private volatile long[] indexTimestamps = new long[16];
+        private volatile int[] indexPositions = new int[16];
+        private volatile int indexSize = 0;
+
+        private Segment(Path path, FileChannel channel, int capacity, long baseIndex, OpenSegments openSegments) throws IOException {
+            this.path = path;
+            this.baseIndex = baseIndex;
+            this.openSegments = openSegments;
+            this.channel = channel;
+            this.capacity = capacity;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        static Segment create(Path path, int capacity, long baseIndex, OpenSegments openSegments) throws IOException {
+            return new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE),
+                    capacity, baseIndex, openSegments);
+        }
+
+        /**
+         * @param expectedBaseIndex 파일 이름에서 순번을 읽지 못했을 때 사용할 순번
+         */
+        static Segment open(Path path, int capacity, long expectedBaseIndex, OpenSegments openSegments) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int size = (int) Math.max(channel.size(), capacity);
+            String name = path.getFileName().toString();
+            long baseIndex;
+            try {
+                baseIndex = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                baseIndex = expectedBaseIndex;
+            }
+            return new Segment(path, channel, size, baseIndex, openSegments);
+        }
+
+        /**
+         * 읽기용 버퍼를 반환합니다. 닫혀 있으면 다시 매핑합니다.
+         */
+        ByteBuffer view() {
+            MappedByteBuffer current = buffer;
+            if (current == null) {
+                current = remap();
+            }
+            openSegments.touch(this);
+            return current.duplicate();
+        }
+
+        /**
+         * 쓰기 동안 닫히지 않도록 고정합니다. 닫혀 있으면 다시 매핑합니다.
+         */
+        void pin() {
+            synchronized (this) {
+                remap();
+                pins++;
+            }
+            openSegments.touch(this);
+        }
+
+        synchronized void unpin() {
+            pins--;
+        }
+
+        private synchronized MappedByteBuffer remap() {
+            if (buffer == null) {
+                if (closed) {
+                    throw new IllegalStateException("Segment store is closed.");
+                }
+                try {
+                    channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to map segment " + path, e);
+                }
+            }
+            return buffer;
+        }
+
+        /**
+         * 디스크에 반영한 뒤 매핑과 파일 핸들을 닫습니다. 쓰기 중으로 고정되어 있으면 닫지 않습니다.
+         *
+         * @return 닫았거나 이미 닫혀 있으면 true, 쓰기 중이라 닫지 못했으면 false
+         */
+        synchronized boolean unmap() {
+            if (buffer == null) {
+                return true;
+            }
+            if (pins > 0) {
+                return false;
+            }
+            if (dirty) {
+                force();
+            }
+            closeChannel();
+            buffer = null;
+            return true;
+        }
+
+        boolean fits(int recordLength) {
+            // 끝 표시(bodyLength == 0)를 위해 4바이트를 남겨 둠
+            return writePosition + recordLength + 4 <= capacity;
+        }
+
+        long firstTimestamp() {
+            return indexSize == 0 ? Long.MAX_VALUE : indexTimestamps[0];
+        }
+
+        void append(long timestamp, long watermark, byte[] sender, byte[] message, int bodyLength) {
+            int position = writePosition;
+            int body = position + RECORD_HEADER_SIZE;
+            buffer.putLong(body, timestamp);
+            int cursor = body + 8;
+            cursor = putBytes(cursor, sender);
+            putBytes(cursor, message);
+
+            crc.reset();
+            crc.update(buffer.slice(body, bodyLength));
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.putInt(position, bodyLength);
+
+            if (recordCount % INDEX_INTERVAL == 0) {
+                addIndex(watermark, position);
+            }
+            maxTimestamp = watermark;
+            dirty = true;
+            recordCount = recordCount + 1;
+            writePosition = position + RECORD_HEADER_SIZE + bodyLength;
+        }
+
+        private int putBytes(int position, byte[] bytes) {
+            if (bytes == null) {
+                buffer.putInt(position, -1);
+                return position + 4;
+            }
+            buffer.putInt(position, bytes.length);
+            buffer.put(position + 4, bytes);
+            return position + 4 + bytes.length;
+        }
+
+        private void addIndex(long timestamp, int position) {
+            int size = indexSize;
+            if (size == indexTimestamps.length) {
+                long[] timestamps = Arrays.copyOf(indexTimestamps, size * 2);
+                int[] positions = Arrays.copyOf(indexPositions, size * 2);
+                timestamps[size] = timestamp;
+                positions[size] = position;
+                indexTimestamps = timestamps;
+                indexPositions = positions;
+            } else {
+                indexTimestamps[size] = timestamp;
+                indexPositions[size] = position;
+            }
+            indexSize = size + 1;
+        }
+
+        /**
+         * 레코드를 처음부터 검사하여 인덱스를 다시 만들고, 손상된 레코드를 만나면 거기서 끝난 것으로 봅니다.
+         * 마지막 세그먼트라면 손상된 꼬리를 0으로 지웁니다.
+         *
+         * @return 이 세그먼트까지 반영한 최대 timestamp
+         */
+        long recover(long previousMaxTimestamp, boolean last) {
+            long watermark = previousMaxTimestamp;
+            int position = 0;
+            while (position + RECORD_HEADER_SIZE <= capacity) {
+                int bodyLength = buffer.getInt(position);
+                if (bodyLength < BODY_FIXED_SIZE || position + RECORD_HEADER_SIZE + bodyLength > capacity) {
+                    break;
+                }
+                crc.reset();
+                crc.update(buffer.slice(position + RECORD_HEADER_SIZE, bodyLength));
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    break;
+                }
+                watermark = Math.max(watermark, buffer.getLong(position + RECORD_HEADER_SIZE));
+                if (recordCount % INDEX_INTERVAL == 0) {
+                    addIndex(watermark, position);
+                }
+                recordCount++;
+                position += RECORD_HEADER_SIZE + bodyLength;
+            }
+            writePosition = position;
+            maxTimestamp = watermark;
+            if (last && position < capacity && buffer.getInt(position) != 0) {
+                int torn = truncateTail(position);
+                log.warn("Truncated torn tail of segment {}: {} bytes from position {}", path, torn, position);
+            }
+            return watermark;
+        }
+
+        private int truncateTail(int from) {
+            byte[] zeros = new byte[8192];
+            int end = from;
+            // 끝까지 0으로 지움 (이미 0인 구간을 만나도 손상 레코드가 더 뒤에 있을 수 있으므로 끝까지 진행)
+            while (end < capacity) {
+                int length = Math.min(zeros.length, capacity - end);
+                buffer.put(end, zeros, 0, length);
+                end += length;
+            }
+            buffer.force();
+            return end - from;
+        }
+
+        void collectBetween(long roomId, long from, long to, List<ChatLog> result) {
+            int end = writePosition;
+            int count = indexSize;
+            long[] timestamps = indexTimestamps;
+            int[] positions = indexPositions;
+            // 인덱스 timestamp 가 from 보다 작은 마지막 항목부터 읽기 시작
+            int slot = lowerBound(timestamps, count, from) - 1;
+            int position = slot < 0 ? 0 : positions[slot];
+            long watermark = slot < 0 ? Long.MIN_VALUE : timestamps[slot];
+            ByteBuffer view = view();
+            while (position < end) {
+                int bodyLength = view.getInt(position);
+                long timestamp = view.getLong(position + RECORD_HEADER_SIZE);
+                watermark = Math.max(watermark, timestamp);
+                if (watermark > to) {
+                    return;
+                }
+                if (timestamp >= from && timestamp <= to) {
+                    result.add(decode(roomId, view, position + RECORD_HEADER_SIZE));
+                }
+                position += RECORD_HEADER_SIZE + bodyLength;
+            }
+        }
+
+        void collectBefore(long roomId, long to, int limit, List<ChatLog> result) {
+            int end = writePosition;
+            int count = indexSize;
+            int[] positions = indexPositions;
+            int firstExcludedBlock = lowerBound(indexTimestamps, count, to);
+            ByteBuffer view = view();
+            List<ChatLog> block = new ArrayList<>(INDEX_INTERVAL);
+            // 블록 단위로 뒤에서부터: 블록 안은 순방향으로 읽은 뒤 역순으로 담음
+            for (int b = Math.min(firstExcludedBlock, count) - 1; b >= 0 && result.size() < limit; b--) {
+                int position = positions[b];
+                int blockEnd = b + 1 < count ? positions[b + 1] : end;
+                block.clear();
+                while (position < blockEnd) {
+                    int bodyLength = view.getInt(position);
+                    if (view.getLong(position + RECORD_HEADER_SIZE) < to) {
+                        block.add(decode(roomId, view, position + RECORD_HEADER_SIZE));
+                    }
+                    position += RECORD_HEADER_SIZE + bodyLength;
+                }
+                for (int i = block.size() - 1; i >= 0 && result.size() < limit; i--) {
+                    result.add(block.get(i));
+                }
+            }
+        }
+
+        /**
+         * 세그먼트 안에서 {@code ordinal} 번째 레코드의 위치를 찾습니다.
+         */
+        int positionOf(ByteBuffer view, int ordinal) {
+            int position = indexPositions[ordinal / INDEX_INTERVAL];
+            for (int skip = ordinal % INDEX_INTERVAL; skip > 0; skip--) {
+                position += RECORD_HEADER_SIZE + view.getInt(position);
+            }
+            return position;
+        }
+
+        /**
+         * 누적 최대 timestamp 가 {@code timestamp} 이상인 첫 레코드의 세그먼트 내 순번을 찾습니다.
+         */
+        int ordinalAtTime(long timestamp) {
+            int count = recordCount;
+            int size = indexSize;
+            long[] timestamps = indexTimestamps;
+            int slot = lowerBound(timestamps, size, timestamp) - 1;
+            if (slot < 0) {
+                return 0;
+            }
+            int ordinal = slot * INDEX_INTERVAL;
+            int position = indexPositions[slot];
+            long watermark = timestamps[slot];
+            ByteBuffer view = view();
+            while (ordinal < count) {
+                watermark = Math.max(watermark, view.getLong(position + RECORD_HEADER_SIZE));
+                if (watermark >= timestamp) {
+                    return ordinal;
+                }
+                position += RECORD_HEADER_SIZE + view.getInt(position);
+                ordinal++;
+            }
+            return count;
+        }
+
+        /**
+         * 순번 {@code fromOrdinal}부터 {@code toOrdinal}까지(포함)를 순서대로 읽어 {@code block}을 채웁니다.
+         */
+        void readBlock(long roomId, int fromOrdinal, int toOrdinal, List<ChatLog> block) {
+            block.clear();
+            ByteBuffer view = view();
+            int position = positionOf(view, fromOrdinal);
+            for (int ordinal = fromOrdinal; ordinal <= toOrdinal; ordinal++) {
+                block.add(decode(roomId, view, position + RECORD_HEADER_SIZE));
+                position += RECORD_HEADER_SIZE + view.getInt(position);
+            }
+        }
+
+        private static int lowerBound(long[] timestamps, int size, long target) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        synchronized void force() {
+            dirty = false;
+            MappedByteBuffer current = buffer;
+            if (current != null) {
+                current.force();
+            }
+        }
+
+        /**
+         * 파일 핸들을 닫습니다. 이미 가져간 버퍼로는 계속 읽을 수 있지만 다시 매핑하지는 않습니다.
+         */
+        synchronized void close() {
+            closed = true;
+            closeChannel();
+        }
+
+        private void closeChannel() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close segment {}", path, e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * 매핑된 세그먼트를 최근 사용 순으로 추적합니다. 상한을 넘으면 가장 오래 사용되지 않은 세그먼트부터 닫습니다.
+     * 쓰기 중으로 고정된 세그먼트는 닫지 않고 다시 최근 사용으로 돌려 놓습니다.
+     */
+    private static final class OpenSegments {
+        private final int maxOpenSegments;
+        private final LinkedHashMap<Segment, Boolean> recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
+
+        private OpenSegments(int maxOpenSegments) {
+            this.maxOpenSegments = maxOpenSegments;
+        }
+
+        void touch(Segment segment) {
+            List<Segment> idle;
+            synchronized (this) {
+                recentlyUsed.put(segment, Boolean.TRUE);
+                if (recentlyUsed.size() <= maxOpenSegments) {
+                    return;
+                }
+                idle = new ArrayList<>(recentlyUsed.size() - maxOpenSegments);
+                Iterator<Segment> iterator = recentlyUsed.keySet().iterator();
+                while (recentlyUsed.size() > maxOpenSegments && iterator.hasNext()) {
+                    Segment eldest = iterator.next();
+                    if (eldest != segment) {
+                        iterator.remove();
+                        idle.add(eldest);
+                    }
+                }
+            }
+            // 세그먼트 락은 목록 락 밖에서 잡음 (쓰기 스레드는 세그먼트 락을 잡은 채 touch 하지 않음)
+            for (Segment candidate : idle) {
+                if (!candidate.unmap()) {
+                    synchronized (this) {
+                        recentlyUsed.put(candidate, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+
+        synchronized int size() {
+            return recentlyUsed.size();
+        }
+    }
+}
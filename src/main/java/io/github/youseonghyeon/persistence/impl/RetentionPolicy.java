@@ -0,0 +1,106 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import java.time.Duration;
+
+/**
+ * {@link InMemoryChatHistoryStore}가 로그를 얼마나 보관할지 정하는 정책입니다.
+ *
+ * <p>지정하지 않은 항목은 제한하지 않습니다.
+ * <pre>{@code
+ * RetentionPolicy policy = RetentionPolicy.unlimited()
+ *     .maxMessagesPerRoom(10_000)
+ *     .maxAge(Duration.ofDays(1))
+ *     .maxBytes(512L * 1024 * 1024);
+ * }</pre>
+ * </p>
+ */
+public class RetentionPolicy {
+
+    public static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofSeconds(1);
+    public static final int DEFAULT_EVICTION_BATCH = 10_000;
+
+    private int maxMessagesPerRoom = Integer.MAX_VALUE;
+    private Duration maxAge;
+    private long maxBytes = Long.MAX_VALUE;
+    private Duration sweepInterval = DEFAULT_SWEEP_INTERVAL;
+    private int evictionBatch = DEFAULT_EVICTION_BATCH;
+
+    public static RetentionPolicy unlimited() {
+        return new RetentionPolicy();
+    }
+
+    /**
+     * 방마다 보관할 최대 메시지 수를 설정합니다.
+     */
+    public RetentionPolicy maxMessagesPerRoom(int maxMessagesPerRoom) {
+        if (maxMessagesPerRoom <= 0) {
+            throw new IllegalArgumentException("Max messages per room must be positive.");
+        }
+        this.maxMessagesPerRoom = maxMessagesPerRoom;
+        return this;
+    }
+
+    /**
+     * 메시지를 보관할 최대 기간을 설정합니다. (메시지 timestamp 기준)
+     */
+    public RetentionPolicy maxAge(Duration maxAge) {
+        if (maxAge == null || maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("Max age must be positive.");
+        }
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * 전체 방의 추정 메모리 사용량 상한을 설정합니다. 초과하면 가장 오래 활동이 없던 방부터 오래된 메시지를 삭제합니다.
+     */
+    public RetentionPolicy maxBytes(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be positive.");
+        }
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * 백그라운드 정리 주기와, 한 주기에 방 하나에서 삭제할 최대 메시지 수를 설정합니다.
+     * 한 번에 많이 지우지 않고 나누어 지워 쓰기/읽기와의 경합을 줄입니다.
+     */
+    public RetentionPolicy sweep(Duration sweepInterval, int evictionBatch) {
+        if (sweepInterval == null || sweepInterval.isNegative() || sweepInterval.isZero() || evictionBatch <= 0) {
+            throw new IllegalArgumentException("Sweep interval and eviction batch must be positive.");
+        }
+        this.sweepInterval = sweepInterval;
+        this.evictionBatch = evictionBatch;
+        return this;
+    }
+
+    public boolean isUnlimited() {
+        return maxMessagesPerRoom == Integer.MAX_VALUE && maxAge == null && maxBytes == Long.MAX_VALUE;
+    }
+
+    public int getMaxMessagesPerRoom() {
+        return maxMessagesPerRoom;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public int getEvictionBatch() {
+        return evictionBatch;
+    }
+
+    @Override
+    public String toString() {
+        return "RetentionPolicy{maxMessagesPerRoom=" + maxMessagesPerRoom + ", maxAge=" + maxAge + ", maxBytes=" + maxBytes + "}";
+    }
+}
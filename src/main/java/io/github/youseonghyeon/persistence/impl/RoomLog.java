@@ -0,0 +1,504 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 한 채팅방의 로그를 시간순으로 보관하는 append-only 구조입니다.
+ *
+ * <p>로그는 고정 크기({@value #CHUNK_SIZE}) 청크에 나누어 저장하며, 청크마다 timestamp 배열을 함께 둡니다.
+ * 추가 시에는 마지막 청크에 한 칸 기록할 뿐이고, 청크가 가득 차면 새 청크를 붙입니다.
+ * 청크 목록을 늘릴 때도 청크 참조만 복사하므로 추가 비용은 상수(분할 상환)입니다. 메시지가 적은 방이 청크 하나를
+ * 통째로 잡지 않도록 방의 첫 청크는 {@value #INITIAL_CHUNK_CAPACITY}칸으로 시작해 두 배씩 늘립니다.</p>
+ *
+ * <p>쓰기와 보존 정책에 따른 앞부분 삭제는 한 번에 하나의 스레드만 수행하며({@code synchronized}), 읽기는 락 없이 수행합니다.
+ * 읽기 스레드는 {@code start}, {@code size}, 청크 목록({@link Directory})의 스냅샷을 사용하므로, 삭제가 동시에 일어나도
+ * 항상 연속된 구간 {@code [start, size)}을 완전한 상태로 봅니다. 삭제된 청크는 새 목록에서만 빠지므로
+ * 이전 스냅샷을 읽는 중인 스레드에는 영향이 없습니다. 삭제된 칸은 메시지를 바로 해제하도록 비우므로, 읽기 스레드는
+ * 비어 있는 칸을 이미 삭제된 앞부분으로 보고 건너뜁니다.</p>
+ *
+ * <p>{@link #retainedBytes()}는 메시지 추정 크기에 청크 배열 크기({@link #chunkBytes(int)})를 더한 값입니다.</p>
+ *
+ * <p>timestamp 는 방 단위로 증가한다고 가정합니다. 이전보다 작은 timestamp 가 들어오면 인덱스에는 직전 최대값으로
+ * 기록하여 이진 탐색이 가능한 상태를 유지합니다(결과 필터링은 실제 timestamp 로 수행).</p>
+ */
+class RoomLog {
+
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    static final int INITIAL_CHUNK_CAPACITY = 16;
+
+    private volatile Directory directory;
+    private volatile long start;
+    private volatile long size;
+    private volatile long retainedBytes = 0;
+    private volatile long lastActiveMillis = System.currentTimeMillis();
+    private long maxTimestamp;
+    private boolean retired = false;
+
+    RoomLog() {
+        this(0, Long.MIN_VALUE);
+    }
+
+    /**
+     * 앞부분이 다른 곳(예: {@link TieredChatHistoryStore}의 디스크 계층)에 있는 방의 로그를 이어서 보관합니다.
+     *
+     * @param firstIndex   첫 로그의 순번
+     * @param maxTimestamp 앞부분의 최대 timestamp
+     */
+    RoomLog(long firstIndex, long maxTimestamp) {
+        this.directory = new Directory(new Chunk[4], firstIndex >>> CHUNK_SHIFT);
+        this.start = firstIndex;
+        this.size = firstIndex;
+        this.maxTimestamp = maxTimestamp;
+    }
+
+    /**
+     * @return 추가했으면 true, 이미 저장소에서 제거된 로그라서 추가하지 못했으면 false
+     */
+    synchronized boolean append(ChatLog log) {
+        if (retired) {
+            return false;
+        }
+        write(size, log);
+        size = size + 1;
+        lastActiveMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    synchronized boolean appendAll(List<ChatLog> logs) {
+        if (retired) {
+            return false;
+        }
+        long index = size;
+        for (ChatLog log : logs) {
+            write(index++, log);
+        }
+        size = index;
+        lastActiveMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    private void write(long index, ChatLog log) {
+        Chunk chunk = chunkForWrite(index);
+        maxTimestamp = Math.max(maxTimestamp, log.timestamp());
+        chunk.entries[(int) (index & CHUNK_MASK)] = log;
+        chunk.timestamps[(int) (index & CHUNK_MASK)] = maxTimestamp;
+        retainedBytes += estimateBytes(log);
+    }
+
+    private Chunk chunkForWrite(long index) {
+        Directory current = directory;
+        int slot = (int) ((index >>> CHUNK_SHIFT) - current.baseChunk);
+        if (slot == current.chunks.length) {
+            Chunk[] grown = new Chunk[current.chunks.length * 2];
+            System.arraycopy(current.chunks, 0, grown, 0, current.chunks.length);
+            current = new Directory(grown, current.baseChunk);
+            directory = current;
+        }
+        int offset = (int) (index & CHUNK_MASK);
+        Chunk chunk = current.chunks[slot];
+        if (chunk == null) {
+            // 첫 청크만 작게 시작하고, 이미 청크 하나를 채운 방은 바로 전체 크기로 만듦
+            chunk = new Chunk(slot == 0 ? capacityFor(offset, INITIAL_CHUNK_CAPACITY) : CHUNK_SIZE);
+            retainedBytes += chunkBytes(chunk.capacity());
+            current.chunks[slot] = chunk;
+        } else if (offset >= chunk.capacity()) {
+            // 읽기 스레드는 size 를 읽은 뒤 청크를 가져오므로, size 를 올리기 전에 교체하면 항상 늘어난 청크를 봄
+            Chunk grown = chunk.grow(capacityFor(offset, chunk.capacity() * 2));
+            retainedBytes += chunkBytes(grown.capacity()) - chunkBytes(chunk.capacity());
+            current.chunks[slot] = grown;
+            chunk = grown;
+        }
+        return chunk;
+    }
+
+    private static int capacityFor(int offset, int atLeast) {
+        return Math.min(CHUNK_SIZE, Math.max(atLeast, Integer.highestOneBit(offset) << 1));
+    }
+
+    // -- eviction
+
+    /**
+     * 가장 오래된 로그부터 최대 {@code count}개를 삭제합니다.
+     *
+     * @return 삭제한 개수
+     */
+    synchronized int evictOldest(int count) {
+        return evict(Math.min(count, size - start), Long.MAX_VALUE);
+    }
+
+    /**
+     * {@code timestamp < cutoff} 인 오래된 로그를 앞에서부터 최대 {@code maxCount}개 삭제합니다.
+     *
+     * @return 삭제한 개수
+     */
+    synchronized int evictOlderThan(long cutoff, int maxCount) {
+        return evict(Math.min(maxCount, size - start), cutoff);
+    }
+
+    private int evict(long maxCount, long cutoff) {
+        Directory current = directory;
+        long from = start;
+        long to = from;
+        long freed = 0;
+        while (to - from < maxCount) {
+            ChatLog log = entry(current, to);
+            if (log.timestamp() >= cutoff) {
+                break;
+            }
+            freed += estimateBytes(log);
+            to++;
+        }
+        if (to == from) {
+            return 0;
+        }
+        start = to;
+        retainedBytes -= freed;
+        // start 를 먼저 게시한 뒤 칸을 비워, 빈 칸을 본 읽기 스레드가 다시 읽으면 새 start 를 보게 함
+        for (long i = from; i < to; i++) {
+            current.chunk(i).entries[(int) (i & CHUNK_MASK)] = null;
+        }
+        if (to == size) {
+            releaseAllChunks(current, to);
+        } else {
+            releaseChunks(current, to);
+        }
+        return (int) (to - from);
+    }
+
+    /**
+     * 모든 항목이 삭제된 앞쪽 청크를 뺀 새 청크 목록을 게시합니다.
+     */
+    private void releaseChunks(Directory current, long newStart) {
+        long firstLiveChunk = newStart >>> CHUNK_SHIFT;
+        int released = (int) (firstLiveChunk - current.baseChunk);
+        if (released <= 0) {
+            return;
+        }
+        for (int i = 0; i < released; i++) {
+            retainedBytes -= chunkBytes(current.chunks[i].capacity());
+        }
+        int length = Math.max(4, Integer.highestOneBit(Math.max(1, current.chunks.length - released)) * 2);
+        Chunk[] trimmed = new Chunk[length];
+        System.arraycopy(current.chunks, released, trimmed, 0, current.chunks.length - released);
+        directory = new Directory(trimmed, firstLiveChunk);
+    }
+
+    /**
+     * 로그가 모두 삭제되었으면 청크를 모두 해제합니다. 이후 추가되는 로그는 다시 작은 청크부터 시작합니다.
+     */
+    private void releaseAllChunks(Directory current, long newStart) {
+        for (Chunk chunk : current.chunks) {
+            if (chunk != null) {
+                retainedBytes -= chunkBytes(chunk.capacity());
+            }
+        }
+        directory = new Directory(new Chunk[4], newStart >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * 비어 있으면 더 이상 추가되지 않도록 표시합니다. 저장소에서 방을 제거할 때 사용합니다.
+     *
+     * @return 제거해도 되면 true
+     */
+    synchronized boolean retireIfEmpty() {
+        if (size == start) {
+            retired = true;
+        }
+        return retired;
+    }
+
+    static long estimateBytes(ChatLog log) {
+        // ChatLog 객체 + String 2개(헤더, 배열 헤더 포함)의 대략적인 크기
+        return 32 + stringBytes(log.sender()) + stringBytes(log.message());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    /**
+     * {@code capacity}칸 청크의 대략적인 크기입니다. 청크 객체 + 참조 배열 + timestamp 배열 (참조는 8바이트로 계산)
+     */
+    static long chunkBytes(int capacity) {
+        return 16 + 2 * 16 + (long) capacity * (8 + 8);
+    }
+
+    long size() {
+        return size - start;
+    }
+
+    long startIndex() {
+        return start;
+    }
+
+    long endIndex() {
+        return size;
+    }
+
+    long retainedBytes() {
+        return retainedBytes;
+    }
+
+    long lastActiveMillis() {
+        return lastActiveMillis;
+    }
+
+    // -- queries
+
+    /**
+     * 가장 최근 로그부터 최대 {@code limit}개를 역순으로 반환합니다.
+     */
+    List<ChatLog> recent(int limit) {
+        long end = size;
+        Directory snapshot = directory;
+        long begin = Math.max(start, snapshot.firstIndex());
+        int count = (int) Math.min(Math.max(limit, 0), end - begin);
+        List<ChatLog> result = new ArrayList<>(count);
+        for (long i = end - 1; i >= end - count; i--) {
+            ChatLog log = entry(snapshot, i);
+            if (log == null) {
+                break;
+            }
+            result.add(log);
+        }
+        return result;
+    }
+
+    /**
+     * {@code from <= timestamp <= to} 인 로그를 시간순으로 반환합니다.
+     */
+    List<ChatLog> between(long from, long to) {
+        if (from > to) {
+            return Collections.emptyList();
+        }
+        long end = size;
+        Directory snapshot = directory;
+        long begin = Math.max(start, snapshot.firstIndex());
+        List<ChatLog> result = new ArrayList<>();
+        for (long i = lowerBound(snapshot, begin, end, from); i < end && timestamp(snapshot, i) <= to; i++) {
+            ChatLog log = entry(snapshot, i);
+            if (log != null && log.timestamp() >= from && log.timestamp() <= to) {
+                result.add(log);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@code timestamp < to} 인 로그 중 최근 것부터 최대 {@code limit}개를 역순으로 반환합니다.
+     */
+    List<ChatLog> before(long to, int limit) {
+        long end = size;
+        Directory snapshot = directory;
+        long begin = Math.max(start, snapshot.firstIndex());
+        List<ChatLog> result = new ArrayList<>((int) Math.min(Math.max(limit, 0), end - begin));
+        for (long i = lowerBound(snapshot, begin, end, to) - 1; i >= begin && result.size() < limit; i--) {
+            ChatLog log = entry(snapshot, i);
+            if (log == null) {
+                break;
+            }
+            if (log.timestamp() < to) {
+                result.add(log);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@code index} 번째 로그를 반환합니다. 이미 삭제되었거나 아직 기록되지 않은 순번이면 null 입니다.
+     */
+    ChatLog get(long index) {
+        long end = size;
+        Directory snapshot = directory;
+        if (index < Math.max(start, snapshot.firstIndex()) || index >= end) {
+            return null;
+        }
+        return entry(snapshot, index);
+    }
+
+    /**
+     * {@code from}번째부터 최대 {@code count}개를 시간순으로 반환합니다.
+     */
+    List<ChatLog> range(long from, int count) {
+        long end = size;
+        Directory snapshot = directory;
+        long begin = Math.max(from, Math.max(start, snapshot.firstIndex()));
+        long last = Math.min(end, begin + count);
+        List<ChatLog> result = new ArrayList<>((int) Math.max(0, last - begin));
+        for (long i = begin; i < last; i++) {
+            ChatLog log = entry(snapshot, i);
+            if (log != null) {
+                result.add(log);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 앞에서부터 {@code timestamp < cutoff} 인 로그가 몇 개 연속되는지 셉니다.
+     */
+    long countOlderThan(long cutoff) {
+        long end = size;
+        Directory snapshot = directory;
+        long begin = Math.max(start, snapshot.firstIndex());
+        return lowerBound(snapshot, begin, end, cutoff) - begin;
+    }
+
+    /**
+     * {@code timestamp >= target} 일 수 있는 첫 순번을 찾습니다. 없으면 마지막 순번 다음을 반환합니다.
+     */
+    long indexAtTime(long target) {
+        long end = size;
+        Directory snapshot = directory;
+        return lowerBound(snapshot, Math.max(start, snapshot.firstIndex()), end, target);
+    }
+
+    /**
+     * {@code position}부터 {@code direction} 방향으로 읽는 커서를 엽니다. 커서 위치는 로그 순번이며,
+     * 순번은 앞부분이 삭제되어도 바뀌지 않으므로 토큰으로 이어 읽을 수 있습니다.
+     */
+    HistoryCursor cursor(HistoryPosition position, ScanDirection direction) {
+        long end = size;
+        Directory snapshot = directory;
+        long begin = Math.max(start, snapshot.firstIndex());
+        long gap = switch (position.kind()) {
+            case OLDEST -> begin;
+            case LATEST -> end;
+            case INDEX -> Math.max(begin, Math.min(end, position.value()));
+            case TIME -> lowerBound(snapshot, begin, end, position.value());
+        };
+        return new Cursor(gap, direction);
+    }
+
+    /**
+     * {@link #hasNext()}마다 {@code size}, {@link Directory}, {@code start}를 다시 읽어 삭제와 추가를 따라갑니다.
+     * 다음 항목은 {@link #hasNext()}에서 미리 읽어 두므로, 그 사이에 삭제가 일어나도 {@link #next()}는 항상 값을 반환합니다.
+     * 미리 읽은 칸이 이미 비워졌다면 새 {@code start}를 다시 읽어 위치를 맞춥니다.
+     */
+    private final class Cursor implements HistoryCursor {
+        private final ScanDirection direction;
+        private long gap;
+        private ChatLog pending;
+
+        private Cursor(long gap, ScanDirection direction) {
+            this.gap = gap;
+            this.direction = direction;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null) {
+                long end = size;
+                Directory snapshot = directory;
+                long begin = Math.max(start, snapshot.firstIndex());
+                if (direction == ScanDirection.FORWARD) {
+                    gap = Math.max(gap, begin);
+                    if (gap >= end) {
+                        return false;
+                    }
+                    pending = entry(snapshot, gap);
+                } else {
+                    gap = Math.min(gap, end);
+                    if (gap <= begin) {
+                        return false;
+                    }
+                    pending = entry(snapshot, gap - 1);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ChatLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ChatLog log = pending;
+            pending = null;
+            gap += direction == ScanDirection.FORWARD ? 1 : -1;
+            return log;
+        }
+
+        @Override
+        public HistoryPosition position() {
+            return HistoryPosition.ofIndex(gap);
+        }
+
+        @Override
+        public ScanDirection direction() {
+            return direction;
+        }
+    }
+
+    /**
+     * 인덱스 timestamp 가 {@code target} 이상인 첫 위치를 찾습니다. 없으면 {@code end}를 반환합니다.
+     */
+    private static long lowerBound(Directory snapshot, long begin, long end, long target) {
+        long low = begin;
+        long high = end;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (timestamp(snapshot, mid) < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static ChatLog entry(Directory snapshot, long index) {
+        return snapshot.chunk(index).entries[(int) (index & CHUNK_MASK)];
+    }
+
+    private static long timestamp(Directory snapshot, long index) {
+        return snapshot.chunk(index).timestamps[(int) (index & CHUNK_MASK)];
+    }
+
+    /**
+     * 청크 목록과 첫 청크의 번호. 앞쪽 청크를 해제할 때 새 인스턴스로 교체됩니다.
+     */
+    private record Directory(Chunk[] chunks, long baseChunk) {
+
+        Chunk chunk(long index) {
+            return chunks[(int) ((index >>> CHUNK_SHIFT) - baseChunk)];
+        }
+
+        long firstIndex() {
+            return baseChunk << CHUNK_SHIFT;
+        }
+    }
+
+    private static final class Chunk {
+        final ChatLog[] entries;
+        final long[] timestamps;
+
+        Chunk(int capacity) {
+            this(new ChatLog[capacity], new long[capacity]);
+        }
+
+        private Chunk(ChatLog[] entries, long[] timestamps) {
+            this.entries = entries;
+            this.timestamps = timestamps;
+        }
+
+        int capacity() {
+            return entries.length;
+        }
+
+        Chunk grow(int capacity) {
+            return new Chunk(Arrays.copyOf(entries, capacity), Arrays.copyOf(timestamps, capacity));
+        }
+    }
+}
@@ -0,0 +1,988 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.core.LazyInitializer;
+import io.github.youseonghyeon.persistence.ChatHistoryStore;
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 최근 로그는 메모리({@link RoomLog})에, 오래된 로그는 블록 단위로 압축한 디스크 세그먼트에 보관하는 2계층 저장소입니다.
+ *
+ * <pre>
+ * {directory}/room-{roomId}/{firstIndex(20자리)}.cold   추가 기록 세그먼트 파일
+ *
+ * block  := magic(i32) | compressedLength(i32) | rawLength(i32) | count(i32) | firstIndex(i64)
+ *           | startWatermark(i64) | maxWatermark(i64) | crc32c(compressed)(i32) | deflate(raw)
+ * raw    := count × (timestamp(i64) | senderLength(i32, -1=null) | sender(UTF-8) | messageLength(i32, -1=null) | message(UTF-8))
+ * </pre>
+ *
+ * <ul>
+ *     <li>저장은 메모리 계층 끝에 추가할 뿐이며, 백그라운드 스레드가 {@link TieringPolicy}의 기간/개수/용량 기준을 넘은
+ *     오래된 로그를 {@link TieringPolicy#getBlockRecords()}개씩 {@link Deflater}로 압축해 디스크 계층으로 옮깁니다.
+ *     블록을 기록하고 디스크에 반영한 뒤에 메모리에서 지우므로 옮기는 중에도 빠지는 로그가 없습니다.</li>
+ *     <li>블록 헤더가 블록의 시간 인덱스입니다. 모든 블록 헤더를 메모리에 두고(블록당 수십 바이트), 시간 조회는
+ *     {@code maxWatermark}에 대한 이진 탐색으로 필요한 블록만 찾아 압축을 풉니다. 압축을 푼 블록은
+ *     {@link TieringPolicy#getBlockCacheSize()}개까지 LRU 로 캐시합니다.</li>
+ *     <li>두 계층은 같은 방 내 순번을 사용하며, 커서는 순번으로 두 계층을 이어 읽습니다. 같은 순번이 잠시 두 계층에 모두
+ *     있을 수 있지만 커서는 순번당 한 번만 읽으므로 중복되지 않습니다.</li>
+ *     <li>{@link TieringPolicy#getColdMaxAge()}를 지정하면 모든 로그가 기간을 넘은 세그먼트 파일을 삭제합니다.</li>
+ *     <li>메모리 계층은 종료 시({@link #close()}) 모두 디스크 계층으로 옮겨지며, 다시 열면 {@link #initialize()}에서
+ *     블록 헤더를 읽어 인덱스를 복구합니다. 마지막 세그먼트는 CRC 를 검사하여 기록 도중 끊긴 꼬리 블록을 잘라냅니다.</li>
+ * </ul>
+ *
+ * <p>timestamp 는 {@link InMemoryChatHistoryStore}와 마찬가지로 방 단위로 증가한다고 가정합니다.</p>
+ */
+public class TieredChatHistoryStore implements ChatHistoryStore, LazyInitializer, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredChatHistoryStore.class);
+
+    static final int BLOCK_MAGIC = 0x43484C42;
+    static final int BLOCK_HEADER_SIZE = 4 * 4 + 8 * 3 + 4;
+    private static final int RECORD_FIXED_SIZE = 8 + 4 + 4;
+    private static final String ROOM_DIRECTORY_PREFIX = "room-";
+    private static final String SEGMENT_SUFFIX = ".cold";
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final Path directory;
+    private final TieringPolicy tieringPolicy;
+    private final Map<Long, TieredRoom> rooms = new ConcurrentHashMap<>();
+    private final BlockCache blockCache;
+    private final Deflater deflater;
+    private final Object tieringLock = new Object();
+    private ScheduledExecutorService tieringScheduler;
+    private volatile boolean initialized = false;
+    private volatile boolean closed = false;
+
+    private final LongAdder tieredMessages = new LongAdder();
+    private final LongAdder tieredBlocks = new LongAdder();
+    private final LongAdder deletedSegments = new LongAdder();
+    private final LongAdder blockReads = new LongAdder();
+
+    public TieredChatHistoryStore(Path directory) {
+        this(directory, TieringPolicy.defaults());
+    }
+
+    /**
+     * 설정만 검증하며, 디렉터리의 기존 세그먼트 복구와 백그라운드 이동은 {@link #initialize()}에서 시작합니다.
+     *
+     * @param directory     디스크 계층 세그먼트를 보관할 디렉터리
+     * @param tieringPolicy 계층 이동 기준
+     */
+    public TieredChatHistoryStore(Path directory, TieringPolicy tieringPolicy) {
+        if (directory == null || tieringPolicy == null) {
+            throw new IllegalArgumentException("Directory and tiering policy must not be null.");
+        }
+        this.directory = directory;
+        this.tieringPolicy = tieringPolicy;
+        this.blockCache = new BlockCache(tieringPolicy.getBlockCacheSize());
+        this.deflater = new Deflater(tieringPolicy.getCompressionLevel());
+    }
+
+    /**
+     * 디렉터리의 기존 세그먼트를 복구한 뒤 백그라운드 이동을 시작합니다. 여러 번 호출해도 한 번만 수행합니다.
+     */
+    @Override
+    public synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("Tiered store is closed.");
+        }
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open tiered store: " + directory, e);
+        }
+        tieringScheduler = Executors.newSingleThreadScheduledExecutor(runner -> {
+            Thread thread = new Thread(runner, "chat-history-tiering");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = tieringPolicy.getTieringInterval().toMillis();
+        tieringScheduler.scheduleWithFixedDelay(this::tierQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        initialized = true;
+    }
+
+    @Override
+    public void save(ChatLog log) {
+        if (closed) {
+            throw new IllegalStateException("Tiered store is closed.");
+        }
+        if (!initialized) {
+            throw new IllegalStateException("Tiered store is not initialized.");
+        }
+        room(log.roomId()).hot.append(log);
+    }
+
+    @Override
+    public void saveAll(List<ChatLog> logs) {
+        if (closed) {
+            throw new IllegalStateException("Tiered store is closed.");
+        }
+        if (!initialized) {
+            throw new IllegalStateException("Tiered store is not initialized.");
+        }
+        Map<Long, List<ChatLog>> byRoom = new LinkedHashMap<>();
+        for (ChatLog chatLog : logs) {
+            byRoom.computeIfAbsent(chatLog.roomId(), k -> new ArrayList<>()).add(chatLog);
+        }
+        byRoom.forEach((roomId, roomLogs) -> room(roomId).hot.appendAll(roomLogs));
+    }
+
+    @Override
+    public HistoryCursor openCursor(long roomId, HistoryPosition position, ScanDirection direction) {
+        TieredRoom room = rooms.get(roomId);
+        return room == null ? HistoryCursor.empty(position, direction) : room.cursor(position, direction);
+    }
+
+    /**
+     * 이동을 멈추고 메모리 계층을 모두 디스크 계층으로 옮긴 뒤 파일을 닫습니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (tieringScheduler != null) {
+            tieringScheduler.shutdown();
+            try {
+                tieringScheduler.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (tieringLock) {
+            for (TieredRoom room : rooms.values()) {
+                try {
+                    while (room.hot.size() > 0 && moveToCold(room, (int) Math.min(room.hot.size(), tieringPolicy.getTieringBatch())) > 0) {
+                        // 남은 메모리 계층을 모두 옮김
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to move room {} to cold tier on close; {} logs lost", room.roomId, room.hot.size(), e);
+                }
+                room.closeSegments();
+            }
+            deflater.end();
+        }
+    }
+
+    private TieredRoom room(long roomId) {
+        return rooms.computeIfAbsent(roomId, id -> new TieredRoom(id, directory.resolve(ROOM_DIRECTORY_PREFIX + id)));
+    }
+
+    // -- tiering
+
+    private void tierQuietly() {
+        try {
+            tier();
+        } catch (RuntimeException e) {
+            log.error("Chat history tiering failed", e);
+        }
+    }
+
+    /**
+     * 이동 기준에 따라 한 주기만큼 옮기고, 보관 기간이 지난 세그먼트를 삭제합니다.
+     */
+    void tier() {
+        synchronized (tieringLock) {
+            if (closed) {
+                return;
+            }
+            int blockRecords = tieringPolicy.getBlockRecords();
+            int batch = tieringPolicy.getTieringBatch();
+            long hotCutoff = System.currentTimeMillis() - tieringPolicy.getHotMaxAge().toMillis();
+
+            for (TieredRoom room : rooms.values()) {
+                long overflow = Math.max(0, room.hot.size() - tieringPolicy.getHotMaxMessagesPerRoom());
+                long count = Math.max(overflow - overflow % blockRecords, room.hot.countOlderThan(hotCutoff));
+                if (count > 0) {
+                    moveToCold(room, (int) Math.min(count, batch));
+                }
+            }
+
+            if (tieringPolicy.getHotMaxBytes() != Long.MAX_VALUE) {
+                moveOverBudget(batch);
+            }
+            if (tieringPolicy.getColdMaxAge() != null) {
+                long coldCutoff = System.currentTimeMillis() - tieringPolicy.getColdMaxAge().toMillis();
+                rooms.values().forEach(room -> room.deleteSegmentsOlderThan(coldCutoff));
+            }
+        }
+    }
+
+    private void moveOverBudget(int batch) {
+        long retained = getHotBytes();
+        if (retained <= tieringPolicy.getHotMaxBytes()) {
+            return;
+        }
+        List<TieredRoom> byIdle = new ArrayList<>(rooms.values());
+        byIdle.sort(Comparator.comparingLong(room -> room.hot.lastActiveMillis()));
+        for (TieredRoom room : byIdle) {
+            while (retained > tieringPolicy.getHotMaxBytes() && room.hot.size() > 0) {
+                long before = room.hot.retainedBytes();
+                if (moveToCold(room, (int) Math.min(room.hot.size(), batch)) == 0) {
+                    break;
+                }
+                retained -= before - room.hot.retainedBytes();
+            }
+            if (retained <= tieringPolicy.getHotMaxBytes()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 메모리 계층의 앞에서부터 {@code count}개를 블록으로 압축해 기록하고, 디스크에 반영한 뒤 메모리에서 지웁니다.
+     *
+     * @return 옮긴 개수
+     */
+    private int moveToCold(TieredRoom room, int count) {
+        // 이전 이동이 블록 기록 후 실패했다면 이미 옮겨진 앞부분부터 정리
+        long coldEnd = room.coldEndIndex();
+        if (room.hot.startIndex() < coldEnd) {
+            room.hot.evictOldest((int) (coldEnd - room.hot.startIndex()));
+        }
+        List<ChatLog> logs = room.hot.range(room.hot.startIndex(), count);
+        if (logs.isEmpty()) {
+            return 0;
+        }
+        long firstIndex = room.hot.startIndex();
+        int blockRecords = tieringPolicy.getBlockRecords();
+        try {
+            for (int from = 0; from < logs.size(); from += blockRecords) {
+                room.appendBlock(firstIndex + from, logs.subList(from, Math.min(logs.size(), from + blockRecords)));
+            }
+            room.forceActive();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cold blocks for room " + room.roomId, e);
+        }
+        room.hot.evictOldest(logs.size());
+        tieredMessages.add(logs.size());
+        return logs.size();
+    }
+
+    // -- recovery
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> roomDirectories = Files.newDirectoryStream(directory, ROOM_DIRECTORY_PREFIX + "*")) {
+            for (Path roomDirectory : roomDirectories) {
+                long roomId;
+                try {
+                    roomId = Long.parseLong(roomDirectory.getFileName().toString().substring(ROOM_DIRECTORY_PREFIX.length()));
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping unknown directory {}", roomDirectory);
+                    continue;
+                }
+                rooms.put(roomId, recoverRoom(roomId, roomDirectory));
+            }
+        }
+    }
+
+    private TieredRoom recoverRoom(long roomId, Path roomDirectory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(roomDirectory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        List<ColdSegment> segments = new ArrayList<>(files.size());
+        Blocks blocks = Blocks.empty();
+        for (int i = 0; i < files.size(); i++) {
+            ColdSegment segment = ColdSegment.open(files.get(i));
+            segments.add(segment);
+            boolean last = i == files.size() - 1;
+            Blocks recovered = segment.recover(blocks, last);
+            if (recovered == null) {
+                log.warn("Ignoring cold segments after {} of room {}", files.get(i), roomId);
+                break;
+            }
+            blocks = recovered;
+        }
+        return new TieredRoom(roomId, roomDirectory, blocks, segments);
+    }
+
+    // -- encoding
+
+    private static byte[] encode(List<ChatLog> logs) {
+        int rawLength = 0;
+        List<byte[]> strings = new ArrayList<>(logs.size() * 2);
+        for (ChatLog chatLog : logs) {
+            byte[] sender = utf8OrNull(chatLog.sender());
+            byte[] message = utf8OrNull(chatLog.message());
+            strings.add(sender);
+            strings.add(message);
+            rawLength += RECORD_FIXED_SIZE + (sender == null ? 0 : sender.length) + (message == null ? 0 : message.length);
+        }
+        ByteBuffer raw = ByteBuffer.allocate(rawLength);
+        for (int i = 0; i < logs.size(); i++) {
+            raw.putLong(logs.get(i).timestamp());
+            putString(raw, strings.get(i * 2));
+            putString(raw, strings.get(i * 2 + 1));
+        }
+        return raw.array();
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static byte[] utf8OrNull(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] compress(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] output = new byte[raw.length / 2 + 64];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            length += deflater.deflate(output, length, output.length - length);
+        }
+        return Arrays.copyOf(output, length);
+    }
+
+    private static ChatLog[] decode(long roomId, byte[] raw, int count) {
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        ChatLog[] logs = new ChatLog[count];
+        for (int i = 0; i < count; i++) {
+            long timestamp = buffer.getLong();
+            String sender = readString(buffer);
+            String message = readString(buffer);
+            logs[i] = new ChatLog(roomId, timestamp, sender, message);
+        }
+        return logs;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * 블록의 압축을 풉니다. 캐시에 있으면 캐시를 사용하며, 세그먼트가 보관 기간으로 이미 삭제되었으면 null 입니다.
+     */
+    private ChatLog[] load(long roomId, Block block) {
+        ChatLog[] cached = blockCache.get(block);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] compressed = new byte[block.compressedLength];
+        try {
+            block.segment.readFully(ByteBuffer.wrap(compressed), block.offset + BLOCK_HEADER_SIZE);
+        } catch (ClosedChannelException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read cold block " + block.firstIndex + " of room " + roomId, e);
+        }
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed);
+        byte[] raw = new byte[block.rawLength];
+        try {
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                length += inflater.inflate(raw, length, raw.length - length);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted cold block " + block.firstIndex + " of room " + roomId, e);
+        }
+        ChatLog[] logs = decode(roomId, raw, block.count);
+        blockReads.increment();
+        blockCache.put(block, logs);
+        return logs;
+    }
+
+    // -- monitoring
+
+    public long getHotMessageCount() {
+        return rooms.values().stream().mapToLong(room -> room.hot.size()).sum();
+    }
+
+    /**
+     * 메모리 계층의 추정 사용량입니다.
+     */
+    public long getHotBytes() {
+        return rooms.values().stream().mapToLong(room -> room.hot.retainedBytes()).sum();
+    }
+
+    public long getColdMessageCount() {
+        return rooms.values().stream().mapToLong(room -> room.blocks.messageCount()).sum();
+    }
+
+    /**
+     * 디스크 계층 세그먼트 파일 크기의 합입니다.
+     */
+    public long getColdBytes() {
+        return rooms.values().stream().mapToLong(TieredRoom::segmentBytes).sum();
+    }
+
+    public long getColdBlockCount() {
+        return rooms.values().stream().mapToLong(room -> room.blocks.count).sum();
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public long getTieredMessageCount() {
+        return tieredMessages.sum();
+    }
+
+    public long getTieredBlockCount() {
+        return tieredBlocks.sum();
+    }
+
+    public long getDeletedSegmentCount() {
+        return deletedSegments.sum();
+    }
+
+    /**
+     * 압축을 푼 블록 수입니다. (캐시 적중은 제외)
+     */
+    public long getBlockReadCount() {
+        return blockReads.sum();
+    }
+
+    public long getBlockCacheHitCount() {
+        return blockCache.hits.sum();
+    }
+
+    public TieringPolicy getTieringPolicy() {
+        return tieringPolicy;
+    }
+
+    // -- per room
+
+    /**
+     * 한 방의 두 계층입니다. 디스크 계층의 블록 목록({@link Blocks})은 이동 스레드가 새 스냅샷으로 교체하며,
+     * 읽기 스레드는 스냅샷을 사용합니다.
+     */
+    private final class TieredRoom {
+        private final long roomId;
+        private final Path roomDirectory;
+        private final RoomLog hot;
+        private volatile Blocks blocks;
+        private final List<ColdSegment> segments;
+
+        private TieredRoom(long roomId, Path roomDirectory) {
+            this(roomId, roomDirectory, Blocks.empty(), List.of());
+        }
+
+        private TieredRoom(long roomId, Path roomDirectory, Blocks blocks, List<ColdSegment> segments) {
+            this.roomId = roomId;
+            this.roomDirectory = roomDirectory;
+            this.blocks = blocks;
+            this.segments = new CopyOnWriteArrayList<>(segments);
+            this.hot = blocks.count == 0 ? new RoomLog() : new RoomLog(blocks.endIndex(), blocks.last().maxWatermark);
+        }
+
+        private long coldEndIndex() {
+            Blocks snapshot = blocks;
+            return snapshot.count == 0 ? hot.startIndex() : snapshot.endIndex();
+        }
+
+        private void appendBlock(long firstIndex, List<ChatLog> logs) throws IOException {
+            Blocks current = blocks;
+            long watermark = current.count == 0 ? Long.MIN_VALUE : current.last().maxWatermark;
+            long startWatermark = watermark;
+            for (ChatLog chatLog : logs) {
+                watermark = Math.max(watermark, chatLog.timestamp());
+            }
+            byte[] raw = encode(logs);
+            byte[] compressed = compress(raw);
+            CRC32C crc = new CRC32C();
+            crc.update(compressed);
+
+            ByteBuffer buffer = ByteBuffer.allocate(BLOCK_HEADER_SIZE + compressed.length);
+            buffer.putInt(BLOCK_MAGIC)
+                    .putInt(compressed.length)
+                    .putInt(raw.length)
+                    .putInt(logs.size())
+                    .putLong(firstIndex)
+                    .putLong(startWatermark)
+                    .putLong(watermark)
+                    .putInt((int) crc.getValue())
+                    .put(compressed)
+                    .flip();
+            ColdSegment segment = activeSegment(firstIndex);
+            long offset = segment.append(buffer);
+            blocks = current.append(new Block(segment, offset, compressed.length, raw.length, logs.size(), firstIndex, startWatermark, watermark));
+            tieredBlocks.increment();
+        }
+
+        private ColdSegment activeSegment(long firstIndex) throws IOException {
+            if (!segments.isEmpty()) {
+                ColdSegment active = segments.get(segments.size() - 1);
+                if (active.size < tieringPolicy.getSegmentBytes()) {
+                    return active;
+                }
+            }
+            Files.createDirectories(roomDirectory);
+            ColdSegment created = ColdSegment.create(roomDirectory.resolve(String.format("%020d%s", firstIndex, SEGMENT_SUFFIX)));
+            segments.add(created);
+            return created;
+        }
+
+        private void forceActive() throws IOException {
+            if (!segments.isEmpty()) {
+                segments.get(segments.size() - 1).channel.force(false);
+            }
+        }
+
+        /**
+         * 마지막 세그먼트를 제외하고, 모든 로그가 {@code cutoff} 이전인 세그먼트를 앞에서부터 삭제합니다.
+         */
+        private void deleteSegmentsOlderThan(long cutoff) {
+            while (segments.size() > 1) {
+                ColdSegment oldest = segments.get(0);
+                Blocks current = blocks;
+                int dropped = 0;
+                while (dropped < current.count && current.refs[dropped].segment == oldest) {
+                    dropped++;
+                }
+                if (dropped > 0 && current.refs[dropped - 1].maxWatermark >= cutoff) {
+                    return;
+                }
+                blocks = current.dropFirst(dropped);
+                segments.remove(0);
+                oldest.delete();
+                deletedSegments.increment();
+            }
+        }
+
+        private long segmentBytes() {
+            return segments.stream().mapToLong(segment -> segment.size).sum();
+        }
+
+        private void closeSegments() {
+            for (ColdSegment segment : segments) {
+                segment.close();
+            }
+        }
+
+        private HistoryCursor cursor(HistoryPosition position, ScanDirection direction) {
+            Blocks snapshot = blocks;
+            long begin = snapshot.count == 0 ? hot.startIndex() : Math.min(snapshot.refs[0].firstIndex, hot.startIndex());
+            long end = Math.max(hot.endIndex(), snapshot.endIndex());
+            long gap = switch (position.kind()) {
+                case OLDEST -> begin;
+                case LATEST -> end;
+                case INDEX -> Math.max(begin, Math.min(end, position.value()));
+                case TIME -> indexAtTime(snapshot, position.value());
+            };
+            return new TieredCursor(this, gap, direction);
+        }
+
+        private long indexAtTime(Blocks snapshot, long timestamp) {
+            if (snapshot.count == 0 || snapshot.last().maxWatermark < timestamp) {
+                return Math.max(hot.indexAtTime(timestamp), snapshot.endIndex());
+            }
+            Block block = snapshot.refs[snapshot.blockAtTime(timestamp)];
+            ChatLog[] logs = load(block);
+            if (logs == null) {
+                return block.firstIndex;
+            }
+            long watermark = block.startWatermark;
+            for (int i = 0; i < logs.length; i++) {
+                watermark = Math.max(watermark, logs[i].timestamp());
+                if (watermark >= timestamp) {
+                    return block.firstIndex + i;
+                }
+            }
+            return block.firstIndex + block.count;
+        }
+
+        private ChatLog[] load(Block block) {
+            return TieredChatHistoryStore.this.load(roomId, block);
+        }
+    }
+
+
+    /**
+     * 디스크 계층 블록 하나의 헤더입니다. 이 목록이 블록 단위 시간 인덱스 역할을 합니다.
+     */
+    private static final class Block {
+        private final ColdSegment segment;
+        private final long offset;
+        private final int compressedLength;
+        private final int rawLength;
+        private final int count;
+        private final long firstIndex;
+        private final long startWatermark;
+        private final long maxWatermark;
+
+        private Block(ColdSegment segment, long offset, int compressedLength, int rawLength, int count,
+                      long firstIndex, long startWatermark, long maxWatermark) {
+            this.segment = segment;
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.rawLength = rawLength;
+            this.count = count;
+            this.firstIndex = firstIndex;
+            this.startWatermark = startWatermark;
+            this.maxWatermark = maxWatermark;
+        }
+    }
+
+    /**
+     * 블록 목록 스냅샷. 추가는 배열 뒤 빈 칸에 기록한 뒤 개수만 늘린 새 인스턴스로 게시하므로,
+     * 이전 스냅샷은 자신의 {@code count}까지만 봅니다. 배열은 한 방의 스냅샷끼리만 공유합니다.
+     */
+    private record Blocks(Block[] refs, int count) {
+
+        static Blocks empty() {
+            return new Blocks(new Block[16], 0);
+        }
+
+        Blocks append(Block block) {
+            Block[] target = count < refs.length ? refs : Arrays.copyOf(refs, refs.length * 2);
+            target[count] = block;
+            return new Blocks(target, count + 1);
+        }
+
+        Blocks dropFirst(int dropped) {
+            Block[] remaining = new Block[Math.max(16, refs.length - dropped)];
+            System.arraycopy(refs, dropped, remaining, 0, count - dropped);
+            return new Blocks(remaining, count - dropped);
+        }
+
+        Block last() {
+            return refs[count - 1];
+        }
+
+        long startIndex() {
+            return count == 0 ? -1 : refs[0].firstIndex;
+        }
+
+        long endIndex() {
+            return count == 0 ? 0 : last().firstIndex + last().count;
+        }
+
+        long messageCount() {
+            return count == 0 ? 0 : endIndex() - startIndex();
+        }
+
+        /**
+         * {@code index} 번째 로그를 담은 블록의 위치입니다. 없으면 -1 입니다.
+         */
+        int blockContaining(long index) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                Block block = refs[mid];
+                if (index < block.firstIndex) {
+                    high = mid - 1;
+                } else if (index >= block.firstIndex + block.count) {
+                    low = mid + 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * {@code maxWatermark >= timestamp} 인 첫 블록의 위치입니다. 없으면 {@code count} 입니다.
+         */
+        int blockAtTime(long timestamp) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (refs[mid].maxWatermark < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    // -- cursor
+
+    /**
+     * 순번으로 두 계층을 이어 읽는 커서입니다. 매 단계 블록 목록과 메모리 계층을 다시 확인하므로
+     * 읽는 도중 이동이나 삭제가 일어나도 순번당 한 번씩 빠짐없이 읽습니다. 디스크 계층은 현재 블록 하나만 풀어 둡니다.
+     */
+    private static final class TieredCursor implements HistoryCursor {
+        private final TieredRoom room;
+        private final ScanDirection direction;
+        private long gap;
+
+        private Block block;
+        private ChatLog[] blockLogs;
+        private ChatLog pending;
+        private long pendingIndex = -1;
+
+        private TieredCursor(TieredRoom room, long gap, ScanDirection direction) {
+            this.room = room;
+            this.gap = gap;
+            this.direction = direction;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long target = direction == ScanDirection.FORWARD ? gap : gap - 1;
+            if (pending != null && pendingIndex == target) {
+                return true;
+            }
+            while (target >= 0) {
+                if (block != null && target >= block.firstIndex && target < block.firstIndex + block.count) {
+                    return hold(target, blockLogs[(int) (target - block.firstIndex)]);
+                }
+                ChatLog hotLog = room.hot.get(target);
+                if (hotLog != null) {
+                    return hold(target, hotLog);
+                }
+                Blocks snapshot = room.blocks;
+                if (snapshot.count > 0 && target < snapshot.startIndex()) {
+                    if (direction == ScanDirection.BACKWARD) {
+                        return false;
+                    }
+                    // 보관 기간으로 삭제된 구간은 건너뜀
+                    gap = target = snapshot.startIndex();
+                    continue;
+                }
+                int position = snapshot.blockContaining(target);
+                if (position >= 0) {
+                    ChatLog[] logs = room.load(snapshot.refs[position]);
+                    if (logs != null) {
+                        block = snapshot.refs[position];
+                        blockLogs = logs;
+                    }
+                    continue;
+                }
+                // 어느 계층에도 없음: 아직 기록되지 않았거나, 블록 목록이 그대로라면 이미 삭제된 순번
+                if (target >= room.hot.endIndex() || target < room.hot.startIndex() && room.blocks == snapshot) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean hold(long index, ChatLog chatLog) {
+            pending = chatLog;
+            pendingIndex = index;
+            return true;
+        }
+
+        @Override
+        public ChatLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ChatLog result = pending;
+            pending = null;
+            gap = direction == ScanDirection.FORWARD ? gap + 1 : gap - 1;
+            return result;
+        }
+
+        @Override
+        public HistoryPosition position() {
+            return HistoryPosition.ofIndex(gap);
+        }
+
+        @Override
+        public ScanDirection direction() {
+            return direction;
+        }
+    }
+
+    // -- segment
+
+    private static final class ColdSegment {
+        private final Path path;
+        private final FileChannel channel;
+        private volatile long size;
+
+        private ColdSegment(Path path, FileChannel channel, long size) {
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static ColdSegment create(Path path) throws IOException {
+            return new ColdSegment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE), 0);
+        }
+
+        static ColdSegment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new ColdSegment(path, channel, channel.size());
+        }
+
+        /**
+         * @return 블록을 기록한 위치
+         */
+        long append(ByteBuffer buffer) throws IOException {
+            long offset = size;
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            size = position;
+            return offset;
+        }
+
+        void readFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new IOException("Unexpected end of cold segment " + path);
+                }
+            }
+        }
+
+        /**
+         * 블록 헤더를 읽어 블록 목록에 이어 붙입니다. {@code verify}이면 CRC 를 검사하고, 처음으로 맞지 않는 블록부터
+         * 파일 끝까지 잘라냅니다.
+         *
+         * @return 복구한 목록. 앞 세그먼트와 순번이 이어지지 않으면 null
+         */
+        Blocks recover(Blocks blocks, boolean verify) throws IOException {
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            while (position + BLOCK_HEADER_SIZE <= size) {
+                header.clear();
+                readFully(header, position);
+                header.flip();
+                int magic = header.getInt();
+                int compressedLength = header.getInt();
+                int rawLength = header.getInt();
+                int count = header.getInt();
+                long firstIndex = header.getLong();
+                long startWatermark = header.getLong();
+                long maxWatermark = header.getLong();
+                int crc = header.getInt();
+                if (magic != BLOCK_MAGIC || compressedLength <= 0 || rawLength <= 0 || count <= 0
+                    || position + BLOCK_HEADER_SIZE + compressedLength > size) {
+                    break;
+                }
+                if (blocks.count > 0 && firstIndex != blocks.endIndex()) {
+                    return null;
+                }
+                if (verify) {
+                    ByteBuffer compressed = ByteBuffer.allocate(compressedLength);
+                    readFully(compressed, position + BLOCK_HEADER_SIZE);
+                    CRC32C checksum = new CRC32C();
+                    checksum.update(compressed.flip());
+                    if ((int) checksum.getValue() != crc) {
+                        break;
+                    }
+                }
+                blocks = blocks.append(new Block(this, position, compressedLength, rawLength, count, firstIndex, startWatermark, maxWatermark));
+                position += BLOCK_HEADER_SIZE + compressedLength;
+            }
+            if (position < size) {
+                log.warn("Truncating torn cold segment {} at {} (size {})", path, position, size);
+                channel.truncate(position);
+                size = position;
+            }
+            return blocks;
+        }
+
+        void close() {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close cold segment {}", path, e);
+            }
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete cold segment {}", path, e);
+            }
+        }
+    }
+
+    // -- block cache
+
+    /**
+     * 압축을 푼 블록의 LRU 캐시입니다.
+     */
+    private static final class BlockCache {
+        private final int capacity;
+        private final LinkedHashMap<Block, ChatLog[]> entries;
+        private final LongAdder hits = new LongAdder();
+
+        private BlockCache(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(Math.max(16, capacity * 2), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Block, ChatLog[]> eldest) {
+                    return size() > BlockCache.this.capacity;
+                }
+            };
+        }
+
+        synchronized ChatLog[] get(Block block) {
+            ChatLog[] logs = entries.get(block);
+            if (logs != null) {
+                hits.increment();
+            }
+            return logs;
+        }
+
+        synchronized void put(Block block, ChatLog[] logs) {
+            if (capacity > 0) {
+                entries.put(block, logs);
+            }
+        }
+    }
+}
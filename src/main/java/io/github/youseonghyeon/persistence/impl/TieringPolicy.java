@@ -0,0 +1,184 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import java.time.Duration;
+import java.util.zip.Deflater;
+
+/**
+ * {@link TieredChatHistoryStore}가 로그를 메모리 계층에서 디스크 계층으로 옮기는 기준과 디스크 계층의 형식입니다.
+ *
+ * <pre>{@code
+ * TieringPolicy policy = TieringPolicy.defaults()
+ *     .hotMaxAge(Duration.ofHours(1))
+ *     .hotMaxMessagesPerRoom(50_000)
+ *     .hotMaxBytes(256L * 1024 * 1024)
+ *     .coldMaxAge(Duration.ofDays(30));
+ * }</pre>
+ */
+public class TieringPolicy {
+
+    public static final Duration DEFAULT_HOT_MAX_AGE = Duration.ofHours(1);
+    public static final int DEFAULT_HOT_MAX_MESSAGES_PER_ROOM = 100_000;
+    public static final int DEFAULT_BLOCK_RECORDS = 256;
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_BLOCK_CACHE_SIZE = 256;
+    public static final Duration DEFAULT_TIERING_INTERVAL = Duration.ofSeconds(5);
+    public static final int DEFAULT_TIERING_BATCH = 64 * 1024;
+
+    private Duration hotMaxAge = DEFAULT_HOT_MAX_AGE;
+    private int hotMaxMessagesPerRoom = DEFAULT_HOT_MAX_MESSAGES_PER_ROOM;
+    private long hotMaxBytes = Long.MAX_VALUE;
+    private Duration coldMaxAge;
+    private int blockRecords = DEFAULT_BLOCK_RECORDS;
+    private int compressionLevel = Deflater.BEST_SPEED;
+    private long segmentBytes = DEFAULT_SEGMENT_BYTES;
+    private int blockCacheSize = DEFAULT_BLOCK_CACHE_SIZE;
+    private Duration tieringInterval = DEFAULT_TIERING_INTERVAL;
+    private int tieringBatch = DEFAULT_TIERING_BATCH;
+
+    public static TieringPolicy defaults() {
+        return new TieringPolicy();
+    }
+
+    /**
+     * 메모리 계층에 둘 최대 기간을 설정합니다. (메시지 timestamp 기준)
+     */
+    public TieringPolicy hotMaxAge(Duration hotMaxAge) {
+        if (hotMaxAge == null || hotMaxAge.isNegative()) {
+            throw new IllegalArgumentException("Hot max age must not be negative.");
+        }
+        this.hotMaxAge = hotMaxAge;
+        return this;
+    }
+
+    /**
+     * 방마다 메모리 계층에 둘 최대 메시지 수를 설정합니다. 넘친 메시지는 블록 단위로 옮기므로
+     * 실제로는 최대 {@code blockRecords - 1}개까지 더 남을 수 있습니다.
+     */
+    public TieringPolicy hotMaxMessagesPerRoom(int hotMaxMessagesPerRoom) {
+        if (hotMaxMessagesPerRoom < 0) {
+            throw new IllegalArgumentException("Hot max messages per room must not be negative.");
+        }
+        this.hotMaxMessagesPerRoom = hotMaxMessagesPerRoom;
+        return this;
+    }
+
+    /**
+     * 전체 방의 메모리 계층 추정 사용량 상한을 설정합니다. 초과하면 가장 오래 활동이 없던 방부터 옮깁니다.
+     */
+    public TieringPolicy hotMaxBytes(long hotMaxBytes) {
+        if (hotMaxBytes <= 0) {
+            throw new IllegalArgumentException("Hot max bytes must be positive.");
+        }
+        this.hotMaxBytes = hotMaxBytes;
+        return this;
+    }
+
+    /**
+     * 디스크 계층에 보관할 최대 기간을 설정합니다. 세그먼트 파일의 모든 로그가 기간을 넘으면 파일을 삭제합니다.
+     * 지정하지 않으면 삭제하지 않습니다.
+     */
+    public TieringPolicy coldMaxAge(Duration coldMaxAge) {
+        if (coldMaxAge == null || coldMaxAge.isNegative() || coldMaxAge.isZero()) {
+            throw new IllegalArgumentException("Cold max age must be positive.");
+        }
+        this.coldMaxAge = coldMaxAge;
+        return this;
+    }
+
+    /**
+     * 압축 블록 하나에 담을 최대 로그 수와 {@link Deflater} 압축 레벨을 설정합니다.
+     * 블록이 클수록 압축률은 좋아지지만 한 건을 읽을 때 풀어야 하는 양이 늘어납니다.
+     */
+    public TieringPolicy block(int blockRecords, int compressionLevel) {
+        if (blockRecords <= 0) {
+            throw new IllegalArgumentException("Block records must be positive.");
+        }
+        if (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9.");
+        }
+        this.blockRecords = blockRecords;
+        this.compressionLevel = compressionLevel;
+        return this;
+    }
+
+    /**
+     * 세그먼트 파일 하나의 최대 크기를 설정합니다. 넘으면 다음 블록부터 새 파일에 기록합니다.
+     */
+    public TieringPolicy segmentBytes(long segmentBytes) {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Segment bytes must be at least 1024.");
+        }
+        this.segmentBytes = segmentBytes;
+        return this;
+    }
+
+    /**
+     * 압축을 푼 블록을 몇 개까지 캐시할지 설정합니다. (0 이면 캐시하지 않음)
+     */
+    public TieringPolicy blockCacheSize(int blockCacheSize) {
+        if (blockCacheSize < 0) {
+            throw new IllegalArgumentException("Block cache size must not be negative.");
+        }
+        this.blockCacheSize = blockCacheSize;
+        return this;
+    }
+
+    /**
+     * 백그라운드 이동 주기와, 한 주기에 방 하나에서 옮길 최대 메시지 수를 설정합니다.
+     */
+    public TieringPolicy tiering(Duration tieringInterval, int tieringBatch) {
+        if (tieringInterval == null || tieringInterval.isNegative() || tieringInterval.isZero() || tieringBatch <= 0) {
+            throw new IllegalArgumentException("Tiering interval and batch must be positive.");
+        }
+        this.tieringInterval = tieringInterval;
+        this.tieringBatch = tieringBatch;
+        return this;
+    }
+
+    public Duration getHotMaxAge() {
+        return hotMaxAge;
+    }
+
+    public int getHotMaxMessagesPerRoom() {
+        return hotMaxMessagesPerRoom;
+    }
+
+    public long getHotMaxBytes() {
+        return hotMaxBytes;
+    }
+
+    public Duration getColdMaxAge() {
+        return coldMaxAge;
+    }
+
+    public int getBlockRecords() {
+        return blockRecords;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public int getBlockCacheSize() {
+        return blockCacheSize;
+    }
+
+    public Duration getTieringInterval() {
+        return tieringInterval;
+    }
+
+    public int getTieringBatch() {
+        return tieringBatch;
+    }
+
+    @Override
+    public String toString() {
+        return "TieringPolicy{hotMaxAge=" + hotMaxAge + ", hotMaxMessagesPerRoom=" + hotMaxMessagesPerRoom +
+               ", hotMaxBytes=" + hotMaxBytes + ", coldMaxAge=" + coldMaxAge + ", blockRecords=" + blockRecords +
+               ", compressionLevel=" + compressionLevel + "}";
+    }
+}
@@ -0,0 +1,407 @@
+package io.github.youseonghyeon.persistence.search;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 채팅 메시지에 대한 메모리 역색인(inverted index)입니다.
+ *
+ * <p>{@link #offer(ChatLog)}는 로그를 대기 큐에 넣고 바로 반환하며, 전용 스레드 하나가 큐에서 꺼내
+ * {@link ChatTokenizer}로 나눈 term 마다 문서 번호를 {@link PostingList}에 추가합니다. term 사전은 방별로 두므로
+ * 방 필터는 사전 선택만으로 끝납니다. 사전은 term 조회용 {@link HashMap}과, 접두어 검색을 위해 term 의 앞 1~2글자로
+ * 묶은 버킷을 함께 둡니다. 정렬된 사전(TreeMap 등)은 새 term 마다 여러 번의 문자열 비교와 캐시 미스가 생겨 색인 처리량을
+ * 크게 떨어뜨리므로 쓰지 않습니다.</p>
+ *
+ * <p>메모리는 {@code maxDocuments}개의 최근 문서로 제한됩니다. 문서는 순환 배열에 보관하며, 밀려난 문서를 가리키는
+ * posting 블록과 비게 된 term 은 주기적으로 정리합니다. 큐가 가득 차면 로그를 색인하지 않고 버립니다.</p>
+ *
+ * <p>색인 스레드는 배치 단위로 쓰기 락을, 검색은 읽기 락을 잡습니다. 검색 결과는 최근 메시지부터 반환하며,
+ * timestamp 는 방 단위로 증가한다고 가정합니다(시간 구간의 시작보다 오래된 메시지를 만나면 탐색을 멈춤).</p>
+ */
+public class ChatSearchIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatSearchIndex.class);
+
+    public static final int DEFAULT_MAX_DOCUMENTS = 1_000_000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 100_000;
+
+    static final int MAX_PREFIX_EXPANSION = 64;
+    private static final int INDEX_BATCH_SIZE = 1024;
+    private static final long POLL_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private final int maxDocuments;
+    private final ChatLog[] documents;
+    private final Map<Long, Dictionary> rooms = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BlockingQueue<ChatLog> queue;
+    private final int compactionInterval;
+
+    private long nextDocument = 0;
+    private int documentsSinceCompaction = 0;
+
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder searches = new LongAdder();
+
+    private Thread indexerThread;
+    private volatile boolean running = false;
+
+    public ChatSearchIndex() {
+        this(DEFAULT_MAX_DOCUMENTS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param maxDocuments  색인에 보관할 최근 메시지 수
+     * @param queueCapacity 색인 대기 큐 크기
+     */
+    public ChatSearchIndex(int maxDocuments, int queueCapacity) {
+        if (maxDocuments <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Max documents and queue capacity must be positive.");
+        }
+        this.maxDocuments = maxDocuments;
+        this.documents = new ChatLog[maxDocuments];
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.compactionInterval = Math.max(INDEX_BATCH_SIZE, maxDocuments / 4);
+    }
+
+    public void start() {
+        running = true;
+        indexerThread = new Thread(this::runIndexLoop, "chat-search-indexer");
+        indexerThread.setDaemon(true);
+        indexerThread.start();
+    }
+
+    /**
+     * 로그를 색인 대기 큐에 넣습니다. 블로킹하지 않습니다.
+     *
+     * @return 큐에 들어갔으면 true, 큐가 가득 차 버려졌으면 false
+     */
+    public boolean offer(ChatLog chatLog) {
+        if (!queue.offer(chatLog)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 새 로그를 받지 않고, 큐에 남은 로그를 모두 색인한 뒤 반환합니다.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            indexerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runIndexLoop() {
+        List<ChatLog> batch = new ArrayList<>(INDEX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatLog first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, INDEX_BATCH_SIZE - 1);
+                index(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to index {} chat logs", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 로그를 바로 색인합니다. 색인 스레드와 벤치마크/테스트에서 사용합니다.
+     */
+    void index(List<ChatLog> logs) {
+        lock.writeLock().lock();
+        try {
+            for (ChatLog chatLog : logs) {
+                Set<String> terms = new LinkedHashSet<>(ChatTokenizer.tokenize(chatLog.message()));
+                if (terms.isEmpty()) {
+                    continue;
+                }
+                long document = nextDocument++;
+                indexed.increment();
+                documents[slot(document)] = chatLog;
+                Dictionary dictionary = rooms.computeIfAbsent(chatLog.roomId(), k -> new Dictionary());
+                for (String term : terms) {
+                    dictionary.postings(term).add(document);
+                }
+                if (++documentsSinceCompaction >= compactionInterval) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 순환 배열에서 밀려난 문서를 가리키는 posting 블록과 빈 term, 빈 방을 정리합니다.
+     */
+    private void compact() {
+        documentsSinceCompaction = 0;
+        long floor = floor();
+        Iterator<Dictionary> roomIterator = rooms.values().iterator();
+        while (roomIterator.hasNext()) {
+            Dictionary dictionary = roomIterator.next();
+            dictionary.trimBefore(floor);
+            if (dictionary.terms.isEmpty()) {
+                roomIterator.remove();
+            }
+        }
+    }
+
+    private long floor() {
+        return Math.max(0, nextDocument - maxDocuments);
+    }
+
+    private int slot(long document) {
+        return (int) (document % maxDocuments);
+    }
+
+    // -- search
+
+    public List<ChatLog> search(long roomId, String query, int limit) {
+        return search(roomId, query, Long.MIN_VALUE, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * 방의 메시지 중 질의의 모든 term 을 포함하는 메시지를 최근 순으로 찾습니다.
+     * 마지막 term 은 접두어로 검색하므로 입력 중인 단어로도 찾을 수 있습니다
+     * (일치하는 term 이 많으면 최근에 쓰인 {@value #MAX_PREFIX_EXPANSION}개까지만 사용).
+     *
+     * @param roomId   채팅방 ID
+     * @param query    검색어
+     * @param fromUnix 시작 시간 (Epoch millis, 포함)
+     * @param toUnix   종료 시간 (Epoch millis, 포함)
+     * @param limit    최대 결과 수
+     * @return 찾은 메시지 (최근 순)
+     */
+    public List<ChatLog> search(long roomId, String query, long fromUnix, long toUnix, int limit) {
+        List<String> terms = ChatTokenizer.tokenize(query);
+        if (terms.isEmpty() || limit <= 0 || fromUnix > toUnix) {
+            return Collections.emptyList();
+        }
+        searches.increment();
+        lock.readLock().lock();
+        try {
+            Dictionary dictionary = rooms.get(roomId);
+            if (dictionary == null) {
+                return Collections.emptyList();
+            }
+            List<PostingList> exact = new ArrayList<>(terms.size() - 1);
+            for (String term : new LinkedHashSet<>(terms.subList(0, terms.size() - 1))) {
+                PostingList postings = dictionary.terms.get(term);
+                if (postings == null) {
+                    return Collections.emptyList();
+                }
+                exact.add(postings);
+            }
+            DocCursor prefix = prefixCursor(dictionary, terms.get(terms.size() - 1));
+            if (prefix == null) {
+                return Collections.emptyList();
+            }
+
+            List<DocCursor> cursors = new ArrayList<>(exact.size() + 1);
+            exact.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            exact.forEach(postings -> cursors.add(postings.cursor()));
+            cursors.add(prefix);
+            return intersect(cursors, fromUnix, toUnix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 접두어가 일치하는 term 들의 합집합 커서를 만듭니다. 일치하는 term 이 많으면 가장 최근에 쓰인 term 을 우선합니다.
+     */
+    private static DocCursor prefixCursor(Dictionary dictionary, String prefix) {
+        List<PostingList> matches = new ArrayList<>();
+        for (String term : dictionary.bucket(prefix)) {
+            if (term.startsWith(prefix)) {
+                matches.add(dictionary.terms.get(term));
+            }
+        }
+        if (matches.isEmpty()) {
+            return null;
+        }
+        if (matches.size() > MAX_PREFIX_EXPANSION) {
+            matches.sort((a, b) -> Long.compare(b.last(), a.last()));
+            matches = matches.subList(0, MAX_PREFIX_EXPANSION);
+        }
+        if (matches.size() == 1) {
+            return matches.get(0).cursor();
+        }
+        List<PostingList.Cursor> cursors = new ArrayList<>(matches.size());
+        matches.forEach(postings -> cursors.add(postings.cursor()));
+        return target -> {
+            long best = -1;
+            for (PostingList.Cursor cursor : cursors) {
+                best = Math.max(best, cursor.nextAtMost(target));
+            }
+            return best;
+        };
+    }
+
+    /**
+     * 가장 짧은 목록을 기준으로 나머지 목록이 같은 번호를 가질 때까지 서로 건너뛰며(leapfrog) 최근 번호부터 교집합을 구합니다.
+     */
+    private List<ChatLog> intersect(List<DocCursor> cursors, long fromUnix, long toUnix, int limit) {
+        long floor = floor();
+        DocCursor driver = cursors.get(0);
+        List<ChatLog> result = new ArrayList<>(Math.min(limit, 64));
+        long target = Long.MAX_VALUE;
+        while (result.size() < limit) {
+            long document = driver.nextAtMost(target);
+            if (document < floor) {
+                break;
+            }
+            long agreed = document;
+            for (int i = 1; i < cursors.size() && agreed == document; i++) {
+                agreed = cursors.get(i).nextAtMost(document);
+            }
+            if (agreed != document) {
+                target = agreed;
+                continue;
+            }
+            target = document - 1;
+            ChatLog chatLog = documents[slot(document)];
+            if (chatLog.timestamp() > toUnix) {
+                continue;
+            }
+            if (chatLog.timestamp() < fromUnix) {
+                break;
+            }
+            result.add(chatLog);
+        }
+        return result;
+    }
+
+    // -- monitoring
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getIndexedCount() {
+        return indexed.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    /**
+     * 검색 가능한 문서 수입니다.
+     */
+    public long getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return nextDocument - floor();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Dictionary dictionary : rooms.values()) {
+                count += dictionary.terms.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * posting 목록이 차지하는 대략적인 메모리(바이트)입니다. term 문자열과 문서 자체는 포함하지 않습니다.
+     */
+    public long getPostingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Dictionary dictionary : rooms.values()) {
+                for (PostingList postings : dictionary.terms.values()) {
+                    bytes += postings.sizeInBytes();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 한 방의 term 사전입니다. 접두어 버킷은 term 의 첫 글자와 첫 두 글자를 키로 하는 term 목록입니다.
+     */
+    private static final class Dictionary {
+        private final HashMap<String, PostingList> terms = new HashMap<>();
+        private final HashMap<String, List<String>> prefixBuckets = new HashMap<>();
+
+        PostingList postings(String term) {
+            PostingList postings = terms.get(term);
+            if (postings == null) {
+                postings = new PostingList();
+                terms.put(term, postings);
+                prefixBuckets.computeIfAbsent(term.substring(0, 1), k -> new ArrayList<>()).add(term);
+                if (term.length() > 1) {
+                    prefixBuckets.computeIfAbsent(term.substring(0, 2), k -> new ArrayList<>()).add(term);
+                }
+            }
+            return postings;
+        }
+
+        /**
+         * 접두어로 시작하는 term 을 모두 포함하는 버킷입니다. 접두어와 일치하지 않는 term 도 들어 있을 수 있습니다.
+         */
+        List<String> bucket(String prefix) {
+            return prefixBuckets.getOrDefault(prefix.substring(0, Math.min(2, prefix.length())), List.of());
+        }
+
+        void trimBefore(long floor) {
+            if (terms.values().removeIf(postings -> postings.trimBefore(floor))) {
+                prefixBuckets.values().removeIf(bucket -> {
+                    bucket.removeIf(term -> !terms.containsKey(term));
+                    return bucket.isEmpty();
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.youseonghyeon.persistence.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 메시지를 검색 term 으로 나눕니다. 글자/숫자가 이어진 구간을 하나의 term 으로 보고 소문자로 바꿉니다.
+ * 한글 등 공백으로 띄어 쓰는 언어는 어절 단위로 나뉘며, 접두어 검색으로 조사가 붙은 어절도 찾을 수 있습니다.
+ */
+final class ChatTokenizer {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    private ChatTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i < length; ) {
+            int codePoint = text.codePointAt(i);
+            boolean wordCharacter = Character.isLetterOrDigit(codePoint);
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                addTerm(terms, text, start, i);
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            addTerm(terms, text, start, length);
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String text, int start, int end) {
+        if (end - start > MAX_TERM_LENGTH) {
+            end = start + MAX_TERM_LENGTH;
+            if (Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+        }
+        terms.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.youseonghyeon.persistence.search;
+
+/**
+ * 문서 번호를 큰 번호(최근)부터 건너뛰며 읽는 커서입니다.
+ */
+interface DocCursor {
+
+    /**
+     * {@code target} 이하인 가장 큰 번호로 이동해 반환합니다. 같은 값 이상으로 다시 호출하면 같은 번호를 반환합니다.
+     *
+     * @return 번호, 없으면 -1
+     */
+    long nextAtMost(long target);
+}
@@ -0,0 +1,105 @@
+package io.github.youseonghyeon.persistence.search;
+
+import io.github.youseonghyeon.core.LazyInitializer;
+import io.github.youseonghyeon.persistence.ChatHistoryStore;
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * 저장한 로그를 {@link ChatSearchIndex}에도 넘기는 {@link ChatHistoryStore} 데코레이터입니다.
+ *
+ * <p>저장은 대상 저장소에 먼저 한 뒤 색인 큐에 넣으며, 색인은 별도 스레드에서 수행되므로 저장 지연에 영향을 주지 않습니다.
+ * 조회는 대상 저장소에 그대로 위임합니다. 대상 저장소가 {@link LazyInitializer}를 구현하면 초기화도 전달합니다.</p>
+ */
+public class IndexedChatHistoryStore implements ChatHistoryStore, LazyInitializer, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexedChatHistoryStore.class);
+
+    private final ChatHistoryStore delegate;
+    private final ChatSearchIndex searchIndex;
+
+    public IndexedChatHistoryStore(ChatHistoryStore delegate, ChatSearchIndex searchIndex) {
+        if (delegate == null || searchIndex == null) {
+            throw new IllegalArgumentException("Store and search index must not be null.");
+        }
+        this.delegate = delegate;
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public void initialize() {
+        if (delegate instanceof LazyInitializer lazyInitializer) {
+            lazyInitializer.initialize();
+        }
+    }
+
+    @Override
+    public void save(ChatLog log) {
+        delegate.save(log);
+        searchIndex.offer(log);
+    }
+
+    @Override
+    public void saveAll(List<ChatLog> logs) {
+        delegate.saveAll(logs);
+        for (ChatLog chatLog : logs) {
+            searchIndex.offer(chatLog);
+        }
+    }
+
+    @Override
+    public HistoryCursor openCursor(long roomId, HistoryPosition position, ScanDirection direction) {
+        return delegate.openCursor(roomId, position, direction);
+    }
+
+    @Override
+    public List<ChatLog> findRecentLogs(long roomId, int limit) {
+        return delegate.findRecentLogs(roomId, limit);
+    }
+
+    @Override
+    public List<ChatLog> findLogsBetween(long roomId, long fromUnix, long toUnix) {
+        return delegate.findLogsBetween(roomId, fromUnix, toUnix);
+    }
+
+    @Override
+    public List<ChatLog> findLogsBefore(long roomId, long toUnix, int limit) {
+        return delegate.findLogsBefore(roomId, toUnix, limit);
+    }
+
+    /**
+     * @see ChatSearchIndex#search(long, String, long, long, int)
+     */
+    public List<ChatLog> search(long roomId, String query, long fromUnix, long toUnix, int limit) {
+        return searchIndex.search(roomId, query, fromUnix, toUnix, limit);
+    }
+
+    /**
+     * 색인 큐를 비운 뒤, 대상 저장소가 자원을 가지고 있으면 닫습니다.
+     */
+    @Override
+    public void close() {
+        searchIndex.close();
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close chat history store", e);
+            }
+        }
+    }
+
+    public ChatHistoryStore getDelegate() {
+        return delegate;
+    }
+
+    public ChatSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+}
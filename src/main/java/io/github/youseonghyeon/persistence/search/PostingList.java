@@ -0,0 +1,212 @@
+package io.github.youseonghyeon.persistence.search;
+
+import java.util.Arrays;
+
+/**
+ * 한 term 을 포함하는 문서 번호의 오름차순 목록입니다.
+ *
+ * <p>문서 번호는 {@value #BLOCK_SIZE}개씩 블록으로 묶어, 블록의 첫 번호는 그대로 두고 나머지는 직전 번호와의 차이를
+ * varint 로 압축해 {@code byte[]}에 저장합니다. 마지막 블록은 채워질 때까지 {@code long[]}로 둡니다.
+ * 블록마다 첫/마지막 번호를 따로 두므로 특정 번호 근처로 건너뛸 때는 블록 하나만 풀면 됩니다.</p>
+ *
+ * <p>스레드 안전하지 않으며 {@link ChatSearchIndex}의 락 안에서만 사용합니다.</p>
+ */
+final class PostingList {
+
+    static final int BLOCK_SIZE = 128;
+
+    private long[] blockFirst = new long[2];
+    private long[] blockLast = new long[2];
+    private byte[][] blocks = new byte[2][];
+    private int head = 0;
+    private int blockCount = 0;
+
+    private long[] tail = new long[4];
+    private int tailSize = 0;
+
+    void add(long doc) {
+        if (tailSize > 0 && tail[tailSize - 1] >= doc) {
+            return;
+        }
+        if (tailSize == tail.length) {
+            if (tailSize == BLOCK_SIZE) {
+                sealTail();
+            } else {
+                tail = Arrays.copyOf(tail, Math.min(BLOCK_SIZE, tailSize * 2));
+            }
+        }
+        tail[tailSize++] = doc;
+    }
+
+    private void sealTail() {
+        if (blockCount == blocks.length) {
+            int length = blocks.length * 2;
+            blockFirst = Arrays.copyOf(blockFirst, length);
+            blockLast = Arrays.copyOf(blockLast, length);
+            blocks = Arrays.copyOf(blocks, length);
+        }
+        byte[] buffer = new byte[tailSize * 10];
+        int length = 0;
+        for (int i = 1; i < tailSize; i++) {
+            length = writeVarLong(buffer, length, tail[i] - tail[i - 1]);
+        }
+        blockFirst[blockCount] = tail[0];
+        blockLast[blockCount] = tail[tailSize - 1];
+        blocks[blockCount] = Arrays.copyOf(buffer, length);
+        blockCount++;
+        tailSize = 0;
+    }
+
+    /**
+     * {@code floor}보다 작은 번호만 담은 앞쪽 블록을 버립니다.
+     *
+     * @return 남은 번호가 없으면 true
+     */
+    boolean trimBefore(long floor) {
+        while (head < blockCount && blockLast[head] < floor) {
+            blocks[head] = null;
+            head++;
+        }
+        if (head > 0 && head * 2 >= blockCount) {
+            int live = blockCount - head;
+            System.arraycopy(blockFirst, head, blockFirst, 0, live);
+            System.arraycopy(blockLast, head, blockLast, 0, live);
+            System.arraycopy(blocks, head, blocks, 0, live);
+            Arrays.fill(blocks, live, blockCount, null);
+            blockCount = live;
+            head = 0;
+        }
+        if (tailSize > 0 && tail[tailSize - 1] < floor) {
+            tailSize = 0;
+        }
+        return head == blockCount && tailSize == 0;
+    }
+
+    /**
+     * 가장 최근(큰) 번호입니다. 비어 있으면 -1 입니다.
+     */
+    long last() {
+        if (tailSize > 0) {
+            return tail[tailSize - 1];
+        }
+        return head < blockCount ? blockLast[blockCount - 1] : -1;
+    }
+
+    /**
+     * 대략적인 문서 수입니다. 버려지지 않은 블록의 번호를 모두 셉니다.
+     */
+    int size() {
+        return (blockCount - head) * BLOCK_SIZE + tailSize;
+    }
+
+    long sizeInBytes() {
+        long bytes = 16L * blockFirst.length + 8L * blocks.length + 8L * tail.length;
+        for (int i = head; i < blockCount; i++) {
+            bytes += 16 + blocks[i].length;
+        }
+        return bytes;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int decode(int block, long[] out) {
+        byte[] data = blocks[block];
+        long doc = blockFirst[block];
+        out[0] = doc;
+        int count = 1;
+        int position = 0;
+        while (position < data.length) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += delta;
+            out[count++] = doc;
+        }
+        return count;
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7fL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * 최근 번호부터 역순으로 읽는 커서입니다. 생성 시점의 마지막 블록을 복사해 두므로, 커서를 쓰는 동안
+     * 목록이 바뀌지 않아야 합니다(읽기 락).
+     */
+    final class Cursor implements DocCursor {
+        private final long[] buffer = new long[BLOCK_SIZE];
+        // 현재 풀어 둔 블록 번호 (blockCount 이면 tail)
+        private int block;
+        private int index;
+
+        private Cursor() {
+            block = blockCount;
+            System.arraycopy(tail, 0, buffer, 0, tailSize);
+            index = tailSize - 1;
+        }
+
+        @Override
+        public long nextAtMost(long target) {
+            while (true) {
+                if (index >= 0 && buffer[0] <= target) {
+                    if (buffer[index] > target) {
+                        index = lastAtMost(buffer, index, target);
+                    }
+                    return buffer[index];
+                }
+                int previous = previousBlock(target);
+                if (previous < 0) {
+                    index = -1;
+                    return -1;
+                }
+                block = previous;
+                index = decode(previous, buffer) - 1;
+            }
+        }
+
+        /**
+         * 현재 블록 앞에서 첫 번호가 {@code target} 이하인 마지막 블록을 찾습니다.
+         */
+        private int previousBlock(long target) {
+            int low = head;
+            int high = Math.min(block, blockCount) - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (blockFirst[mid] <= target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        private static int lastAtMost(long[] docs, int end, long target) {
+            int low = 0;
+            int high = end;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (docs[mid] <= target) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+}
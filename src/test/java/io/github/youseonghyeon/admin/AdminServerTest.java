@@ -0,0 +1,127 @@
+package io.github.youseonghyeon.admin;
+
+import io.github.youseonghyeon.core.ChatRoom;
+import io.github.youseonghyeon.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminServerTest {
+
+    private final List<SocketChannel> channels = new ArrayList<>();
+    private ServerSocketChannel serverChannel;
+    private AdminServer adminServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (adminServer != null) {
+            adminServer.close();
+        }
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+        serverChannel.close();
+    }
+
+    @Test
+    @DisplayName("참여자 수 기준 상위 방을 내림차순으로 반환한다")
+    void roomsOrderedByMembers() throws IOException {
+        ChatRoom small = room("small", 1);
+        ChatRoom large = room("large", 3);
+        ChatRoom medium = room("medium", 2);
+        adminServer = server(List.of(small, large, medium));
+
+        Map<String, Object> result = adminServer.rooms(2, false);
+
+        assertEquals(3, result.get("roomCount"));
+        @SuppressWarnings("unchecked")
+        List<RoomStats> rooms = (List<RoomStats>) result.get("rooms");
+        assertEquals(2, rooms.size());
+        assertEquals("large", rooms.get(0).roomId());
+        assertEquals(3, rooms.get(0).members());
+        assertEquals("medium", rooms.get(1).roomId());
+    }
+
+    @Test
+    @DisplayName("여러 방에 참여한 연결은 하나로 합쳐 보여준다")
+    void connectionsMergedAcrossRooms() throws IOException {
+        User shared = new User(connect());
+        ChatRoom first = room("first", 0);
+        ChatRoom second = room("second", 1);
+        first.join(shared);
+        second.join(shared);
+        adminServer = server(List.of(first, second));
+
+        Map<String, Object> result = adminServer.connections(10);
+
+        assertEquals(2, result.get("connectionCount"));
+        @SuppressWarnings("unchecked")
+        List<ConnectionStats> connections = (List<ConnectionStats>) result.get("connections");
+        assertTrue(connections.stream().anyMatch(stats -> stats.rooms() == 2 && stats.open()));
+    }
+
+    @Test
+    @DisplayName("HTTP 로 JSON 을 반환하고, 없는 경로와 잘못된 파라미터는 오류 코드로 응답한다")
+    void servesJsonOverHttp() throws Exception {
+        adminServer = server(List.of(room("lobby", 2)));
+        adminServer.start();
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> rooms = get(client, "/rooms?top=1&by=members");
+        assertEquals(200, rooms.statusCode());
+        assertTrue(rooms.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        assertTrue(rooms.body().contains("\"lobby\""));
+
+        assertEquals(200, get(client, "/executors").statusCode());
+        assertEquals(404, get(client, "/unknown").statusCode());
+        assertEquals(400, get(client, "/rooms?top=abc").statusCode());
+    }
+
+    private HttpResponse<String> get(HttpClient client, String path) throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + adminServer.getPort() + path);
+        return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private AdminServer server(Collection<ChatRoom> rooms) {
+        return new AdminServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                () -> null, () -> rooms, List::of);
+    }
+
+    private ChatRoom room(String roomId, int members) throws IOException {
+        ChatRoom room = new ChatRoom(roomId, (channel, message) -> {
+        });
+        for (int i = 0; i < members; i++) {
+            room.join(new User(connect()));
+        }
+        return room;
+    }
+
+    private SocketChannel connect() throws IOException {
+        SocketChannel client = SocketChannel.open(serverChannel.getLocalAddress());
+        channels.add(client);
+        channels.add(serverChannel.accept());
+        return client;
+    }
+}
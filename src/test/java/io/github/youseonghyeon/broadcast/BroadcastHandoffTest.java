@@ -0,0 +1,204 @@
+package io.github.youseonghyeon.broadcast;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastHandoffTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final GatedBroadcaster delegate = new GatedBroadcaster();
+    private BroadcastHandoff handoff;
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        if (handoff != null) {
+            handoff.close();
+        }
+    }
+
+    @Test
+    @DisplayName("DROP_NEWEST: 큐가 가득 차면 새 메시지를 버림")
+    void dropNewest() throws Exception {
+        handoff = startStalled(OverflowPolicy.DROP_NEWEST, Duration.ZERO);
+
+        send(handoff, "m1", "m2", "m3");
+        delegate.release.countDown();
+
+        assertEquals(List.of("m0", "m1", "m2"), delegate.awaitDelivered(3));
+        assertEquals(1L, handoff.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: 큐가 가득 차면 가장 오래된 메시지를 버림")
+    void dropOldest() throws Exception {
+        handoff = startStalled(OverflowPolicy.DROP_OLDEST, Duration.ZERO);
+
+        send(handoff, "m1", "m2", "m3");
+        delegate.release.countDown();
+
+        assertEquals(List.of("m0", "m2", "m3"), delegate.awaitDelivered(3));
+        assertEquals(1L, handoff.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("BLOCK: 제한 시간 동안 기다린 뒤에도 자리가 없으면 버림")
+    void blockWithTimeout() throws Exception {
+        handoff = startStalled(OverflowPolicy.BLOCK, Duration.ofMillis(50));
+        send(handoff, "m1", "m2");
+
+        long start = System.nanoTime();
+        send(handoff, "m3");
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(waitedMillis >= 40, "가득 찬 큐에서는 제한 시간만큼 기다려야 합니다: " + waitedMillis);
+        assertTrue(waitedMillis < 2_000, "제한 시간을 넘겨 기다리면 안 됩니다: " + waitedMillis);
+        assertEquals(1L, handoff.getDroppedCount());
+
+        delegate.release.countDown();
+        assertEquals(List.of("m0", "m1", "m2"), delegate.awaitDelivered(3));
+    }
+
+    @Test
+    @DisplayName("SPILL: 넘친 메시지를 디스크에 기록했다가 순서대로 전송")
+    void spillToDisk() throws Exception {
+        handoff = startStalled(OverflowPolicy.SPILL, Duration.ZERO);
+
+        for (int i = 1; i < 10; i++) {
+            send(handoff, "m" + i);
+        }
+        assertEquals(7L, handoff.getSpilledCount());
+        delegate.release.countDown();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add("m" + i);
+        }
+        assertEquals(expected, delegate.awaitDelivered(10));
+        assertEquals(0L, handoff.getDroppedCount());
+        assertTrue(delegate.identifiers.stream().allMatch("room1"::equals), "스필된 메시지도 식별자를 유지해야 합니다.");
+
+        send(handoff, "m10");
+        assertEquals("m10", delegate.awaitDelivered(11).get(10), "스필을 모두 비운 뒤에는 다시 큐를 사용해야 합니다.");
+    }
+
+    @Test
+    @DisplayName("실행 중에 처리 방식을 바꾸면 이후 넘치는 메시지부터 새 방식으로 처리")
+    void reconfigureOverflowPolicy() throws Exception {
+        handoff = startStalled(OverflowPolicy.DROP_NEWEST, Duration.ZERO);
+        send(handoff, "m1", "m2", "m3");
+        assertEquals(1L, handoff.getDroppedCount());
+
+        handoff.reconfigure(OverflowPolicy.DROP_OLDEST, Duration.ZERO);
+        send(handoff, "m4");
+        delegate.release.countDown();
+
+        assertEquals(List.of("m0", "m2", "m4"), delegate.awaitDelivered(3));
+        assertEquals(2L, handoff.getDroppedCount());
+        assertEquals(OverflowPolicy.DROP_OLDEST, handoff.getOverflowPolicy());
+        assertThrows(IllegalArgumentException.class, () -> handoff.reconfigure(null, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("스필 중 종료 제한 시간을 넘기면 드레인 스레드를 멈춘 뒤 스필 파일과 위임 브로드캐스터를 닫음")
+    void closeStopsDrainThreadBeforeReleasingResources() throws Exception {
+        handoff = startStalled(OverflowPolicy.SPILL, Duration.ZERO);
+        send(handoff, "m1", "m2", "m3", "m4");
+        assertTrue(handoff.getSpilledCount() > 0);
+
+        assertFalse(handoff.close(Duration.ofMillis(50)));
+
+        assertTrue(delegate.closed);
+        assertFalse(delegate.broadcastingWhenClosed, "위임 브로드캐스터는 사용이 끝난 뒤에 닫혀야 합니다.");
+        assertTrue(awaitNoDrainThread(), "드레인 스레드가 종료되어야 합니다.");
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "스필 파일이 삭제되어야 합니다.");
+        }
+    }
+
+    private static boolean awaitNoDrainThread() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (Thread.getAllStackTraces().keySet().stream().noneMatch(t -> t.getName().equals("broadcast-handoff"))) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    /**
+     * 용량 2의 핸드오프를 만들고, 첫 메시지(m0)를 전송 중인 상태로 드레인 스레드를 멈춰 둡니다.
+     */
+    private BroadcastHandoff startStalled(OverflowPolicy policy, Duration blockTimeout) throws InterruptedException {
+        BroadcastHandoff created = new BroadcastHandoff(delegate, 2, policy, blockTimeout, tempDir);
+        created.initialize();
+        send(created, "m0");
+        assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+        return created;
+    }
+
+    private static void send(BroadcastHandoff handoff, String... contents) {
+        for (String content : contents) {
+            handoff.broadcast("room1", new Message(EventType.USER_SEND, "room1", null, content.getBytes(StandardCharsets.UTF_8), null));
+        }
+    }
+
+    private static final class GatedBroadcaster implements MessageBroadCaster, AutoCloseable {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        final List<Object> identifiers = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean broadcasting;
+        volatile boolean closed;
+        volatile boolean broadcastingWhenClosed;
+
+        @Override
+        public void broadcast(Object identifier, Message message) {
+            broadcasting = true;
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            identifiers.add(identifier);
+            delivered.add(new String(message.content(), StandardCharsets.UTF_8));
+            broadcasting = false;
+        }
+
+        @Override
+        public void close() {
+            broadcastingWhenClosed = broadcasting;
+            closed = true;
+        }
+
+        List<String> awaitDelivered(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (delivered.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            synchronized (delivered) {
+                return new ArrayList<>(delivered);
+            }
+        }
+    }
+}
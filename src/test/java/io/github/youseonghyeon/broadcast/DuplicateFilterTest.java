@@ -0,0 +1,62 @@
+package io.github.youseonghyeon.broadcast;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateFilterTest {
+
+    @Test
+    @DisplayName("같은 노드의 같은 시퀀스는 한 번만 통과")
+    void acceptsEachSequenceOnce() {
+        DuplicateFilter filter = new DuplicateFilter(64, 8);
+
+        assertTrue(filter.accept("node-a", 1));
+        assertTrue(filter.accept("node-a", 2));
+        assertFalse(filter.accept("node-a", 1));
+        assertFalse(filter.accept("node-a", 2));
+        assertTrue(filter.accept("node-b", 1), "다른 노드의 시퀀스는 독립적으로 판단해야 합니다.");
+    }
+
+    @Test
+    @DisplayName("윈도우 안의 순서가 뒤바뀐 시퀀스는 허용, 윈도우 밖의 오래된 시퀀스는 거부")
+    void handlesReorderingInsideWindow() {
+        DuplicateFilter filter = new DuplicateFilter(64, 8);
+
+        assertTrue(filter.accept("node-a", 10));
+        assertTrue(filter.accept("node-a", 5));
+        assertFalse(filter.accept("node-a", 5));
+        assertTrue(filter.accept("node-a", 200));
+        assertFalse(filter.accept("node-a", 100), "윈도우보다 오래된 시퀀스는 중복으로 간주해야 합니다.");
+        assertTrue(filter.accept("node-a", 199));
+    }
+
+    @Test
+    @DisplayName("같은 노드라도 파티션마다 윈도우를 따로 유지하여, 늦게 읽힌 파티션의 메시지를 버리지 않음")
+    void keepsWindowPerPartition() {
+        DuplicateFilter filter = new DuplicateFilter(64, 8);
+
+        // 파티션 0 이 먼저 많이 소비되어 시퀀스가 윈도우 크기 이상 앞서 나간 상황
+        for (long sequence = 1; sequence <= 200; sequence += 2) {
+            assertTrue(filter.accept("node-a", 0, sequence));
+        }
+        assertTrue(filter.accept("node-a", 1, 2), "다른 파티션의 오래된 시퀀스는 처음 보는 메시지입니다.");
+        assertTrue(filter.accept("node-a", 1, 4));
+        assertFalse(filter.accept("node-a", 1, 2));
+        assertFalse(filter.accept("node-a", 0, 199));
+        assertEquals(2, filter.trackedOrigins());
+    }
+
+    @Test
+    @DisplayName("추적하는 노드 수는 상한을 넘지 않음")
+    void boundsTrackedOrigins() {
+        DuplicateFilter filter = new DuplicateFilter(64, 2);
+
+        filter.accept("node-a", 1);
+        filter.accept("node-b", 1);
+        filter.accept("node-c", 1);
+
+        assertEquals(2, filter.trackedOrigins());
+    }
+}
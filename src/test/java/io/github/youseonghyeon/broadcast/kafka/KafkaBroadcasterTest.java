@@ -0,0 +1,222 @@
+package io.github.youseonghyeon.broadcast.kafka;
+
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import io.github.youseonghyeon.broadcast.kafka.KafkaBroadcaster.SubscriptionMode;
+import io.github.youseonghyeon.broadcast.serde.BinaryFrameCodec;
+import io.github.youseonghyeon.broadcast.serde.BinaryMessageSerde;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.event.EventType;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaBroadcasterTest {
+
+    private static final String TOPIC = KafkaBroadcaster.DEFAULT_TOPIC;
+    private static final int PARTITIONS = 8;
+
+    @Test
+    @DisplayName("발행 메시지에 노드 ID와 증가하는 시퀀스가 붙음")
+    void broadcastTagsOriginAndSequence() {
+        Node node = new Node("node-a", SubscriptionMode.ALL_PARTITIONS);
+
+        node.broadcaster.broadcast("room1", message("room1", "hello"));
+        node.broadcaster.broadcast("room1", message("room1", "world"));
+
+        List<ProducerRecord<String, BroadcastEnvelope>> history = node.producer.history();
+        assertEquals(2, history.size());
+        assertEquals("room1", history.get(0).key());
+        assertEquals("node-a", history.get(0).value().originNodeId());
+        assertEquals(1L, history.get(0).value().sequence());
+        assertEquals(2L, history.get(1).value().sequence());
+    }
+
+    @Test
+    @DisplayName("자신이 발행한 메시지는 로컬로 다시 전달하지 않음")
+    void suppressesOwnEchoes() {
+        Node node = new Node("node-a", SubscriptionMode.ALL_PARTITIONS);
+        node.broadcaster.broadcast("room1", message("room1", "hello"));
+
+        node.consumeFromTopic(node.producer.history());
+        node.broadcaster.pollOnce();
+
+        assertTrue(node.delivered.isEmpty());
+        assertEquals(1, node.broadcaster.getSuppressedEchoCount());
+    }
+
+    @Test
+    @DisplayName("다른 노드의 메시지는 한 번만 전달하고 재전달은 버림")
+    void deduplicatesRedeliveries() {
+        Node sender = new Node("node-a", SubscriptionMode.ALL_PARTITIONS);
+        Node receiver = new Node("node-b", SubscriptionMode.ALL_PARTITIONS);
+        sender.broadcaster.broadcast("room1", message("room1", "hello"));
+        sender.broadcaster.broadcast("room1", message("room1", "world"));
+
+        receiver.consumeFromTopic(sender.producer.history());
+        receiver.broadcaster.pollOnce();
+        // 리밸런스 후 같은 레코드가 다시 전달되는 상황
+        receiver.consumeFromTopic(sender.producer.history());
+        receiver.broadcaster.pollOnce();
+
+        assertEquals(2, receiver.delivered.size());
+        assertEquals("hello", new String(receiver.delivered.get(0).content(), StandardCharsets.UTF_8));
+        assertEquals(2, receiver.broadcaster.getDroppedDuplicateCount());
+    }
+
+    @Test
+    @DisplayName("방 ID 기준으로 파티션을 지정하여 발행")
+    void routesByRoomPartition() {
+        Node node = new Node("node-a", SubscriptionMode.HOSTED_ROOMS);
+
+        node.broadcaster.broadcast("room-x", message("room-x", "hello"));
+
+        ProducerRecord<String, BroadcastEnvelope> record = node.producer.history().get(0);
+        assertEquals(Integer.valueOf(RoomPartitioner.partition("room-x", PARTITIONS)), record.partition());
+    }
+
+    @Test
+    @DisplayName("방 생성/제거에 따라 할당 파티션이 바뀜")
+    void assignmentFollowsHostedRooms() {
+        String[] rooms = roomsOnDistinctPartitions(2);
+        Node node = new Node("node-a", SubscriptionMode.HOSTED_ROOMS);
+
+        node.broadcaster.onRoomCreated(rooms[0]);
+        node.broadcaster.pollOnce();
+        assertEquals(Set.of(partitionOf(rooms[0])), node.consumer.assignment());
+
+        node.broadcaster.onRoomCreated(rooms[1]);
+        node.broadcaster.pollOnce();
+        assertEquals(Set.of(partitionOf(rooms[0]), partitionOf(rooms[1])), node.consumer.assignment());
+
+        node.broadcaster.onRoomRemoved(rooms[0]);
+        node.broadcaster.pollOnce();
+        assertEquals(Set.of(partitionOf(rooms[1])), node.consumer.assignment());
+    }
+
+    @Test
+    @DisplayName("호스팅 중인 방의 파티션만 읽어 소비 바이트가 줄어듦")
+    void consumesOnlyHostedRoomPartitions() {
+        String[] rooms = roomsOnDistinctPartitions(4);
+        Node sender = new Node("node-a", SubscriptionMode.HOSTED_ROOMS);
+        Node everything = new Node("node-b", SubscriptionMode.ALL_PARTITIONS);
+        Node hosted = new Node("node-c", SubscriptionMode.HOSTED_ROOMS);
+        hosted.broadcaster.onRoomCreated(rooms[0]);
+        hosted.broadcaster.pollOnce();
+
+        for (String room : rooms) {
+            for (int i = 0; i < 10; i++) {
+                sender.broadcaster.broadcast(room, message(room, "message-" + i));
+            }
+        }
+        List<ProducerRecord<String, BroadcastEnvelope>> topic = sender.producer.history();
+        everything.consumeFromTopic(topic);
+        everything.broadcaster.pollOnce();
+        hosted.consumeFromTopic(topic);
+        hosted.broadcaster.pollOnce();
+
+        assertEquals(40, everything.broadcaster.getConsumedRecordCount());
+        assertEquals(10, hosted.broadcaster.getConsumedRecordCount());
+        assertTrue(hosted.broadcaster.getConsumedBytes() * 4 <= everything.broadcaster.getConsumedBytes() + 4);
+        assertTrue(hosted.delivered.stream().allMatch(message -> message.roomId().equals(rooms[0])));
+    }
+
+    @Test
+    @DisplayName("호스팅 중인 방이 없어도 close 시 poll 루프가 멈추고 producer/consumer 가 닫힘")
+    void closeStopsIdlePollLoop() {
+        Node node = new Node("node-a", SubscriptionMode.HOSTED_ROOMS);
+        node.broadcaster.initialize();
+
+        long started = System.nanoTime();
+        assertTrue(node.broadcaster.close(Duration.ofSeconds(2)));
+
+        assertTrue(System.nanoTime() - started < Duration.ofSeconds(2).toNanos());
+        assertTrue(node.producer.closed());
+        assertTrue(node.consumer.closed(), "poll 스레드가 루프를 빠져나오며 consumer 를 닫아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("poll 루프를 시작하지 않았으면 close 에서 consumer 를 직접 닫음")
+    void closeClosesConsumerWithoutPollLoop() {
+        Node node = new Node("node-a", SubscriptionMode.ALL_PARTITIONS);
+
+        assertTrue(node.broadcaster.close(Duration.ofSeconds(1)));
+
+        assertTrue(node.consumer.closed());
+    }
+
+    private static Message message(String roomId, String content) {
+        return new Message(EventType.USER_SEND, roomId, new byte[0], content.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static TopicPartition partitionOf(String roomId) {
+        return new TopicPartition(TOPIC, RoomPartitioner.partition(roomId, PARTITIONS));
+    }
+
+    private static String[] roomsOnDistinctPartitions(int count) {
+        Map<Integer, String> byPartition = new LinkedHashMap<>();
+        for (int i = 0; byPartition.size() < count; i++) {
+            String roomId = "room-" + i;
+            byPartition.putIfAbsent(RoomPartitioner.partition(roomId, PARTITIONS), roomId);
+        }
+        return byPartition.values().toArray(new String[0]);
+    }
+
+    /**
+     * MockProducer/MockConsumer 로 구성한 단일 노드.
+     * 브로커는 producer history 중 consumer 에 할당된 파티션의 레코드만 넣어 주는 방식으로 흉내냅니다.
+     */
+    private static class Node {
+        final MockProducer<String, BroadcastEnvelope> producer =
+                new MockProducer<>(true, new StringSerializer(), new BinaryMessageSerde.BinarySerializer());
+        final MockConsumer<String, BroadcastEnvelope> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        final List<Message> delivered = new CopyOnWriteArrayList<>();
+        final KafkaBroadcaster broadcaster;
+        private final Map<Integer, Long> offsets = new HashMap<>();
+
+        Node(String nodeId, SubscriptionMode mode) {
+            ChatEventPublisher publisher = new ChatEventPublisher();
+            publisher.registerSubscriber(EventType.USER_SEND, delivered::add);
+            Map<TopicPartition, Long> initialOffsets = new HashMap<>();
+            for (int p = 0; p < PARTITIONS; p++) {
+                initialOffsets.put(new TopicPartition(TOPIC, p), 0L);
+            }
+            consumer.updateBeginningOffsets(initialOffsets);
+            consumer.updateEndOffsets(initialOffsets);
+            if (mode == SubscriptionMode.ALL_PARTITIONS) {
+                consumer.assign(initialOffsets.keySet());
+            }
+            broadcaster = new KafkaBroadcaster(producer, consumer, publisher, nodeId, mode, PARTITIONS);
+        }
+
+        void consumeFromTopic(List<ProducerRecord<String, BroadcastEnvelope>> records) {
+            Set<TopicPartition> assignment = consumer.assignment();
+            for (ProducerRecord<String, BroadcastEnvelope> record : records) {
+                int partition = record.partition() == null ? 0 : record.partition();
+                if (!assignment.contains(new TopicPartition(TOPIC, partition))) {
+                    continue;
+                }
+                long offset = offsets.merge(partition, 1L, Long::sum) - 1;
+                int keySize = record.key().getBytes(StandardCharsets.UTF_8).length;
+                int valueSize = BinaryFrameCodec.encodedLength(record.value());
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, partition, offset, 0L, TimestampType.CREATE_TIME,
+                        keySize, valueSize, record.key(), record.value(), new RecordHeaders(), Optional.empty()));
+            }
+        }
+    }
+}
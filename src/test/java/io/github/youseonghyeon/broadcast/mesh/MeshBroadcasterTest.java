@@ -0,0 +1,171 @@
+package io.github.youseonghyeon.broadcast.mesh;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeshBroadcasterTest {
+
+    private final List<MeshBroadcaster> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(MeshBroadcaster::close);
+    }
+
+    @Test
+    @DisplayName("interest filtering 시 해당 방을 호스팅하는 피어에게만 전달")
+    void deliversOnlyToInterestedPeers() throws Exception {
+        int[] ports = freePorts(3);
+        Receiver a = new Receiver();
+        Receiver b = new Receiver();
+        Receiver c = new Receiver();
+        MeshBroadcaster nodeA = start(ports, 0, a, true);
+        MeshBroadcaster nodeB = start(ports, 1, b, true);
+        MeshBroadcaster nodeC = start(ports, 2, c, true);
+
+        nodeB.onRoomCreated("room1");
+        awaitTrue(() -> nodeA.getConnectedPeerCount() == 2 && nodeA.hasRemoteInterest("room1"));
+
+        nodeA.broadcast(null, message("room1", "hello"));
+
+        Message received = b.messages.poll(5, TimeUnit.SECONDS);
+        assertNotNull(received, "room1 을 호스팅하는 노드는 메시지를 받아야 합니다.");
+        assertEquals("room1", received.roomId());
+        assertEquals("hello", new String(received.content(), StandardCharsets.UTF_8));
+        assertNull(received.socketChannel(), "원격 메시지는 소켓이 없어야 합니다.");
+        assertNull(c.messages.poll(300, TimeUnit.MILLISECONDS), "방을 호스팅하지 않는 노드는 메시지를 받지 않아야 합니다.");
+        assertNull(a.messages.poll(50, TimeUnit.MILLISECONDS), "자신이 보낸 메시지는 되돌아오지 않아야 합니다.");
+
+        nodeB.onRoomRemoved("room1");
+        awaitTrue(() -> !nodeA.hasRemoteInterest("room1"));
+        nodeA.broadcast(null, message("room1", "after-leave"));
+        assertNull(b.messages.poll(300, TimeUnit.MILLISECONDS), "방이 제거된 뒤에는 전달되지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("interest filtering 을 끄면 모든 피어에게 전달")
+    void deliversToAllPeersWithoutFiltering() throws Exception {
+        int[] ports = freePorts(3);
+        Receiver b = new Receiver();
+        Receiver c = new Receiver();
+        MeshBroadcaster nodeA = start(ports, 0, new Receiver(), false);
+        start(ports, 1, b, false);
+        start(ports, 2, c, false);
+        awaitTrue(() -> nodeA.getConnectedPeerCount() == 2);
+
+        for (int i = 0; i < 100; i++) {
+            nodeA.broadcast(null, message("room" + i, "m" + i));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            Message toB = b.messages.poll(5, TimeUnit.SECONDS);
+            Message toC = c.messages.poll(5, TimeUnit.SECONDS);
+            assertNotNull(toB);
+            assertNotNull(toC);
+            assertEquals("m" + i, new String(toB.content(), StandardCharsets.UTF_8), "피어별 전송 순서가 유지되어야 합니다.");
+            assertEquals("m" + i, new String(toC.content(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("피어가 늦게 뜨면 백오프 후 재연결")
+    void reconnectsWhenPeerStartsLater() throws Exception {
+        int[] ports = freePorts(2);
+        Receiver b = new Receiver();
+        MeshBroadcaster nodeA = start(ports, 0, new Receiver(), false);
+        Thread.sleep(300);
+        assertEquals(0, nodeA.getConnectedPeerCount());
+
+        start(ports, 1, b, false);
+        awaitTrue(() -> nodeA.getConnectedPeerCount() == 1);
+
+        nodeA.broadcast(null, message("room1", "late"));
+        assertNotNull(b.messages.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("연결되지 않은 피어로 보내지 못한 메시지는 지표에 기록")
+    void countsFramesSkippedForDisconnectedPeers() throws Exception {
+        int[] ports = freePorts(2);
+        EngineMetrics metrics = new EngineMetrics();
+        MeshBroadcaster nodeA = new MeshBroadcaster(ports[0], List.of(new InetSocketAddress("127.0.0.1", ports[1])),
+                new ChatEventPublisher(), false, MeshBroadcaster.DEFAULT_MAX_PENDING_FRAMES, metrics);
+        nodeA.initialize();
+        nodes.add(nodeA);
+
+        nodeA.broadcast(null, message("room1", "m1"));
+        nodeA.broadcast(null, message("room1", "m2"));
+
+        assertEquals(2L, nodeA.getSkippedFrameCount());
+        assertEquals(2L, metrics.getPeerDeliveriesSkipped());
+        assertEquals(0L, metrics.getPeerDeliveriesDropped());
+    }
+
+    private MeshBroadcaster start(int[] ports, int self, Receiver receiver, boolean interestFiltering) {
+        List<InetSocketAddress> peers = new ArrayList<>();
+        for (int i = 0; i < ports.length; i++) {
+            if (i != self) {
+                peers.add(new InetSocketAddress("127.0.0.1", ports[i]));
+            }
+        }
+        ChatEventPublisher publisher = new ChatEventPublisher();
+        publisher.registerSubscriber(EventType.USER_SEND, receiver.messages::add);
+        MeshBroadcaster node = new MeshBroadcaster(ports[self], peers, publisher, interestFiltering, MeshBroadcaster.DEFAULT_MAX_PENDING_FRAMES);
+        node.initialize();
+        nodes.add(node);
+        return node;
+    }
+
+    private static Message message(String roomId, String content) {
+        return new Message(EventType.USER_SEND, roomId, "sender".getBytes(StandardCharsets.UTF_8), content.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static int[] freePorts(int count) throws IOException {
+        int[] ports = new int[count];
+        List<ServerSocket> sockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                ServerSocket socket = new ServerSocket(0);
+                sockets.add(socket);
+                ports[i] = socket.getLocalPort();
+            }
+        } finally {
+            for (ServerSocket socket : sockets) {
+                socket.close();
+            }
+        }
+        return ports;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("조건이 시간 내에 충족되지 않았습니다.");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class Receiver {
+        final BlockingQueue<Message> messages = new LinkedBlockingQueue<>();
+    }
+}
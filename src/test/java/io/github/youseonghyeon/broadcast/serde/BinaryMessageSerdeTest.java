@@ -0,0 +1,60 @@
+package io.github.youseonghyeon.broadcast.serde;
+
+import io.github.youseonghyeon.broadcast.BroadcastEnvelope;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryMessageSerdeTest {
+
+    private final BinaryMessageSerde serde = new BinaryMessageSerde();
+
+    @Test
+    @DisplayName("바이너리 serde 왕복 변환 테스트")
+    void roundTripPreservesAllFields() {
+        Message message = new Message(EventType.USER_SEND, "room-한글-😀",
+                "header".getBytes(StandardCharsets.UTF_8), "안녕하세요 hello".getBytes(StandardCharsets.UTF_8), null);
+        BroadcastEnvelope envelope = new BroadcastEnvelope("node-1", 42L, 1_700_000_000_000L, message);
+
+        byte[] bytes = serde.serializer().serialize("chat-topic", envelope);
+        BroadcastEnvelope decoded = serde.deserializer().deserialize("chat-topic", bytes);
+
+        assertEquals(BinaryFrameCodec.encodedLength(envelope), bytes.length);
+        assertEquals("node-1", decoded.originNodeId());
+        assertEquals(42L, decoded.sequence());
+        assertEquals(1_700_000_000_000L, decoded.timestamp());
+        assertEquals(EventType.USER_SEND, decoded.message().eventType());
+        assertEquals("room-한글-😀", decoded.message().roomId());
+        assertArrayEquals(message.header(), decoded.message().header());
+        assertArrayEquals(message.content(), decoded.message().content());
+        assertNull(decoded.message().socketChannel());
+    }
+
+    @Test
+    @DisplayName("바이너리 serde - null header/content 보존 테스트")
+    void roundTripPreservesNullPayload() {
+        Message message = new Message(EventType.ENTER, "room1", null, null, null);
+        BroadcastEnvelope envelope = new BroadcastEnvelope("node-1", 1L, 0L, message);
+
+        BroadcastEnvelope decoded = serde.deserializer().deserialize("chat-topic", serde.serializer().serialize("chat-topic", envelope));
+
+        assertNull(decoded.message().header());
+        assertNull(decoded.message().content());
+    }
+
+    @Test
+    @DisplayName("바이너리 serde - 지원하지 않는 버전 거부 테스트")
+    void rejectsUnknownVersion() {
+        Message message = new Message(EventType.USER_SEND, "room1", new byte[0], new byte[0], null);
+        byte[] bytes = serde.serializer().serialize("chat-topic", new BroadcastEnvelope("node-1", 1L, 0L, message));
+        bytes[0] = 99;
+
+        assertThrows(SerializationException.class, () -> serde.deserializer().deserialize("chat-topic", bytes));
+    }
+}
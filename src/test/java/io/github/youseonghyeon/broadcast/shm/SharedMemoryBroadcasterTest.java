@@ -0,0 +1,200 @@
+package io.github.youseonghyeon.broadcast.shm;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.event.EventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedMemoryBroadcasterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<SharedMemoryBroadcaster> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(SharedMemoryBroadcaster::close);
+    }
+
+    @Test
+    @DisplayName("같은 파일을 매핑한 다른 엔진으로 메시지 전달, 자신이 보낸 메시지는 수신하지 않음")
+    void deliversBetweenEnginesSharingFile() throws Exception {
+        Path file = tempDir.resolve("ring.shm");
+        BlockingQueue<Message> toA = new LinkedBlockingQueue<>();
+        BlockingQueue<Message> toB = new LinkedBlockingQueue<>();
+        SharedMemoryBroadcaster a = node(file, 64, toA);
+        SharedMemoryBroadcaster b = node(file, 64, toB);
+        a.initialize();
+        b.initialize();
+
+        a.broadcast("room1", message("room1", "hello"));
+
+        Message received = toB.poll(5, TimeUnit.SECONDS);
+        assertNotNull(received);
+        assertEquals("room1", received.roomId());
+        assertEquals("hello", new String(received.content(), StandardCharsets.UTF_8));
+        assertNull(toA.poll(100, TimeUnit.MILLISECONDS), "자신이 보낸 메시지는 되돌아오지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("여러 producer 가 동시에 써도 모든 메시지가 발신자별 순서대로 전달")
+    void concurrentProducers() throws Exception {
+        Path file = tempDir.resolve("ring.shm");
+        BlockingQueue<Message> received = new LinkedBlockingQueue<>();
+        SharedMemoryBroadcaster p1 = node(file, 4096, new LinkedBlockingQueue<>());
+        SharedMemoryBroadcaster p2 = node(file, 4096, new LinkedBlockingQueue<>());
+        SharedMemoryBroadcaster reader = node(file, 4096, received);
+        p1.attach();
+        p2.attach();
+        reader.initialize();
+
+        int perProducer = 1000;
+        Thread t1 = new Thread(() -> sendMany(p1, "p1", perProducer));
+        Thread t2 = new Thread(() -> sendMany(p2, "p2", perProducer));
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+
+        Map<String, Integer> lastSeen = new HashMap<>();
+        for (int i = 0; i < perProducer * 2; i++) {
+            Message message = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "메시지 " + i + " 를 받지 못했습니다.");
+            String[] parts = new String(message.content(), StandardCharsets.UTF_8).split("-");
+            int index = Integer.parseInt(parts[1]);
+            Integer previous = lastSeen.put(parts[0], index);
+            assertEquals(Integer.valueOf(previous == null ? 0 : previous + 1), Integer.valueOf(index), "발신자별 순서가 유지되어야 합니다.");
+        }
+        assertEquals(0L, reader.getLostMessageCount());
+    }
+
+    @Test
+    @DisplayName("느린 reader 가 한 바퀴 이상 뒤처지면 잃은 메시지를 건너뛰고 최신 메시지부터 읽음")
+    void slowReaderIsLapped() {
+        Path file = tempDir.resolve("ring.shm");
+        BlockingQueue<Message> received = new LinkedBlockingQueue<>();
+        SharedMemoryBroadcaster writer = node(file, 8, new LinkedBlockingQueue<>());
+        SharedMemoryBroadcaster reader = node(file, 8, received);
+        writer.attach();
+        reader.attach();
+
+        sendMany(writer, "w", 20);
+        reader.pollOnce();
+
+        assertEquals(13L, reader.getLostMessageCount());
+        assertEquals(7, received.size());
+        assertEquals("w-13", new String(received.peek().content(), StandardCharsets.UTF_8));
+        assertEquals(0L, reader.getReadLag());
+    }
+
+    @Test
+    @DisplayName("슬롯보다 큰 메시지는 기록하지 않음")
+    void dropsOversizedMessage() {
+        SharedMemoryBroadcaster writer = node(tempDir.resolve("ring.shm"), 8, new LinkedBlockingQueue<>());
+        writer.attach();
+
+        writer.broadcast("room1", message("room1", "x".repeat(1024)));
+
+        assertEquals(1L, writer.getOversizedDropCount());
+        assertEquals(0L, writer.getPublishedCount());
+    }
+
+    @Test
+    @DisplayName("같은 파일을 다른 슬롯 구성으로 열면 실패")
+    void rejectsLayoutMismatch() {
+        Path file = tempDir.resolve("ring.shm");
+        node(file, 8, new LinkedBlockingQueue<>()).attach();
+
+        SharedMemoryBroadcaster mismatched = node(file, 16, new LinkedBlockingQueue<>());
+        assertThrows(IllegalStateException.class, mismatched::attach);
+    }
+
+    @Test
+    @DisplayName("시퀀스를 발급받은 writer 가 발행 전에 죽으면 claim timeout 후 그 슬롯을 건너뜀")
+    void skipsSlotAbandonedByDeadWriter() throws Exception {
+        Path file = tempDir.resolve("ring.shm");
+        BlockingQueue<Message> received = new LinkedBlockingQueue<>();
+        SharedMemoryBroadcaster writer = node(file, 8, new LinkedBlockingQueue<>());
+        SharedMemoryBroadcaster reader = node(file, 8, Duration.ofMillis(20), received);
+        writer.attach();
+        reader.attach();
+
+        claimWithoutPublishing(file, 8);
+        writer.broadcast("room1", message("room1", "after"));
+
+        assertEquals(0, reader.pollOnce(), "timeout 전에는 기록 중인 슬롯을 기다려야 합니다.");
+        assertTrue(received.isEmpty());
+        Thread.sleep(50);
+        assertEquals(1, reader.pollOnce());
+
+        assertEquals(1L, reader.getAbandonedSlotCount());
+        assertEquals("after", new String(received.take().content(), StandardCharsets.UTF_8));
+        assertEquals(0L, reader.getReadLag());
+    }
+
+    @Test
+    @DisplayName("initialize 전에 broadcast 하면 IllegalStateException")
+    void rejectsBroadcastBeforeInitialize() {
+        SharedMemoryBroadcaster writer = node(tempDir.resolve("ring.shm"), 8, new LinkedBlockingQueue<>());
+
+        assertThrows(IllegalStateException.class, () -> writer.broadcast("room1", message("room1", "hello")));
+    }
+
+    /**
+     * 다른 프로세스의 writer 가 시퀀스를 발급받고 stamp 를 기록 중으로 바꾼 직후 죽은 상태를 만듭니다.
+     */
+    private static void claimWithoutPublishing(Path file, int slotCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 128 + slotCount * 256L);
+            buffer.order(ByteOrder.nativeOrder());
+            long claimed = buffer.getLong(64);
+            buffer.putLong(64, claimed + 1);
+            buffer.putLong(128 + (int) (claimed % slotCount) * 256, -(claimed + 1));
+            buffer.force();
+        }
+    }
+
+    private SharedMemoryBroadcaster node(Path file, int slotCount, BlockingQueue<Message> sink) {
+        return node(file, slotCount, SharedMemoryBroadcaster.DEFAULT_CLAIM_TIMEOUT, sink);
+    }
+
+    private SharedMemoryBroadcaster node(Path file, int slotCount, Duration claimTimeout, BlockingQueue<Message> sink) {
+        ChatEventPublisher publisher = new ChatEventPublisher();
+        publisher.registerSubscriber(EventType.USER_SEND, sink::add);
+        SharedMemoryBroadcaster node = new SharedMemoryBroadcaster(file, slotCount, 256, claimTimeout, publisher);
+        nodes.add(node);
+        return node;
+    }
+
+    private static void sendMany(SharedMemoryBroadcaster node, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            node.broadcast("room1", message("room1", prefix + "-" + i));
+        }
+    }
+
+    private static Message message(String roomId, String content) {
+        return new Message(EventType.USER_SEND, roomId, null, content.getBytes(StandardCharsets.UTF_8), null);
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import io.github.youseonghyeon.core.InMemorySocketChannel;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.metrics.AllocationMeter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 프레임 인코딩/디코딩 한 번의 할당 예산입니다. 예산은 아래 고정 프레임(방 ID 9 바이트, 헤더 6 바이트, 본문 200 바이트) 기준입니다.
+ */
+class FrameCodecAllocationTest {
+
+    /// 4 바이트 길이 버퍼, 방 ID 디코딩(CharBuffer, String), 헤더/본문 버퍼와 복사본, Message
+    static final long DECODE_BUDGET_BYTES = 1_024;
+    /// 방 ID UTF-8 바이트와 프레임 버퍼 하나
+    static final long ENCODE_BUDGET_BYTES = 384;
+
+    private final DefaultMessageSender sender = new DefaultMessageSender();
+    private final DefaultMessageReceiver receiver = new DefaultMessageReceiver();
+
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        message = new Message(EventType.USER_SEND, "room-1024", "header".getBytes(StandardCharsets.UTF_8), new byte[200], null);
+    }
+
+    @Test
+    @DisplayName("프레임 디코딩 할당량이 예산 안에 있다")
+    void decodeWithinBudget() {
+        InMemorySocketChannel channel = new InMemorySocketChannel(sender.encode(message));
+
+        AllocationMeter.assertWithinBudget("DefaultMessageReceiver.read", DECODE_BUDGET_BYTES, () -> receiver.read(channel));
+    }
+
+    @Test
+    @DisplayName("프레임 인코딩 할당량이 예산 안에 있다")
+    void encodeWithinBudget() {
+        AllocationMeter.assertWithinBudget("DefaultMessageSender.encode", ENCODE_BUDGET_BYTES, () -> sender.encode(message));
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.youseonghyeon.config.adapter.sample;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.exception.ChannelReadException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireProtocolNegotiationTest {
+
+    private static final byte[] HEADER = "header".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CONTENT = "hello".getBytes(StandardCharsets.UTF_8);
+
+    private final ProtocolSessions sessions = new ProtocolSessions();
+    private final NegotiatingMessageReceiver receiver = new NegotiatingMessageReceiver(sessions);
+    private final NegotiatingMessageSender sender = new NegotiatingMessageSender(sessions);
+
+    private ServerSocketChannel serverChannel;
+    private SocketChannel client;
+    private SocketChannel server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(serverChannel.getLocalAddress());
+        server = serverChannel.accept();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+        serverChannel.close();
+    }
+
+    @Test
+    @DisplayName("프리앰블 없이 연결한 v1 클라이언트는 기존 프레임 그대로 주고받고 상태를 남기지 않는다")
+    void v1ClientKeepsWorking() throws IOException {
+        write(new DefaultMessageSender().encode(new Message(EventType.USER_SEND, "room-1024", HEADER, CONTENT, null)));
+
+        Message message = receiver.read(server);
+
+        assertEquals(EventType.USER_SEND, message.eventType());
+        assertEquals("room-1024", message.roomId());
+        assertArrayEquals(CONTENT, message.content());
+        assertEquals(0, sessions.size());
+
+        sender.send(server, message);
+        ByteBuffer received = read(4 + 4 + 9 + 4 + HEADER.length + 4 + CONTENT.length);
+        assertEquals(EventType.USER_SEND.ordinal(), received.getInt());
+        assertEquals(9, received.getInt());
+    }
+
+    @Test
+    @DisplayName("프리앰블을 보낸 클라이언트는 응답을 받고, 방을 바인딩한 뒤 핸들로 메시지를 보낸다")
+    void v2ClientBindsRoomAndSendsByHandle() throws IOException {
+        write(ByteBuffer.allocate(4).putInt(WireProtocol.V2_PREAMBLE).flip());
+
+        assertNull(receiver.read(server));
+        assertEquals(WireProtocol.V2_PREAMBLE, read(4).getInt());
+        assertEquals(1, sessions.size());
+
+        byte[] roomId = "room-1024".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frames = ByteBuffer.allocate(WireProtocol.bindSize(3, roomId) + WireProtocol.frameSize(3, HEADER, CONTENT));
+        WireProtocol.putBind(frames, 3, roomId);
+        WireProtocol.putFrame(frames, EventType.USER_SEND, 3, HEADER, CONTENT);
+        write(frames.flip());
+
+        assertNull(receiver.read(server), "bind frame has nothing to dispatch");
+        Message message = receiver.read(server);
+        assertEquals(EventType.USER_SEND, message.eventType());
+        assertEquals("room-1024", message.roomId());
+        assertArrayEquals(HEADER, message.header());
+        assertArrayEquals(CONTENT, message.content());
+
+        receiver.connectionClosed(server);
+        assertEquals(0, sessions.size());
+    }
+
+    @Test
+    @DisplayName("v2 연결로 보낼 때 처음 쓰는 방만 바인딩을 붙이고, 이후 프레임은 v1 의 절반 이하다")
+    void v2SenderBindsOnFirstUse() throws IOException {
+        sessions.open(server);
+        Message message = new Message(EventType.USER_SEND, "room-1024", HEADER, CONTENT, null);
+        int v1Size = new DefaultMessageSender().encode(message).remaining();
+
+        sender.send(server, message);
+        sender.send(server, message);
+
+        ByteBuffer received = read(WireProtocol.bindSize(0, "room-1024".getBytes(StandardCharsets.UTF_8))
+                                   + 2 * WireProtocol.frameSize(0, HEADER, CONTENT));
+        assertEquals(WireProtocol.ROOM_BIND, received.get());
+        assertEquals(0, WireProtocol.getVarint(received));
+        byte[] roomId = new byte[WireProtocol.getVarint(received)];
+        received.get(roomId);
+        assertEquals("room-1024", new String(roomId, StandardCharsets.UTF_8));
+        for (int i = 0; i < 2; i++) {
+            int start = received.position();
+            assertEquals(EventType.USER_SEND.ordinal(), received.get());
+            assertEquals(0, WireProtocol.getVarint(received));
+            int headerLength = WireProtocol.getVarint(received);
+            received.position(received.position() + headerLength);
+            byte[] content = new byte[WireProtocol.getVarint(received)];
+            received.get(content);
+            assertArrayEquals(CONTENT, content);
+            assertTrue((received.position() - start) * 2 <= v1Size);
+        }
+    }
+
+    @Test
+    @DisplayName("v1 로 인코딩해 둔 프레임은 v2 연결에 맞게 다시 인코딩해 쓴다")
+    void sendEncodedTranscodesForV2() throws IOException {
+        sessions.open(server);
+        ByteBuffer v1Frame = sender.encode(new Message(EventType.USER_SEND, "lobby", HEADER, CONTENT, null));
+
+        sender.sendEncoded(server, v1Frame);
+
+        assertFalse(v1Frame.hasRemaining());
+        ByteBuffer received = read(WireProtocol.bindSize(0, "lobby".getBytes(StandardCharsets.UTF_8))
+                                   + WireProtocol.frameSize(0, HEADER, CONTENT));
+        assertEquals(WireProtocol.ROOM_BIND, received.get());
+    }
+
+    @Test
+    @DisplayName("바인딩하지 않은 핸들이나 범위를 벗어난 varint 는 읽기 실패로 처리한다")
+    void rejectsUnboundHandleAndOversizedVarint() throws IOException {
+        sessions.open(server);
+        ByteBuffer frame = ByteBuffer.allocate(WireProtocol.frameSize(7, HEADER, CONTENT));
+        WireProtocol.putFrame(frame, EventType.USER_SEND, 7, HEADER, CONTENT);
+        write(frame.flip());
+
+        assertThrows(ChannelReadException.class, () -> receiver.read(server));
+        assertThrows(ChannelReadException.class,
+                () -> WireProtocol.getVarint(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F})));
+        assertEquals(Integer.MAX_VALUE,
+                WireProtocol.getVarint(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07})));
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            client.write(buffer);
+        }
+    }
+
+    private ByteBuffer read(int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) == -1) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.broadcast.BroadcastHandoff;
+import io.github.youseonghyeon.broadcast.MessageBroadCaster;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import io.github.youseonghyeon.persistence.impl.InMemoryChatHistoryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatEngineLifecycleTest {
+
+    private static final byte[] HEADER = "alice".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("재시작 후 보낸 메시지도 이력 저장소에 저장")
+    void recordsHistoryAfterRestart() throws InterruptedException {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        ChatEngine engine = new ChatEngine();
+        engine.applyConfiguration(config -> config
+                .port(0)
+                .jmxMetrics(false)
+                .chatHistoryStore(store)
+                .chatHistoryWriteBehind(100, 10, Duration.ofMillis(5)));
+
+        engine.start();
+        engine.stop();
+        engine.start();
+        try {
+            engine.getEventPublisher().publish(new Message(EventType.USER_SEND, "7", HEADER,
+                    "after restart".getBytes(StandardCharsets.UTF_8), new InMemorySocketChannel()));
+
+            List<ChatLog> logs = awaitLogs(store, 7L);
+            assertEquals(1, logs.size());
+            assertEquals("after restart", logs.get(0).message());
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 설정한 브로드캐스터를 새 핸드오프로 다시 감쌈")
+    void rewrapsBroadcasterOnRestart() throws InterruptedException {
+        RecordingBroadcaster broadcaster = new RecordingBroadcaster();
+        ChatEngine engine = new ChatEngine();
+        engine.applyConfiguration(config -> config
+                .port(0)
+                .jmxMetrics(false)
+                .messageBroadCaster(broadcaster));
+
+        engine.start();
+        MessageBroadCaster first = engine.getMessageBroadCaster();
+        engine.stop();
+        engine.start();
+        try {
+            MessageBroadCaster second = engine.getMessageBroadCaster();
+            assertInstanceOf(BroadcastHandoff.class, second);
+            assertNotSame(first, second, "닫힌 핸드오프를 다시 쓰면 안 됩니다.");
+
+            engine.getEventPublisher().publish(new Message(EventType.USER_SEND, "7", HEADER,
+                    "after restart".getBytes(StandardCharsets.UTF_8), new InMemorySocketChannel()));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (broadcaster.messages.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, broadcaster.messages.size());
+        } finally {
+            engine.stop();
+        }
+    }
+
+    private static List<ChatLog> awaitLogs(InMemoryChatHistoryStore store, long roomId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        List<ChatLog> logs = store.findRecentLogs(roomId, 10);
+        while (logs.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            logs = store.findRecentLogs(roomId, 10);
+        }
+        return logs;
+    }
+
+    private static final class RecordingBroadcaster implements MessageBroadCaster {
+        private final List<Message> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void broadcast(Object identifier, Message message) {
+            messages.add(message);
+        }
+    }
+}
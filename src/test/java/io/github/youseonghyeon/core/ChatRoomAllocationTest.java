@@ -0,0 +1,38 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.config.adapter.sample.DefaultMessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.metrics.AllocationMeter;
+import io.github.youseonghyeon.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 미리 구성한 방에 대한 {@link ChatRoom#broadcast(Message, java.nio.channels.SocketChannel)} 한 번의 할당 예산입니다.
+ * 본문 200 바이트 메시지를 {@link InMemorySocketChannel} 참여자에게 보냅니다.
+ */
+class ChatRoomAllocationTest {
+
+    static final int PARTICIPANTS = 10;
+    /// 수신자마다 DefaultMessageSender 가 프레임을 새로 인코딩함 (방 ID 바이트, 프레임 버퍼)
+    static final long BROADCAST_BUDGET_BYTES_PER_RECIPIENT = 384;
+    /// 필터 람다, JFR BroadcastEvent, 참여자 순회
+    static final long BROADCAST_BUDGET_BYTES_BASE = 128;
+
+    @Test
+    @DisplayName("브로드캐스트 할당량이 예산 안에 있다")
+    void broadcastWithinBudget() {
+        ChatRoom chatRoom = new ChatRoom("room-1024", new DefaultMessageSender());
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            chatRoom.join(new User(new InMemorySocketChannel()));
+        }
+        Message message = new Message(EventType.USER_SEND, "room-1024", "header".getBytes(StandardCharsets.UTF_8), new byte[200], null);
+
+        AllocationMeter.assertWithinBudget("ChatRoom.broadcast",
+                BROADCAST_BUDGET_BYTES_BASE + PARTICIPANTS * BROADCAST_BUDGET_BYTES_PER_RECIPIENT,
+                () -> chatRoom.broadcast(message, null));
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.youseonghyeon.core;
 
+import io.github.youseonghyeon.config.SendFilterPolicy;
 import io.github.youseonghyeon.config.adapter.MessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
 import io.github.youseonghyeon.core.exception.UserNotConnectedException;
 import io.github.youseonghyeon.core.exception.UserSessionInvalidException;
 import io.github.youseonghyeon.model.User;
@@ -11,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -81,4 +85,21 @@ class ChatRoomTest {
 
         assertFalse(result, "User should not be allowed to join twice");
     }
+
+    @Test
+    @DisplayName("송신 필터를 바꾸면 이미 만들어진 방에도 다음 브로드캐스트부터 적용")
+    void broadcastUsesCurrentSendFilterPolicy() {
+        AtomicReference<SendFilterPolicy> policy = new AtomicReference<>(new SendFilterPolicy.BroadcastExceptSelf());
+        ChatRoom room = new ChatRoom("roomId", (channel, message) -> {
+        }, policy::get);
+        InMemorySocketChannel sender = new InMemorySocketChannel();
+        room.join(new User(sender));
+        room.join(new User(new InMemorySocketChannel()));
+        Message message = new Message(EventType.USER_SEND, "roomId", new byte[0], new byte[0], sender);
+
+        assertEquals(1, room.broadcast(message, sender));
+
+        policy.set((receiver, from) -> true);
+        assertEquals(2, room.broadcast(message, sender));
+    }
 }
@@ -0,0 +1,56 @@
+package io.github.youseonghyeon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GracefulDrainTest {
+
+    @Test
+    @DisplayName("등록 순서와 관계없이 단계 순서대로 실행하고 단계별 시간을 보고한다")
+    void runsPhasesInOrder() {
+        List<DrainPhase> executed = new ArrayList<>();
+        DrainReport report = new GracefulDrain(Duration.ofSeconds(1))
+                .phase(DrainPhase.CLOSE, deadline -> executed.add(DrainPhase.CLOSE))
+                .phase(DrainPhase.STOP_ACCEPT, deadline -> executed.add(DrainPhase.STOP_ACCEPT))
+                .phase(DrainPhase.DISPATCH, deadline -> executed.add(DrainPhase.DISPATCH))
+                .run();
+
+        assertEquals(List.of(DrainPhase.STOP_ACCEPT, DrainPhase.DISPATCH, DrainPhase.CLOSE), executed);
+        assertEquals(3, report.phases().size());
+        assertTrue(report.isComplete());
+        assertTrue(report.totalNanos() >= report.phases().get(0).elapsedNanos());
+    }
+
+    @Test
+    @DisplayName("단계가 제한 시간을 다 쓰거나 실패해도 남은 단계는 실행한다")
+    void continuesAfterTimeoutOrFailure() {
+        List<DrainPhase> executed = new ArrayList<>();
+        DrainReport report = new GracefulDrain(Duration.ofMillis(50))
+                .phase(DrainPhase.DISPATCH, deadline -> {
+                    while (System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                    }
+                    return false;
+                })
+                .phase(DrainPhase.HISTORY, deadline -> {
+                    throw new IllegalStateException("store unavailable");
+                })
+                .phase(DrainPhase.CLOSE, deadline -> {
+                    executed.add(DrainPhase.CLOSE);
+                    return GracefulDrain.remaining(deadline).isZero();
+                })
+                .run();
+
+        assertEquals(List.of(DrainPhase.CLOSE), executed);
+        assertFalse(report.isComplete());
+        assertFalse(report.phases().get(0).completed());
+        assertFalse(report.phases().get(1).completed());
+        assertTrue(report.phases().get(2).completed(), "deadline already passed when CLOSE ran");
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.youseonghyeon.core;
+
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.Set;
+
+/**
+ * 벤치마크용 메모리 {@link SocketChannel}입니다. 커널을 거치지 않으므로 측정값에 코드 경로의 비용만 남습니다.
+ *
+ * <p>쓰기는 버퍼를 모두 소비한 것으로 처리하고 바이트 수만 셉니다. 읽기는 생성 시 받은 프레임을 끝없이 반복해서 돌려줍니다.</p>
+ */
+public class InMemorySocketChannel extends SocketChannel {
+
+    private final ByteBuffer inbound;
+    private long bytesWritten = 0;
+
+    public InMemorySocketChannel() {
+        this(ByteBuffer.allocate(0));
+    }
+
+    /**
+     * @param inbound 읽기 시 반복해서 돌려줄 내용
+     */
+    public InMemorySocketChannel(ByteBuffer inbound) {
+        super(SelectorProvider.provider());
+        this.inbound = inbound.duplicate();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+        if (inbound.capacity() == 0) {
+            return -1;
+        }
+        if (!inbound.hasRemaining()) {
+            inbound.rewind();
+        }
+        int length = Math.min(dst.remaining(), inbound.remaining());
+        dst.put(dst.position(), inbound, inbound.position(), length);
+        dst.position(dst.position() + length);
+        inbound.position(inbound.position() + length);
+        return length;
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += read(dsts[i]);
+        }
+        return total;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        int length = src.remaining();
+        src.position(src.limit());
+        bytesWritten += length;
+        return length;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += write(srcs[i]);
+        }
+        return total;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public boolean isConnectionPending() {
+        return false;
+    }
+
+    @Override
+    public boolean connect(SocketAddress remote) {
+        return true;
+    }
+
+    @Override
+    public boolean finishConnect() {
+        return true;
+    }
+
+    @Override
+    public SocketChannel bind(SocketAddress local) {
+        return this;
+    }
+
+    @Override
+    public <T> SocketChannel setOption(SocketOption<T> name, T value) {
+        return this;
+    }
+
+    @Override
+    public <T> T getOption(SocketOption<T> name) {
+        return null;
+    }
+
+    @Override
+    public Set<SocketOption<?>> supportedOptions() {
+        return Set.of();
+    }
+
+    @Override
+    public SocketChannel shutdownInput() {
+        return this;
+    }
+
+    @Override
+    public SocketChannel shutdownOutput() {
+        return this;
+    }
+
+    @Override
+    public Socket socket() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    protected void implCloseSelectableChannel() {
+    }
+
+    @Override
+    protected void implConfigureBlocking(boolean block) {
+    }
+}
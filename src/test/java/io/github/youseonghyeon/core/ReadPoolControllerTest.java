@@ -0,0 +1,84 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.config.ReadPoolPolicy;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.youseonghyeon.core.ReadPoolController.Action.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadPoolControllerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long WAITING = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
+    private final EngineMetrics metrics = new EngineMetrics();
+    private final ReadPoolController controller = new ReadPoolController(executor,
+            ReadPoolPolicy.defaults().threads(2, 8).adaptive(Duration.ofSeconds(1), Duration.ofMillis(1)), metrics);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("큐 대기가 목표를 넘으면 늘리고, 늘려도 처리량이 오르지 않으면 되돌린 뒤 잠시 유지")
+    void growsWhileThroughputImprovesThenBacksOff() {
+        assertEquals(GROW, controller.adjust(SECOND, 1_000, 1_000 * WAITING, 4 * SECOND));
+        assertEquals(5, executor.getCorePoolSize());
+        assertEquals(5, executor.getMaximumPoolSize());
+
+        assertEquals(GROW, controller.adjust(SECOND, 1_500, 1_500 * WAITING, 5 * SECOND));
+        assertEquals(6, executor.getMaximumPoolSize());
+
+        assertEquals(BACK_OFF, controller.adjust(SECOND, 1_510, 1_510 * WAITING, 6 * SECOND));
+        assertEquals(5, executor.getMaximumPoolSize());
+        for (int i = 0; i < ReadPoolController.BACK_OFF_INTERVALS; i++) {
+            assertEquals(HOLD, controller.adjust(SECOND, 1_500, 1_500 * WAITING, 5 * SECOND));
+        }
+        assertEquals(GROW, controller.adjust(SECOND, 1_500, 1_500 * WAITING, 5 * SECOND));
+        assertEquals(4L, metrics.getReadPoolResizes());
+    }
+
+    @Test
+    @DisplayName("대기 없이 사용률이 낮으면 최소 크기까지 줄이고, 최대 크기 이상으로는 늘리지 않음")
+    void staysWithinBounds() {
+        for (int i = 0; i < 10; i++) {
+            controller.adjust(SECOND, 10, 0, SECOND / 100);
+        }
+        assertEquals(2, executor.getMaximumPoolSize());
+        assertEquals(2, executor.getCorePoolSize());
+        assertEquals(0.005, metrics.getReadPoolUtilization(), 1e-9);
+
+        long throughput = 1_000;
+        for (int i = 0; i < 20; i++) {
+            throughput *= 2;
+            controller.adjust(SECOND, throughput, throughput * WAITING, 8 * SECOND);
+        }
+        assertEquals(8, executor.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("core 와 max 를 어느 방향으로 바꿔도 ThreadPoolExecutor 제약을 어기지 않음")
+    void setBoundsInAcceptedOrder() {
+        ReadPoolController.setBounds(executor, 1, 2);
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(2, executor.getMaximumPoolSize());
+
+        ReadPoolController.setBounds(executor, 16, 32);
+        assertEquals(16, executor.getCorePoolSize());
+        assertEquals(32, executor.getMaximumPoolSize());
+
+        ReadPoolController.setBounds(executor, 3, 3);
+        assertEquals(3, executor.getCorePoolSize());
+        assertEquals(3, executor.getMaximumPoolSize());
+    }
+}
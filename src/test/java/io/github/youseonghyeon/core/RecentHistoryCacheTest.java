@@ -0,0 +1,141 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.config.adapter.sample.DefaultMessageSender;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.persistence.ChatLogMapper;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import io.github.youseonghyeon.persistence.impl.InMemoryChatHistoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentHistoryCacheTest {
+
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private SocketChannel joined;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        joined = server.accept();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        joined.close();
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("방별 최근 N개 프레임만 오래된 순서로 재전송")
+    void replaysMostRecentFramesInOrder() throws IOException {
+        RecentHistoryCache cache = new RecentHistoryCache(3, new DefaultMessageSender(), null);
+        assertEquals(0, cache.replay(joined, "room"), "저장소가 없으면 첫 입장 시 빈 캐시를 만듭니다.");
+        for (int i = 0; i < 5; i++) {
+            cache.record(message("room", "user", "m" + i));
+        }
+        cache.record(message("other", "user", "x"));
+
+        assertEquals(3, cache.replay(joined, "room"));
+
+        assertEquals(List.of("m2", "m3", "m4"), readContents(3));
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1, cache.getCachedRoomCount(), "입장한 적 없는 방의 메시지는 캐시를 만들지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 방은 이력 저장소에서 읽어 재전송하고 캐시를 채움")
+    void fallsBackToHistoryStoreOnMiss() throws IOException {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        long roomKey = ChatLogMapper.roomKey("room");
+        for (int i = 0; i < 10; i++) {
+            store.save(new ChatLog(roomKey, i, "user", "m" + i));
+        }
+        RecentHistoryCache cache = new RecentHistoryCache(2, new DefaultMessageSender(), store);
+
+        assertEquals(2, cache.replay(joined, "room"));
+        assertEquals(List.of("m8", "m9"), readContents(2));
+        assertEquals(1L, cache.getMissCount());
+
+        cache.record(message("room", "user", "m10"));
+        cache.replay(joined, "room");
+        assertEquals(List.of("m9", "m10"), readContents(2), "저장소에서 채운 캐시에 이어서 기록되어야 합니다.");
+        assertEquals(1L, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("방이 제거되면 캐시도 제거")
+    void dropsRingWhenRoomRemoved() {
+        RecentHistoryCache cache = new RecentHistoryCache(3, new DefaultMessageSender(), null);
+        cache.replay(joined, "room");
+        cache.record(message("room", "user", "m"));
+        assertEquals(1, cache.getCachedRoomCount());
+
+        cache.onRoomRemoved("room");
+        cache.record(message("room", "user", "late"));
+
+        assertEquals(0, cache.getCachedRoomCount(), "제거된 방에 늦게 도착한 메시지가 캐시를 되살리면 안 됩니다.");
+        assertEquals(0, cache.replay(joined, "room"));
+    }
+
+    @Test
+    @DisplayName("저장소에서 읽은 결과가 비어 있으면 캐시하지 않고 다음 입장 때 다시 읽음")
+    void doesNotCacheEmptyMiss() throws IOException {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        RecentHistoryCache cache = new RecentHistoryCache(2, new DefaultMessageSender(), store);
+
+        assertEquals(0, cache.replay(joined, "room"));
+        assertEquals(0, cache.getCachedRoomCount());
+
+        store.save(new ChatLog(ChatLogMapper.roomKey("room"), 1, "user", "stored"));
+        assertEquals(1, cache.replay(joined, "room"));
+        assertEquals(List.of("stored"), readContents(1));
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(1, cache.getCachedRoomCount());
+    }
+
+    private static Message message(String roomId, String sender, String content) {
+        return new Message(EventType.USER_SEND, roomId, sender.getBytes(StandardCharsets.UTF_8),
+                content.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    /**
+     * {@link DefaultMessageSender} 포맷의 프레임을 읽어 content 만 반환합니다.
+     */
+    private List<String> readContents(int count) throws IOException {
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            readFully(4).getInt();
+            readFully(readFully(4).getInt());
+            readFully(readFully(4).getInt());
+            contents.add(new String(readFully(readFully(4).getInt()).array(), StandardCharsets.UTF_8));
+        }
+        return contents;
+    }
+
+    private ByteBuffer readFully(int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                throw new IOException("closed");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.youseonghyeon.core;
+
+import io.github.youseonghyeon.core.exception.InitChatServiceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupPlanTest {
+
+    @Test
+    @DisplayName("서로 의존하지 않는 컴포넌트는 동시에 실행한다")
+    void runsIndependentComponentsInParallel() {
+        // 두 컴포넌트가 서로를 기다리므로 순차 실행이면 시간 초과로 실패
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        StartupPlan.Step awaitOther = () -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("components did not run in parallel");
+            }
+        };
+
+        StartupReport report = new StartupPlan()
+                .component(StartupPhase.HISTORY, awaitOther)
+                .component(StartupPhase.BROADCASTER, awaitOther)
+                .run(System.nanoTime());
+
+        assertEquals(List.of(StartupPhase.HISTORY, StartupPhase.BROADCASTER),
+                report.components().stream().map(StartupReport.ComponentResult::phase).toList());
+    }
+
+    @Test
+    @DisplayName("의존하는 컴포넌트가 끝난 뒤에 시작하고, 계획에 없는 의존 대상은 무시한다")
+    void startsAfterDependencies() {
+        List<StartupPhase> executed = new CopyOnWriteArrayList<>();
+        long origin = System.nanoTime();
+        StartupReport report = new StartupPlan()
+                .component(StartupPhase.SUBSCRIBERS, () -> {
+                    Thread.sleep(20);
+                    executed.add(StartupPhase.SUBSCRIBERS);
+                })
+                .component(StartupPhase.BROADCASTER, Set.of(StartupPhase.SUBSCRIBERS), () -> executed.add(StartupPhase.BROADCASTER))
+                .component(StartupPhase.ACCEPT, Set.of(StartupPhase.HISTORY, StartupPhase.BROADCASTER),
+                        () -> executed.add(StartupPhase.ACCEPT))
+                .run(origin);
+
+        assertEquals(List.of(StartupPhase.SUBSCRIBERS, StartupPhase.BROADCASTER, StartupPhase.ACCEPT), executed);
+        StartupReport.ComponentResult subscribers = report.components().get(0);
+        StartupReport.ComponentResult accept = report.components().get(2);
+        assertTrue(accept.startedAtNanos() >= subscribers.finishedAtNanos());
+        assertTrue(report.readyNanos() >= accept.finishedAtNanos());
+    }
+
+    @Test
+    @DisplayName("컴포넌트가 실패하면 의존하는 컴포넌트는 건너뛰고 시작 실패로 알린다")
+    void skipsDependentsOfFailedComponent() {
+        List<StartupPhase> executed = new CopyOnWriteArrayList<>();
+        StartupPlan plan = new StartupPlan()
+                .component(StartupPhase.LISTENER, () -> executed.add(StartupPhase.LISTENER))
+                .component(StartupPhase.BROADCASTER, () -> {
+                    throw new IllegalStateException("broker unavailable");
+                })
+                .component(StartupPhase.ACCEPT, Set.of(StartupPhase.LISTENER, StartupPhase.BROADCASTER),
+                        () -> executed.add(StartupPhase.ACCEPT));
+
+        InitChatServiceException exception = assertThrows(InitChatServiceException.class, () -> plan.run(System.nanoTime()));
+
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertEquals(List.of(StartupPhase.LISTENER), executed);
+    }
+
+    @Test
+    @DisplayName("나중 단계에 의존하도록 선언하면 거부한다")
+    void rejectsDependencyOnLaterPhase() {
+        StartupPlan plan = new StartupPlan();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> plan.component(StartupPhase.SUBSCRIBERS, Set.of(StartupPhase.BROADCASTER), () -> {
+                }));
+    }
+}
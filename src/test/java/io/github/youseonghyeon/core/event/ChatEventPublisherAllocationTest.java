@@ -0,0 +1,34 @@
+package io.github.youseonghyeon.core.event;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.metrics.AllocationMeter;
+import io.github.youseonghyeon.metrics.EngineMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ChatEventPublisher#publish(Message)} 디스패치 한 번의 할당 예산입니다. 구독자는 호출 횟수만 세므로
+ * 조회, 지표 기록, JFR 이벤트 등 디스패치 자체의 할당만 측정합니다.
+ */
+class ChatEventPublisherAllocationTest {
+
+    /// JFR DispatchEvent 객체 하나 (이벤트가 꺼져 있어도 생성됨)
+    static final long PUBLISH_BUDGET_BYTES = 64;
+
+    private long delivered;
+
+    @Test
+    @DisplayName("디스패치 할당량이 예산 안에 있다")
+    void publishWithinBudget() {
+        ChatEventPublisher publisher = new ChatEventPublisher(new EngineMetrics());
+        for (EventType type : EventType.values()) {
+            publisher.registerSubscriber(type, received -> delivered++);
+        }
+        Message message = new Message(EventType.USER_SEND, "room-1024", "header".getBytes(StandardCharsets.UTF_8),
+                "hello".getBytes(StandardCharsets.UTF_8), null);
+
+        AllocationMeter.assertWithinBudget("ChatEventPublisher.publish", PUBLISH_BUDGET_BYTES, () -> publisher.publish(message));
+    }
+}
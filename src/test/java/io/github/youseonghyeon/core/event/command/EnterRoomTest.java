@@ -4,6 +4,7 @@ import io.github.youseonghyeon.config.adapter.MessageSender;
 import io.github.youseonghyeon.core.ChatRoom;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
 import io.github.youseonghyeon.model.User;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -60,4 +61,23 @@ class EnterRoomTest {
         verify(existingChatRoom, times(1)).join(any(User.class));
     }
 
+    @Test
+    @DisplayName("방이 처음 생성될 때만 방 생성 리스너 호출")
+    void subscribeNotifiesListenerOnlyWhenRoomIsCreated() {
+        // given
+        Map<String, ChatRoom> chatRoomMap = new HashMap<>();
+        RoomLifecycleListener listener = mock(RoomLifecycleListener.class);
+        EnterRoom enterRoom = new EnterRoom(chatRoomMap, messageSender, listener);
+        SocketChannel otherClient = mock(SocketChannel.class);
+        when(mockClient.isConnected()).thenReturn(true);
+        when(otherClient.isConnected()).thenReturn(true);
+
+        // when
+        enterRoom.subscribe(new Message(EventType.ENTER, "newRoom", null, null, mockClient));
+        enterRoom.subscribe(new Message(EventType.ENTER, "newRoom", null, null, otherClient));
+
+        // then
+        verify(listener, times(1)).onRoomCreated("newRoom");
+    }
+
 }
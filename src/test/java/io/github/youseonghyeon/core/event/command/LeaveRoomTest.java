@@ -3,6 +3,7 @@ package io.github.youseonghyeon.core.event.command;
 import io.github.youseonghyeon.core.ChatRoom;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
 import org.junit.jupiter.api.Test;
 
 import java.nio.channels.SocketChannel;
@@ -10,6 +11,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -52,4 +54,26 @@ class LeaveRoomTest {
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> leaveRoom.subscribe(message));
         assertEquals("Chat room not found: " + roomId, exception.getMessage());
     }
+
+    @Test
+    void subscribe_ShouldRemoveEmptyRoomAndNotifyListener() {
+        // Arrange
+        String roomId = "room1";
+        SocketChannel socketChannel = mock(SocketChannel.class);
+        ChatRoom chatRoom = mock(ChatRoom.class);
+        when(chatRoom.isEmpty()).thenReturn(true);
+        RoomLifecycleListener listener = mock(RoomLifecycleListener.class);
+
+        Map<String, ChatRoom> chatRoomMap = new HashMap<>();
+        chatRoomMap.put(roomId, chatRoom);
+
+        LeaveRoom leaveRoom = new LeaveRoom(chatRoomMap, listener);
+
+        // Act
+        leaveRoom.subscribe(new Message(EventType.LEAVE, roomId, null, null, socketChannel));
+
+        // Assert
+        assertFalse(chatRoomMap.containsKey(roomId));
+        verify(listener, times(1)).onRoomRemoved(roomId);
+    }
 }
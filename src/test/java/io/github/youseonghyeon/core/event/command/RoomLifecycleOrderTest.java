@@ -0,0 +1,75 @@
+package io.github.youseonghyeon.core.event.command;
+
+import io.github.youseonghyeon.core.ChatRoom;
+import io.github.youseonghyeon.core.InMemorySocketChannel;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.core.event.RoomLifecycleListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoomLifecycleOrderTest {
+
+    private static final String ROOM_ID = "room";
+
+    @Test
+    @DisplayName("마지막 퇴장과 재입장이 겹쳐도 생성/제거 통지는 번갈아 오고 최종 상태가 방 맵과 일치한다")
+    void notificationsFollowRoomMapOrder() throws InterruptedException {
+        Map<String, ChatRoom> chatRoomMap = new ConcurrentHashMap<>();
+        AtomicBoolean hosted = new AtomicBoolean(false);
+        AtomicInteger outOfOrder = new AtomicInteger();
+        RoomLifecycleListener listener = new RoomLifecycleListener() {
+            @Override
+            public void onRoomCreated(String roomId) {
+                if (hosted.getAndSet(true)) {
+                    outOfOrder.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void onRoomRemoved(String roomId) {
+                if (!hosted.getAndSet(false)) {
+                    outOfOrder.incrementAndGet();
+                }
+            }
+        };
+        EnterRoom enterRoom = new EnterRoom(chatRoomMap, (channel, message) -> {
+        }, listener);
+        LeaveRoom leaveRoom = new LeaveRoom(chatRoomMap, listener);
+
+        int threads = 4;
+        CountDownLatch ready = new CountDownLatch(threads);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            SocketChannel channel = new InMemorySocketChannel();
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 2_000; i++) {
+                    enterRoom.subscribe(new Message(EventType.ENTER, ROOM_ID, null, null, channel));
+                    leaveRoom.subscribe(new Message(EventType.LEAVE, ROOM_ID, null, null, channel));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(0, outOfOrder.get());
+        assertEquals(chatRoomMap.containsKey(ROOM_ID), hosted.get());
+    }
+}
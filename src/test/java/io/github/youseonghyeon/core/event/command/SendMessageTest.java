@@ -1,5 +1,6 @@
 package io.github.youseonghyeon.core.event.command;
 
+import io.github.youseonghyeon.broadcast.MessageBroadCaster;
 import io.github.youseonghyeon.core.ChatRoom;
 import io.github.youseonghyeon.core.dto.Message;
 import io.github.youseonghyeon.core.event.EventType;
@@ -36,4 +37,25 @@ class SendMessageTest {
         verify(mockChatRoom, times(1)).broadcast(message, mockSocketChannel);
     }
 
+    @Test
+    void subscribe_ShouldBroadcastToClusterOnlyForLocalMessages() {
+        // Arrange
+        ChatRoom mockChatRoom = Mockito.mock(ChatRoom.class);
+        MessageBroadCaster mockBroadCaster = Mockito.mock(MessageBroadCaster.class);
+        SocketChannel mockSocketChannel = Mockito.mock(SocketChannel.class);
+        Message local = new Message(EventType.USER_SEND, "room1", new byte[]{}, new byte[]{}, mockSocketChannel);
+        Message remote = new Message(EventType.USER_SEND, "room1", new byte[]{}, new byte[]{}, null);
+
+        SendMessage sendMessage = new SendMessage(Map.of("room1", mockChatRoom), mockBroadCaster);
+
+        // Act
+        sendMessage.subscribe(local);
+        sendMessage.subscribe(remote);
+
+        // Assert
+        verify(mockChatRoom, times(1)).broadcast(remote, null);
+        verify(mockBroadCaster, times(1)).broadcast("room1", local);
+        verify(mockBroadCaster, never()).broadcast("room1", remote);
+    }
+
 }
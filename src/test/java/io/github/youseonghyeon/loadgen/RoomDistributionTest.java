@@ -0,0 +1,40 @@
+package io.github.youseonghyeon.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomDistributionTest {
+
+    @Test
+    @DisplayName("Zipf 분포는 앞 번호 방에 더 많은 클라이언트를 배정하고, 같은 시드면 같은 결과")
+    void zipfFavoursFirstRooms() {
+        int[] assignment = RoomDistribution.ZIPF.assign(10_000, 100, 7);
+        int[] sizes = roomSizes(assignment, 100);
+
+        assertTrue(sizes[0] > sizes[9] && sizes[9] > sizes[99]);
+        assertArrayEquals(assignment, RoomDistribution.ZIPF.assign(10_000, 100, 7));
+    }
+
+    @Test
+    @DisplayName("균등 분포는 모든 방에 n / rooms 명씩 고르게 배정")
+    void uniformSpreadsEvenly() {
+        int clients = 10_050;
+        int rooms = 100;
+        int[] sizes = roomSizes(RoomDistribution.UNIFORM.assign(clients, rooms, 7), rooms);
+
+        double expected = (double) clients / rooms;
+        for (int room = 0; room < rooms; room++) {
+            assertTrue(Math.abs(sizes[room] - expected) <= 1, "방 " + room + " 인원: " + sizes[room]);
+        }
+    }
+
+    private static int[] roomSizes(int[] assignment, int rooms) {
+        int[] sizes = new int[rooms];
+        for (int room : assignment) {
+            sizes[room]++;
+        }
+        return sizes;
+    }
+}
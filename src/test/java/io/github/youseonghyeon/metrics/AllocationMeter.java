@@ -0,0 +1,69 @@
+package io.github.youseonghyeon.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 현재 스레드가 할당한 바이트 수({@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)})로
+ * 작업 한 번의 할당량을 재는 테스트 도구입니다.
+ *
+ * <p>JIT 컴파일 전후로 할당량이 달라지므로(탈출 분석) 먼저 충분히 반복해 워밍업한 뒤 측정합니다.
+ * 측정 자체의 할당은 빈 작업으로 한 번 재서 뺍니다. 각 경로의 예산은 해당 코드의 테스트 옆에 상수로 두어,
+ * 할당이 늘어나는 변경은 예산 수정과 함께 리뷰되도록 합니다.</p>
+ *
+ * <pre>{@code
+ * AllocationMeter.assertWithinBudget("decode", DECODE_BUDGET_BYTES, () -> receiver.read(channel));
+ * }</pre>
+ */
+public final class AllocationMeter {
+
+    public static final int DEFAULT_WARMUP = 20_000;
+    public static final int DEFAULT_ITERATIONS = 10_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * 작업 한 번의 평균 할당 바이트 수를 잽니다.
+     */
+    public static double bytesPerOperation(int warmup, int iterations, Runnable operation) {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation accounting is not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long baseline = allocatedDuring(iterations, () -> {
+        });
+        long allocated = allocatedDuring(iterations, operation);
+        return Math.max(0, allocated - baseline) / (double) iterations;
+    }
+
+    /**
+     * 작업 한 번의 평균 할당량이 예산을 넘으면 실패합니다.
+     *
+     * @param name              실패 메시지에 표시할 경로 이름
+     * @param budgetBytesPerOp  작업 한 번에 허용하는 할당 바이트 수
+     * @return 측정한 작업당 할당 바이트 수
+     */
+    public static double assertWithinBudget(String name, long budgetBytesPerOp, Runnable operation) {
+        double measured = bytesPerOperation(DEFAULT_WARMUP, DEFAULT_ITERATIONS, operation);
+        assertTrue(measured <= budgetBytesPerOp, String.format(
+                "%s allocated %.1f bytes/op, budget is %d bytes/op. Reduce the allocation or raise the budget in the same change.",
+                name, measured, budgetBytesPerOp));
+        return measured;
+    }
+
+    private static long allocatedDuring(int iterations, Runnable operation) {
+        long threadId = Thread.currentThread().threadId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return THREADS.getThreadAllocatedBytes(threadId) - before;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.youseonghyeon.metrics;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineMetricsTest {
+
+    @Test
+    @DisplayName("스냅샷은 기록한 연결, 디코딩, 디스패치, 팬아웃 값과 연결된 게이지를 함께 반환")
+    void snapshotReflectsRecordedValues() {
+        EngineMetrics metrics = new EngineMetrics();
+        metrics.connectionAccepted();
+        metrics.connectionAccepted();
+        metrics.connectionClosed();
+        metrics.frameDecoded(1_000);
+        metrics.frameDecoded(3_000);
+        metrics.dispatched(EventType.USER_SEND, 5_000);
+        metrics.fannedOut(10, 20_000);
+        metrics.bindDispatchQueue(() -> 7);
+        metrics.bindBroadcastQueue(() -> 3, () -> 42);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(2L, snapshot.acceptedConnections());
+        assertEquals(1L, snapshot.activeConnections());
+        assertEquals(2L, snapshot.framesDecoded());
+        assertEquals(2_000.0, snapshot.decodeTime().mean());
+        assertEquals(7, snapshot.dispatchQueueDepth());
+        assertEquals(1, snapshot.dispatchTime().size());
+        assertEquals(1L, snapshot.dispatchTime().get(EventType.USER_SEND).count());
+        assertEquals(10L, snapshot.fanOutSize().max());
+        assertEquals(3, snapshot.broadcastQueueDepth());
+        assertEquals(42L, snapshot.broadcastLagNanos());
+    }
+
+    @Test
+    @DisplayName("계측 송신기는 진행 중인 쓰기 수를 유지하고 실패를 센다")
+    void meteredSenderTracksWrites() {
+        EngineMetrics metrics = new EngineMetrics();
+        long[] inFlightDuringSend = new long[1];
+        MeteredMessageSender sender = new MeteredMessageSender((channel, message) -> {
+            inFlightDuringSend[0] = metrics.getWritesInFlight();
+            if (message.roomId().equals("broken")) {
+                throw new IOException("Broken pipe");
+            }
+        }, metrics);
+
+        assertDoesNotThrow(() -> sender.send(null, message("room1")));
+        assertThrows(IOException.class, () -> sender.send(null, message("broken")));
+
+        assertEquals(1L, inFlightDuringSend[0]);
+        assertEquals(0L, metrics.getWritesInFlight());
+        assertEquals(1L, metrics.getWriteFailures());
+        assertEquals(2L, metrics.getWriteTime().getCount());
+    }
+
+    @Test
+    @DisplayName("MBean 으로 등록한 지표를 속성으로 읽을 수 있고, 닫으면 등록 해제")
+    void exportsMBeans() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        EngineMetrics metrics = new EngineMetrics();
+        metrics.connectionAccepted();
+        metrics.dispatched(EventType.ENTER, 1_500);
+
+        try (JmxMetricsExporter exporter = new JmxMetricsExporter(metrics, "9999", server)) {
+            exporter.register();
+
+            ObjectName engine = new ObjectName(JmxMetricsExporter.DOMAIN + ":engine=9999,type=Engine");
+            ObjectName enter = new ObjectName(JmxMetricsExporter.DOMAIN + ":engine=9999,type=Dispatch,event=ENTER");
+            assertEquals(1L, server.getAttribute(engine, "ActiveConnections"));
+            assertEquals(1L, server.getAttribute(enter, "Count"));
+            assertEquals(1_500L, server.getAttribute(enter, "Max"));
+            assertEquals(6 + EventType.values().length, exporter.getRegisteredNames().size());
+        }
+        assertTrue(server.queryNames(new ObjectName(JmxMetricsExporter.DOMAIN + ":*"), null).isEmpty());
+    }
+
+    private static Message message(String roomId) {
+        return new Message(EventType.USER_SEND, roomId, new byte[0], new byte[0], null);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.youseonghyeon.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("기록이 없으면 모든 백분위와 평균이 0")
+    void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0L, histogram.percentile(50));
+        assertEquals(0L, histogram.percentile(99.9));
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    @DisplayName("백분위 값은 실제 값보다 작지 않고 상대 오차 1/32 이내")
+    void percentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertEquals(100_000L, histogram.getCount());
+        assertEquals(100_000_000L, histogram.getMax());
+        assertWithin(50_000_000L, histogram.percentile(50));
+        assertWithin(99_000_000L, histogram.percentile(99));
+        assertWithin(99_900_000L, histogram.percentile(99.9));
+        assertEquals(100_000_000L, histogram.percentile(100));
+        assertEquals(50_000_500.0, histogram.getMean(), 1.0);
+    }
+
+    @Test
+    @DisplayName("모든 값은 자신이 속한 칸의 상한 이하이고, 바로 앞 칸의 상한보다 큼")
+    void bucketBoundsContainValue() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1_000, 1L << 40, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(index), "value " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.upperBoundOf(index - 1), "value " + value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("음수는 0 으로 기록하고, 범위를 벗어난 백분위는 예외")
+    void rejectsInvalidInput() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(0L, histogram.getMax());
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(-1));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / LatencyHistogram.SUB_BUCKETS,
+                "expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.youseonghyeon.metrics.jfr;
+
+import io.github.youseonghyeon.core.ChatRoom;
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.ChatEventPublisher;
+import io.github.youseonghyeon.core.event.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("임계값을 0 으로 두면 디스패치와 방 전송 이벤트가 방 ID, 이벤트 타입, 크기와 함께 기록")
+    void recordsDispatchAndBroadcast() throws Exception {
+        ChatRoom chatRoom = new ChatRoom("room1", (channel, message) -> {
+        });
+        ChatEventPublisher publisher = new ChatEventPublisher();
+        publisher.registerSubscriber(EventType.USER_SEND, message -> chatRoom.broadcast(message, null));
+
+        List<RecordedEvent> events = record(Duration.ZERO, () -> publisher.publish(message("room1", "hello!")));
+
+        RecordedEvent dispatch = find(events, DispatchEvent.NAME);
+        assertEquals("room1", dispatch.getString("roomId"));
+        assertEquals("USER_SEND", dispatch.getString("eventType"));
+        assertEquals(5L + 6L, dispatch.getLong("bytes"));
+
+        RecordedEvent broadcast = find(events, BroadcastEvent.NAME);
+        assertEquals("room1", broadcast.getString("roomId"));
+        assertEquals(0, broadcast.getInt("recipients"));
+        assertFalse(broadcast.getDuration().isNegative());
+    }
+
+    @Test
+    @DisplayName("header 나 content 가 없는 메시지도 이벤트가 켜진 상태에서 전송되고 크기는 있는 부분만 기록")
+    void recordsMessagesWithoutHeader() throws Exception {
+        ChatRoom chatRoom = new ChatRoom("room1", (channel, message) -> {
+        });
+        ChatEventPublisher publisher = new ChatEventPublisher();
+        publisher.registerSubscriber(EventType.USER_SEND, message -> chatRoom.broadcast(message, null));
+        Message message = new Message(EventType.USER_SEND, "room1", null, "hello!".getBytes(StandardCharsets.UTF_8), null);
+
+        List<RecordedEvent> events = record(Duration.ZERO, () -> {
+            publisher.publish(message);
+            chatRoom.broadcast(new Message(null, "room1", null, null, null), null);
+        });
+
+        assertEquals(6L, find(events, DispatchEvent.NAME).getLong("bytes"));
+        List<RecordedEvent> broadcasts = events.stream()
+                .filter(event -> event.getEventType().getName().equals(BroadcastEvent.NAME))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+        assertEquals(2, broadcasts.size());
+        assertEquals(6L, broadcasts.get(0).getLong("bytes"));
+        assertEquals(0L, broadcasts.get(1).getLong("bytes"));
+    }
+
+    @Test
+    @DisplayName("임계값보다 빠른 구간은 기록하지 않음")
+    void skipsFastSpansBelowThreshold() throws Exception {
+        ChatEventPublisher publisher = new ChatEventPublisher();
+        publisher.registerSubscriber(EventType.USER_SEND, message -> {
+        });
+
+        List<RecordedEvent> events = record(Duration.ofSeconds(10), () -> publisher.publish(message("room1", "hello")));
+
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().equals(DispatchEvent.NAME)));
+    }
+
+    private List<RecordedEvent> record(Duration threshold, Runnable action) throws Exception {
+        Path file = tempDir.resolve("chat.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DispatchEvent.NAME).withThreshold(threshold);
+            recording.enable(BroadcastEvent.NAME).withThreshold(threshold);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+
+    private static Message message(String roomId, String content) {
+        return new Message(EventType.USER_SEND, roomId, "head1".getBytes(StandardCharsets.UTF_8),
+                content.getBytes(StandardCharsets.UTF_8), null);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.youseonghyeon.persistence;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import io.github.youseonghyeon.persistence.impl.InMemoryChatHistoryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatHistoryStoreTest {
+
+    @Test
+    @DisplayName("커서 위에 구현된 기본 조회 메서드는 저장소의 재정의 구현과 같은 결과")
+    void defaultQueriesMatchOverrides() {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        for (int i = 0; i < 3000; i++) {
+            store.save(new ChatLog(1L, i * 2L, "user", "m" + i));
+        }
+        ChatHistoryStore cursorOnly = new ChatHistoryStore() {
+            @Override
+            public void save(ChatLog log) {
+                store.save(log);
+            }
+
+            @Override
+            public HistoryCursor openCursor(long roomId, HistoryPosition position, ScanDirection direction) {
+                return store.openCursor(roomId, position, direction);
+            }
+        };
+
+        assertEquals(store.findRecentLogs(1L, 50), cursorOnly.findRecentLogs(1L, 50));
+        assertEquals(store.findLogsBetween(1L, 1001, 3000), cursorOnly.findLogsBetween(1L, 1001, 3000));
+        assertEquals(store.findLogsBefore(1L, 4001, 100), cursorOnly.findLogsBefore(1L, 4001, 100));
+        assertEquals(store.findLogsBefore(1L, 0, 10), cursorOnly.findLogsBefore(1L, 0, 10));
+        assertTrue(cursorOnly.findRecentLogs(2L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("목록 조회만 구현한 저장소도 기본 커서로 양방향 페이지 조회")
+    void defaultCursorOverFinders() {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        // 같은 timestamp 가 페이지 경계에 걸치도록 두 개씩 같은 timestamp 를 사용
+        int count = FinderHistoryCursor.PAGE_SIZE * 2 + 11;
+        for (int i = 0; i < count; i++) {
+            store.save(new ChatLog(1L, i / 2, "user", "m" + i));
+        }
+        ChatHistoryStore findersOnly = new ChatHistoryStore() {
+            @Override
+            public void save(ChatLog log) {
+                store.save(log);
+            }
+
+            @Override
+            public List<ChatLog> findLogsBetween(long roomId, long fromUnix, long toUnix) {
+                return store.findLogsBetween(roomId, fromUnix, toUnix);
+            }
+
+            @Override
+            public List<ChatLog> findLogsBefore(long roomId, long toUnix, int limit) {
+                return store.findLogsBefore(roomId, toUnix, limit);
+            }
+        };
+
+        List<ChatLog> backward = findersOnly.openCursor(1L, HistoryPosition.latest(), ScanDirection.BACKWARD).stream().toList();
+        assertEquals(store.findRecentLogs(1L, count), backward);
+        assertEquals(store.findRecentLogs(1L, 10), findersOnly.findRecentLogs(1L, 10));
+
+        HistoryCursor forward = findersOnly.openCursor(1L, HistoryPosition.atTime(100), ScanDirection.FORWARD);
+        assertEquals(store.findLogsBetween(1L, 100, Long.MAX_VALUE), forward.stream().toList());
+        findersOnly.save(new ChatLog(1L, count, "user", "late"));
+        assertTrue(forward.hasNext(), "순방향 커서는 이후 추가된 로그도 읽어야 합니다.");
+        assertEquals("late", forward.next().message());
+
+        HistoryCursor latest = findersOnly.openCursor(1L, HistoryPosition.latest(), ScanDirection.FORWARD);
+        assertFalse(latest.hasNext());
+        assertTrue(findersOnly.openCursor(2L, HistoryPosition.latest(), ScanDirection.BACKWARD).stream().findAny().isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> findersOnly.openCursor(1L, HistoryPosition.ofIndex(1), ScanDirection.FORWARD));
+    }
+
+    @Test
+    @DisplayName("위치 토큰은 복원 가능하며 잘못된 토큰은 거부")
+    void positionTokenRoundTrip() {
+        HistoryPosition position = HistoryPosition.ofIndex(123_456_789L);
+        assertEquals(position, HistoryPosition.fromToken(position.toToken()));
+        assertEquals(HistoryPosition.latest(), HistoryPosition.fromToken(HistoryPosition.latest().toToken()));
+        assertThrows(IllegalArgumentException.class, () -> HistoryPosition.fromToken("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryPosition.fromToken("AAAA"));
+    }
+}
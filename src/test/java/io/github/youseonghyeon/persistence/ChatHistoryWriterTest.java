@@ -0,0 +1,171 @@
+package io.github.youseonghyeon.persistence;
+
+import io.github.youseonghyeon.core.dto.Message;
+import io.github.youseonghyeon.core.event.EventType;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import io.github.youseonghyeon.persistence.impl.InMemoryChatHistoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatHistoryWriterTest {
+
+    private ChatHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("배치 크기만큼 모이면 한 번에 저장")
+    void flushesBySize() throws Exception {
+        RecordingStore store = new RecordingStore();
+        writer = new ChatHistoryWriter(store, ChatLogMapper.DEFAULT, 100, 5, Duration.ofSeconds(10));
+        writer.start();
+
+        for (int i = 0; i < 10; i++) {
+            writer.record(message("1", "m" + i));
+        }
+
+        store.awaitSaved(10);
+        assertEquals(List.of(5, 5), store.batchSizes);
+        assertEquals(2L, writer.getFlushCount());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("배치가 다 차지 않아도 flush 간격이 지나면 저장")
+    void flushesByTime() throws Exception {
+        RecordingStore store = new RecordingStore();
+        writer = new ChatHistoryWriter(store, ChatLogMapper.DEFAULT, 100, 100, Duration.ofMillis(50));
+        writer.start();
+
+        writer.record(message("1", "only"));
+
+        store.awaitSaved(1);
+        assertEquals(List.of(1), store.batchSizes);
+        assertTrue(writer.getLastFlushLatencyNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("방별 저장 순서는 기록 순서와 같음")
+    void keepsPerRoomOrder() throws Exception {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        writer = new ChatHistoryWriter(store, ChatLogMapper.DEFAULT, 1000, 7, Duration.ofMillis(20));
+        writer.start();
+
+        for (int i = 0; i < 100; i++) {
+            writer.record(message(String.valueOf(i % 3), String.valueOf(i)));
+        }
+        writer.close();
+
+        for (long room = 0; room < 3; room++) {
+            List<ChatLog> logs = store.findLogsBetween(room, 0, Long.MAX_VALUE);
+            int previous = -1;
+            for (ChatLog log : logs) {
+                int current = Integer.parseInt(log.message());
+                assertTrue(current > previous, "방 " + room + " 의 순서가 뒤바뀌었습니다.");
+                previous = current;
+            }
+        }
+        assertEquals(100L, writer.getFlushedCount());
+    }
+
+    @Test
+    @DisplayName("close 시 큐에 남은 이력을 모두 저장")
+    void closeFlushesRemaining() {
+        RecordingStore store = new RecordingStore();
+        writer = new ChatHistoryWriter(store, ChatLogMapper.DEFAULT, 100, 1000, Duration.ofSeconds(10));
+        writer.start();
+
+        for (int i = 0; i < 42; i++) {
+            writer.record(message("1", "m" + i));
+        }
+        writer.close();
+
+        assertEquals(42, store.saved.size());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 기록을 버리고 블로킹하지 않음")
+    void dropsWhenQueueIsFull() {
+        RecordingStore store = new RecordingStore();
+        store.blocked = new CountDownLatch(1);
+        writer = new ChatHistoryWriter(store, ChatLogMapper.DEFAULT, 2, 1, Duration.ofMillis(10));
+        writer.start();
+
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (writer.record(message("1", "m" + i))) {
+                accepted++;
+            }
+        }
+        store.blocked.countDown();
+
+        assertTrue(accepted <= 3, "큐 크기 + 저장 중인 1건을 넘게 받으면 안 됩니다: " + accepted);
+        assertEquals(10L - accepted, writer.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 방 ID 는 고정된 해시 키로 변환")
+    void mapsRoomIds() {
+        assertEquals(42L, ChatLogMapper.roomKey("42"));
+        assertEquals(ChatLogMapper.roomKey("lobby"), ChatLogMapper.roomKey("lobby"));
+        assertTrue(ChatLogMapper.roomKey("lobby") >= 0);
+        assertNotEquals(ChatLogMapper.roomKey("lobby"), ChatLogMapper.roomKey("lobby2"));
+    }
+
+    private static Message message(String roomId, String content) {
+        return new Message(EventType.USER_SEND, roomId, "user".getBytes(StandardCharsets.UTF_8), content.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static final class RecordingStore implements ChatHistoryStore {
+        final List<ChatLog> saved = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        volatile CountDownLatch blocked;
+
+        @Override
+        public void save(ChatLog log) {
+            saveAll(List.of(log));
+        }
+
+        @Override
+        public void saveAll(List<ChatLog> logs) {
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batchSizes.add(logs.size());
+            saved.addAll(logs);
+        }
+
+        void awaitSaved(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (saved.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+
+        @Override
+        public HistoryCursor openCursor(long roomId, HistoryPosition position, ScanDirection direction) {
+            return HistoryCursor.empty(position, direction);
+        }
+    }
+}
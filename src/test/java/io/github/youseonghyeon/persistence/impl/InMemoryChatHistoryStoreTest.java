@@ -0,0 +1,294 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryChatHistoryStoreTest {
+
+    private static final int COUNT = RoomLog.CHUNK_SIZE * 3 + 17;
+
+    @Test
+    @DisplayName("최근 N개는 최신순으로, 청크 경계를 넘어 조회")
+    void findRecentLogs() {
+        InMemoryChatHistoryStore store = filledStore();
+
+        List<ChatLog> recent = store.findRecentLogs(1L, RoomLog.CHUNK_SIZE + 5);
+
+        assertEquals(RoomLog.CHUNK_SIZE + 5, recent.size());
+        assertEquals((long) (COUNT - 1) * 10, recent.get(0).timestamp());
+        assertEquals((long) (COUNT - RoomLog.CHUNK_SIZE - 5) * 10, recent.get(recent.size() - 1).timestamp());
+        assertEquals(COUNT, store.findRecentLogs(1L, Integer.MAX_VALUE).size());
+        assertTrue(store.findRecentLogs(2L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("시간 구간 조회는 양 끝을 포함하여 시간순으로 반환")
+    void findLogsBetween() {
+        InMemoryChatHistoryStore store = filledStore();
+
+        List<ChatLog> logs = store.findLogsBetween(1L, 10_000, 10_240);
+
+        assertEquals(25, logs.size());
+        assertEquals(10_000L, logs.get(0).timestamp());
+        assertEquals(10_240L, logs.get(24).timestamp());
+        assertEquals(2, store.findLogsBetween(1L, 9_995, 10_010).size());
+        assertTrue(store.findLogsBetween(1L, 10_240, 10_000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("기준 시점 이전 로그는 기준 시점을 제외하고 최신순으로 반환")
+    void findLogsBefore() {
+        InMemoryChatHistoryStore store = filledStore();
+
+        List<ChatLog> logs = store.findLogsBefore(1L, 10_240, 3);
+
+        assertEquals(List.of(10_230L, 10_220L, 10_210L), logs.stream().map(ChatLog::timestamp).toList());
+        assertEquals(List.of(0L), store.findLogsBefore(1L, 10, 5).stream().map(ChatLog::timestamp).toList());
+        assertTrue(store.findLogsBefore(1L, 0, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("saveAll 은 방별로 순서를 유지하며 저장")
+    void saveAllKeepsOrderPerRoom() {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        List<ChatLog> logs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            logs.add(new ChatLog(i % 2, i, "user", "m" + i));
+        }
+
+        store.saveAll(logs);
+
+        assertEquals(List.of("m1", "m3", "m5", "m7", "m9"),
+                store.findLogsBetween(1L, 0, 100).stream().map(ChatLog::message).toList());
+    }
+
+    @Test
+    @DisplayName("쓰는 도중에도 읽기는 락 없이 완전한 항목만 본다")
+    void readersSeeCompleteEntriesWhileWriting() throws Exception {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    store.findRecentLogs(1L, 64).forEach(Assertions::assertNotNull);
+                    store.findLogsBetween(1L, 0, Long.MAX_VALUE).forEach(Assertions::assertNotNull);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            store.save(new ChatLog(1L, i, "user", "m" + i));
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(20_000, store.findRecentLogs(1L, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    @DisplayName("방별 최대 개수를 넘으면 오래된 메시지부터 나누어 삭제")
+    void retainsMaxMessagesPerRoom() {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore(RetentionPolicy.unlimited()
+                .maxMessagesPerRoom(1000)
+                .sweep(Duration.ofHours(1), 2000));
+        for (int i = 0; i < 5000; i++) {
+            store.save(new ChatLog(1L, i, "user", "m" + i));
+        }
+
+        store.sweep();
+        assertEquals(3000L, store.getRetainedMessageCount(), "한 주기에 batch 만큼만 삭제해야 합니다.");
+        store.sweep();
+
+        assertEquals(1000L, store.getRetainedMessageCount());
+        assertEquals(4000L, store.getEvictedMessageCount());
+        List<ChatLog> remaining = store.findLogsBetween(1L, 0, Long.MAX_VALUE);
+        assertEquals(4000L, remaining.get(0).timestamp());
+        assertEquals(4999L, remaining.get(remaining.size() - 1).timestamp());
+        assertTrue(store.findLogsBefore(1L, 4000, 10).isEmpty(), "삭제된 구간은 조회되지 않아야 합니다.");
+        store.close();
+    }
+
+    @Test
+    @DisplayName("initialize 이후에만 주기적인 정리를 시작")
+    void startsSweepOnInitialize() throws InterruptedException {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore(RetentionPolicy.unlimited()
+                .maxMessagesPerRoom(10)
+                .sweep(Duration.ofMillis(10), 1000));
+        for (int i = 0; i < 100; i++) {
+            store.save(new ChatLog(1L, i, "user", "m" + i));
+        }
+        Thread.sleep(50);
+        assertEquals(100L, store.getRetainedMessageCount(), "initialize 전에는 정리하지 않아야 합니다.");
+
+        store.initialize();
+        store.initialize();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (store.getRetainedMessageCount() > 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(10L, store.getRetainedMessageCount());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 메시지를 삭제하고 빈 방은 제거")
+    void retainsByAge() {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore(RetentionPolicy.unlimited()
+                .maxAge(Duration.ofMinutes(1))
+                .sweep(Duration.ofHours(1), 10_000));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            store.save(new ChatLog(1L, now - 120_000 + i, "user", "old"));
+            store.save(new ChatLog(2L, now - 120_000 + i, "user", "old"));
+        }
+        for (int i = 0; i < 5; i++) {
+            store.save(new ChatLog(1L, now + i, "user", "new"));
+        }
+
+        store.sweep();
+
+        assertEquals(5L, store.getRetainedMessageCount());
+        assertEquals(1, store.getRoomCount());
+        assertEquals(1L, store.getEvictedRoomCount());
+        assertTrue(store.findRecentLogs(2L, 10).isEmpty());
+        store.save(new ChatLog(2L, now, "user", "again"));
+        assertEquals(1, store.findRecentLogs(2L, 10).size(), "제거된 방에도 다시 저장할 수 있어야 합니다.");
+        store.close();
+    }
+
+    @Test
+    @DisplayName("전체 사용량이 상한을 넘으면 가장 오래 활동이 없던 방부터 삭제")
+    void evictsLeastRecentlyActiveRoomsFirst() throws Exception {
+        ChatLog sample = new ChatLog(0L, 0, "user", "message");
+        long perLog = RoomLog.estimateBytes(sample);
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore(RetentionPolicy.unlimited()
+                .maxBytes(perLog * 150)
+                .sweep(Duration.ofHours(1), 10_000));
+        for (long room = 1; room <= 3; room++) {
+            for (int i = 0; i < 100; i++) {
+                store.save(new ChatLog(room, i, "user", "message"));
+            }
+            Thread.sleep(5);
+        }
+        // 방마다 100개를 담는 128칸 청크 하나
+        assertEquals((perLog * 100 + RoomLog.chunkBytes(128)) * 3, store.getRetainedBytes());
+
+        store.sweep();
+
+        assertTrue(store.findRecentLogs(1L, 10).isEmpty(), "가장 오래 활동이 없던 방이 먼저 삭제되어야 합니다.");
+        assertTrue(store.findRecentLogs(2L, 10).isEmpty());
+        assertEquals(100, store.findRecentLogs(3L, 1000).size(), "최근 활동한 방은 유지되어야 합니다.");
+        assertTrue(store.getRetainedBytes() <= perLog * 150);
+        store.close();
+    }
+
+    @Test
+    @DisplayName("메시지가 적은 방은 작은 청크만 잡고, 모두 삭제되면 청크 크기도 사용량에서 빠짐")
+    void accountsChunkOverheadForSmallRooms() {
+        ChatLog sample = new ChatLog(0L, 0, "user", "message");
+        long perLog = RoomLog.estimateBytes(sample);
+        RoomLog log = new RoomLog();
+        for (int i = 0; i < 3; i++) {
+            log.append(new ChatLog(1L, i, "user", "message"));
+        }
+        assertEquals(perLog * 3 + RoomLog.chunkBytes(RoomLog.INITIAL_CHUNK_CAPACITY), log.retainedBytes());
+        assertTrue(log.retainedBytes() < RoomLog.chunkBytes(RoomLog.CHUNK_SIZE));
+
+        for (int i = 3; i < RoomLog.CHUNK_SIZE + 1; i++) {
+            log.append(new ChatLog(1L, i, "user", "message"));
+        }
+        assertEquals(perLog * (RoomLog.CHUNK_SIZE + 1) + RoomLog.chunkBytes(RoomLog.CHUNK_SIZE) * 2, log.retainedBytes());
+        assertEquals(RoomLog.CHUNK_SIZE + 1, log.range(0, Integer.MAX_VALUE).size(), "청크를 늘려도 기존 로그는 유지되어야 합니다.");
+
+        log.evictOldest(RoomLog.CHUNK_SIZE + 1);
+        assertEquals(0L, log.retainedBytes());
+        assertNull(log.get(0));
+    }
+
+    @Test
+    @DisplayName("삭제 중에도 조회 결과는 끊김 없는 연속 구간")
+    void readersSeeContiguousRangeDuringEviction() throws Exception {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore(RetentionPolicy.unlimited()
+                .maxMessagesPerRoom(500)
+                .sweep(Duration.ofHours(1), 100));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> violation = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                List<ChatLog> logs = store.findLogsBetween(1L, 0, Long.MAX_VALUE);
+                for (int i = 1; i < logs.size(); i++) {
+                    if (logs.get(i).timestamp() != logs.get(i - 1).timestamp() + 1) {
+                        violation.set("gap at " + logs.get(i).timestamp());
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 50_000; i++) {
+            store.save(new ChatLog(1L, i, "user", "m"));
+            if (i % 100 == 0) {
+                store.sweep();
+            }
+        }
+        running.set(false);
+        reader.join();
+
+        assertNull(violation.get());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("역방향 커서는 삭제된 구간을 건너뛰고, 순방향 커서는 이후 추가된 로그를 읽음")
+    void cursorFollowsEvictionAndAppends() {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore(RetentionPolicy.unlimited()
+                .maxMessagesPerRoom(2000)
+                .sweep(Duration.ofHours(1), 10_000));
+        for (int i = 0; i < 5000; i++) {
+            store.save(new ChatLog(1L, i, "user", "m" + i));
+        }
+        HistoryCursor backward = store.openCursor(1L, HistoryPosition.atTime(3500), ScanDirection.BACKWARD);
+        assertEquals(3499L, backward.next().timestamp());
+        HistoryPosition resume = backward.position();
+
+        store.sweep();
+
+        List<Long> rest = store.openCursor(1L, HistoryPosition.fromToken(resume.toToken()), ScanDirection.BACKWARD).stream()
+                .map(ChatLog::timestamp)
+                .toList();
+        assertEquals(499, rest.size(), "삭제된 로그는 읽지 않아야 합니다.");
+        assertEquals(3498L, (long) rest.get(0));
+        assertEquals(3000L, (long) rest.get(498));
+
+        HistoryCursor forward = store.openCursor(1L, HistoryPosition.latest(), ScanDirection.FORWARD);
+        assertFalse(forward.hasNext());
+        store.save(new ChatLog(1L, 5000, "user", "late"));
+        assertEquals("late", forward.next().message());
+        store.close();
+    }
+
+    private static InMemoryChatHistoryStore filledStore() {
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        for (int i = 0; i < COUNT; i++) {
+            store.save(new ChatLog(1L, i * 10L, "user", "m" + i));
+        }
+        return store;
+    }
+}
@@ -0,0 +1,238 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSegmentChatHistoryStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 세그먼트로 넘어가고, 조회는 세그먼트 경계를 넘어 동작")
+    void rollsSegmentsAndQueriesAcrossThem() throws Exception {
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.OS)) {
+            fill(store, 1L, 1000);
+
+            assertTrue(segmentCount(1L) > 1, "작은 세그먼트 크기에서는 여러 세그먼트가 만들어져야 합니다.");
+            assertEquals(List.of(9_990L, 9_980L, 9_970L), timestamps(store.findRecentLogs(1L, 3)));
+            List<ChatLog> between = store.findLogsBetween(1L, 2_000, 6_000);
+            assertEquals(401, between.size());
+            assertEquals(2_000L, between.get(0).timestamp());
+            assertEquals(6_000L, between.get(400).timestamp());
+            assertEquals(List.of(4_990L, 4_980L), timestamps(store.findLogsBefore(1L, 5_000, 2)));
+            assertEquals("user", between.get(0).sender());
+            assertEquals("message 200", between.get(0).message());
+            assertTrue(store.findRecentLogs(2L, 3).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열면 기존 로그와 인덱스를 복구하고 이어서 기록")
+    void recoversOnReopen() throws Exception {
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            fill(store, 1L, 500);
+            store.save(new ChatLog(2L, 1, null, "null sender"));
+        }
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            assertEquals(500, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+            assertNull(store.findRecentLogs(2L, 1).get(0).sender());
+
+            store.save(new ChatLog(1L, 5_000, "user", "after reopen"));
+            assertEquals("after reopen", store.findRecentLogs(1L, 1).get(0).message());
+            assertEquals(501, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    @DisplayName("복구 시 CRC 가 맞지 않는 꼬리 레코드를 잘라냄")
+    void truncatesTornTail() throws Exception {
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            fill(store, 1L, 10);
+        }
+        Path segment = lastSegment(1L);
+        long tail;
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            tail = store.findLogsBetween(1L, 0, Long.MAX_VALUE).size();
+        }
+        assertEquals(10L, tail);
+
+        // 마지막 레코드의 본문 일부를 덮어써 기록 도중 끊긴 상황을 흉내냄
+        int lastRecordPosition = recordPosition(segment, 9);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(lastRecordPosition + 8 + 10);
+            file.write(new byte[]{1, 2, 3, 4});
+        }
+
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            assertEquals(9, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+            store.save(new ChatLog(1L, 1_000, "user", "replacement"));
+            assertEquals("replacement", store.findRecentLogs(1L, 1).get(0).message());
+        }
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            assertEquals(10, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    @DisplayName("INTERVAL 정책에서도 저장/조회가 동작")
+    void intervalFsync() throws Exception {
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.INTERVAL, Duration.ofMillis(5), MappedSegmentChatHistoryStore.DEFAULT_MAX_OPEN_SEGMENTS)) {
+            fill(store, 7L, 200);
+            Thread.sleep(20);
+            assertEquals(200, store.findLogsBetween(7L, 0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    @DisplayName("커서 토큰으로 세그먼트 경계를 넘어 역방향 페이지 조회, 재시작 후에도 이어서 조회")
+    void pagesBackwardWithCursorTokens() throws Exception {
+        String token;
+        List<Long> firstPages = new ArrayList<>();
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            fill(store, 1L, 1000);
+            HistoryPosition position = HistoryPosition.latest();
+            for (int page = 0; page < 3; page++) {
+                HistoryCursor cursor = store.openCursor(1L, position, ScanDirection.BACKWARD);
+                for (int i = 0; i < 150 && cursor.hasNext(); i++) {
+                    firstPages.add(cursor.next().timestamp());
+                }
+                position = cursor.position();
+            }
+            token = position.toToken();
+        }
+        assertEquals(450, firstPages.size());
+        assertEquals(9_990L, (long) firstPages.get(0));
+        assertEquals(5_500L, (long) firstPages.get(449));
+
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            List<Long> rest = store.openCursor(1L, HistoryPosition.fromToken(token), ScanDirection.BACKWARD).stream()
+                    .map(ChatLog::timestamp)
+                    .toList();
+            assertEquals(550, rest.size());
+            assertEquals(5_490L, (long) rest.get(0));
+            assertEquals(0L, (long) rest.get(549));
+        }
+    }
+
+    @Test
+    @DisplayName("시점 기준 순방향 커서는 지연 읽기하며 이후 추가된 로그도 읽음")
+    void forwardCursorFromTime() throws Exception {
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.OS)) {
+            fill(store, 1L, 1000);
+            HistoryCursor cursor = store.openCursor(1L, HistoryPosition.atTime(9_975), ScanDirection.FORWARD);
+            assertEquals(9_980L, cursor.next().timestamp());
+            assertEquals(9_990L, cursor.next().timestamp());
+            assertFalse(cursor.hasNext());
+
+            store.save(new ChatLog(1L, 10_000, "user", "late"));
+            assertTrue(cursor.hasNext());
+            assertEquals("late", cursor.next().message());
+
+            long total = store.openCursor(1L, HistoryPosition.oldest(), ScanDirection.FORWARD).stream().count();
+            assertEquals(1001L, total);
+        }
+    }
+
+    @Test
+    @DisplayName("열어 둔 세그먼트 수가 상한을 넘으면 오래 사용하지 않은 세그먼트를 닫고, 다시 읽을 때 연다")
+    void boundsOpenSegments() throws Exception {
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.OS, null, 2)) {
+            for (long room = 1; room <= 5; room++) {
+                fill(store, room, 300);
+                assertTrue(store.getOpenSegmentCount() <= 2, "열린 세그먼트 수: " + store.getOpenSegmentCount());
+            }
+            for (long room = 1; room <= 5; room++) {
+                assertEquals(300, store.findLogsBetween(room, 0, Long.MAX_VALUE).size());
+                assertEquals(300L, store.openCursor(room, HistoryPosition.latest(), ScanDirection.BACKWARD).stream().count());
+            }
+            assertTrue(store.getOpenSegmentCount() <= 2);
+        }
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.OS, null, 2)) {
+            assertTrue(store.getOpenSegmentCount() <= 2, "복구 중에도 상한을 지켜야 합니다.");
+            assertEquals(300, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size(), "닫힐 때 디스크에 반영된 로그를 복구해야 합니다.");
+        }
+    }
+
+    @Test
+    @DisplayName("복구는 생성자가 아닌 initialize 에서 수행하며, 초기화 전에는 저장할 수 없음")
+    void recoversOnInitialize() throws Exception {
+        try (MappedSegmentChatHistoryStore store = open(FsyncPolicy.EVERY_WRITE)) {
+            fill(store, 1L, 10);
+        }
+        try (MappedSegmentChatHistoryStore store = new MappedSegmentChatHistoryStore(tempDir, SEGMENT_SIZE, FsyncPolicy.EVERY_WRITE, null)) {
+            assertTrue(store.findRecentLogs(1L, 10).isEmpty(), "생성자는 세그먼트를 읽지 않아야 합니다.");
+            assertThrows(IllegalStateException.class, () -> store.save(new ChatLog(1L, 1, "user", "too early")));
+
+            store.initialize();
+            store.initialize();
+            assertEquals(10, store.findRecentLogs(1L, 100).size());
+        }
+    }
+
+    private MappedSegmentChatHistoryStore open(FsyncPolicy policy) {
+        return open(policy, Duration.ofMillis(10), MappedSegmentChatHistoryStore.DEFAULT_MAX_OPEN_SEGMENTS);
+    }
+
+    private MappedSegmentChatHistoryStore open(FsyncPolicy policy, Duration fsyncInterval, int maxOpenSegments) {
+        MappedSegmentChatHistoryStore store = new MappedSegmentChatHistoryStore(tempDir, SEGMENT_SIZE, policy, fsyncInterval, maxOpenSegments);
+        store.initialize();
+        return store;
+    }
+
+    private static void fill(MappedSegmentChatHistoryStore store, long roomId, int count) {
+        List<ChatLog> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new ChatLog(roomId, i * 10L, "user", "message " + i));
+            if (batch.size() == 37) {
+                store.saveAll(batch);
+                batch.clear();
+            }
+        }
+        store.saveAll(batch);
+    }
+
+    private static List<Long> timestamps(List<ChatLog> logs) {
+        return logs.stream().map(ChatLog::timestamp).toList();
+    }
+
+    private long segmentCount(long roomId) throws Exception {
+        try (Stream<Path> files = Files.list(tempDir.resolve("room-" + roomId))) {
+            return files.count();
+        }
+    }
+
+    private Path lastSegment(long roomId) throws Exception {
+        try (Stream<Path> files = Files.list(tempDir.resolve("room-" + roomId))) {
+            return files.sorted().reduce((first, second) -> second).orElseThrow();
+        }
+    }
+
+    private static int recordPosition(Path segment, int recordIndex) throws Exception {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            int position = 0;
+            for (int i = 0; i < recordIndex; i++) {
+                file.seek(position);
+                position += 8 + file.readInt();
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package io.github.youseonghyeon.persistence.impl;
+
+import io.github.youseonghyeon.persistence.HistoryCursor;
+import io.github.youseonghyeon.persistence.HistoryPosition;
+import io.github.youseonghyeon.persistence.ScanDirection;
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredChatHistoryStoreTest {
+
+    private static final int BLOCK_RECORDS = 64;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("개수 기준을 넘은 로그를 블록 단위로 디스크 계층에 옮기고, 조회는 두 계층을 이어서 동작")
+    void queriesSpanBothTiers() {
+        try (TieredChatHistoryStore store = open(policy().hotMaxMessagesPerRoom(100))) {
+            fill(store, 1L, 1000);
+            store.tier();
+
+            assertEquals(896L, store.getColdMessageCount());
+            assertEquals(104L, store.getHotMessageCount());
+            assertEquals(14L, store.getColdBlockCount());
+            assertTrue(store.getColdBytes() > 0);
+
+            assertEquals(List.of(9_990L, 9_980L, 9_970L), timestamps(store.findRecentLogs(1L, 3)));
+            List<ChatLog> all = store.findLogsBetween(1L, 0, Long.MAX_VALUE);
+            assertEquals(expectedTimestamps(0, 1000), timestamps(all));
+            assertEquals("message 0", all.get(0).message());
+            assertEquals(List.of(8_970L, 8_960L, 8_950L), timestamps(store.findLogsBefore(1L, 8_975, 3)));
+            assertEquals(expectedTimestamps(890, 20), timestamps(store.findLogsBetween(1L, 8_900, 9_090)));
+            assertTrue(store.findRecentLogs(2L, 3).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("디스크 계층의 시간 구간 조회는 필요한 블록만 압축을 풂")
+    void decompressesOnlyNeededBlocks() {
+        try (TieredChatHistoryStore store = open(policy().hotMaxMessagesPerRoom(0).blockCacheSize(0))) {
+            fill(store, 1L, 1000);
+            store.tier();
+
+            long before = store.getBlockReadCount();
+            // 순번 100 ~ 110 은 두 번째 블록(64 ~ 127) 안에 있음
+            List<ChatLog> logs = store.findLogsBetween(1L, 1_000, 1_100);
+            assertEquals(11, logs.size());
+            assertTrue(store.getBlockReadCount() - before <= 2, "필요한 블록만 읽어야 합니다.");
+        }
+    }
+
+    @Test
+    @DisplayName("커서로 읽는 도중에 계층 이동이 일어나도 빠지거나 중복되는 로그가 없음")
+    void cursorSurvivesTiering() {
+        try (TieredChatHistoryStore store = open(policy().hotMaxMessagesPerRoom(0))) {
+            fill(store, 1L, 1000);
+            HistoryCursor forward = store.openCursor(1L, HistoryPosition.oldest(), ScanDirection.FORWARD);
+            HistoryCursor backward = store.openCursor(1L, HistoryPosition.latest(), ScanDirection.BACKWARD);
+            List<Long> forwardRead = new ArrayList<>();
+            List<Long> backwardRead = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                forwardRead.add(forward.next().timestamp());
+                backwardRead.add(backward.next().timestamp());
+            }
+
+            store.tier();
+            assertTrue(store.getColdMessageCount() > 0);
+
+            forward.forEachRemaining(log -> forwardRead.add(log.timestamp()));
+            backward.forEachRemaining(log -> backwardRead.add(log.timestamp()));
+            assertEquals(expectedTimestamps(0, 1000), forwardRead);
+            assertEquals(expectedTimestamps(0, 1000).reversed(), backwardRead);
+        }
+    }
+
+    @Test
+    @DisplayName("종료 시 메모리 계층을 모두 옮기고, 다시 열면 인덱스를 복구하여 이어서 기록")
+    void recoversOnReopen() {
+        try (TieredChatHistoryStore store = open(policy())) {
+            fill(store, 1L, 500);
+            store.save(new ChatLog(2L, 1, null, "null sender"));
+        }
+        try (TieredChatHistoryStore store = open(policy())) {
+            assertEquals(0L, store.getHotMessageCount());
+            assertEquals(501L, store.getColdMessageCount());
+            assertEquals(500, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+            assertNull(store.findRecentLogs(2L, 1).get(0).sender());
+
+            store.save(new ChatLog(1L, 5_000, "user", "after reopen"));
+            assertEquals("after reopen", store.findRecentLogs(1L, 1).get(0).message());
+            assertEquals(List.of(5_000L, 4_990L), timestamps(store.findLogsBefore(1L, 6_000, 2)));
+            assertEquals(501L, store.openCursor(1L, HistoryPosition.oldest(), ScanDirection.FORWARD).stream().count());
+        }
+    }
+
+    @Test
+    @DisplayName("복구 시 CRC 가 맞지 않는 꼬리 블록을 잘라냄")
+    void truncatesTornTail() throws Exception {
+        try (TieredChatHistoryStore store = open(policy())) {
+            fill(store, 1L, 100);
+        }
+        Path segment = lastSegment(1L);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(file.length() - 4);
+            file.write(new byte[]{1, 2, 3, 4});
+        }
+
+        try (TieredChatHistoryStore store = open(policy())) {
+            // 마지막 블록(64 ~ 99)이 잘림
+            assertEquals(64, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+            store.save(new ChatLog(1L, 1_000, "user", "replacement"));
+        }
+        try (TieredChatHistoryStore store = open(policy())) {
+            assertEquals(65, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+            assertEquals("replacement", store.findRecentLogs(1L, 1).get(0).message());
+        }
+    }
+
+    @Test
+    @DisplayName("디스크 계층 보관 기간이 지난 세그먼트를 삭제하고, 커서는 삭제된 구간을 건너뜀")
+    void deletesExpiredSegments() throws Exception {
+        try (TieredChatHistoryStore store = open(policy().hotMaxMessagesPerRoom(0).segmentBytes(1024).coldMaxAge(Duration.ofDays(1)))) {
+            fill(store, 1L, 1000);
+            HistoryCursor cursor = store.openCursor(1L, HistoryPosition.oldest(), ScanDirection.FORWARD);
+            store.tier();
+
+            assertTrue(store.getDeletedSegmentCount() > 0);
+            assertEquals(1L, segmentCount(1L));
+            long retained = store.getColdMessageCount() + store.getHotMessageCount();
+            assertEquals(retained, store.findLogsBetween(1L, 0, Long.MAX_VALUE).size());
+            assertEquals(9_990L, store.findRecentLogs(1L, 1).get(0).timestamp());
+            assertEquals(store.findLogsBetween(1L, 0, Long.MAX_VALUE).get(0).timestamp(), cursor.next().timestamp());
+        }
+    }
+
+    private TieredChatHistoryStore open(TieringPolicy policy) {
+        TieredChatHistoryStore store = new TieredChatHistoryStore(tempDir, policy);
+        store.initialize();
+        return store;
+    }
+
+    /**
+     * 테스트 timestamp 는 1970년 근처이므로 기간 기준이 적용되지 않도록 메모리 계층 기간을 충분히 길게 둡니다.
+     */
+    private static TieringPolicy policy() {
+        return TieringPolicy.defaults()
+                .hotMaxAge(Duration.ofDays(100_000))
+                .block(BLOCK_RECORDS, 1)
+                .tiering(Duration.ofHours(1), 100_000);
+    }
+
+    private static void fill(TieredChatHistoryStore store, long roomId, int count) {
+        List<ChatLog> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new ChatLog(roomId, i * 10L, "user", "message " + i));
+            if (batch.size() == 37) {
+                store.saveAll(batch);
+                batch.clear();
+            }
+        }
+        store.saveAll(batch);
+    }
+
+    private static List<Long> timestamps(List<ChatLog> logs) {
+        return logs.stream().map(ChatLog::timestamp).toList();
+    }
+
+    private static List<Long> expectedTimestamps(int from, int count) {
+        return LongStream.range(from, from + count).map(i -> i * 10).boxed().toList();
+    }
+
+    private long segmentCount(long roomId) throws Exception {
+        try (Stream<Path> files = Files.list(tempDir.resolve("room-" + roomId))) {
+            return files.count();
+        }
+    }
+
+    private Path lastSegment(long roomId) throws Exception {
+        try (Stream<Path> files = Files.list(tempDir.resolve("room-" + roomId))) {
+            return files.sorted().reduce((first, second) -> second).orElseThrow();
+        }
+    }
+}
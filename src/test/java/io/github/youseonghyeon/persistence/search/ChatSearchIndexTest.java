@@ -0,0 +1,112 @@
+package io.github.youseonghyeon.persistence.search;
+
+import io.github.youseonghyeon.persistence.dto.ChatLog;
+import io.github.youseonghyeon.persistence.impl.InMemoryChatHistoryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatSearchIndexTest {
+
+    @Test
+    @DisplayName("모든 term 을 포함하는 메시지를 최근 순으로 찾고, 마지막 term 은 접두어로 검색")
+    void andQueryWithPrefix() {
+        ChatSearchIndex index = new ChatSearchIndex(10_000, 100);
+        List<ChatLog> logs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String message = (i % 3 == 0 ? "Hello " : "bye ") + (i % 5 == 0 ? "World" : "wonder") + " #" + i;
+            logs.add(new ChatLog(1L, i, "user", message));
+        }
+        index.index(logs);
+
+        List<ChatLog> exact = index.search(1L, "hello world", 100);
+        assertEquals(67, exact.size());
+        assertEquals(990L, exact.get(0).timestamp());
+        assertEquals(0L, exact.get(66).timestamp());
+
+        List<ChatLog> prefix = index.search(1L, "HELLO wo", 10);
+        assertEquals(10, prefix.size());
+        assertEquals(999L, prefix.get(0).timestamp());
+        assertEquals(996L, prefix.get(1).timestamp());
+
+        assertTrue(index.search(1L, "hello nothing", 10).isEmpty());
+        assertTrue(index.search(2L, "hello", 10).isEmpty(), "다른 방의 메시지는 검색되지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("시간 구간으로 결과를 제한")
+    void filtersByTimeRange() {
+        ChatSearchIndex index = new ChatSearchIndex(10_000, 100);
+        List<ChatLog> logs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            logs.add(new ChatLog(1L, i * 10L, "user", "같은 메시지 " + i));
+        }
+        index.index(logs);
+
+        List<ChatLog> result = index.search(1L, "메시", 2_000, 2_990, 1000);
+
+        assertEquals(100, result.size());
+        assertEquals(2_990L, result.get(0).timestamp());
+        assertEquals(2_000L, result.get(99).timestamp());
+    }
+
+    @Test
+    @DisplayName("최대 문서 수를 넘으면 오래된 메시지부터 색인에서 제외하고 빈 term 을 정리")
+    void boundedByMaxDocuments() {
+        ChatSearchIndex index = new ChatSearchIndex(2048, 100);
+        List<ChatLog> logs = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            logs.add(new ChatLog(1L, i, "user", "common unique" + i));
+        }
+        index.index(logs);
+
+        assertEquals(2048L, index.getDocumentCount());
+        List<ChatLog> result = index.search(1L, "common", 10_000);
+        assertEquals(2048, result.size());
+        assertEquals(7_952L, result.get(2047).timestamp());
+        assertTrue(index.search(1L, "common unique100", 10).isEmpty(), "밀려난 메시지는 검색되지 않아야 합니다.");
+        assertEquals(1, index.search(1L, "unique9999", 10).size());
+        assertTrue(index.getTermCount() < 2048 + 1024 + 2, "밀려난 문서의 term 은 정리되어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("저장소 데코레이터는 저장 후 비동기로 색인")
+    void indexesAsynchronouslyOnSave() throws Exception {
+        ChatSearchIndex index = new ChatSearchIndex();
+        InMemoryChatHistoryStore store = new InMemoryChatHistoryStore();
+        IndexedChatHistoryStore indexedStore = new IndexedChatHistoryStore(store, index);
+        index.start();
+
+        indexedStore.saveAll(List.of(new ChatLog(1L, 1, "a", "deploy finished"), new ChatLog(1L, 2, "b", "lunch?")));
+        indexedStore.save(new ChatLog(1L, 3, "c", "deploy failed"));
+        indexedStore.close();
+
+        assertEquals(3, store.findRecentLogs(1L, 10).size());
+        List<ChatLog> result = indexedStore.search(1L, "deploy", Long.MIN_VALUE, Long.MAX_VALUE, 10);
+        assertEquals(2, result.size());
+        assertEquals("deploy failed", result.get(0).message());
+    }
+
+    @Test
+    @DisplayName("여러 블록에 걸친 posting 목록에서 건너뛰기 탐색")
+    void skipsAcrossPostingBlocks() {
+        PostingList postings = new PostingList();
+        for (long doc = 0; doc < 10_000; doc += 3) {
+            postings.add(doc);
+        }
+        PostingList.Cursor cursor = postings.cursor();
+
+        assertEquals(9_999L, cursor.nextAtMost(Long.MAX_VALUE));
+        assertEquals(5_001L, cursor.nextAtMost(5_002));
+        assertEquals(300L, cursor.nextAtMost(301));
+        assertEquals(0L, cursor.nextAtMost(2));
+        assertEquals(-1L, cursor.nextAtMost(-1));
+
+        assertFalse(postings.trimBefore(5_000));
+        assertEquals(-1L, postings.cursor().nextAtMost(4_000));
+    }
+}